@@ -0,0 +1,70 @@
+package com.wmsdipl.core.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-scan cost of the duplicate check at a steady number of tracked barcodes.
+ * The fake clock advances so that about {@code trackedScans} barcodes stay within the retention,
+ * so every call also expires old entries; the cost should not grow with {@code trackedScans}.
+ *
+ * Run with {@code ./gradlew :core-api:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateScanDetectionBenchmark {
+
+    // Retention of DuplicateScanDetectionService (2 x 5 s window)
+    private static final long RETENTION_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    @Param({"1000", "10000", "100000"})
+    private int trackedScans;
+
+    private long clock;
+    private long step;
+    private String[] barcodes;
+    private int next;
+    private DuplicateScanDetectionService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        step = RETENTION_NANOS / trackedScans;
+        // A barcode comes back after 2 x trackedScans scans, i.e. after 20 s: never a duplicate
+        barcodes = new String[2 * trackedScans];
+        for (int i = 0; i < barcodes.length; i++) {
+            barcodes[i] = "PLT-" + i;
+        }
+        service = new DuplicateScanDetectionService(() -> clock);
+        for (int i = 0; i < barcodes.length; i++) {
+            scan();
+        }
+    }
+
+    @Benchmark
+    public DuplicateScanDetectionService.ScanResult checkRecentScan() {
+        return scan();
+    }
+
+    private DuplicateScanDetectionService.ScanResult scan() {
+        clock += step;
+        String barcode = barcodes[next];
+        next = next + 1 == barcodes.length ? 0 : next + 1;
+        return service.checkRecentScan(barcode);
+    }
+}
@@ -0,0 +1,157 @@
+package com.wmsdipl.core.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies stateless, HMAC-SHA256 signed access and refresh tokens.
+ *
+ * A token is {@code base64url(type \n username \n expiresAtEpochSecond \n stamp) . base64url(signature)}.
+ * The stamp is derived from the user's password hash, so changing the password invalidates every token
+ * issued before; deactivating the user is caught by the {@link UserDetails#isEnabled()} check.
+ * Verification costs one HMAC and a cached user lookup - no password hashing.
+ */
+public class AccessTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int STAMP_BYTES = 12;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public enum TokenType { ACCESS, REFRESH }
+
+    private final SecretKeySpec key;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final Clock clock;
+
+    public AccessTokenService(byte[] secret, Duration accessTtl, Duration refreshTtl, Clock clock) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Issues an access and a refresh token for a user.
+     *
+     * @param username user name
+     * @param passwordHash current stored password hash
+     * @return token pair
+     */
+    public IssuedTokens issue(String username, String passwordHash) {
+        String stamp = stamp(passwordHash);
+        return new IssuedTokens(
+            sign(TokenType.ACCESS, username, accessTtl, stamp), accessTtl,
+            sign(TokenType.REFRESH, username, refreshTtl, stamp), refreshTtl
+        );
+    }
+
+    /**
+     * Verifies a token and resolves its user.
+     *
+     * @param token token as sent by the client
+     * @param type expected token type
+     * @param userDetailsService user lookup, expected to be cached
+     * @return user, or empty if the token is malformed, forged, expired, of another type,
+     *         issued before the last password change, or the user is missing or disabled
+     */
+    public Optional<UserDetails> authenticate(String token, TokenType type, UserDetailsService userDetailsService) {
+        Optional<Claims> claims = parse(token, type);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(claims.get().username());
+        } catch (UsernameNotFoundException ex) {
+            return Optional.empty();
+        }
+        if (!user.isEnabled() || user.getPassword() == null
+                || !MessageDigest.isEqual(bytes(claims.get().stamp()), bytes(stamp(user.getPassword())))) {
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    Optional<Claims> parse(String token, TokenType type) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(signature, mac(payload))) {
+            return Optional.empty();
+        }
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+        if (parts.length != 4 || !type.name().equals(parts[0])) {
+            return Optional.empty();
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(parts[2]);
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+        return Optional.of(new Claims(parts[1], parts[3]));
+    }
+
+    private String sign(TokenType type, String username, Duration ttl, String stamp) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        byte[] payload = bytes(type.name() + "\n" + username + "\n" + expiresAt + "\n" + stamp);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    private String stamp(String passwordHash) {
+        byte[] mac = mac(bytes("stamp\n" + passwordHash));
+        return ENCODER.encodeToString(Arrays.copyOf(mac, STAMP_BYTES));
+    }
+
+    private byte[] mac(byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    record Claims(String username, String stamp) {
+    }
+
+    public record IssuedTokens(String accessToken, Duration accessTtl, String refreshToken, Duration refreshTtl) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.wmsdipl.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs (e.g. nightly velocity classification).
+ * Set {@code wms.scheduling.enabled=false} to run an instance without them.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wms.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,24 +1,45 @@
 package com.wmsdipl.core.config;
 
-import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Stateless security: the password is checked (BCrypt) only at {@code /api/auth/login}, which issues
+ * signed access and refresh tokens; every other request is authenticated by {@link TokenAuthenticationFilter}.
+ */
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+    // HMAC-SHA256 key: shorter secrets are easy to brute-force from a captured token
+    static final int MIN_TOKEN_SECRET_BYTES = 32;
+
     private final UserRepository userRepository;
 
     public SecurityConfig(UserRepository userRepository) {
@@ -26,32 +47,64 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AccessTokenService accessTokenService,
+                                                   UserDetailsCache userDetailsCache) throws Exception {
+        // Per-request storage: the ASYNC dispatch completing a streaming response reuses the token's authentication
+        SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
         http
             .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(context -> context.securityContextRepository(securityContextRepository))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/login").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/api/auth/login", "/api/auth/refresh").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                 .requestMatchers("/api/imports").permitAll()  // Allow import-service to POST receipts
                 .anyRequest().authenticated()
             )
-            .httpBasic();
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(new TokenAuthenticationFilter(accessTokenService, userDetailsCache, securityContextRepository),
+                UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByUsername(username)
-            .map(this::toUserDetails)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    public UserDetailsCache userDetailsService(@Value("${wms.auth.user-cache-ttl-ms:60000}") long ttlMillis) {
+        return new UserDetailsCache(userRepository, ttlMillis);
     }
 
-    private UserDetails toUserDetails(User user) {
-        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
-            .password(user.getPasswordHash())
-            .roles(user.getRole().name())
-            .disabled(Boolean.FALSE.equals(user.getActive()))
-            .build();
+    /**
+     * Token signing key from {@code wms.auth.token-secret} ({@code WMS_AUTH_TOKEN_SECRET}). It must be set
+     * and shared by all instances: only the dev and test profiles fall back to a random per-process key,
+     * with which tokens do not survive a restart.
+     *
+     * @throws IllegalStateException if the secret is missing outside dev/test, or too short
+     */
+    @Bean
+    public AccessTokenService accessTokenService(
+            Environment environment,
+            @Value("${wms.auth.token-secret:}") String secret,
+            @Value("${wms.auth.access-token-ttl-minutes:15}") long accessTtlMinutes,
+            @Value("${wms.auth.refresh-token-ttl-hours:12}") long refreshTtlHours) {
+        byte[] key;
+        if (secret.isBlank()) {
+            if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+                throw new IllegalStateException(
+                    "wms.auth.token-secret (WMS_AUTH_TOKEN_SECRET) must be set; see DEPLOYMENT_GUIDE.md");
+            }
+            log.warn("wms.auth.token-secret is not set, using a random per-process key (dev/test only)");
+            key = new byte[MIN_TOKEN_SECRET_BYTES];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < MIN_TOKEN_SECRET_BYTES) {
+                throw new IllegalStateException(
+                    "wms.auth.token-secret must be at least " + MIN_TOKEN_SECRET_BYTES + " bytes long");
+            }
+        }
+        return new AccessTokenService(key, Duration.ofMinutes(accessTtlMinutes), Duration.ofHours(refreshTtlHours),
+            Clock.systemUTC());
     }
 
     @Bean
@@ -0,0 +1,71 @@
+package com.wmsdipl.core.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <access token>}.
+ * Requests without a bearer token pass through untouched; an invalid token leaves the request
+ * unauthenticated, so protected endpoints answer 401.
+ *
+ * The authentication is also saved as a request attribute, so the ASYNC dispatch that completes a streaming
+ * response (CSV export, SSE) is authorized with it instead of arriving unauthenticated.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenService accessTokenService;
+    private final UserDetailsService userDetailsService;
+    private final SecurityContextRepository securityContextRepository;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public TokenAuthenticationFilter(AccessTokenService accessTokenService, UserDetailsService userDetailsService,
+                                     SecurityContextRepository securityContextRepository) {
+        this.accessTokenService = accessTokenService;
+        this.userDetailsService = userDetailsService;
+        this.securityContextRepository = securityContextRepository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        Optional<UserDetails> user = accessTokenService.authenticate(
+            token, AccessTokenService.TokenType.ACCESS, userDetailsService);
+        if (user.isPresent()) {
+            UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user.get(), null, user.get().getAuthorities());
+            authentication.setDetails(detailsSource.buildDetails(request));
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            securityContextRepository.saveContext(context, request, response);
+        } else {
+            log.debug("Rejected bearer token for {} {}", request.getMethod(), request.getRequestURI());
+        }
+        chain.doFilter(request, response);
+    }
+}
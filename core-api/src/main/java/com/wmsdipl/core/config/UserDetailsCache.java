@@ -0,0 +1,73 @@
+package com.wmsdipl.core.config;
+
+import com.wmsdipl.core.domain.User;
+import com.wmsdipl.core.repository.UserRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User lookup for authentication, kept in memory so bearer-token requests do not query the users table.
+ *
+ * UserService evicts entries when it changes a user; {@code wms.auth.user-cache-ttl-ms} bounds staleness
+ * for edits made through another instance. Missing users are not cached. Every call returns a copy, because
+ * the authentication manager erases credentials on the instance it authenticated.
+ */
+public class UserDetailsCache implements UserDetailsService {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(UserRepository userRepository, long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        long now = System.nanoTime();
+        CachedUser cached = users.get(username);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return copy(cached.user());
+        }
+        UserDetails loaded = userRepository.findByUsername(username)
+            .map(UserDetailsCache::toUserDetails)
+            .orElseThrow(() -> {
+                users.remove(username);
+                return new UsernameNotFoundException("User not found: " + username);
+            });
+        if (ttlNanos > 0) {
+            users.put(username, new CachedUser(loaded, now));
+        }
+        return copy(loaded);
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            users.remove(username);
+        }
+    }
+
+    public void clear() {
+        users.clear();
+    }
+
+    private static UserDetails toUserDetails(User user) {
+        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+            .password(user.getPasswordHash())
+            .roles(user.getRole().name())
+            .disabled(Boolean.FALSE.equals(user.getActive()))
+            .build();
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).build();
+    }
+
+    private record CachedUser(UserDetails user, long loadedAt) {
+    }
+}
@@ -1,7 +1,9 @@
 package com.wmsdipl.core.domain;
 
+import com.wmsdipl.core.persistence.ChangeFeedEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,6 +22,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ChangeFeedEntityListener.class)
 @Table(name = "discrepancies")
 public class Discrepancy {
 
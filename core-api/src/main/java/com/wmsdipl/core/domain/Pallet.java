@@ -1,7 +1,9 @@
 package com.wmsdipl.core.domain;
 
+import com.wmsdipl.core.persistence.ChangeFeedEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -25,6 +27,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ChangeFeedEntityListener.class)
 @Table(name = "pallets")
 public class Pallet {
 
@@ -1,8 +1,10 @@
 package com.wmsdipl.core.domain;
 
+import com.wmsdipl.core.persistence.ChangeFeedEntityListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -23,6 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ChangeFeedEntityListener.class)
 @Table(name = "receipts")
 @Getter
 @Setter
@@ -0,0 +1,72 @@
+package com.wmsdipl.core.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Header of a stock snapshot: stock at {@code snapshotAt}, with movements up to and including that time.
+ * Lines ({@code stock_snapshot_lines}) are written and read with set-based SQL only.
+ */
+@Entity
+@Table(name = "stock_snapshots")
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_at", nullable = false, unique = true)
+    private LocalDateTime snapshotAt;
+
+    @Column(name = "pallet_count", nullable = false)
+    private Integer palletCount = 0;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public void setSnapshotAt(LocalDateTime snapshotAt) {
+        this.snapshotAt = snapshotAt;
+    }
+
+    public Integer getPalletCount() {
+        return palletCount;
+    }
+
+    public void setPalletCount(Integer palletCount) {
+        this.palletCount = palletCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,8 +1,10 @@
 package com.wmsdipl.core.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wmsdipl.core.persistence.ChangeFeedEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -21,6 +23,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ChangeFeedEntityListener.class)
 @Table(name = "tasks")
 @Getter
 @Setter
@@ -2,6 +2,8 @@ package com.wmsdipl.core.domain;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -40,4 +42,16 @@ public class User {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Dispatch profile: task types and zones the operator is dispatched; empty means any
+    @ElementCollection
+    @CollectionTable(name = "user_task_skills", joinColumns = @JoinColumn(name = "user_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_type", length = 32)
+    private Set<TaskType> taskSkills = new HashSet<>();
+
+    @ElementCollection
+    @CollectionTable(name = "user_zones", joinColumns = @JoinColumn(name = "user_id"))
+    @Column(name = "zone_id")
+    private Set<Long> zoneIds = new HashSet<>();
 }
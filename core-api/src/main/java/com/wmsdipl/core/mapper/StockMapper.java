@@ -2,9 +2,11 @@ package com.wmsdipl.core.mapper;
 
 import com.wmsdipl.contracts.dto.StockItemDto;
 import com.wmsdipl.contracts.dto.StockMovementDto;
+import com.wmsdipl.contracts.dto.StockSummaryDto;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import com.wmsdipl.core.domain.Sku;
+import com.wmsdipl.core.repository.PalletRepositoryCustom;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -95,4 +97,26 @@ public class StockMapper {
             movement.getMovedAt()
         );
     }
+
+    /**
+     * Convert a stock summary group to StockSummaryDto.
+     * 
+     * @param row Aggregated stock group
+     * @return StockSummaryDto
+     */
+    public StockSummaryDto toStockSummaryDto(PalletRepositoryCustom.StockSummaryRow row) {
+        return new StockSummaryDto(
+            row.skuId(),
+            row.skuCode(),
+            row.skuName(),
+            row.uom(),
+            row.zoneId(),
+            row.zoneCode(),
+            row.locationType(),
+            row.status(),
+            row.totalQuantity(),
+            row.palletCount(),
+            row.locationCount()
+        );
+    }
 }
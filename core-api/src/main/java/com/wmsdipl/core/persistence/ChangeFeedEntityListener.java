@@ -0,0 +1,56 @@
+package com.wmsdipl.core.persistence;
+
+import com.wmsdipl.core.domain.Discrepancy;
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.domain.Receipt;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.service.ChangeFeed;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Records inserts, updates and deletes of tasks, receipts, pallets and discrepancies in the {@link ChangeFeed}.
+ * Instantiated by Hibernate through Spring's bean container, hence the constructor injection.
+ * Writes that bypass Hibernate (JDBC batch inserts, conditional UPDATEs) record their changes themselves.
+ */
+public class ChangeFeedEntityListener {
+
+    private final ChangeFeed changeFeed;
+
+    public ChangeFeedEntityListener(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @PostPersist
+    void created(Object entity) {
+        record(entity, ChangeFeed.Action.CREATED);
+    }
+
+    @PostUpdate
+    void updated(Object entity) {
+        record(entity, ChangeFeed.Action.UPDATED);
+    }
+
+    @PostRemove
+    void deleted(Object entity) {
+        record(entity, ChangeFeed.Action.DELETED);
+    }
+
+    private void record(Object entity, ChangeFeed.Action action) {
+        if (entity instanceof Task task) {
+            changeFeed.record(ChangeFeed.EntityType.TASK, task.getId(), receiptId(task.getReceipt()), action);
+        } else if (entity instanceof Receipt receipt) {
+            changeFeed.record(ChangeFeed.EntityType.RECEIPT, receipt.getId(), receipt.getId(), action);
+        } else if (entity instanceof Pallet pallet) {
+            changeFeed.record(ChangeFeed.EntityType.PALLET, pallet.getId(), receiptId(pallet.getReceipt()), action);
+        } else if (entity instanceof Discrepancy discrepancy) {
+            changeFeed.record(ChangeFeed.EntityType.DISCREPANCY, discrepancy.getId(), receiptId(discrepancy.getReceipt()), action);
+        }
+    }
+
+    private static Long receiptId(Receipt receipt) {
+        // getId() on a lazy proxy does not initialize it
+        return receipt != null ? receipt.getId() : null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.TaskStatus;
+
+/**
+ * Projection for per-assignee, per-status task counts (operator load).
+ */
+public interface AssigneeStatusCount {
+    String getAssignee();
+    TaskStatus getStatus();
+    Long getTotal();
+}
@@ -17,7 +17,6 @@ public interface DiscrepancyRepository extends JpaRepository<Discrepancy, Long>,
     List<Discrepancy> findByDraftSkuId(Long draftSkuId);
     List<Discrepancy> findByReceipt_IdAndDraftSkuId(Long receiptId, Long draftSkuId);
     List<Discrepancy> findByResolvedFalse();
-    List<Discrepancy> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
     long deleteByCreatedAtBefore(LocalDateTime cutoff);
     long countByResolvedTrueAndCreatedAtBetween(LocalDateTime from, LocalDateTime to);
     long countByTypeInAndCreatedAtBetween(Collection<String> types, LocalDateTime from, LocalDateTime to);
@@ -0,0 +1,28 @@
+package com.wmsdipl.core.repository;
+
+import java.util.Locale;
+
+/**
+ * Builds lower-case LIKE patterns from user input. Wildcards typed by the user are escaped
+ * with PostgreSQL's default LIKE escape character, so {@code PLT_1} does not match {@code PLTX1}.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    public static String contains(String term) {
+        return "%" + escape(term) + "%";
+    }
+
+    public static String startsWith(String term) {
+        return escape(term) + "%";
+    }
+
+    public static String escape(String term) {
+        return term.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+}
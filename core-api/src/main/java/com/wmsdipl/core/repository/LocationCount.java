@@ -0,0 +1,9 @@
+package com.wmsdipl.core.repository;
+
+/**
+ * Projection for per-location aggregate counts (pallets stored, pending arrivals).
+ */
+public interface LocationCount {
+    Long getLocationId();
+    Long getTotal();
+}
@@ -5,11 +5,14 @@ import com.wmsdipl.core.domain.LocationStatus;
 import com.wmsdipl.core.domain.LocationType;
 import com.wmsdipl.core.domain.Zone;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface LocationRepository extends JpaRepository<Location, Long> {
+public interface LocationRepository extends JpaRepository<Location, Long>, LocationRepositoryCustom {
     Optional<Location> findByCode(String code);
     boolean existsByCode(String code);
     List<Location> findByZone(Zone zone);
@@ -49,4 +52,43 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
      */
     Optional<Location> findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
         LocationType locationType, LocationStatus status);
+
+    /**
+     * Finds locations of the given type and statuses that currently hold at least one pallet of the SKU.
+     * Used by the consolidation strategy; driven by the pallets(sku_id, location_id) index,
+     * so cost scales with the number of cells holding the SKU rather than warehouse size.
+     *
+     * @param skuId SKU to consolidate
+     * @param locationType type of location (e.g., STORAGE, CROSS_DOCK)
+     * @param statuses acceptable location statuses
+     * @return matching locations, ordered by ID
+     */
+    @Query("""
+        select l
+        from Location l
+        where l.locationType = :locationType
+          and l.status in :statuses
+          and exists (
+              select 1 from Pallet p
+              where p.location = l
+                and p.skuId = :skuId
+          )
+        order by l.id
+    """)
+    List<Location> findHoldingSku(
+        @Param("skuId") Long skuId,
+        @Param("locationType") LocationType locationType,
+        @Param("statuses") Collection<LocationStatus> statuses
+    );
+
+    @Query("""
+        select l
+        from Location l
+        where l.locationType = :locationType
+          and l.active = true
+          and l.xCoord is not null
+          and l.yCoord is not null
+        order by l.id
+    """)
+    List<Location> findActiveWithCoordinates(@Param("locationType") LocationType locationType);
 }
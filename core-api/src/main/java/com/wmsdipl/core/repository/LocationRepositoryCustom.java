@@ -0,0 +1,18 @@
+package com.wmsdipl.core.repository;
+
+import java.util.List;
+
+/**
+ * Location reads that are not expressible as derived or JPQL queries.
+ */
+public interface LocationRepositoryCustom {
+
+    /**
+     * Ranked location code search: exact, prefix, substring and trigram-similar codes.
+     *
+     * @param term search text, at least two characters
+     * @param limit maximum number of hits
+     * @return hits labelled with the zone code, ordered by match rank, then similarity
+     */
+    List<SearchHit> searchByCode(String term, int limit);
+}
@@ -0,0 +1,27 @@
+package com.wmsdipl.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link LocationRepositoryCustom}.
+ */
+public class LocationRepositoryImpl implements LocationRepositoryCustom {
+
+    private static final String SEARCH_FROM = """
+        FROM locations l
+        LEFT JOIN zones z ON z.id = l.zone_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchHit> searchByCode(String term, int limit) {
+        return TrigramSearch.search(jdbcTemplate, SearchHit.Type.LOCATION,
+            "l.id, l.code, z.code AS label", SEARCH_FROM, "lower(l.code)", List.of(), term, limit);
+    }
+}
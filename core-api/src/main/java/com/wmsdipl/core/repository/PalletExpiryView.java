@@ -0,0 +1,14 @@
+package com.wmsdipl.core.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a stored pallet's expiry data used by FEFO lookups.
+ */
+public interface PalletExpiryView {
+    Long getPalletId();
+    Long getSkuId();
+    LocalDate getExpiryDate();
+    String getLotNumber();
+    Long getLocationId();
+}
@@ -1,5 +1,6 @@
 package com.wmsdipl.core.repository;
 
+import com.wmsdipl.core.domain.MovementType;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,10 +8,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface PalletMovementRepository extends JpaRepository<PalletMovement, Long> {
+public interface PalletMovementRepository extends JpaRepository<PalletMovement, Long>, PalletMovementRepositoryCustom {
     List<PalletMovement> findByPallet(Pallet pallet);
     Optional<PalletMovement> findByScanId(Long scanId);
     long deleteByScanId(Long scanId);
@@ -25,6 +27,18 @@ public interface PalletMovementRepository extends JpaRepository<PalletMovement,
     
     @Query("SELECT pm FROM PalletMovement pm WHERE pm.pallet = :pallet AND pm.movedAt <= :asOfDate ORDER BY pm.movedAt DESC")
     List<PalletMovement> findByPalletBeforeDate(@Param("pallet") Pallet pallet, @Param("asOfDate") LocalDateTime asOfDate);
-    
-    Optional<PalletMovement> findTopByPalletAndMovedAtLessThanEqualOrderByMovedAtDesc(Pallet pallet, LocalDateTime asOfDate);
+
+    @Query("""
+        select p.skuId as skuId, count(pm) as total
+        from PalletMovement pm
+        join pm.pallet p
+        where pm.movementType in :types
+          and pm.movedAt >= :since
+          and p.skuId is not null
+        group by p.skuId
+    """)
+    List<SkuMovementCount> countBySkuSince(
+        @Param("types") Collection<MovementType> types,
+        @Param("since") LocalDateTime since
+    );
 }
@@ -0,0 +1,45 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.PalletStatus;
+import com.wmsdipl.core.domain.StockSnapshot;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Set-based reads over the pallet movement journal.
+ */
+public interface PalletMovementRepositoryCustom {
+
+    /**
+     * Reconstructs stock as it was at a point in time in a single query: the lines of {@code base}
+     * plus the movements made after it, or the whole movement journal when there is no base snapshot.
+     * Filters, sorting and pagination apply to the reconstructed state, not to the current pallet rows.
+     * Pallets with no movement at or before {@code asOf}, or with nothing left on them, are not returned.
+     *
+     * @param asOf point in time (inclusive)
+     * @param base latest snapshot taken at or before {@code asOf}, or null
+     * @param filter optional filters; null fields are ignored
+     * @param pageable page and sort (id, code, skuId, quantity, status)
+     * @return historical pallet states
+     */
+    Page<PalletState> findStockAsOf(LocalDateTime asOf, StockSnapshot base, StockFilter filter, Pageable pageable);
+
+    /**
+     * Writes the lines of {@code snapshot}: every pallet with stock at its {@code snapshotAt},
+     * computed from {@code base} plus the movements since, in one INSERT ... SELECT.
+     *
+     * @param snapshot saved snapshot header
+     * @param base previous snapshot, or null to replay the whole journal
+     * @return number of lines written
+     */
+    int insertSnapshotLines(StockSnapshot snapshot, StockSnapshot base);
+
+    /**
+     * Pallet location, quantity and status at the requested time.
+     */
+    record PalletState(Long palletId, Long locationId, BigDecimal quantity, PalletStatus status) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.PalletStatus;
+import com.wmsdipl.core.domain.StockSnapshot;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link PalletMovementRepositoryCustom}.
+ *
+ * The state of every pallet at time T is taken from its last journal row at or before T
+ * ({@code DISTINCT ON (pallet_id) ... ORDER BY moved_at DESC}); earlier rows are only read through
+ * window functions, so the whole page costs one query plus one count. The journal is the lines of the
+ * base snapshot, if any, followed by the movements made after it, which keeps the scanned range bounded.
+ * <ul>
+ *   <li>Location: target of the last movement, or its source for a PICK (picked goods leave the location).</li>
+ *   <li>Quantity: snapshot lines, RECEIVE, PLACE, MOVE and ADJUST record the pallet level, PICK records
+ *       the picked amount, so the quantity is the last recorded level minus the picks made after it.</li>
+ *   <li>Status: taken from the last snapshot line or derived from the last movement other than ADJUST
+ *       (RECEIVE - RECEIVED, PLACE/MOVE - PLACED, PICK - PICKING). Status changes without a movement are
+ *       not journaled, so this is an approximation; pallets whose history holds only adjustments keep
+ *       their current status.</li>
+ * </ul>
+ */
+public class PalletMovementRepositoryImpl implements PalletMovementRepositoryCustom {
+
+    private static final String JOURNAL_FROM_START = """
+        SELECT pm.id, pm.pallet_id, pm.moved_at, pm.movement_type::text AS movement_type, pm.quantity,
+               pm.from_location_id, pm.to_location_id, NULL::text AS snapshot_status
+        FROM pallet_movements pm
+        WHERE pm.moved_at <= ?
+        """;
+
+    private static final String JOURNAL_FROM_SNAPSHOT = """
+        SELECT 0::bigint AS id, sl.pallet_id, ss.snapshot_at AS moved_at, 'SNAPSHOT' AS movement_type, sl.quantity,
+               NULL::bigint AS from_location_id, sl.location_id AS to_location_id, sl.status AS snapshot_status
+        FROM stock_snapshot_lines sl
+        JOIN stock_snapshots ss ON ss.id = sl.snapshot_id
+        WHERE sl.snapshot_id = ?
+        UNION ALL
+        SELECT pm.id, pm.pallet_id, pm.moved_at, pm.movement_type::text, pm.quantity,
+               pm.from_location_id, pm.to_location_id, NULL::text
+        FROM pallet_movements pm
+        WHERE pm.moved_at > ? AND pm.moved_at <= ?
+        """;
+
+    private static final String STOCK_CTE = """
+        ), grouped AS (
+            SELECT h.*,
+                   COUNT(CASE WHEN h.movement_type <> 'PICK' AND h.quantity IS NOT NULL THEN 1 END)
+                       OVER (PARTITION BY h.pallet_id ORDER BY h.moved_at, h.id) AS level_group,
+                   COUNT(CASE WHEN h.movement_type <> 'ADJUST' THEN 1 END)
+                       OVER (PARTITION BY h.pallet_id ORDER BY h.moved_at, h.id) AS status_group
+            FROM history h
+        ), states AS (
+            SELECT DISTINCT ON (g.pallet_id)
+                   g.pallet_id,
+                   CASE WHEN g.movement_type = 'PICK' THEN g.from_location_id ELSE g.to_location_id END AS location_id,
+                   MAX(CASE WHEN g.movement_type <> 'PICK' THEN g.quantity END)
+                       OVER (PARTITION BY g.pallet_id, g.level_group)
+                   - SUM(CASE WHEN g.movement_type = 'PICK' THEN COALESCE(g.quantity, 0) ELSE 0 END)
+                       OVER (PARTITION BY g.pallet_id, g.level_group ORDER BY g.moved_at, g.id) AS quantity,
+                   MAX(CASE WHEN g.movement_type <> 'ADJUST' THEN g.movement_type END)
+                       OVER (PARTITION BY g.pallet_id, g.status_group) AS status_movement,
+                   MAX(g.snapshot_status) OVER (PARTITION BY g.pallet_id, g.status_group) AS snapshot_status
+            FROM grouped g
+            ORDER BY g.pallet_id, g.moved_at DESC, g.id DESC
+        ), stock AS (
+            SELECT s.pallet_id, s.location_id, s.quantity,
+                   CASE s.status_movement
+                       WHEN 'SNAPSHOT' THEN s.snapshot_status
+                       WHEN 'RECEIVE' THEN 'RECEIVED'
+                       WHEN 'PLACE' THEN 'PLACED'
+                       WHEN 'MOVE' THEN 'PLACED'
+                       WHEN 'PICK' THEN 'PICKING'
+                       ELSE p.status::text
+                   END AS status,
+                   p.code, p.sku_id, sk.code AS sku_code, p.receipt_id, l.code AS location_code
+            FROM states s
+            JOIN pallets p ON p.id = s.pallet_id
+            LEFT JOIN skus sk ON sk.id = p.sku_id
+            LEFT JOIN locations l ON l.id = s.location_id
+        )
+        """;
+
+    private static final String INSERT_SNAPSHOT_LINES = """
+        INSERT INTO stock_snapshot_lines (snapshot_id, pallet_id, location_id, sku_id, quantity, status)
+        SELECT ?, pallet_id, location_id, sku_id, quantity, status
+        FROM stock
+        WHERE quantity > 0
+        """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "pallet_id",
+        "code", "code",
+        "skuId", "sku_id",
+        "quantity", "quantity",
+        "status", "status"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PalletMovementRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<PalletState> findStockAsOf(LocalDateTime asOf, StockSnapshot base, StockFilter filter, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        String cte = stockCte(asOf, base, args);
+        String where = buildWhere(filter, args);
+
+        Long total = jdbcTemplate.queryForObject(
+            cte + "SELECT COUNT(*) FROM stock" + where, Long.class, args.toArray());
+        if (total == null || total == 0) {
+            return Page.empty(pageable);
+        }
+
+        StringBuilder sql = new StringBuilder(cte)
+            .append("SELECT pallet_id, location_id, quantity, status FROM stock")
+            .append(where)
+            .append(orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(pageable.getPageSize());
+            args.add(pageable.getOffset());
+        }
+
+        List<PalletState> content = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new PalletState(
+            rs.getLong("pallet_id"),
+            rs.getObject("location_id", Long.class),
+            rs.getBigDecimal("quantity"),
+            PalletStatus.valueOf(rs.getString("status"))
+        ), args.toArray());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public int insertSnapshotLines(StockSnapshot snapshot, StockSnapshot base) {
+        List<Object> args = new ArrayList<>();
+        String cte = stockCte(snapshot.getSnapshotAt(), base, args);
+        args.add(snapshot.getId());
+        return jdbcTemplate.update(cte + INSERT_SNAPSHOT_LINES, args.toArray());
+    }
+
+    private String stockCte(LocalDateTime asOf, StockSnapshot base, List<Object> args) {
+        if (base == null) {
+            args.add(Timestamp.valueOf(asOf));
+            return "WITH history AS (\n" + JOURNAL_FROM_START + STOCK_CTE;
+        }
+        args.add(base.getId());
+        args.add(Timestamp.valueOf(base.getSnapshotAt()));
+        args.add(Timestamp.valueOf(asOf));
+        return "WITH history AS (\n" + JOURNAL_FROM_SNAPSHOT + STOCK_CTE;
+    }
+
+    private String buildWhere(StockFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE quantity > 0");
+        if (filter == null) {
+            return where.toString();
+        }
+        if (filter.skuCode() != null && !filter.skuCode().isBlank()) {
+            where.append(" AND lower(sku_code) LIKE ?");
+            args.add(LikePatterns.contains(filter.skuCode()));
+        }
+        if (filter.locationCode() != null && !filter.locationCode().isBlank()) {
+            where.append(" AND location_code = ?");
+            args.add(filter.locationCode());
+        }
+        if (filter.palletCode() != null && !filter.palletCode().isBlank()) {
+            where.append(" AND lower(code) LIKE ?");
+            args.add(LikePatterns.contains(filter.palletCode()));
+        }
+        if (filter.receiptId() != null) {
+            where.append(" AND receipt_id = ?");
+            args.add(filter.receiptId());
+        }
+        if (filter.status() != null) {
+            where.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        return where.toString();
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        // Stable paging: pallet id as final tiebreaker
+        orders.add("pallet_id ASC");
+        return " ORDER BY " + String.join(", ", orders);
+    }
+}
@@ -4,25 +4,49 @@ import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletStatus;
 import com.wmsdipl.core.domain.Receipt;
 import com.wmsdipl.core.domain.Location;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDateTime;
 import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.List;
 import java.util.Collection;
 
-public interface PalletRepository extends JpaRepository<Pallet, Long>, JpaSpecificationExecutor<Pallet> {
+public interface PalletRepository extends JpaRepository<Pallet, Long>, JpaSpecificationExecutor<Pallet>, PalletRepositoryCustom {
     Optional<Pallet> findByCode(String code);
     boolean existsByCode(String code);
     List<Pallet> findByReceiptAndStatus(Receipt receipt, PalletStatus status);
+
+    @EntityGraph(attributePaths = {"location", "receiptLine"})
+    List<Pallet> findByReceiptAndStatusIn(Receipt receipt, Collection<PalletStatus> statuses);
     List<Pallet> findByReceipt(Receipt receipt);
-    List<Pallet> findByCreatedAtBetweenAndReceiptIsNotNull(LocalDateTime from, LocalDateTime to);
     List<Pallet> findByLocation(Location location);
     List<Pallet> findByReceipt_IdAndSkuId(Long receiptId, Long skuId);
     List<Pallet> findByReceipt_IdAndReceiptLine_IdIn(Long receiptId, Collection<Long> lineIds);
     long countByLocation(Location location);
+
+    @Query("""
+        select p.location.id as locationId, count(p) as total
+        from Pallet p
+        where p.location.id in :locationIds
+        group by p.location.id
+    """)
+    List<LocationCount> countGroupedByLocationIdIn(@Param("locationIds") Collection<Long> locationIds);
+
+    @Query("""
+        select p.id as palletId, p.skuId as skuId, p.expiryDate as expiryDate,
+               p.lotNumber as lotNumber, p.location.id as locationId
+        from Pallet p
+        where p.skuId is not null
+          and p.expiryDate is not null
+          and p.location is not null
+          and p.status in :statuses
+    """)
+    List<PalletExpiryView> findExpiryStock(@Param("statuses") Collection<PalletStatus> statuses);
+
     boolean existsByReceiptLine_IdIn(Collection<Long> lineIds);
     boolean existsByReceipt_IdAndSkuId(Long receiptId, Long skuId);
     boolean existsBySkuIdAndQuantityGreaterThan(Long skuId, BigDecimal quantity);
@@ -0,0 +1,49 @@
+package com.wmsdipl.core.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aggregate and search reads over pallets that are not expressible as derived or JPQL queries.
+ */
+public interface PalletRepositoryCustom {
+
+    /**
+     * Totals current stock (pallets with quantity above zero) in one GROUP BY query.
+     * Only the columns of the requested dimensions are filled in the returned rows.
+     *
+     * @param filter optional filters; null fields are ignored
+     * @param groupBy grouping dimensions, at least one
+     * @return one row per group, ordered by the grouping columns
+     */
+    List<StockSummaryRow> summarizeStock(StockFilter filter, Set<StockSummaryDimension> groupBy);
+
+    /**
+     * Ranked pallet code search: exact, prefix, substring and trigram-similar codes,
+     * labelled with the SKU code joined in the same query.
+     *
+     * @param term search text, at least two characters
+     * @param limit maximum number of hits
+     * @return hits ordered by match rank, then similarity
+     */
+    List<SearchHit> searchByCode(String term, int limit);
+
+    /**
+     * One stock summary group.
+     */
+    record StockSummaryRow(
+        Long skuId,
+        String skuCode,
+        String skuName,
+        String uom,
+        Long zoneId,
+        String zoneCode,
+        String locationType,
+        String status,
+        BigDecimal totalQuantity,
+        int palletCount,
+        int locationCount
+    ) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.wmsdipl.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link PalletRepositoryCustom}.
+ * The grouping columns depend on the requested dimensions, so the statement is assembled here
+ * from fixed fragments; filter values are always bound as parameters.
+ */
+public class PalletRepositoryImpl implements PalletRepositoryCustom {
+
+    private static final String SUMMARY_FROM = """
+        FROM pallets p
+        LEFT JOIN skus s ON s.id = p.sku_id
+        LEFT JOIN locations l ON l.id = p.location_id
+        LEFT JOIN zones z ON z.id = l.zone_id
+        WHERE p.quantity > 0
+        """;
+
+    private static final String SEARCH_FROM = """
+        FROM pallets p
+        LEFT JOIN skus s ON s.id = p.sku_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PalletRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<StockSummaryRow> summarizeStock(StockFilter filter, Set<StockSummaryDimension> groupBy) {
+        if (groupBy == null || groupBy.isEmpty()) {
+            throw new IllegalArgumentException("At least one grouping dimension is required");
+        }
+        Set<StockSummaryDimension> dimensions = EnumSet.copyOf(groupBy);
+
+        List<String> columns = new ArrayList<>();
+        if (dimensions.contains(StockSummaryDimension.SKU)) {
+            columns.add("p.sku_id");
+            columns.add("s.code");
+            columns.add("s.name");
+            columns.add("s.uom");
+        }
+        if (dimensions.contains(StockSummaryDimension.ZONE)) {
+            columns.add("z.id");
+            columns.add("z.code");
+        }
+        if (dimensions.contains(StockSummaryDimension.LOCATION_TYPE)) {
+            columns.add("l.location_type::text");
+        }
+        if (dimensions.contains(StockSummaryDimension.STATUS)) {
+            columns.add("p.status::text");
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(selectColumn(dimensions, StockSummaryDimension.SKU, "p.sku_id", "sku_id")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.SKU, "s.code", "sku_code")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.SKU, "s.name", "sku_name")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.SKU, "s.uom", "uom")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.ZONE, "z.id", "zone_id")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.ZONE, "z.code", "zone_code")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.LOCATION_TYPE, "l.location_type::text", "location_type")).append(", ")
+            .append(selectColumn(dimensions, StockSummaryDimension.STATUS, "p.status::text", "status")).append(",\n")
+            .append("SUM(p.quantity) AS total_quantity, COUNT(*) AS pallet_count, ")
+            .append("COUNT(DISTINCT p.location_id) AS location_count\n")
+            .append(SUMMARY_FROM)
+            .append(buildWhere(filter, args))
+            .append(" GROUP BY ").append(String.join(", ", columns))
+            .append(" ORDER BY ").append(String.join(", ", columns));
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new StockSummaryRow(
+            getLong(rs, "sku_id"),
+            rs.getString("sku_code"),
+            rs.getString("sku_name"),
+            rs.getString("uom"),
+            getLong(rs, "zone_id"),
+            rs.getString("zone_code"),
+            rs.getString("location_type"),
+            rs.getString("status"),
+            rs.getBigDecimal("total_quantity"),
+            rs.getInt("pallet_count"),
+            rs.getInt("location_count")
+        ), args.toArray());
+    }
+
+    @Override
+    public List<SearchHit> searchByCode(String term, int limit) {
+        return TrigramSearch.search(jdbcTemplate, SearchHit.Type.PALLET,
+            "p.id, p.code, s.code AS label", SEARCH_FROM, "lower(p.code)", List.of(), term, limit);
+    }
+
+    private static String selectColumn(Set<StockSummaryDimension> dimensions, StockSummaryDimension dimension,
+                                       String expression, String alias) {
+        return (dimensions.contains(dimension) ? expression : "NULL") + " AS " + alias;
+    }
+
+    private static String buildWhere(StockFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder();
+        if (filter == null) {
+            return where.toString();
+        }
+        if (filter.skuCode() != null && !filter.skuCode().isBlank()) {
+            where.append(" AND lower(s.code) LIKE ?");
+            args.add(LikePatterns.contains(filter.skuCode()));
+        }
+        if (filter.locationCode() != null && !filter.locationCode().isBlank()) {
+            where.append(" AND l.code = ?");
+            args.add(filter.locationCode());
+        }
+        if (filter.palletCode() != null && !filter.palletCode().isBlank()) {
+            where.append(" AND lower(p.code) LIKE ?");
+            args.add(LikePatterns.contains(filter.palletCode()));
+        }
+        if (filter.receiptId() != null) {
+            where.append(" AND p.receipt_id = ?");
+            args.add(filter.receiptId());
+        }
+        if (filter.status() != null) {
+            where.append(" AND p.status::text = ?");
+            args.add(filter.status().name());
+        }
+        return where.toString();
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -4,6 +4,8 @@ import com.wmsdipl.core.domain.Receipt;
 import com.wmsdipl.core.domain.ReceiptStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -13,13 +15,70 @@ import java.util.List;
 public interface ReceiptRepository extends JpaRepository<Receipt, Long>, JpaSpecificationExecutor<Receipt> {
     Optional<Receipt> findByMessageId(String messageId);
     boolean existsByDocNoAndSupplier(String docNo, String supplier);
-    List<Receipt> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
     List<Receipt> findByCreatedAtBetweenAndStatusIn(
         LocalDateTime from,
         LocalDateTime to,
         Collection<ReceiptStatus> statuses
     );
-    List<Receipt> findByStatusAndUpdatedAtBefore(ReceiptStatus status, LocalDateTime updatedAtBefore);
     List<Receipt> findByCrossDockTrueAndOutboundRef(String outboundRef);
     List<Receipt> findByCrossDockTrueAndOutboundRefIsNotNull();
+
+    /**
+     * Computes all receiving health counters in one statement.
+     * Stuck receipts: in a workflow status and not updated since the threshold.
+     * Stale tasks: open receiving/placement/shipping tasks idle since the threshold with no later scan,
+     * checked with NOT EXISTS against scans(task_id, scanned_at) instead of one query per task.
+     * Receipts, tasks and discrepancies are limited to those created within the period.
+     *
+     * @param start start of period (inclusive)
+     * @param end end of period (inclusive)
+     * @param staleThreshold activity before this time counts as stale
+     * @return counters
+     */
+    @Query(value = """
+        WITH stuck AS (
+            SELECT COUNT(*) FILTER (WHERE r.status = 'IN_PROGRESS') AS stuck_receiving,
+                   COUNT(*) FILTER (WHERE r.status = 'PLACING') AS stuck_placing,
+                   COUNT(*) FILTER (WHERE r.status = 'READY_FOR_SHIPMENT') AS stuck_ready_for_shipment,
+                   COUNT(*) FILTER (WHERE r.status = 'SHIPPING_IN_PROGRESS') AS stuck_shipping_in_progress
+            FROM receipts r
+            WHERE r.status IN ('IN_PROGRESS', 'PLACING', 'READY_FOR_SHIPMENT', 'SHIPPING_IN_PROGRESS')
+              AND r.updated_at < :staleThreshold
+              AND r.created_at BETWEEN :start AND :end
+        ),
+        stale AS (
+            SELECT COUNT(*) AS stale_tasks
+            FROM tasks t
+            WHERE t.status IN ('ASSIGNED', 'IN_PROGRESS')
+              AND t.task_type IN ('RECEIVING', 'PLACEMENT', 'SHIPPING')
+              AND t.created_at BETWEEN :start AND :end
+              AND COALESCE(t.started_at, t.created_at) < :staleThreshold
+              AND NOT EXISTS (
+                  SELECT 1 FROM scans s
+                  WHERE s.task_id = t.id
+                    AND s.scanned_at > :staleThreshold
+              )
+        ),
+        discrepancy AS (
+            SELECT COUNT(*) FILTER (WHERE d.resolved) AS auto_resolved,
+                   COUNT(*) FILTER (
+                       WHERE d.type IN ('UNDER_QTY', 'OVER_QTY', 'BARCODE_MISMATCH', 'SSCC_MISMATCH')
+                   ) AS critical
+            FROM discrepancies d
+            WHERE d.created_at BETWEEN :start AND :end
+        )
+        SELECT stuck.stuck_receiving AS "stuckReceivingReceipts",
+               stuck.stuck_placing AS "stuckPlacingReceipts",
+               stuck.stuck_ready_for_shipment AS "stuckReadyForShipmentReceipts",
+               stuck.stuck_shipping_in_progress AS "stuckShippingInProgressReceipts",
+               stale.stale_tasks AS "staleTasks",
+               discrepancy.auto_resolved AS "autoResolvedDiscrepancies",
+               discrepancy.critical AS "criticalDiscrepancies"
+        FROM stuck CROSS JOIN stale CROSS JOIN discrepancy
+        """, nativeQuery = true)
+    ReceivingHealthCounts countReceivingHealth(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end,
+        @Param("staleThreshold") LocalDateTime staleThreshold
+    );
 }
@@ -0,0 +1,14 @@
+package com.wmsdipl.core.repository;
+
+/**
+ * Projection for the receiving health counters, all computed by one statement.
+ */
+public interface ReceivingHealthCounts {
+    Long getStuckReceivingReceipts();
+    Long getStuckPlacingReceipts();
+    Long getStuckReadyForShipmentReceipts();
+    Long getStuckShippingInProgressReceipts();
+    Long getStaleTasks();
+    Long getAutoResolvedDiscrepancies();
+    Long getCriticalDiscrepancies();
+}
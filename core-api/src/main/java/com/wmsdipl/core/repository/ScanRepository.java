@@ -4,7 +4,6 @@ import com.wmsdipl.core.domain.Scan;
 import com.wmsdipl.core.domain.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,8 +27,6 @@ public interface ScanRepository extends JpaRepository<Scan, Long> {
 
     Optional<Scan> findFirstByTaskIdAndPalletCodeOrderByScannedAtDesc(Long taskId, String palletCode);
 
-    boolean existsByTaskIdAndScannedAtAfter(Long taskId, LocalDateTime scannedAt);
-
     boolean existsByTask_Line_IdIn(java.util.Collection<Long> lineIds);
 
     boolean existsByBarcodeIgnoreCase(String barcode);
@@ -0,0 +1,16 @@
+package com.wmsdipl.core.repository;
+
+/**
+ * One ranked match of the code search.
+ * {@code matchRank} is 0 for an exact code match, 1 for a code prefix, 2 for a substring
+ * (code or secondary text) and 3 for a trigram-similar fuzzy match; {@code score} is the
+ * pg_trgm similarity used to order hits within a rank.
+ */
+public record SearchHit(Type type, Long id, String code, String label, int matchRank, double score) {
+
+    public enum Type {
+        PALLET,
+        SKU,
+        LOCATION
+    }
+}
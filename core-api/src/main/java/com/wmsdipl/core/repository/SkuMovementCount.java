@@ -0,0 +1,9 @@
+package com.wmsdipl.core.repository;
+
+/**
+ * Projection for per-SKU movement counts used by velocity classification.
+ */
+public interface SkuMovementCount {
+    Long getSkuId();
+    Long getTotal();
+}
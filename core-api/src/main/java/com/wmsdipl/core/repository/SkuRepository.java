@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SkuRepository extends JpaRepository<Sku, Long> {
+public interface SkuRepository extends JpaRepository<Sku, Long>, SkuRepositoryCustom {
     Optional<Sku> findByCode(String code);
     List<Sku> findByStatus(SkuStatus status);
 }
@@ -0,0 +1,19 @@
+package com.wmsdipl.core.repository;
+
+import java.util.List;
+
+/**
+ * SKU reads that are not expressible as derived or JPQL queries.
+ */
+public interface SkuRepositoryCustom {
+
+    /**
+     * Ranked SKU search over code and name: exact and prefix code matches first,
+     * then substrings of either, then trigram-similar codes or names.
+     *
+     * @param term search text, at least two characters
+     * @param limit maximum number of hits
+     * @return hits labelled with the SKU name, ordered by match rank, then similarity
+     */
+    List<SearchHit> search(String term, int limit);
+}
@@ -0,0 +1,24 @@
+package com.wmsdipl.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link SkuRepositoryCustom}.
+ */
+public class SkuRepositoryImpl implements SkuRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SkuRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchHit> search(String term, int limit) {
+        return TrigramSearch.search(jdbcTemplate, SearchHit.Type.SKU,
+            "s.id, s.code, s.name AS label", "FROM skus s",
+            "lower(s.code)", List.of("lower(s.name)"), term, limit);
+    }
+}
@@ -3,8 +3,12 @@ package com.wmsdipl.core.repository;
 import com.wmsdipl.core.domain.SkuStorageConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SkuStorageConfigRepository extends JpaRepository<SkuStorageConfig, Long> {
     Optional<SkuStorageConfig> findBySkuId(Long skuId);
+    List<SkuStorageConfig> findBySkuIdIn(Collection<Long> skuIds);
+    List<SkuStorageConfig> findByVelocityClassIn(Collection<String> velocityClasses);
 }
@@ -0,0 +1,10 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.PalletStatus;
+
+/**
+ * Stock filters shared by the stock list, historical stock and stock summary queries.
+ * Null fields are ignored; {@code skuCode} and {@code palletCode} are case-insensitive partial matches.
+ */
+public record StockFilter(String skuCode, String locationCode, String palletCode, Long receiptId, PalletStatus status) {
+}
@@ -0,0 +1,16 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findTopBySnapshotAtLessThanEqualOrderBySnapshotAtDesc(LocalDateTime at);
+
+    Optional<StockSnapshot> findTopBySnapshotAtLessThanOrderBySnapshotAtDesc(LocalDateTime at);
+
+    Optional<StockSnapshot> findBySnapshotAt(LocalDateTime snapshotAt);
+}
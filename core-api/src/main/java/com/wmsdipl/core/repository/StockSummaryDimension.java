@@ -0,0 +1,11 @@
+package com.wmsdipl.core.repository;
+
+/**
+ * Grouping dimensions of the stock summary.
+ */
+public enum StockSummaryDimension {
+    SKU,
+    ZONE,
+    LOCATION_TYPE,
+    STATUS
+}
@@ -0,0 +1,14 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.TaskType;
+
+/**
+ * Projection of a NEW task as queued by the dispatcher: type, priority and work location (zone, cell code).
+ */
+public interface TaskDispatchView {
+    Long getTaskId();
+    TaskType getTaskType();
+    Integer getPriority();
+    Long getZoneId();
+    String getLocationCode();
+}
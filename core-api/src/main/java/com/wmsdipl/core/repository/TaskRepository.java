@@ -5,12 +5,22 @@ import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.domain.TaskType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+    @Query("""
+        select t from Task t
+        left join fetch t.receipt
+        left join fetch t.line
+        where t.id = :id
+    """)
+    Optional<Task> findWithReceiptAndLineById(@Param("id") Long id);
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     List<Task> findByReceiptId(Long receiptId);
     List<Task> findByReceiptIdAndTaskType(Long receiptId, TaskType taskType);
     List<Task> findByStatus(TaskStatus status);
@@ -34,10 +44,48 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     List<Task> findByAssigneeAndStatus(String assignee, TaskStatus status);
 
     List<Task> findByTaskTypeAndReceiptIdIn(TaskType taskType, List<Long> receiptIds);
-    List<Task> findByTaskTypeAndClosedAtBetween(TaskType taskType, LocalDateTime from, LocalDateTime to);
 
     long countByTargetLocationIdAndStatusIn(Long targetLocationId, java.util.Collection<TaskStatus> statuses);
 
+    @Query("""
+        select t.targetLocationId as locationId, count(t) as total
+        from Task t
+        where t.targetLocationId in :locationIds
+          and t.status in :statuses
+        group by t.targetLocationId
+    """)
+    List<LocationCount> countGroupedByTargetLocationIdIn(
+        @Param("locationIds") Collection<Long> locationIds,
+        @Param("statuses") Collection<TaskStatus> statuses
+    );
+
+    @Query("""
+        select t.assignee as assignee, t.status as status, count(t) as total
+        from Task t
+        where t.assignee in :assignees
+          and t.status in :statuses
+        group by t.assignee, t.status
+    """)
+    List<AssigneeStatusCount> countGroupedByAssigneeAndStatus(
+        @Param("assignees") Collection<String> assignees,
+        @Param("statuses") Collection<TaskStatus> statuses
+    );
+
+    /**
+     * Tasks in the given status with their work location (target, else source): zone and cell code.
+     * Used to build the dispatch queues.
+     */
+    @Query("""
+        select t.id as taskId, t.taskType as taskType, t.priority as priority,
+               l.zone.id as zoneId, l.code as locationCode
+        from Task t
+        left join Location l on l.id = coalesce(t.targetLocationId, t.sourceLocationId)
+        where t.status = :status
+    """)
+    List<TaskDispatchView> findDispatchCandidates(@Param("status") TaskStatus status);
+
+    Optional<Task> findFirstByAssigneeAndStatusInOrderByPriorityDescIdAsc(String assignee, Collection<TaskStatus> statuses);
+
     boolean existsByLine_IdIn(Collection<Long> lineIds);
     boolean existsByReceiptIdAndLine_SkuId(Long receiptId, Long skuId);
     boolean existsByLine_SkuIdAndStatusIn(Long skuId, Collection<TaskStatus> statuses);
@@ -0,0 +1,19 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.Task;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for tasks that bypass per-entity persistence.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Inserts new tasks as JDBC batches. IDs are reserved from the tasks sequence in one query
+     * and assigned to the given instances; the inserted tasks are not attached to the persistence context.
+     *
+     * @param tasks new tasks without IDs
+     */
+    void insertAllInBatch(List<Task> tasks);
+}
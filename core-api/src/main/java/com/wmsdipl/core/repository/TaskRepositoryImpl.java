@@ -0,0 +1,123 @@
+package com.wmsdipl.core.repository;
+
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.service.ChangeFeed;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link TaskRepositoryCustom}.
+ * Task IDs use IDENTITY generation, which disables Hibernate insert batching,
+ * so placement plans are written here with one sequence round trip plus JDBC batches.
+ * Entity listeners do not see these inserts, so the new tasks are recorded in the {@link ChangeFeed} here.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String RESERVE_IDS_SQL =
+        "SELECT nextval(pg_get_serial_sequence('tasks', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL = """
+        INSERT INTO tasks (id, receipt_id, line_id, task_type, status, assignee, assigned_by, pallet_id,
+                           source_location_id, target_location_id, qty_assigned, qty_done, priority,
+                           created_at, started_at, closed_at, entity_version)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeed changeFeed;
+
+    public TaskRepositoryImpl(JdbcTemplate jdbcTemplate, ChangeFeed changeFeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public void insertAllInBatch(List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, tasks.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setId(ids.get(i));
+            // Same defaults as Task.onCreate, which does not run for JDBC inserts.
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(now);
+            }
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.NEW);
+            }
+            if (task.getTaskType() == null) {
+                task.setTaskType(TaskType.RECEIVING);
+            }
+            if (task.getPriority() == null) {
+                task.setPriority(100);
+            }
+            if (task.getEntityVersion() == null) {
+                task.setEntityVersion(0L);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, BATCH_SIZE, (ps, task) -> {
+            setLong(ps, 1, task.getId());
+            setLong(ps, 2, task.getReceipt() != null ? task.getReceipt().getId() : null);
+            setLong(ps, 3, task.getLine() != null ? task.getLine().getId() : null);
+            ps.setString(4, task.getTaskType().name());
+            ps.setString(5, task.getStatus().name());
+            ps.setString(6, task.getAssignee());
+            ps.setString(7, task.getAssignedBy());
+            setLong(ps, 8, task.getPalletId());
+            setLong(ps, 9, task.getSourceLocationId());
+            setLong(ps, 10, task.getTargetLocationId());
+            setDecimal(ps, 11, task.getQtyAssigned());
+            setDecimal(ps, 12, task.getQtyDone());
+            ps.setInt(13, task.getPriority());
+            setTimestamp(ps, 14, task.getCreatedAt());
+            setTimestamp(ps, 15, task.getStartedAt());
+            setTimestamp(ps, 16, task.getClosedAt());
+            ps.setLong(17, task.getEntityVersion());
+        });
+
+        for (Task task : tasks) {
+            changeFeed.record(ChangeFeed.EntityType.TASK, task.getId(),
+                task.getReceipt() != null ? task.getReceipt().getId() : null, ChangeFeed.Action.CREATED);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.wmsdipl.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Shared statement for the ranked code searches of the repository fragments.
+ * Every searched column is a {@code lower(...)} expression covered by a {@code gin_trgm_ops} index
+ * (see V034), so LIKE prefix/substring and the {@code %} similarity operator are index scans.
+ */
+final class TrigramSearch {
+
+    /** pg_trgm cannot build a trigram from fewer characters, so fuzzy matching starts at three. */
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    private TrigramSearch() {
+    }
+
+    /**
+     * @param selectColumns select list producing {@code id}, {@code code} and {@code label}
+     * @param from FROM clause including any joins needed for the label
+     * @param codeColumn lower-cased code expression, ranked for exact and prefix matches
+     * @param otherColumns further lower-cased expressions matched by substring and similarity only
+     */
+    static List<SearchHit> search(JdbcTemplate jdbcTemplate, SearchHit.Type type, String selectColumns,
+                                  String from, String codeColumn, List<String> otherColumns,
+                                  String term, int limit) {
+        String lower = term.trim().toLowerCase(Locale.ROOT);
+        String contains = LikePatterns.contains(lower);
+
+        List<String> columns = new ArrayList<>();
+        columns.add(codeColumn);
+        columns.addAll(otherColumns);
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectColumns).append(",\n")
+            .append("CASE WHEN ").append(codeColumn).append(" = ? THEN 0")
+            .append(" WHEN ").append(codeColumn).append(" LIKE ? THEN 1")
+            .append(" WHEN ").append(anyMatches(columns, "LIKE")).append(" THEN 2")
+            .append(" ELSE 3 END AS match_rank,\n")
+            .append(greatestSimilarity(columns)).append(" AS score\n")
+            .append(from)
+            .append("\nWHERE ").append(anyMatches(columns, "LIKE"));
+        args.add(lower);
+        args.add(LikePatterns.startsWith(lower));
+        columns.forEach(column -> args.add(contains));
+        columns.forEach(column -> args.add(lower));
+        columns.forEach(column -> args.add(contains));
+        if (lower.length() >= MIN_FUZZY_LENGTH) {
+            sql.append(" OR ").append(anyMatches(columns, "%"));
+            columns.forEach(column -> args.add(lower));
+        }
+        sql.append("\nORDER BY match_rank, score DESC, code\nLIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SearchHit(
+            type,
+            rs.getLong("id"),
+            rs.getString("code"),
+            rs.getString("label"),
+            rs.getInt("match_rank"),
+            rs.getDouble("score")
+        ), args.toArray());
+    }
+
+    private static String anyMatches(List<String> columns, String operator) {
+        List<String> predicates = new ArrayList<>();
+        for (String column : columns) {
+            predicates.add(column + " " + operator + " ?");
+        }
+        return "(" + String.join(" OR ", predicates) + ")";
+    }
+
+    private static String greatestSimilarity(List<String> columns) {
+        List<String> similarities = new ArrayList<>();
+        for (String column : columns) {
+            similarities.add("COALESCE(similarity(" + column + ", ?), 0)");
+        }
+        return similarities.size() == 1 ? similarities.get(0) : "GREATEST(" + String.join(", ", similarities) + ")";
+    }
+}
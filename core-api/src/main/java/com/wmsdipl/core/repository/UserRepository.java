@@ -1,10 +1,14 @@
 package com.wmsdipl.core.repository;
 
 import com.wmsdipl.core.domain.User;
+import com.wmsdipl.core.domain.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    List<User> findByRoleAndActiveTrueOrderByUsernameAsc(UserRole role);
 }
@@ -0,0 +1,137 @@
+package com.wmsdipl.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Result cache in front of {@link AnalyticsService}, so dashboards polling the same periods
+ * do not recompute them. Entries are keyed by view, period and threshold.
+ *
+ * Completed tasks and new discrepancies evict the entries whose period covers them once their transaction
+ * commits. Other changes (new receipts, pallet status updates) are picked up when an entry expires after
+ * {@code wms.analytics.cache-ttl-ms}; a TTL of 0 disables the cache.
+ *
+ * Hits, misses and invalidations are published as {@code wms.analytics.cache.*} meters.
+ */
+@Component
+public class AnalyticsCache {
+
+    static final int MAX_ENTRIES = 128;
+
+    private final long ttlNanos;
+    private final Map<Key, CachedResult> results = new ConcurrentHashMap<>();
+    /** Bumped on every invalidation; results loaded across an invalidation are not stored. */
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public AnalyticsCache(MeterRegistry meterRegistry,
+                          @Value("${wms.analytics.cache-ttl-ms:60000}") long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.hits = Counter.builder("wms.analytics.cache.requests")
+            .tag("result", "hit")
+            .description("Analytics requests served from the cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("wms.analytics.cache.requests")
+            .tag("result", "miss")
+            .description("Analytics requests computed from the database")
+            .register(meterRegistry);
+        this.invalidations = Counter.builder("wms.analytics.cache.invalidations")
+            .description("Cached analytics results evicted by task completions and discrepancies")
+            .register(meterRegistry);
+        Gauge.builder("wms.analytics.cache.size", results, Map::size)
+            .description("Cached analytics results")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result for the view and period, loading it if absent or expired.
+     *
+     * @param view name of the calculation, part of the key
+     * @param startDate start of period
+     * @param endDate end of period
+     * @param thresholdHours further key component, or null
+     * @param loader computes the result
+     * @return result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String view, LocalDateTime startDate, LocalDateTime endDate, Integer thresholdHours,
+                     Supplier<T> loader) {
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(view, startDate, endDate, thresholdHours);
+        long now = System.nanoTime();
+        CachedResult cached = results.get(key);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return (T) cached.value();
+        }
+        misses.increment();
+        long loadedGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadedGeneration) {
+            if (results.size() >= MAX_ENTRIES) {
+                results.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+                if (results.size() >= MAX_ENTRIES) {
+                    results.clear();
+                }
+            }
+            results.put(key, new CachedResult(value, now));
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCompleted(TaskCompletedEvent event) {
+        invalidate(event.closedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscrepancyCreated(DiscrepancyCreatedEvent event) {
+        invalidate(event.createdAt());
+    }
+
+    /**
+     * Evicts the entries whose period covers the given time. Periods are matched by whole hours,
+     * like the hourly rollups they are computed from.
+     *
+     * @param changedAt time of the change, or null to evict everything
+     */
+    public void invalidate(LocalDateTime changedAt) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        if (changedAt == null) {
+            results.clear();
+            return;
+        }
+        results.keySet().removeIf(key -> key.covers(changedAt));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        results.clear();
+    }
+
+    private record Key(String view, LocalDateTime startDate, LocalDateTime endDate, Integer thresholdHours) {
+
+        boolean covers(LocalDateTime time) {
+            return !time.isBefore(startDate.truncatedTo(ChronoUnit.HOURS)) && !time.isAfter(endDate);
+        }
+    }
+
+    private record CachedResult(Object value, long loadedAt) {
+    }
+}
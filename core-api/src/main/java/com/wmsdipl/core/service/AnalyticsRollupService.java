@@ -0,0 +1,278 @@
+package com.wmsdipl.core.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains hourly pre-aggregated receiving analytics so dashboards sum buckets instead of loading entities.
+ *
+ * A refresh finds the hours touched since the last run (new receipts and discrepancies, pallets created or
+ * updated, receiving/placement tasks closed) and rebuilds only those hours. The watermark is re-read with an
+ * overlap so rows committed late by a concurrent transaction are not missed; rebuilding an hour is idempotent.
+ * Receipt statuses are not rolled up: the receipts touched per hour are, and their current status is joined
+ * at read time, which keeps "receipts by status" exact.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    public static final String METRIC_DISCREPANCY_TYPE = "DISCREPANCY_TYPE";
+    public static final String METRIC_PALLET_STATUS = "PALLET_STATUS";
+    public static final String METRIC_TASK_DURATION = "TASK_DURATION";
+
+    static final String WATERMARK_NAME = "receiving_analytics";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String LOCK_WATERMARK =
+        "SELECT refreshed_to FROM analytics_rollup_state WHERE name = ? FOR UPDATE";
+
+    private static final String UPDATE_WATERMARK =
+        "UPDATE analytics_rollup_state SET refreshed_to = ? WHERE name = ?";
+
+    private static final String DIRTY_BUCKETS = """
+        SELECT bucket FROM (
+            SELECT date_trunc('hour', created_at) AS bucket FROM receipts WHERE created_at > ?
+            UNION
+            SELECT date_trunc('hour', created_at) FROM discrepancies WHERE created_at > ?
+            UNION
+            SELECT date_trunc('hour', created_at) FROM pallets WHERE updated_at > ? AND receipt_id IS NOT NULL
+            UNION
+            SELECT date_trunc('hour', closed_at) FROM tasks
+            WHERE closed_at > ? AND task_type::text IN ('RECEIVING', 'PLACEMENT')
+        ) dirty
+        WHERE bucket IS NOT NULL
+        ORDER BY bucket
+        """;
+
+    private static final String DELETE_ROLLUPS = "DELETE FROM analytics_hourly_rollups WHERE bucket_start = ?";
+
+    private static final String DELETE_RECEIPTS = "DELETE FROM analytics_hourly_receipts WHERE bucket_start = ?";
+
+    // Each rebuild statement takes (bucket, bucket, bucket + 1h)
+    private static final String INSERT_DISCREPANCY_TYPES = """
+        INSERT INTO analytics_hourly_rollups (bucket_start, metric, dimension, item_count)
+        SELECT ?, 'DISCREPANCY_TYPE', COALESCE(type, 'UNKNOWN'), COUNT(*)
+        FROM discrepancies
+        WHERE created_at >= ? AND created_at < ?
+        GROUP BY COALESCE(type, 'UNKNOWN')
+        """;
+
+    private static final String INSERT_PALLET_STATUSES = """
+        INSERT INTO analytics_hourly_rollups (bucket_start, metric, dimension, item_count)
+        SELECT ?, 'PALLET_STATUS', COALESCE(status::text, 'UNKNOWN'), COUNT(*)
+        FROM pallets
+        WHERE created_at >= ? AND created_at < ? AND receipt_id IS NOT NULL
+        GROUP BY COALESCE(status::text, 'UNKNOWN')
+        """;
+
+    private static final String INSERT_TASK_DURATIONS = """
+        INSERT INTO analytics_hourly_rollups (bucket_start, metric, dimension, item_count, duration_seconds)
+        SELECT ?, 'TASK_DURATION', task_type::text, COUNT(*),
+               SUM(FLOOR(EXTRACT(EPOCH FROM (closed_at - started_at))))::bigint
+        FROM tasks
+        WHERE closed_at >= ? AND closed_at < ?
+          AND task_type::text IN ('RECEIVING', 'PLACEMENT')
+          AND status::text = 'COMPLETED'
+          AND started_at IS NOT NULL
+          AND closed_at >= started_at
+        GROUP BY task_type::text
+        """;
+
+    // Takes the bucket once, then (bucket, bucket + 1h) for each of the four sources
+    private static final String INSERT_RECEIPTS = """
+        INSERT INTO analytics_hourly_receipts
+            (bucket_start, receipt_id, has_discrepancy, has_damage_discrepancy, has_damaged_pallet)
+        SELECT ?, receipt_id, bool_or(discrepancy), bool_or(damage), bool_or(damaged_pallet)
+        FROM (
+            SELECT id AS receipt_id, false AS discrepancy, false AS damage, false AS damaged_pallet
+            FROM receipts WHERE created_at >= ? AND created_at < ?
+            UNION ALL
+            SELECT receipt_id, true, upper(trim(type)) IN ('DAMAGE', 'EXPIRED_PRODUCT', 'EXPIRED'), false
+            FROM discrepancies WHERE created_at >= ? AND created_at < ?
+            UNION ALL
+            SELECT receipt_id, false, false, status::text = 'DAMAGED'
+            FROM pallets WHERE created_at >= ? AND created_at < ? AND receipt_id IS NOT NULL
+            UNION ALL
+            SELECT receipt_id, false, false, false
+            FROM tasks
+            WHERE closed_at >= ? AND closed_at < ?
+              AND receipt_id IS NOT NULL
+              AND task_type::text IN ('RECEIVING', 'PLACEMENT')
+        ) activity
+        WHERE receipt_id IS NOT NULL
+        GROUP BY receipt_id
+        """;
+
+    private static final String SUM_METRICS = """
+        SELECT metric, dimension, SUM(item_count) AS item_count, SUM(duration_seconds) AS duration_seconds
+        FROM analytics_hourly_rollups
+        WHERE bucket_start >= ? AND bucket_start <= ?
+        GROUP BY metric, dimension
+        """;
+
+    private static final String SUM_RECEIPTS = """
+        SELECT r.status::text AS status,
+               COUNT(*) AS receipts,
+               COUNT(*) FILTER (WHERE a.has_discrepancy) AS with_discrepancies,
+               COUNT(*) FILTER (WHERE a.has_damage_discrepancy) AS with_damage_discrepancies,
+               COUNT(*) FILTER (WHERE a.has_damaged_pallet) AS with_damaged_pallets
+        FROM (
+            SELECT receipt_id,
+                   bool_or(has_discrepancy) AS has_discrepancy,
+                   bool_or(has_damage_discrepancy) AS has_damage_discrepancy,
+                   bool_or(has_damaged_pallet) AS has_damaged_pallet
+            FROM analytics_hourly_receipts
+            WHERE bucket_start >= ? AND bucket_start <= ?
+            GROUP BY receipt_id
+        ) a
+        JOIN receipts r ON r.id = a.receipt_id
+        GROUP BY r.status
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long overlapMinutes;
+
+    public AnalyticsRollupService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${wms.analytics.rollup.overlap-minutes:10}") long overlapMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Own transaction: reads call refresh() from inside read-only transactions
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.overlapMinutes = overlapMinutes;
+    }
+
+    @Scheduled(cron = "${wms.analytics.rollup.cron:0 */5 * * * *}")
+    public void scheduledRefresh() {
+        int buckets = refresh();
+        if (buckets > 0) {
+            log.debug("Rebuilt {} hourly analytics buckets", buckets);
+        }
+    }
+
+    /**
+     * Rebuilds the hourly buckets touched since the last refresh.
+     * Concurrent callers are serialized on the watermark row.
+     *
+     * @return number of rebuilt hours
+     */
+    public int refresh() {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            LocalDateTime until = LocalDateTime.now();
+            List<LocalDateTime> watermark = jdbcTemplate.query(LOCK_WATERMARK,
+                (rs, rowNum) -> toLocalDateTime(rs.getTimestamp("refreshed_to")), WATERMARK_NAME);
+            if (watermark.isEmpty()) {
+                throw new IllegalStateException("Analytics rollup watermark '" + WATERMARK_NAME + "' is missing");
+            }
+            LocalDateTime since = watermark.get(0) == null
+                ? BEGINNING
+                : watermark.get(0).minusMinutes(overlapMinutes);
+
+            Timestamp sinceTs = Timestamp.valueOf(since);
+            List<LocalDateTime> buckets = jdbcTemplate.query(DIRTY_BUCKETS,
+                (rs, rowNum) -> rs.getTimestamp("bucket").toLocalDateTime(),
+                sinceTs, sinceTs, sinceTs, sinceTs);
+            for (int from = 0; from < buckets.size(); from += REBUILD_BATCH_SIZE) {
+                rebuild(buckets.subList(from, Math.min(from + REBUILD_BATCH_SIZE, buckets.size())));
+            }
+            jdbcTemplate.update(UPDATE_WATERMARK, Timestamp.valueOf(until), WATERMARK_NAME);
+            return buckets.size();
+        });
+        return rebuilt != null ? rebuilt : 0;
+    }
+
+    /**
+     * Sums the additive metrics of every hour starting within the period.
+     *
+     * @param startDate start of period (its hour is included)
+     * @param endDate end of period (inclusive)
+     * @return one total per metric and dimension
+     */
+    public List<MetricTotal> sumMetrics(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.query(SUM_METRICS, (rs, rowNum) -> new MetricTotal(
+            rs.getString("metric"),
+            rs.getString("dimension"),
+            rs.getLong("item_count"),
+            rs.getLong("duration_seconds")
+        ), firstBucket(startDate), Timestamp.valueOf(endDate));
+    }
+
+    /**
+     * Counts the distinct receipts touched within the period by their current status.
+     *
+     * @param startDate start of period (its hour is included)
+     * @param endDate end of period (inclusive)
+     * @return one row per current receipt status
+     */
+    public List<ReceiptStatusTotal> sumReceipts(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.query(SUM_RECEIPTS, (rs, rowNum) -> new ReceiptStatusTotal(
+            rs.getString("status"),
+            rs.getLong("receipts"),
+            rs.getLong("with_discrepancies"),
+            rs.getLong("with_damage_discrepancies"),
+            rs.getLong("with_damaged_pallets")
+        ), firstBucket(startDate), Timestamp.valueOf(endDate));
+    }
+
+    private void rebuild(List<LocalDateTime> buckets) {
+        List<Object[]> bucketArgs = new ArrayList<>(buckets.size());
+        List<Object[]> rangeArgs = new ArrayList<>(buckets.size());
+        List<Object[]> receiptArgs = new ArrayList<>(buckets.size());
+        for (LocalDateTime bucket : buckets) {
+            Timestamp start = Timestamp.valueOf(bucket);
+            Timestamp end = Timestamp.valueOf(bucket.plusHours(1));
+            bucketArgs.add(new Object[] {start});
+            rangeArgs.add(new Object[] {start, start, end});
+            receiptArgs.add(new Object[] {start, start, end, start, end, start, end, start, end});
+        }
+        jdbcTemplate.batchUpdate(DELETE_ROLLUPS, bucketArgs);
+        jdbcTemplate.batchUpdate(DELETE_RECEIPTS, bucketArgs);
+        jdbcTemplate.batchUpdate(INSERT_DISCREPANCY_TYPES, rangeArgs);
+        jdbcTemplate.batchUpdate(INSERT_PALLET_STATUSES, rangeArgs);
+        jdbcTemplate.batchUpdate(INSERT_TASK_DURATIONS, rangeArgs);
+        jdbcTemplate.batchUpdate(INSERT_RECEIPTS, receiptArgs);
+    }
+
+    private static Timestamp firstBucket(LocalDateTime startDate) {
+        return Timestamp.valueOf(startDate.truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Sum of one metric dimension over a period.
+     */
+    public record MetricTotal(String metric, String dimension, long count, long durationSeconds) {
+    }
+
+    /**
+     * Receipts touched in a period that currently have {@code status}.
+     */
+    public record ReceiptStatusTotal(
+        String status,
+        long receipts,
+        long withDiscrepancies,
+        long withDamageDiscrepancies,
+        long withDamagedPallets
+    ) {
+    }
+}
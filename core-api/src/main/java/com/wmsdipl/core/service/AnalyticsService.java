@@ -2,35 +2,20 @@ package com.wmsdipl.core.service;
 
 import com.wmsdipl.contracts.dto.ReceivingAnalyticsDto;
 import com.wmsdipl.contracts.dto.ReceivingHealthDto;
-import com.wmsdipl.core.domain.Discrepancy;
-import com.wmsdipl.core.domain.Pallet;
-import com.wmsdipl.core.domain.PalletStatus;
-import com.wmsdipl.core.domain.Receipt;
-import com.wmsdipl.core.domain.ReceiptStatus;
-import com.wmsdipl.core.domain.Task;
-import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
 import com.wmsdipl.core.domain.TaskType;
-import com.wmsdipl.core.repository.DiscrepancyRepository;
-import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.ReceiptRepository;
-import com.wmsdipl.core.repository.ScanRepository;
-import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.repository.ReceivingHealthCounts;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Service for calculating receiving workflow analytics.
@@ -38,29 +23,29 @@ import java.util.stream.Stream;
  */
 @Service
 public class AnalyticsService {
-    private static final Set<String> DAMAGE_DISCREPANCY_TYPES = Set.of("DAMAGE", "EXPIRED_PRODUCT", "EXPIRED");
+
+    private static final String VIEW_RECEIVING = "receiving";
+    private static final String VIEW_HEALTH = "receiving-health";
+    private static final String VIEW_TASK_DURATIONS = "task-durations";
 
     private final ReceiptRepository receiptRepository;
-    private final TaskRepository taskRepository;
-    private final PalletRepository palletRepository;
-    private final DiscrepancyRepository discrepancyRepository;
-    private final ScanRepository scanRepository;
     private final CsvExportService csvExportService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final TaskDurationHistogramService taskDurationHistogramService;
+    private final AnalyticsCache analyticsCache;
 
     public AnalyticsService(
             ReceiptRepository receiptRepository,
-            TaskRepository taskRepository,
-            PalletRepository palletRepository,
-            DiscrepancyRepository discrepancyRepository,
-            ScanRepository scanRepository,
-            CsvExportService csvExportService
+            CsvExportService csvExportService,
+            AnalyticsRollupService analyticsRollupService,
+            TaskDurationHistogramService taskDurationHistogramService,
+            AnalyticsCache analyticsCache
     ) {
         this.receiptRepository = receiptRepository;
-        this.taskRepository = taskRepository;
-        this.palletRepository = palletRepository;
-        this.discrepancyRepository = discrepancyRepository;
-        this.scanRepository = scanRepository;
         this.csvExportService = csvExportService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.taskDurationHistogramService = taskDurationHistogramService;
+        this.analyticsCache = analyticsCache;
     }
 
     /**
@@ -72,83 +57,21 @@ public class AnalyticsService {
      * - Damage rate (damage discrepancies share, with fallback to damaged pallets share)
      * - Average receiving time
      * 
+     * Sums the hourly rollups of {@link AnalyticsRollupService} after bringing them up to date,
+     * so the cost depends on the number of hours and receipts touched, not on loaded entities.
+     * Periods are resolved to whole hours: the hour containing {@code startDate} is included.
+     *
+     * Results are served from {@link AnalyticsCache}; a cache hit touches no table and opens no transaction.
+     *
      * @param startDate start of period (inclusive)
      * @param endDate end of period (inclusive)
      * @return analytics DTO with calculated metrics
      */
-    @Transactional(readOnly = true)
     public ReceivingAnalyticsDto calculateAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
         validatePeriod(startDate, endDate);
-
-        List<Task> receivingTasks = taskRepository.findByTaskTypeAndClosedAtBetween(
-            TaskType.RECEIVING,
-            startDate,
-            endDate
-        );
-        List<Task> placementTasks = taskRepository.findByTaskTypeAndClosedAtBetween(
-            TaskType.PLACEMENT,
-            startDate,
-            endDate
-        );
-
-        List<Discrepancy> discrepancies = discrepancyRepository.findByCreatedAtBetween(startDate, endDate);
-        Map<String, Integer> discrepanciesByType = countByKey(
-            discrepancies,
-            discrepancy -> discrepancy.getType() != null ? discrepancy.getType() : "UNKNOWN"
-        );
-
-        List<Pallet> pallets = palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(startDate, endDate);
-        Map<String, Integer> palletsByStatus = countByKey(
-            pallets,
-            pallet -> pallet.getStatus() != null ? pallet.getStatus().name() : "UNKNOWN"
-        );
-
-        List<Receipt> receiptsCreatedInPeriod = receiptRepository.findByCreatedAtBetween(startDate, endDate);
-        Set<Long> activeReceiptIds = collectActiveReceiptIds(
-            receiptsCreatedInPeriod,
-            discrepancies,
-            pallets,
-            receivingTasks,
-            placementTasks
-        );
-        List<Receipt> activeReceipts = activeReceiptIds.isEmpty()
-            ? List.of()
-            : receiptRepository.findAllById(activeReceiptIds);
-        Map<String, Integer> receiptsByStatus = countByKey(
-            activeReceipts,
-            receipt -> receipt.getStatus() != null ? receipt.getStatus().name() : "UNKNOWN"
-        );
-
-        long receiptsWithDiscrepancies = discrepancies.stream()
-            .map(Discrepancy::getReceipt)
-            .filter(Objects::nonNull)
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .filter(activeReceiptIds::contains)
-            .distinct()
-            .count();
-        double discrepancyRate = activeReceipts.isEmpty()
-            ? 0.0
-            : ((double) receiptsWithDiscrepancies / activeReceipts.size()) * 100.0;
-
-        double damagedPalletsRate = calculateDamageRate(activeReceipts, activeReceiptIds, discrepancies, pallets);
-        double avgReceivingTimeHours = calculateAverageTaskTimeHours(receivingTasks);
-        double avgPlacingTimeHours = calculateAverageTaskTimeHours(placementTasks);
-
-        return new ReceivingAnalyticsDto(
-            startDate.toLocalDate(),
-            endDate.toLocalDate(),
-            avgReceivingTimeHours,
-            avgPlacingTimeHours,
-            receiptsByStatus,
-            discrepanciesByType,
-            discrepancyRate,
-            palletsByStatus,
-            damagedPalletsRate
-        );
+        return analyticsCache.get(VIEW_RECEIVING, startDate, endDate, null, () -> loadAnalytics(startDate, endDate));
     }
 
-    @Transactional(readOnly = true)
     public byte[] exportAnalyticsCsv(LocalDateTime startDate, LocalDateTime endDate) {
         ReceivingAnalyticsDto analytics = calculateAnalytics(startDate, endDate);
         List<String> headers = List.of("metric", "value");
@@ -176,78 +99,103 @@ public class AnalyticsService {
         return csvExportService.generateCsv(headers, rows);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Calculates receiving health counters (stuck receipts, stale tasks, discrepancies) for a period.
+     * All counters come from one aggregated statement, see {@link ReceiptRepository#countReceivingHealth}.
+     * Results are served from {@link AnalyticsCache}.
+     *
+     * @param startDate start of period (inclusive)
+     * @param endDate end of period (inclusive)
+     * @param thresholdHours hours without activity after which receipts and tasks count as stuck
+     * @return health DTO
+     */
     public ReceivingHealthDto calculateReceivingHealth(LocalDateTime startDate, LocalDateTime endDate, int thresholdHours) {
         validatePeriod(startDate, endDate);
         if (thresholdHours <= 0) {
             throw new IllegalArgumentException("thresholdHours must be greater than 0");
         }
+        return analyticsCache.get(VIEW_HEALTH, startDate, endDate, thresholdHours,
+            () -> loadReceivingHealth(startDate, endDate, thresholdHours));
+    }
 
-        LocalDateTime staleThreshold = LocalDateTime.now().minusHours(thresholdHours);
-
-        long stuckReceivingReceipts = receiptRepository
-            .findByStatusAndUpdatedAtBefore(ReceiptStatus.IN_PROGRESS, staleThreshold)
-            .stream()
-            .filter(receipt -> isWithinPeriod(receipt.getCreatedAt(), startDate, endDate))
-            .count();
+    /**
+     * Calculates p50/p90/p99 task durations per task type, operator and zone for tasks closed in a period.
+     * Unlike the averages of {@link #calculateAnalytics}, percentiles show the slow tail of receiving and placement.
+     * Results are served from {@link AnalyticsCache}.
+     *
+     * @param startDate start of period (inclusive)
+     * @param endDate end of period (inclusive)
+     * @return duration percentiles DTO
+     */
+    public TaskDurationAnalyticsDto calculateTaskDurations(LocalDateTime startDate, LocalDateTime endDate) {
+        validatePeriod(startDate, endDate);
+        return analyticsCache.get(VIEW_TASK_DURATIONS, startDate, endDate, null,
+            () -> taskDurationHistogramService.calculatePercentiles(startDate, endDate));
+    }
 
-        long stuckPlacingReceipts = receiptRepository
-            .findByStatusAndUpdatedAtBefore(ReceiptStatus.PLACING, staleThreshold)
-            .stream()
-            .filter(receipt -> isWithinPeriod(receipt.getCreatedAt(), startDate, endDate))
-            .count();
+    private ReceivingAnalyticsDto loadAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
+        analyticsRollupService.refresh();
+
+        Map<String, Long> discrepanciesByType = new HashMap<>();
+        Map<String, Long> palletsByStatus = new HashMap<>();
+        Map<String, AnalyticsRollupService.MetricTotal> taskDurations = new HashMap<>();
+        for (AnalyticsRollupService.MetricTotal total : analyticsRollupService.sumMetrics(startDate, endDate)) {
+            switch (total.metric()) {
+                case AnalyticsRollupService.METRIC_DISCREPANCY_TYPE -> discrepanciesByType.put(total.dimension(), total.count());
+                case AnalyticsRollupService.METRIC_PALLET_STATUS -> palletsByStatus.put(total.dimension(), total.count());
+                case AnalyticsRollupService.METRIC_TASK_DURATION -> taskDurations.put(total.dimension(), total);
+                default -> { }
+            }
+        }
 
-        long stuckReadyForShipmentReceipts = receiptRepository
-            .findByStatusAndUpdatedAtBefore(ReceiptStatus.READY_FOR_SHIPMENT, staleThreshold)
-            .stream()
-            .filter(receipt -> isWithinPeriod(receipt.getCreatedAt(), startDate, endDate))
-            .count();
+        Map<String, Long> receiptsByStatus = new HashMap<>();
+        long activeReceipts = 0;
+        long receiptsWithDiscrepancies = 0;
+        long receiptsWithDamageDiscrepancies = 0;
+        long receiptsWithDamagedPallets = 0;
+        for (AnalyticsRollupService.ReceiptStatusTotal total : analyticsRollupService.sumReceipts(startDate, endDate)) {
+            receiptsByStatus.merge(total.status() != null ? total.status() : "UNKNOWN", total.receipts(), Long::sum);
+            activeReceipts += total.receipts();
+            receiptsWithDiscrepancies += total.withDiscrepancies();
+            receiptsWithDamageDiscrepancies += total.withDamageDiscrepancies();
+            receiptsWithDamagedPallets += total.withDamagedPallets();
+        }
 
-        long stuckShippingInProgressReceipts = receiptRepository
-            .findByStatusAndUpdatedAtBefore(ReceiptStatus.SHIPPING_IN_PROGRESS, staleThreshold)
-            .stream()
-            .filter(receipt -> isWithinPeriod(receipt.getCreatedAt(), startDate, endDate))
-            .count();
+        double discrepancyRate = percentage(receiptsWithDiscrepancies, activeReceipts);
+        // Damage discrepancies first, damaged pallets as fallback
+        double damagedPalletsRate = percentage(
+            receiptsWithDamageDiscrepancies > 0 ? receiptsWithDamageDiscrepancies : receiptsWithDamagedPallets,
+            activeReceipts
+        );
 
-        long staleTasks = taskRepository.findAll().stream()
-            .filter(task -> task.getTaskType() == TaskType.RECEIVING
-                || task.getTaskType() == TaskType.PLACEMENT
-                || task.getTaskType() == TaskType.SHIPPING)
-            .filter(task -> task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.IN_PROGRESS)
-            .filter(task -> {
-                LocalDateTime activityReference = task.getStartedAt() != null ? task.getStartedAt() : task.getCreatedAt();
-                return activityReference != null
-                    && activityReference.isBefore(staleThreshold)
-                    && isWithinPeriod(task.getCreatedAt(), startDate, endDate)
-                    && !scanRepository.existsByTaskIdAndScannedAtAfter(task.getId(), staleThreshold);
-            })
-            .count();
+        return new ReceivingAnalyticsDto(
+            startDate.toLocalDate(),
+            endDate.toLocalDate(),
+            averageHours(taskDurations.get(TaskType.RECEIVING.name())),
+            averageHours(taskDurations.get(TaskType.PLACEMENT.name())),
+            sortByCount(receiptsByStatus),
+            sortByCount(discrepanciesByType),
+            discrepancyRate,
+            sortByCount(palletsByStatus),
+            damagedPalletsRate
+        );
+    }
 
-        List<Discrepancy> periodDiscrepancies = discrepancyRepository.findByCreatedAtBetween(startDate, endDate);
-        long autoResolvedDiscrepancies = periodDiscrepancies.stream()
-            .filter(discrepancy -> Boolean.TRUE.equals(discrepancy.getResolved()))
-            .count();
-        long criticalDiscrepancies = periodDiscrepancies.stream()
-            .filter(discrepancy -> discrepancy.getType() != null)
-            .filter(discrepancy -> List.of(
-                "UNDER_QTY",
-                "OVER_QTY",
-                "BARCODE_MISMATCH",
-                "SSCC_MISMATCH"
-            ).contains(discrepancy.getType()))
-            .count();
+    private ReceivingHealthDto loadReceivingHealth(LocalDateTime startDate, LocalDateTime endDate, int thresholdHours) {
+        LocalDateTime staleThreshold = LocalDateTime.now().minusHours(thresholdHours);
+        ReceivingHealthCounts counts = receiptRepository.countReceivingHealth(startDate, endDate, staleThreshold);
 
         return new ReceivingHealthDto(
             startDate.toLocalDate(),
             endDate.toLocalDate(),
             thresholdHours,
-            stuckReceivingReceipts,
-            stuckPlacingReceipts,
-            stuckReadyForShipmentReceipts,
-            stuckShippingInProgressReceipts,
-            staleTasks,
-            autoResolvedDiscrepancies,
-            criticalDiscrepancies
+            orZero(counts.getStuckReceivingReceipts()),
+            orZero(counts.getStuckPlacingReceipts()),
+            orZero(counts.getStuckReadyForShipmentReceipts()),
+            orZero(counts.getStuckShippingInProgressReceipts()),
+            orZero(counts.getStaleTasks()),
+            orZero(counts.getAutoResolvedDiscrepancies()),
+            orZero(counts.getCriticalDiscrepancies())
         );
     }
 
@@ -260,112 +208,19 @@ public class AnalyticsService {
         }
     }
 
-    private Set<Long> collectActiveReceiptIds(
-        List<Receipt> receiptsCreatedInPeriod,
-        List<Discrepancy> discrepancies,
-        List<Pallet> pallets,
-        List<Task> receivingTasks,
-        List<Task> placementTasks
-    ) {
-        Set<Long> ids = new HashSet<>();
-        receiptsCreatedInPeriod.stream()
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .forEach(ids::add);
-
-        discrepancies.stream()
-            .map(Discrepancy::getReceipt)
-            .filter(Objects::nonNull)
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .forEach(ids::add);
-
-        pallets.stream()
-            .map(Pallet::getReceipt)
-            .filter(Objects::nonNull)
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .forEach(ids::add);
-
-        Stream.concat(receivingTasks.stream(), placementTasks.stream())
-            .map(Task::getReceipt)
-            .filter(Objects::nonNull)
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .forEach(ids::add);
-
-        return ids;
-    }
-
-    private double calculateAverageTaskTimeHours(List<Task> tasks) {
-        if (tasks.isEmpty()) {
-            return 0.0;
-        }
-
-        List<Double> durationsHours = tasks.stream()
-            .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
-            .map(task -> {
-                LocalDateTime startedAt = task.getStartedAt();
-                LocalDateTime closedAt = task.getClosedAt();
-                if (startedAt == null || closedAt == null || closedAt.isBefore(startedAt)) {
-                    return null;
-                }
-                return Duration.between(startedAt, closedAt).toSeconds() / 3600.0;
-            })
-            .filter(Objects::nonNull)
-            .toList();
-
-        if (durationsHours.isEmpty()) {
+    private double averageHours(AnalyticsRollupService.MetricTotal durations) {
+        if (durations == null || durations.count() == 0) {
             return 0.0;
         }
-
-        return durationsHours.stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
+        return durations.durationSeconds() / 3600.0 / durations.count();
     }
 
-    private double calculateDamageRate(
-        List<Receipt> activeReceipts,
-        Set<Long> activeReceiptIds,
-        List<Discrepancy> discrepancies,
-        List<Pallet> pallets
-    ) {
-        if (activeReceipts == null || activeReceipts.isEmpty()) {
-            return 0.0;
-        }
-
-        Set<Long> damagedReceiptIds = discrepancies.stream()
-            .filter(discrepancy -> discrepancy.getType() != null)
-            .filter(discrepancy -> DAMAGE_DISCREPANCY_TYPES.contains(discrepancy.getType().trim().toUpperCase()))
-            .map(Discrepancy::getReceipt)
-            .filter(Objects::nonNull)
-            .map(Receipt::getId)
-            .filter(Objects::nonNull)
-            .filter(activeReceiptIds::contains)
-            .collect(Collectors.toSet());
-
-        if (damagedReceiptIds.isEmpty()) {
-            damagedReceiptIds = pallets.stream()
-                .filter(pallet -> pallet.getStatus() == PalletStatus.DAMAGED)
-                .map(Pallet::getReceipt)
-                .filter(Objects::nonNull)
-                .map(Receipt::getId)
-                .filter(Objects::nonNull)
-                .filter(activeReceiptIds::contains)
-                .collect(Collectors.toSet());
-        }
-
-        return ((double) damagedReceiptIds.size() / activeReceipts.size()) * 100.0;
+    private double percentage(long part, long total) {
+        return total == 0 ? 0.0 : ((double) part / total) * 100.0;
     }
 
-    private <T> Map<String, Integer> countByKey(List<T> items, Function<T, String> keyExtractor) {
-        return items.stream()
-            .collect(Collectors.groupingBy(
-                keyExtractor,
-                Collectors.counting()
-            ))
-            .entrySet()
+    private Map<String, Integer> sortByCount(Map<String, Long> counts) {
+        return counts.entrySet()
             .stream()
             .sorted(
                 Comparator
@@ -381,7 +236,7 @@ public class AnalyticsService {
             ));
     }
 
-    private boolean isWithinPeriod(LocalDateTime value, LocalDateTime startDate, LocalDateTime endDate) {
-        return value != null && !value.isBefore(startDate) && !value.isAfter(endDate);
+    private long orZero(Long value) {
+        return value != null ? value : 0L;
     }
 }
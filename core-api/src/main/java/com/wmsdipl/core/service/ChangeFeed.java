@@ -0,0 +1,205 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.contracts.dto.ChangeEventDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task, receipt, pallet and discrepancy changes to clients subscribed on {@code GET /api/events},
+ * so they refetch what changed instead of polling full lists.
+ *
+ * Changes are recorded by {@code ChangeFeedEntityListener} (and explicitly for JDBC writes) and collected per
+ * transaction: one transaction yields at most one {@code changes} event, with one entry per entity, sent after
+ * commit; rolled back changes are never sent. Sending runs on a single background thread, so a slow client does
+ * not hold up the committing request. A comment line every {@code wms.events.heartbeat-ms} keeps idle connections
+ * open and lets clients detect a dead stream. Events are not replayed: a client that reconnects reloads its view.
+ */
+@Component
+public class ChangeFeed {
+
+    public enum EntityType { TASK, RECEIPT, PALLET, DISCREPANCY }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    static final String READY_EVENT = "ready";
+    static final String CHANGES_EVENT = "changes";
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Executor sender;
+    private final long emitterTimeoutMillis;
+
+    @Autowired
+    public ChangeFeed(MeterRegistry meterRegistry,
+                      @Value("${wms.events.timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this(meterRegistry, emitterTimeoutMillis, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ChangeFeed(MeterRegistry meterRegistry, long emitterTimeoutMillis, Executor sender) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.sender = sender;
+        Gauge.builder("wms.events.subscribers", subscribers, List::size)
+            .description("Clients connected to the change event stream")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for one client. The first event is {@code ready}, carrying the current sequence number;
+     * each {@code changes} event carries the next one, so a client comparing the two knows whether it missed any.
+     * A {@code changes} event may arrive before {@code ready}; one numbered at or below the ready sequence is
+     * already reflected in data loaded after the client connected.
+     *
+     * @return emitter to return from the controller
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        // Registered before reading the sequence: a change committed in between is then sent to this client
+        // (possibly ahead of 'ready') instead of being counted in 'ready' but never delivered
+        subscribers.add(emitter);
+        try {
+            long current = sequence.get();
+            emitter.send(SseEmitter.event().name(READY_EVENT).id(Long.toString(current)).data(current).build());
+        } catch (IOException e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Records a change, sent once the current transaction commits (immediately outside a transaction).
+     * Within one transaction a created entity stays CREATED and a deleted one DELETED, whatever follows.
+     *
+     * @param entity entity type
+     * @param id entity ID
+     * @param receiptId owning receipt, or null
+     * @param action what happened
+     */
+    public void record(EntityType entity, Long id, Long receiptId, Action action) {
+        if (id == null) {
+            return;
+        }
+        ChangeEventDto change = new ChangeEventDto(entity.name(), id, action.name(), receiptId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(change);
+    }
+
+    @Scheduled(
+        initialDelayString = "${wms.events.heartbeat-ms:15000}",
+        fixedDelayString = "${wms.events.heartbeat-ms:15000}"
+    )
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            sender.execute(() -> sendToAll(SseEmitter.event().comment("heartbeat").build()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(SseEmitter::complete);
+        subscribers.clear();
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(List<ChangeEventDto> changes) {
+        // Counted even without subscribers, so a reconnecting client can tell from 'ready' that it missed changes
+        long id = sequence.incrementAndGet();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+            .name(CHANGES_EVENT)
+            .id(Long.toString(id))
+            .data(changes, MediaType.APPLICATION_JSON)
+            .build();
+        sender.execute(() -> sendToAll(event));
+    }
+
+    private void sendToAll(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the request
+                log.debug("Dropping change feed subscriber: {}", e.getMessage());
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<String, ChangeEventDto> changes = new LinkedHashMap<>();
+
+        void add(ChangeEventDto change) {
+            String key = change.entity() + ":" + change.id();
+            ChangeEventDto previous = changes.get(key);
+            if (previous == null || Action.DELETED.name().equals(change.action())) {
+                changes.put(key, change);
+            } else if (previous.receiptId() == null && change.receiptId() != null) {
+                changes.put(key, new ChangeEventDto(previous.entity(), previous.id(), previous.action(), change.receiptId()));
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            publish(new ArrayList<>(changes.values()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeed.this);
+        }
+    }
+}
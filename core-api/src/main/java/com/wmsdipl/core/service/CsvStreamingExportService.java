@@ -0,0 +1,146 @@
+package com.wmsdipl.core.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streams full-table CSV exports (pallets, receipts) from the database to an output stream.
+ *
+ * Rows are read through a forward-only, read-only cursor with {@code wms.export.fetch-size} rows per round trip
+ * (PostgreSQL only honours the fetch size inside a transaction, hence the read-only transaction around the query)
+ * and written with {@link CsvWriter} as they arrive. No entities are loaded and nothing is accumulated,
+ * so memory stays flat regardless of the row count. Controllers call these methods from a
+ * {@code StreamingResponseBody}, i.e. straight into the servlet output stream.
+ */
+@Service
+public class CsvStreamingExportService {
+
+    static final List<String> PALLET_HEADERS = List.of(
+        "ID", "Code", "Code Type", "Status", "Location ID",
+        "SKU ID", "Lot Number", "Expiry Date", "Quantity", "UOM",
+        "Receipt ID", "Weight (kg)", "Height (cm)", "Created At"
+    );
+
+    static final List<String> RECEIPT_HEADERS = List.of(
+        "ID", "Doc No", "Doc Date", "Supplier", "Status",
+        "Message ID", "Created At", "Updated At"
+    );
+
+    private static final String PALLETS = """
+        SELECT id, code, code_type, status::text AS status, location_id, sku_id, lot_number, expiry_date,
+               quantity, uom, receipt_id, weight_kg, height_cm, created_at
+        FROM pallets
+        ORDER BY id
+        """;
+
+    private static final String RECEIPTS = """
+        SELECT id, doc_no, doc_date, supplier, status::text AS status, message_id, created_at, updated_at
+        FROM receipts
+        ORDER BY id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public CsvStreamingExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${wms.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all pallets as CSV, ordered by ID.
+     *
+     * @param out destination, not closed
+     * @throws IOException if writing fails, e.g. the client disconnected
+     */
+    public void writePallets(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(PALLET_HEADERS);
+        stream(PALLETS, rs -> {
+            csv.value(rs.getString("id"))
+                .value(rs.getString("code"))
+                .value(rs.getString("code_type"))
+                .value(rs.getString("status"))
+                .value(rs.getString("location_id"))
+                .value(rs.getString("sku_id"))
+                .value(rs.getString("lot_number"))
+                .value(rs.getObject("expiry_date", LocalDate.class))
+                .value(rs.getString("quantity"))
+                .value(rs.getString("uom"))
+                .value(rs.getString("receipt_id"))
+                .value(rs.getString("weight_kg"))
+                .value(rs.getString("height_cm"))
+                .value(rs.getObject("created_at", LocalDateTime.class));
+            csv.endRow();
+        });
+        csv.flush();
+    }
+
+    /**
+     * Writes all receipts as CSV, ordered by ID.
+     *
+     * @param out destination, not closed
+     * @throws IOException if writing fails, e.g. the client disconnected
+     */
+    public void writeReceipts(OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(RECEIPT_HEADERS);
+        stream(RECEIPTS, rs -> {
+            csv.value(rs.getString("id"))
+                .value(rs.getString("doc_no"))
+                .value(rs.getObject("doc_date", LocalDate.class))
+                .value(rs.getString("supplier"))
+                .value(rs.getString("status"))
+                .value(rs.getString("message_id"))
+                .value(rs.getObject("created_at", LocalDateTime.class))
+                .value(rs.getObject("updated_at", LocalDateTime.class));
+            csv.endRow();
+        });
+        csv.flush();
+    }
+
+    private void stream(String sql, CsvRowWriter rowWriter) throws IOException {
+        RowCallbackHandler handler = rs -> {
+            try {
+                rowWriter.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, handler));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface CsvRowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,106 @@
+package com.wmsdipl.core.service;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes CSV rows straight to an output stream (UTF-8 with BOM for Excel compatibility).
+ *
+ * Values are written cell by cell through a buffer: escaping scans the value once and copies it
+ * character by character, so no per-cell or per-row strings are built and memory stays flat
+ * however many rows are written. Values containing a comma, quote or line break are quoted,
+ * with quotes doubled.
+ */
+public final class CsvWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+    private boolean rowStarted;
+
+    public CsvWriter(OutputStream out) throws IOException {
+        out.write(0xEF);
+        out.write(0xBB);
+        out.write(0xBF);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a complete row.
+     *
+     * @param values cell values, null written as empty
+     */
+    public void writeRow(List<String> values) throws IOException {
+        for (String value : values) {
+            value(value);
+        }
+        endRow();
+    }
+
+    /**
+     * Appends one cell to the current row.
+     *
+     * @param value cell value, null written as empty
+     * @return this writer
+     */
+    public CsvWriter value(String value) throws IOException {
+        if (rowStarted) {
+            writer.write(',');
+        }
+        rowStarted = true;
+        if (value == null) {
+            return this;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return this;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+        return this;
+    }
+
+    /**
+     * Appends one cell holding {@code value.toString()}.
+     *
+     * @param value cell value, null written as empty
+     * @return this writer
+     */
+    public CsvWriter value(Object value) throws IOException {
+        return value(value == null ? null : value.toString());
+    }
+
+    public void endRow() throws IOException {
+        writer.write(LINE_SEPARATOR);
+        rowStarted = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
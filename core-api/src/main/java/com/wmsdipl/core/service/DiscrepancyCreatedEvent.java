@@ -0,0 +1,10 @@
+package com.wmsdipl.core.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a discrepancy record is created, inside the creating transaction.
+ * Listeners that must only see committed state use {@code @TransactionalEventListener}.
+ */
+public record DiscrepancyCreatedEvent(Long discrepancyId, Long receiptId, String type, LocalDateTime createdAt) {
+}
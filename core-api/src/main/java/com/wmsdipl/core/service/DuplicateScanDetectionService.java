@@ -1,70 +1,103 @@
 package com.wmsdipl.core.service;
 
-import com.wmsdipl.core.repository.PalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Service for detecting duplicate scans and managing scan sessions.
  * Prevents accidental double-scanning of barcodes within a time window.
+ *
+ * Recent scans are kept in a map (barcode -> System.nanoTime of the scan) for constant-time lookup.
+ * Expiry runs on a hashed timing wheel: every recorded scan is also queued in the bucket of its tick,
+ * and when the clock moves past a tick, the bucket that is about to be reused is drained.
+ * Each scan is thus expired once, in amortized constant time, instead of sweeping the whole map per call.
  */
 @Service
 public class DuplicateScanDetectionService {
 
-    private final PalletRepository palletRepository;
-    
-    // In-memory cache for recent scans (barcode -> timestamp)
-    private final Map<String, LocalDateTime> recentScans = new ConcurrentHashMap<>();
-    
     // Duplicate detection window in seconds
     private static final int DUPLICATE_WINDOW_SECONDS = 5;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(DUPLICATE_WINDOW_SECONDS);
+    // Keep entries for 2x window to be safe
+    private static final long RETENTION_NANOS = 2 * WINDOW_NANOS;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    // One full turn of the wheel must outlast the retention, so a drained bucket holds only expired entries
+    private static final int WHEEL_SIZE = 64;
+
+    private final LongSupplier nanoClock;
+
+    // In-memory cache for recent scans (barcode -> nanoTime)
+    private final Map<String, Long> recentScans = new ConcurrentHashMap<>();
+    private final Queue<WheelEntry>[] wheel;
+    private final AtomicLong currentTick;
+
+    @Autowired
+    public DuplicateScanDetectionService() {
+        this(System::nanoTime);
+    }
 
-    public DuplicateScanDetectionService(PalletRepository palletRepository) {
-        this.palletRepository = palletRepository;
+    @SuppressWarnings("unchecked")
+    DuplicateScanDetectionService(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = new AtomicLong(Math.floorDiv(nanoClock.getAsLong(), TICK_NANOS));
     }
 
     /**
-     * Checks if a barcode scan is a duplicate within the time window.
+     * Checks if a barcode was scanned within the duplicate window and records the scan.
+     * In-memory only: callers load the pallet themselves right after the check.
      *
      * @param barcode the scanned barcode
      * @return scan result indicating if it's a duplicate
      */
-    @Transactional(readOnly = true)
-    public ScanResult checkScan(String barcode) {
+    public ScanResult checkRecentScan(String barcode) {
         if (barcode == null || barcode.isBlank()) {
             return ScanResult.invalid("Barcode cannot be empty");
         }
 
         String normalizedBarcode = barcode.trim().toUpperCase();
-        LocalDateTime now = LocalDateTime.now();
+        long now = nanoClock.getAsLong();
+
+        ScanResult recent = checkRecent(normalizedBarcode, now);
+        if (recent != null) {
+            return recent;
+        }
+        recordScan(normalizedBarcode, now);
+        return ScanResult.valid(normalizedBarcode);
+    }
 
-        // Check if recently scanned
-        LocalDateTime lastScan = recentScans.get(normalizedBarcode);
+    private ScanResult checkRecent(String normalizedBarcode, long now) {
+        Long lastScan = recentScans.get(normalizedBarcode);
         if (lastScan != null) {
-            long secondsSinceLastScan = java.time.Duration.between(lastScan, now).getSeconds();
-            if (secondsSinceLastScan < DUPLICATE_WINDOW_SECONDS) {
-                return ScanResult.duplicate(normalizedBarcode, lastScan);
+            long elapsed = now - lastScan;
+            if (elapsed < WINDOW_NANOS) {
+                return ScanResult.duplicate(normalizedBarcode, LocalDateTime.now().minusNanos(elapsed));
             }
         }
+        return null;
+    }
 
-        // Check if barcode exists in database
-        boolean exists = palletRepository.existsByCode(normalizedBarcode);
-
-        // Record this scan
-        recentScans.put(normalizedBarcode, now);
-
-        // Clean up old entries (older than window)
-        cleanupOldScans(now);
-
-        if (exists) {
-            return ScanResult.existsInDatabase(normalizedBarcode);
-        }
+    private void recordScan(String normalizedBarcode, long now) {
+        Long scannedAt = now;
+        recentScans.put(normalizedBarcode, scannedAt);
+        long tick = Math.floorDiv(now, TICK_NANOS);
+        wheel[(int) Math.floorMod(tick, (long) WHEEL_SIZE)].offer(new WheelEntry(normalizedBarcode, scannedAt));
 
-        return ScanResult.valid(normalizedBarcode);
+        // Clean up old entries (older than retention)
+        advanceWheel(tick, now);
     }
 
     /**
@@ -83,18 +116,50 @@ public class DuplicateScanDetectionService {
      */
     public void clearAllScans() {
         recentScans.clear();
+        for (Queue<WheelEntry> bucket : wheel) {
+            bucket.clear();
+        }
     }
 
     /**
-     * Removes scan entries older than the duplicate window.
+     * Moves the wheel to the given tick, draining the buckets passed since the last move.
+     * Only the thread that moves the cursor drains, so concurrent callers never sweep the same bucket.
      *
-     * @param now current timestamp
+     * @param tick tick of the current time
+     * @param now current nanoTime
      */
-    private void cleanupOldScans(LocalDateTime now) {
-        recentScans.entrySet().removeIf(entry -> {
-            long age = java.time.Duration.between(entry.getValue(), now).getSeconds();
-            return age > DUPLICATE_WINDOW_SECONDS * 2; // Keep for 2x window to be safe
-        });
+    private void advanceWheel(long tick, long now) {
+        long previous = currentTick.get();
+        if (tick <= previous || !currentTick.compareAndSet(previous, tick)) {
+            return;
+        }
+        long from = Math.max(previous + 1, tick - WHEEL_SIZE + 1);
+        for (long t = from; t <= tick; t++) {
+            drainBucket(wheel[(int) Math.floorMod(t, (long) WHEEL_SIZE)], now);
+        }
+    }
+
+    private void drainBucket(Queue<WheelEntry> bucket, long now) {
+        Iterator<WheelEntry> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            WheelEntry entry = iterator.next();
+            // Entries queued for the current tick by concurrent scans are not expired yet and stay
+            if (now - entry.scannedAt() > RETENTION_NANOS) {
+                iterator.remove();
+                // Removes the barcode only if it was not scanned again since this entry
+                recentScans.remove(entry.barcode(), entry.scannedAt());
+            }
+        }
+    }
+
+    /**
+     * Number of barcodes currently tracked.
+     */
+    int trackedScanCount() {
+        return recentScans.size();
+    }
+
+    private record WheelEntry(String barcode, Long scannedAt) {
     }
 
     /**
@@ -103,39 +168,26 @@ public class DuplicateScanDetectionService {
     public record ScanResult(
             boolean isValid,
             boolean isDuplicate,
-            boolean existsInDatabase,
             String barcode,
             LocalDateTime lastScanTime,
             String message
     ) {
         public static ScanResult valid(String barcode) {
-            return new ScanResult(true, false, false, barcode, null, "Scan valid");
+            return new ScanResult(true, false, barcode, null, "Scan valid");
         }
 
         public static ScanResult duplicate(String barcode, LocalDateTime lastScanTime) {
             return new ScanResult(
-                    false, 
-                    true, 
-                    false, 
-                    barcode, 
+                    false,
+                    true,
+                    barcode,
                     lastScanTime, 
                     "Duplicate scan detected within " + DUPLICATE_WINDOW_SECONDS + " seconds"
             );
         }
 
-        public static ScanResult existsInDatabase(String barcode) {
-            return new ScanResult(
-                    true, 
-                    false, 
-                    true, 
-                    barcode, 
-                    null, 
-                    "Barcode already exists in database"
-            );
-        }
-
         public static ScanResult invalid(String message) {
-            return new ScanResult(false, false, false, null, null, message);
+            return new ScanResult(false, false, null, null, message);
         }
     }
 }
@@ -0,0 +1,104 @@
+package com.wmsdipl.core.service;
+
+/**
+ * Fixed-size log-linear histogram of durations in seconds, in the style of HdrHistogram.
+ *
+ * Values below {@value #SUB_BUCKETS} seconds get one bin each; above that every power of two is split
+ * into {@value #SUB_BUCKETS} equal bins, so any recorded value is reported within 1/16 (6.25%) of itself.
+ * Bin numbers are stable, which makes histograms mergeable by adding counts bin by bin; the
+ * persisted hourly histograms are stored as (bin, count) rows and merged with SUM in SQL.
+ */
+public final class DurationHistogram {
+
+    static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    /** Largest exponent kept; longer durations (over ~1 year) are clamped into the last bin. */
+    private static final int MAX_EXPONENT = 24;
+
+    public static final int BIN_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BIN_COUNT];
+    private long totalCount;
+
+    /**
+     * Maps a duration to its bin. Negative durations are recorded as zero.
+     *
+     * @param seconds duration in seconds
+     * @return bin number in [0, {@link #BIN_COUNT})
+     */
+    public static int binOf(long seconds) {
+        if (seconds < SUB_BUCKETS) {
+            return (int) Math.max(seconds, 0);
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(seconds), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && seconds >= (1L << (MAX_EXPONENT + 1))) {
+            return BIN_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (seconds >> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Largest duration that maps to the bin, the value reported for percentiles falling in it.
+     *
+     * @param bin bin number
+     * @return upper bound of the bin in seconds
+     */
+    public static long highestValueOf(int bin) {
+        if (bin < SUB_BUCKETS) {
+            return bin;
+        }
+        int shift = (bin - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bin - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    public void recordSeconds(long seconds) {
+        addToBin(binOf(seconds), 1);
+    }
+
+    /**
+     * Adds {@code count} samples to a bin, e.g. when merging persisted histograms.
+     * Bins outside the known range are ignored.
+     */
+    public void addToBin(int bin, long count) {
+        if (bin < 0 || bin >= BIN_COUNT || count <= 0) {
+            return;
+        }
+        counts[bin] += count;
+        totalCount += count;
+    }
+
+    public void merge(DurationHistogram other) {
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Value at the given percentile: the smallest bin value with at least that share of samples at or below it.
+     *
+     * @param percentile percentile in (0, 100]
+     * @return duration in seconds, 0 when empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) {
+                return highestValueOf(bin);
+            }
+        }
+        return highestValueOf(BIN_COUNT - 1);
+    }
+}
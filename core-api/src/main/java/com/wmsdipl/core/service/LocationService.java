@@ -5,6 +5,8 @@ import com.wmsdipl.core.domain.LocationStatus;
 import com.wmsdipl.core.domain.Zone;
 import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.service.putaway.LocationSpatialIndex;
+import com.wmsdipl.core.service.workflow.ReceivingLookupCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,10 +20,17 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
     private final PalletRepository palletRepository;
+    private final LocationSpatialIndex spatialIndex;
+    private final ReceivingLookupCache receivingLookupCache;
 
-    public LocationService(LocationRepository locationRepository, PalletRepository palletRepository) {
+    public LocationService(LocationRepository locationRepository,
+                           PalletRepository palletRepository,
+                           LocationSpatialIndex spatialIndex,
+                           ReceivingLookupCache receivingLookupCache) {
         this.locationRepository = locationRepository;
         this.palletRepository = palletRepository;
+        this.spatialIndex = spatialIndex;
+        this.receivingLookupCache = receivingLookupCache;
     }
 
     public List<Location> getAll() {
@@ -46,7 +55,10 @@ public class LocationService {
         if (locationRepository.existsByCode(location.getCode())) {
             throw new IllegalArgumentException("Location with code '" + location.getCode() + "' already exists");
         }
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        spatialIndex.upsert(saved);
+        receivingLookupCache.evictTransitLocation();
+        return saved;
     }
 
     @Transactional
@@ -81,7 +93,10 @@ public class LocationService {
         existing.setLocationType(update.getLocationType());
         existing.setStatus(update.getStatus());
         existing.setActive(update.getActive());
-        return locationRepository.save(existing);
+        Location saved = locationRepository.save(existing);
+        spatialIndex.upsert(saved);
+        receivingLookupCache.evictTransitLocation();
+        return saved;
     }
 
     @Transactional
@@ -95,6 +110,8 @@ public class LocationService {
         }
         
         locationRepository.deleteById(id);
+        spatialIndex.remove(id);
+        receivingLookupCache.evictTransitLocation();
     }
 
     /**
@@ -117,7 +134,10 @@ public class LocationService {
         }
         
         location.setStatus(LocationStatus.BLOCKED);
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        spatialIndex.upsert(saved);
+        receivingLookupCache.evictTransitLocation();
+        return saved;
     }
 
     /**
@@ -136,7 +156,10 @@ public class LocationService {
         }
         
         location.setStatus(LocationStatus.AVAILABLE);
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        spatialIndex.upsert(saved);
+        receivingLookupCache.evictTransitLocation();
+        return saved;
     }
 
     /**
@@ -152,6 +175,9 @@ public class LocationService {
                 .orElseThrow(() -> new IllegalArgumentException("Location not found: " + id));
         
         location.setStatus(status);
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        spatialIndex.upsert(saved);
+        receivingLookupCache.evictTransitLocation();
+        return saved;
     }
 }
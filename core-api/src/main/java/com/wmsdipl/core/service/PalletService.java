@@ -9,6 +9,7 @@ import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletCodePoolRepository;
 import com.wmsdipl.core.repository.PalletMovementRepository;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,19 +25,22 @@ public class PalletService {
     private final PalletCodePoolRepository codePoolRepository;
     private final LocationRepository locationRepository;
     private final PalletCodeGenerator codeGenerator;
+    private final ExpiryStockIndex expiryStockIndex;
 
     public PalletService(
             PalletRepository palletRepository,
             PalletMovementRepository movementRepository,
             PalletCodePoolRepository codePoolRepository,
             LocationRepository locationRepository,
-            PalletCodeGenerator codeGenerator
+            PalletCodeGenerator codeGenerator,
+            ExpiryStockIndex expiryStockIndex
     ) {
         this.palletRepository = palletRepository;
         this.movementRepository = movementRepository;
         this.codePoolRepository = codePoolRepository;
         this.locationRepository = locationRepository;
         this.codeGenerator = codeGenerator;
+        this.expiryStockIndex = expiryStockIndex;
     }
 
     public List<Pallet> getAll() {
@@ -90,6 +94,7 @@ public class PalletService {
         }
         movement.setMovedBy(movedBy);
         movementRepository.save(movement);
+        expiryStockIndex.update(saved);
         return saved;
     }
 
@@ -15,10 +15,12 @@ import com.wmsdipl.core.repository.TaskRepository;
 import com.wmsdipl.core.service.putaway.LocationSelectionService;
 import com.wmsdipl.core.service.putaway.PutawayContext;
 import com.wmsdipl.core.service.putaway.PutawayContextBuilder;
+import com.wmsdipl.core.service.putaway.PutawayPlanningSession;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,9 @@ import java.util.Optional;
 @Service
 public class PutawayService {
 
+    private static final List<PalletStatus> PLACEMENT_STATUSES =
+        List.of(PalletStatus.RECEIVED, PalletStatus.DAMAGED, PalletStatus.QUARANTINE);
+
     private final PalletRepository palletRepository;
     private final LocationRepository locationRepository;
     private final TaskRepository taskRepository;
@@ -114,8 +119,10 @@ public class PutawayService {
     /**
      * Generates placement tasks for all pallets that need placement.
      * Processes pallets in RECEIVED, DAMAGED, and QUARANTINE statuses.
-     * For each pallet, determines the target location and creates a task.
-     * Updates pallet status to IN_TRANSIT.
+     * All pallets of the receipt are planned in one pass: candidate cells, occupancy,
+     * SKU storage configs and active rules are loaded once and shared through a
+     * {@link PutawayPlanningSession}, which also reserves the cells chosen for earlier pallets.
+     * Tasks are inserted as a JDBC batch and pallets are updated to IN_TRANSIT in one flush.
      * 
      * @param receiptId the receipt ID
      * @return list of created placement tasks
@@ -126,23 +133,20 @@ public class PutawayService {
         Receipt receipt = receiptRepository.findById(receiptId)
                 .orElseThrow(() -> new IllegalArgumentException("Receipt not found: " + receiptId));
 
-        // Get all pallets that need placement
-        List<Pallet> receivedPallets = palletRepository.findByReceiptAndStatus(receipt, PalletStatus.RECEIVED);
-        List<Pallet> damagedPallets = palletRepository.findByReceiptAndStatus(receipt, PalletStatus.DAMAGED);
-        List<Pallet> quarantinePallets = palletRepository.findByReceiptAndStatus(receipt, PalletStatus.QUARANTINE);
-        
-        List<Pallet> allPallets = new ArrayList<>();
-        allPallets.addAll(receivedPallets);
-        allPallets.addAll(damagedPallets);
-        allPallets.addAll(quarantinePallets);
+        // Get all pallets that need placement, in status order RECEIVED -> DAMAGED -> QUARANTINE
+        List<Pallet> allPallets = new ArrayList<>(palletRepository.findByReceiptAndStatusIn(receipt, PLACEMENT_STATUSES));
+        allPallets.sort(Comparator.comparingInt(p -> PLACEMENT_STATUSES.indexOf(p.getStatus())));
 
         // Keep pallet SKU aligned with remapped receipt line SKU before task generation.
         synchronizePalletSkuWithReceiptLine(allPallets);
-        
-        List<Task> tasks = new ArrayList<>();
 
-        for (Pallet pallet : allPallets) {
-            Optional<Location> targetOpt = determineLocationForPallet(pallet);
+        PutawayPlanningSession session = new PutawayPlanningSession();
+        List<PutawayContext> contexts = contextBuilder.buildContexts(allPallets, session);
+        List<Task> tasks = new ArrayList<>(allPallets.size());
+
+        for (int i = 0; i < allPallets.size(); i++) {
+            Pallet pallet = allPallets.get(i);
+            Optional<Location> targetOpt = locationSelectionService.determineLocation(pallet, contexts.get(i));
             if (targetOpt.isEmpty()) {
                 // Should not silently skip - fail fast to alert user about capacity issues
                 throw new IllegalStateException(
@@ -150,6 +154,7 @@ public class PutawayService {
                     " (Статус: " + pallet.getStatus() + "). Проверьте свободное место или правила размещения.");
             }
             Location target = targetOpt.get();
+            session.reserve(target);
 
             Task task = new Task();
             task.setReceipt(receipt);
@@ -159,12 +164,14 @@ public class PutawayService {
             task.setSourceLocationId(pallet.getLocation() != null ? pallet.getLocation().getId() : null);
             task.setTargetLocationId(target.getId());
             task.setQtyAssigned(pallet.getQuantity());
-            tasks.add(taskRepository.save(task));
+            tasks.add(task);
 
             pallet.setStatus(PalletStatus.IN_TRANSIT);
-            palletRepository.save(pallet);
         }
 
+        taskRepository.insertAllInBatch(tasks);
+        palletRepository.saveAll(allPallets);
+
         return tasks;
     }
 
@@ -178,18 +185,9 @@ public class PutawayService {
             }
             Long lineSkuId = pallet.getReceiptLine().getSkuId();
             if (!lineSkuId.equals(pallet.getSkuId())) {
+                // Persisted together with the status change at the end of planning.
                 pallet.setSkuId(lineSkuId);
-                palletRepository.save(pallet);
             }
         }
     }
-
-    /**
-     * Internal method to determine location for a pallet during task generation.
-     * Uses LocationSelectionService to find the optimal location.
-     */
-    private Optional<Location> determineLocationForPallet(Pallet pallet) {
-        PutawayContext context = contextBuilder.buildContext(pallet);
-        return locationSelectionService.determineLocation(pallet, context);
-    }
 }
@@ -24,6 +24,10 @@ import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.SkuRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetPager;
+import com.wmsdipl.core.service.paging.KeysetRequest;
+import com.wmsdipl.core.service.paging.KeysetSort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -36,6 +40,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +56,11 @@ public class ReceiptService {
 
     private static final Logger log = LoggerFactory.getLogger(ReceiptService.class);
 
+    private static final Map<String, KeysetSort<Receipt>> RECEIPT_SORTS = Map.of(
+        "id", KeysetSort.byId(Receipt::getId),
+        "createdAt", new KeysetSort<>("createdAt", "createdAt", Receipt::getCreatedAt, LocalDateTime::parse)
+    );
+
     private final ReceiptRepository receiptRepository;
     private final ReceiptMapper receiptMapper;
     private final SkuService skuService;
@@ -59,11 +69,13 @@ public class ReceiptService {
     private final TaskRepository taskRepository;
     private final DiscrepancyRepository discrepancyRepository;
     private final ReceiptWorkflowBlockerService receiptWorkflowBlockerService;
+    private final KeysetPager keysetPager;
 
     public ReceiptService(ReceiptRepository receiptRepository, ReceiptMapper receiptMapper, 
                          SkuService skuService, SkuRepository skuRepository, PalletRepository palletRepository, TaskRepository taskRepository,
                          DiscrepancyRepository discrepancyRepository,
-                         ReceiptWorkflowBlockerService receiptWorkflowBlockerService) {
+                         ReceiptWorkflowBlockerService receiptWorkflowBlockerService,
+                         KeysetPager keysetPager) {
         this.receiptRepository = receiptRepository;
         this.receiptMapper = receiptMapper;
         this.skuService = skuService;
@@ -72,6 +84,7 @@ public class ReceiptService {
         this.taskRepository = taskRepository;
         this.discrepancyRepository = discrepancyRepository;
         this.receiptWorkflowBlockerService = receiptWorkflowBlockerService;
+        this.keysetPager = keysetPager;
     }
 
     @Transactional(readOnly = true)
@@ -86,6 +99,32 @@ public class ReceiptService {
             LocalDate fromDate,
             LocalDate toDate,
             Pageable pageable
+    ) {
+        return receiptRepository.findAll(buildReceiptSpecification(status, supplier, fromDate, toDate), pageable)
+            .map(receiptMapper::toDto);
+    }
+
+    /**
+     * Keyset variant of {@link #listFiltered}; sort keys: id (default), createdAt.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<ReceiptDto> listFilteredSlice(
+            String status,
+            String supplier,
+            LocalDate fromDate,
+            LocalDate toDate,
+            KeysetRequest request
+    ) {
+        KeysetSort<Receipt> sort = KeysetPager.resolveSort(RECEIPT_SORTS, request.sort(), "id");
+        return keysetPager.find(Receipt.class, buildReceiptSpecification(status, supplier, fromDate, toDate), sort, request)
+            .map(receiptMapper::toDto);
+    }
+
+    private Specification<Receipt> buildReceiptSpecification(
+            String status,
+            String supplier,
+            LocalDate fromDate,
+            LocalDate toDate
     ) {
         Specification<Receipt> spec = Specification.where(null);
         if (status != null && !status.isBlank()) {
@@ -104,7 +143,7 @@ public class ReceiptService {
         if (toDate != null) {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("docDate"), toDate));
         }
-        return receiptRepository.findAll(spec, pageable).map(receiptMapper::toDto);
+        return spec;
     }
 
     @Transactional(readOnly = true)
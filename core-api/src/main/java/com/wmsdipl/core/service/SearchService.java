@@ -0,0 +1,99 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.contracts.dto.SearchResultDto;
+import com.wmsdipl.core.repository.LocationRepository;
+import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.SearchHit;
+import com.wmsdipl.core.repository.SkuRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Code search across pallets, SKUs and locations.
+ * Each type is searched by its own trigram-indexed query; the hits are merged by match rank
+ * (exact, prefix, substring, fuzzy) and similarity, so an exact location code outranks a
+ * fuzzy SKU name regardless of which table it came from.
+ */
+@Service
+public class SearchService {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private static final Comparator<SearchHit> RANKING = Comparator
+        .comparingInt(SearchHit::matchRank)
+        .thenComparing(Comparator.comparingDouble(SearchHit::score).reversed())
+        .thenComparing(SearchHit::type)
+        .thenComparing(SearchHit::code, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final PalletRepository palletRepository;
+    private final SkuRepository skuRepository;
+    private final LocationRepository locationRepository;
+
+    public SearchService(PalletRepository palletRepository,
+                         SkuRepository skuRepository,
+                         LocationRepository locationRepository) {
+        this.palletRepository = palletRepository;
+        this.skuRepository = skuRepository;
+        this.locationRepository = locationRepository;
+    }
+
+    /**
+     * Searches the requested entity types.
+     *
+     * @param query search text, at least two non-blank characters
+     * @param types entity types (PALLET, SKU, LOCATION); all when null or empty
+     * @param limit maximum number of merged hits (default 20, at most 100)
+     * @return hits ordered by match rank, then similarity
+     * @throws IllegalArgumentException if the query is too short or a type is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<SearchResultDto> search(String query, List<String> types, Integer limit) {
+        String term = query == null ? "" : query.trim();
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + MIN_TERM_LENGTH + " characters");
+        }
+        int max = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (SearchHit.Type type : parseTypes(types)) {
+            hits.addAll(switch (type) {
+                case PALLET -> palletRepository.searchByCode(term, max);
+                case SKU -> skuRepository.search(term, max);
+                case LOCATION -> locationRepository.searchByCode(term, max);
+            });
+        }
+        return hits.stream()
+            .sorted(RANKING)
+            .limit(max)
+            .map(hit -> new SearchResultDto(
+                hit.type().name(), hit.id(), hit.code(), hit.label(), hit.matchRank(), hit.score()))
+            .toList();
+    }
+
+    private Set<SearchHit.Type> parseTypes(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return EnumSet.allOf(SearchHit.Type.class);
+        }
+        Set<SearchHit.Type> parsed = EnumSet.noneOf(SearchHit.Type.class);
+        for (String type : types) {
+            if (type == null || type.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(SearchHit.Type.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown search type: " + type);
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(SearchHit.Type.class) : parsed;
+    }
+}
@@ -19,6 +19,7 @@ import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.SkuRepository;
 import com.wmsdipl.core.repository.SkuUnitConfigRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.workflow.ReceivingLookupCache;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -58,6 +59,7 @@ public class SkuService {
     private final DiscrepancyRepository discrepancyRepository;
     private final SkuMapper skuMapper;
     private final AuditLogService auditLogService;
+    private final ReceivingLookupCache receivingLookupCache;
 
     private static final Set<ReceiptStatus> OPEN_RECEIPT_STATUSES = EnumSet.of(
         ReceiptStatus.DRAFT,
@@ -85,7 +87,8 @@ public class SkuService {
         ScanRepository scanRepository,
         DiscrepancyRepository discrepancyRepository,
         SkuMapper skuMapper,
-        AuditLogService auditLogService
+        AuditLogService auditLogService,
+        ReceivingLookupCache receivingLookupCache
     ) {
         this.skuRepository = skuRepository;
         this.skuUnitConfigRepository = skuUnitConfigRepository;
@@ -96,6 +99,7 @@ public class SkuService {
         this.discrepancyRepository = discrepancyRepository;
         this.skuMapper = skuMapper;
         this.auditLogService = auditLogService;
+        this.receivingLookupCache = receivingLookupCache;
     }
 
     @Transactional(readOnly = true)
@@ -158,6 +162,7 @@ public class SkuService {
         skuMapper.updateEntity(sku, request);
         Sku saved = skuRepository.save(sku);
         syncBaseUnitCodeWithSku(saved);
+        receivingLookupCache.evictSku(id);
         return skuMapper.toDto(saved);
     }
 
@@ -176,6 +181,7 @@ public class SkuService {
 
         skuUnitConfigRepository.deleteAll(skuUnitConfigRepository.findBySkuIdOrderByIsBaseDescUnitCodeAsc(id));
         skuRepository.deleteById(id);
+        receivingLookupCache.evictSku(id);
     }
 
     /**
@@ -357,6 +363,7 @@ public class SkuService {
             .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Base unit is required"));
         sku.setUom(base.getUnitCode());
         skuRepository.save(sku);
+        receivingLookupCache.evictSku(skuId);
 
         return skuUnitConfigRepository.findBySkuIdOrderByIsBaseDescUnitCodeAsc(skuId).stream()
             .map(this::toUnitConfigDto)
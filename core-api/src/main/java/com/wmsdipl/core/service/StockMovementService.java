@@ -5,6 +5,7 @@ import com.wmsdipl.core.domain.MovementType;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +21,11 @@ import java.time.LocalDateTime;
 public class StockMovementService {
 
     private final PalletMovementRepository palletMovementRepository;
+    private final ExpiryStockIndex expiryStockIndex;
 
-    public StockMovementService(PalletMovementRepository palletMovementRepository) {
+    public StockMovementService(PalletMovementRepository palletMovementRepository, ExpiryStockIndex expiryStockIndex) {
         this.palletMovementRepository = palletMovementRepository;
+        this.expiryStockIndex = expiryStockIndex;
     }
 
     /**
@@ -101,6 +104,7 @@ public class StockMovementService {
         movement.setScanId(scanId);
         movement.setMovedAt(LocalDateTime.now());
         
+        expiryStockIndex.update(pallet);
         return palletMovementRepository.save(movement);
     }
 
@@ -142,6 +146,7 @@ public class StockMovementService {
         movement.setScanId(scanId);
         movement.setMovedAt(LocalDateTime.now());
         
+        expiryStockIndex.update(pallet);
         return palletMovementRepository.save(movement);
     }
 
@@ -183,6 +188,7 @@ public class StockMovementService {
         movement.setScanId(scanId);
         movement.setMovedAt(LocalDateTime.now());
         
+        expiryStockIndex.update(pallet);
         return palletMovementRepository.save(movement);
     }
 
@@ -211,6 +217,7 @@ public class StockMovementService {
         movement.setTaskId(null);
         movement.setMovedAt(LocalDateTime.now());
         
+        expiryStockIndex.update(pallet);
         return palletMovementRepository.save(movement);
     }
 }
@@ -5,10 +5,22 @@ import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import com.wmsdipl.core.domain.PalletStatus;
 import com.wmsdipl.core.domain.Sku;
+import com.wmsdipl.core.domain.StockSnapshot;
+import com.wmsdipl.core.repository.LikePatterns;
 import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.repository.PalletMovementRepositoryCustom;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.PalletRepositoryCustom;
 import com.wmsdipl.core.repository.SkuRepository;
+import com.wmsdipl.core.repository.StockFilter;
+import com.wmsdipl.core.repository.StockSnapshotRepository;
+import com.wmsdipl.core.repository.StockSummaryDimension;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetPager;
+import com.wmsdipl.core.service.paging.KeysetRequest;
+import com.wmsdipl.core.service.paging.KeysetSort;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -19,10 +31,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,16 +56,35 @@ public class StockService {
     private final PalletMovementRepository palletMovementRepository;
     private final SkuRepository skuRepository;
     private final LocationRepository locationRepository;
+    private final ExpiryStockIndex expiryStockIndex;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final StockSummaryCache stockSummaryCache;
+    private final KeysetPager keysetPager;
+
+    private static final int MAX_FEFO_LIMIT = 200;
+
+    private static final Map<String, KeysetSort<Pallet>> STOCK_SORTS = Map.of(
+            "id", KeysetSort.byId(Pallet::getId),
+            "code", new KeysetSort<>("code", "code", Pallet::getCode, value -> value)
+    );
 
     public StockService(
             PalletRepository palletRepository,
             PalletMovementRepository palletMovementRepository,
             SkuRepository skuRepository,
-            LocationRepository locationRepository) {
+            LocationRepository locationRepository,
+            ExpiryStockIndex expiryStockIndex,
+            StockSnapshotRepository stockSnapshotRepository,
+            StockSummaryCache stockSummaryCache,
+            KeysetPager keysetPager) {
         this.palletRepository = palletRepository;
         this.palletMovementRepository = palletMovementRepository;
         this.skuRepository = skuRepository;
         this.locationRepository = locationRepository;
+        this.expiryStockIndex = expiryStockIndex;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.stockSummaryCache = stockSummaryCache;
+        this.keysetPager = keysetPager;
     }
 
     /**
@@ -61,7 +96,7 @@ public class StockService {
      * @param palletBarcode Pallet barcode filter (optional)
      * @param receiptId Receipt ID filter (optional)
      * @param status Pallet status filter (optional)
-     * @param asOfDate Point-in-time date (optional, defaults to current time)
+     * @param asOfDate Point-in-time date (optional, defaults to current time); filters apply to the state at that time
      * @param pageable Pagination parameters
      * @return Page of pallets matching criteria with SKU map
      */
@@ -74,22 +109,74 @@ public class StockService {
             LocalDateTime asOfDate,
             Pageable pageable) {
 
+        if (asOfDate != null) {
+            return getStockAsOf(skuCode, locationCode, palletBarcode, receiptId, status, asOfDate, pageable);
+        }
+
         Specification<Pallet> spec = buildStockSpecification(
                 skuCode, locationCode, palletBarcode, receiptId, status);
 
         Page<Pallet> pallets = palletRepository.findAll(spec, pageable);
 
-        // If querying historical data, adjust locations based on movements
-        if (asOfDate != null) {
-            pallets.forEach(pallet -> adjustPalletLocationToDate(pallet, asOfDate));
-        }
-
         // Load SKUs in batch
         Map<Long, Sku> skuMap = loadSkusForPallets(pallets.getContent());
 
         return new StockResult(pallets, skuMap);
     }
 
+    /**
+     * Get current stock with keyset pagination: each page continues after the last pallet of the previous one,
+     * so deep pages do not slow down. The total is only counted on request.
+     * 
+     * @param skuCode SKU code filter (optional)
+     * @param locationCode Location code filter (optional)
+     * @param palletBarcode Pallet barcode filter (optional)
+     * @param receiptId Receipt ID filter (optional)
+     * @param status Pallet status filter (optional)
+     * @param request Keyset request (sort keys: id, code)
+     * @return Slice of pallets with SKU map
+     */
+    public StockResult getStockSlice(
+            String skuCode,
+            String locationCode,
+            String palletBarcode,
+            Long receiptId,
+            String status,
+            KeysetRequest request) {
+
+        KeysetSort<Pallet> sort = KeysetPager.resolveSort(STOCK_SORTS, request.sort(), "id");
+        CursorSlice<Pallet> slice = keysetPager.find(Pallet.class,
+                buildStockSpecification(skuCode, locationCode, palletBarcode, receiptId, status), sort, request);
+        return new StockResult(slice, loadSkusForPallets(slice.content()));
+    }
+
+    /**
+     * Get stock totals grouped by SKU, zone, location type and/or status, aggregated in the database.
+     * Results are served from a short-TTL cache (see {@link StockSummaryCache}).
+     * 
+     * @param skuCode SKU code filter (optional)
+     * @param locationCode Location code filter (optional)
+     * @param palletBarcode Pallet barcode filter (optional)
+     * @param receiptId Receipt ID filter (optional)
+     * @param status Pallet status filter (optional)
+     * @param groupBy Grouping dimensions (optional, defaults to SKU)
+     * @return One row per group
+     * @throws IllegalArgumentException if a grouping dimension is unknown
+     */
+    public List<PalletRepositoryCustom.StockSummaryRow> getStockSummary(
+            String skuCode,
+            String locationCode,
+            String palletBarcode,
+            Long receiptId,
+            String status,
+            List<String> groupBy) {
+
+        Set<StockSummaryDimension> dimensions = parseDimensions(groupBy);
+        StockFilter filter = buildStockFilter(skuCode, locationCode, palletBarcode, receiptId, status);
+        return stockSummaryCache.get(filter, dimensions,
+                () -> palletRepository.summarizeStock(filter, dimensions));
+    }
+
     /**
      * Get single pallet by ID with its SKU.
      * 
@@ -146,6 +233,45 @@ public class StockService {
         return new StockResult(pallets, skuMap);
     }
 
+    /**
+     * Get stored pallets of a SKU in FEFO order (earliest expiry first) for outbound picking.
+     * Candidates come from the in-memory expiry index and are re-checked against the database.
+     * 
+     * @param skuId SKU ID
+     * @param limit Maximum number of pallets (capped at 200)
+     * @return Pallets with SKU map
+     */
+    public StockResult getOldestStock(Long skuId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_FEFO_LIMIT));
+        Iterator<ExpiryStockIndex.StockEntry> entries = expiryStockIndex.oldestFirst(skuId);
+        List<Pallet> oldest = new ArrayList<>(size);
+        while (entries.hasNext() && oldest.size() < size) {
+            List<Long> ids = new ArrayList<>();
+            while (entries.hasNext() && ids.size() < size - oldest.size()) {
+                ids.add(entries.next().palletId());
+            }
+            Map<Long, Pallet> loaded = palletRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Pallet::getId, pallet -> pallet));
+            for (Long id : ids) {
+                Pallet pallet = loaded.get(id);
+                if (isPickableStock(pallet, skuId)) {
+                    oldest.add(pallet);
+                }
+            }
+        }
+        return new StockResult(new PageImpl<>(oldest), loadSkusForPallets(oldest));
+    }
+
+    private boolean isPickableStock(Pallet pallet, Long skuId) {
+        return pallet != null
+                && skuId.equals(pallet.getSkuId())
+                && pallet.getLocation() != null
+                && pallet.getExpiryDate() != null
+                && (pallet.getStatus() == PalletStatus.PLACED || pallet.getStatus() == PalletStatus.STORED)
+                && pallet.getQuantity() != null
+                && pallet.getQuantity().compareTo(BigDecimal.ZERO) > 0;
+    }
+
     /**
      * Load SKU entities for a list of pallets in a single batch query.
      * 
@@ -167,6 +293,49 @@ public class StockService {
                 .collect(Collectors.toMap(Sku::getId, sku -> sku));
     }
 
+    private Set<StockSummaryDimension> parseDimensions(List<String> groupBy) {
+        Set<StockSummaryDimension> dimensions = EnumSet.noneOf(StockSummaryDimension.class);
+        if (groupBy != null) {
+            for (String value : groupBy) {
+                if (value == null || value.isBlank()) {
+                    continue;
+                }
+                try {
+                    dimensions.add(StockSummaryDimension.valueOf(value.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown stock summary dimension: " + value
+                            + ". Allowed: " + Arrays.toString(StockSummaryDimension.values()));
+                }
+            }
+        }
+        if (dimensions.isEmpty()) {
+            dimensions.add(StockSummaryDimension.SKU);
+        }
+        return dimensions;
+    }
+
+    /**
+     * Build stock filter for the SQL-based stock queries.
+     * Same leniency as the specification: unknown statuses do not filter.
+     */
+    private StockFilter buildStockFilter(
+            String skuCode,
+            String locationCode,
+            String palletBarcode,
+            Long receiptId,
+            String status) {
+
+        PalletStatus palletStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                palletStatus = PalletStatus.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                // Invalid status - ignore filter
+            }
+        }
+        return new StockFilter(skuCode, locationCode, palletBarcode, receiptId, palletStatus);
+    }
+
     /**
      * Build JPA Specification for stock filtering.
      */
@@ -183,12 +352,13 @@ public class StockService {
             // Hide empty pallets from stock view
             predicates.add(cb.greaterThan(root.get("quantity"), BigDecimal.ZERO));
 
-            // SKU filter - need to join to sku table
+            // SKU filter - Pallet only has skuId, so match SKU codes in a subquery of the same statement
             if (skuCode != null && !skuCode.isBlank()) {
-                // Since Pallet only has skuId, we need to query SKU first
-                skuRepository.findByCode(skuCode).ifPresent(sku -> 
-                    predicates.add(cb.equal(root.get("skuId"), sku.getId()))
-                );
+                Subquery<Long> skuIds = query.subquery(Long.class);
+                Root<Sku> sku = skuIds.from(Sku.class);
+                skuIds.select(sku.get("id"))
+                        .where(cb.like(cb.lower(sku.get("code")), LikePatterns.contains(skuCode)));
+                predicates.add(root.get("skuId").in(skuIds));
             }
 
             // Location filter
@@ -200,7 +370,7 @@ public class StockService {
             if (palletBarcode != null && !palletBarcode.isBlank()) {
                 predicates.add(cb.like(
                     cb.lower(root.get("code")), 
-                    "%" + palletBarcode.toLowerCase() + "%"));
+                    LikePatterns.contains(palletBarcode)));
             }
 
             // Receipt filter
@@ -223,13 +393,59 @@ public class StockService {
     }
 
     /**
-     * Adjust pallet location to reflect historical state at a specific date.
-     * Modifies the pallet object in-place (transient change, not persisted).
+     * Stock as it was at a point in time, reconstructed in one query from the nearest prior snapshot
+     * plus the movements made since (see {@link StockSnapshotService}).
+     * Pallets are returned with their historical location, quantity and status set in-place
+     * (transient change, not persisted).
      */
-    private void adjustPalletLocationToDate(Pallet pallet, LocalDateTime asOfDate) {
-        palletMovementRepository
-                .findTopByPalletAndMovedAtLessThanEqualOrderByMovedAtDesc(pallet, asOfDate)
-                .ifPresent(movement -> pallet.setLocation(movement.getToLocation()));
+    private StockResult getStockAsOf(
+            String skuCode,
+            String locationCode,
+            String palletBarcode,
+            Long receiptId,
+            String status,
+            LocalDateTime asOfDate,
+            Pageable pageable) {
+
+        StockSnapshot base = stockSnapshotRepository
+                .findTopBySnapshotAtLessThanEqualOrderBySnapshotAtDesc(asOfDate)
+                .orElse(null);
+        Page<PalletMovementRepositoryCustom.PalletState> states = palletMovementRepository.findStockAsOf(
+                asOfDate,
+                base,
+                buildStockFilter(skuCode, locationCode, palletBarcode, receiptId, status),
+                pageable);
+        if (states.isEmpty()) {
+            return new StockResult(new PageImpl<>(List.of(), pageable, states.getTotalElements()), Map.of());
+        }
+
+        Map<Long, Pallet> palletsById = palletRepository.findAllById(
+                        states.map(PalletMovementRepositoryCustom.PalletState::palletId).getContent()).stream()
+                .collect(Collectors.toMap(Pallet::getId, pallet -> pallet));
+        Set<Long> locationIds = states.stream()
+                .map(PalletMovementRepositoryCustom.PalletState::locationId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, Location> locationsById = locationIds.isEmpty()
+                ? Map.of()
+                : locationRepository.findAllById(locationIds).stream()
+                        .collect(Collectors.toMap(Location::getId, location -> location));
+
+        List<Pallet> pallets = new ArrayList<>(states.getNumberOfElements());
+        for (PalletMovementRepositoryCustom.PalletState state : states) {
+            Pallet pallet = palletsById.get(state.palletId());
+            if (pallet == null) {
+                continue;
+            }
+            pallet.setLocation(state.locationId() != null ? locationsById.get(state.locationId()) : null);
+            pallet.setQuantity(state.quantity());
+            pallet.setStatus(state.status());
+            pallets.add(pallet);
+        }
+
+        return new StockResult(
+                new PageImpl<>(pallets, pageable, states.getTotalElements()),
+                loadSkusForPallets(pallets));
     }
 
     /**
@@ -237,17 +453,27 @@ public class StockService {
      */
     public static class StockResult {
         public final Page<Pallet> pallets;
+        public final CursorSlice<Pallet> slice;
         public final Pallet singlePallet;
         public final Map<Long, Sku> skuMap;
 
         public StockResult(Page<Pallet> pallets, Map<Long, Sku> skuMap) {
             this.pallets = pallets;
+            this.slice = null;
+            this.singlePallet = null;
+            this.skuMap = skuMap;
+        }
+
+        public StockResult(CursorSlice<Pallet> slice, Map<Long, Sku> skuMap) {
+            this.pallets = null;
+            this.slice = slice;
             this.singlePallet = null;
             this.skuMap = skuMap;
         }
 
         public StockResult(Pallet pallet, Map<Long, Sku> skuMap) {
             this.pallets = null;
+            this.slice = null;
             this.singlePallet = pallet;
             this.skuMap = skuMap;
         }
@@ -0,0 +1,71 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.repository.PalletRepositoryCustom.StockSummaryRow;
+import com.wmsdipl.core.repository.StockFilter;
+import com.wmsdipl.core.repository.StockSummaryDimension;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of stock summary results, so dashboards polling the same totals
+ * do not repeat the aggregation. Results may be up to {@code wms.stock.summary-cache-ttl-ms} old;
+ * a TTL of 0 disables the cache.
+ */
+@Component
+public class StockSummaryCache {
+
+    static final int MAX_ENTRIES = 256;
+
+    private final long ttlNanos;
+    private final Map<Key, CachedSummary> summaries = new ConcurrentHashMap<>();
+
+    public StockSummaryCache(@Value("${wms.stock.summary-cache-ttl-ms:5000}") long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns the cached summary for the filter and grouping, loading it if absent or expired.
+     *
+     * @param filter stock filter
+     * @param groupBy grouping dimensions
+     * @param loader runs the aggregation query
+     * @return summary rows
+     */
+    public List<StockSummaryRow> get(StockFilter filter, Set<StockSummaryDimension> groupBy,
+                                     Supplier<List<StockSummaryRow>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(filter, Set.copyOf(groupBy));
+        long now = System.nanoTime();
+        CachedSummary cached = summaries.get(key);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.rows();
+        }
+        List<StockSummaryRow> rows = List.copyOf(loader.get());
+        if (summaries.size() >= MAX_ENTRIES) {
+            summaries.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+            if (summaries.size() >= MAX_ENTRIES) {
+                summaries.clear();
+            }
+        }
+        summaries.put(key, new CachedSummary(rows, now));
+        return rows;
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+
+    private record Key(StockFilter filter, Set<StockSummaryDimension> groupBy) {
+    }
+
+    private record CachedSummary(List<StockSummaryRow> rows, long loadedAt) {
+    }
+}
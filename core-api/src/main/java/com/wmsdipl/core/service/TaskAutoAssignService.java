@@ -7,6 +7,7 @@ import com.wmsdipl.core.domain.Task;
 import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.domain.UserRole;
+import com.wmsdipl.core.repository.AssigneeStatusCount;
 import com.wmsdipl.core.repository.TaskRepository;
 import com.wmsdipl.core.repository.UserRepository;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -135,26 +137,25 @@ public class TaskAutoAssignService {
             throw new ResponseStatusException(NOT_FOUND, "No tasks found for provided taskIds");
         }
 
-        List<String> operators = userRepository.findAll().stream()
-            .filter(user -> Boolean.TRUE.equals(user.getActive()))
-            .filter(user -> user.getRole() == UserRole.OPERATOR)
+        List<String> operators = userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR).stream()
             .map(User::getUsername)
             .filter(Objects::nonNull)
             .filter(username -> !username.isBlank())
-            .sorted()
             .toList();
 
         if (operators.isEmpty()) {
             throw new ResponseStatusException(BAD_REQUEST, "No active operators available for auto-assignment");
         }
 
+        // One GROUP BY query for all operators, then a min-heap ordered by (load, username):
+        // each assignment is O(log operators) instead of a scan over all operators.
         Map<String, Integer> loadByOperator = new HashMap<>();
+        for (AssigneeStatusCount count : taskRepository.countGroupedByAssigneeAndStatus(operators, ACTIVE_LOAD_STATUSES)) {
+            loadByOperator.merge(count.getAssignee(), count.getTotal().intValue(), Integer::sum);
+        }
+        PriorityQueue<OperatorLoad> operatorsByLoad = new PriorityQueue<>(operators.size(), OperatorLoad.ORDER);
         for (String operator : operators) {
-            int load = 0;
-            for (TaskStatus status : ACTIVE_LOAD_STATUSES) {
-                load += taskRepository.findByAssigneeAndStatus(operator, status).size();
-            }
-            loadByOperator.put(operator, load);
+            operatorsByLoad.add(new OperatorLoad(operator, loadByOperator.getOrDefault(operator, 0)));
         }
 
         List<Task> orderedTasks = tasks.stream()
@@ -190,10 +191,7 @@ public class TaskAutoAssignService {
                 continue;
             }
 
-            String suggested = operators.stream()
-                .min(Comparator.comparingInt((String op) -> loadByOperator.getOrDefault(op, 0))
-                    .thenComparing(Comparator.naturalOrder()))
-                .orElse(null);
+            OperatorLoad suggested = operatorsByLoad.poll();
             if (suggested == null) {
                 skipCount++;
                 items.add(new AutoAssignPreviewItemDto(
@@ -205,14 +203,13 @@ public class TaskAutoAssignService {
                 ));
                 continue;
             }
-            int loadBefore = loadByOperator.getOrDefault(suggested, 0);
-            loadByOperator.put(suggested, loadBefore + 1);
+            operatorsByLoad.add(new OperatorLoad(suggested.operator(), suggested.load() + 1));
             assignCount++;
             items.add(new AutoAssignPreviewItemDto(
                 task.getId(),
                 task.getAssignee(),
-                suggested,
-                loadBefore,
+                suggested.operator(),
+                suggested.load(),
                 "ASSIGN"
             ));
         }
@@ -224,4 +221,9 @@ public class TaskAutoAssignService {
             items
         );
     }
+
+    private record OperatorLoad(String operator, int load) {
+        static final Comparator<OperatorLoad> ORDER = Comparator.comparingInt(OperatorLoad::load)
+            .thenComparing(OperatorLoad::operator);
+    }
 }
@@ -0,0 +1,12 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.TaskType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link TaskLifecycleService#complete} inside the completing transaction.
+ * Listeners that must only see committed state use {@code @TransactionalEventListener}.
+ */
+public record TaskCompletedEvent(Long taskId, Long receiptId, TaskType taskType, String assignee, LocalDateTime closedAt) {
+}
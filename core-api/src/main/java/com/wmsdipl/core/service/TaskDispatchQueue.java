@@ -0,0 +1,179 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.repository.TaskDispatchView;
+import com.wmsdipl.core.repository.TaskRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory dispatch queues of NEW tasks, one per (task type, zone), each ordered by
+ * priority (highest first), then cell code (walk order through the zone), then task ID.
+ *
+ * {@link #poll} hands out the best task an operator may take and removes it from its queue. Within the top
+ * priority the operator continues the walk from their last dispatched cell, and on equal priority
+ * stays in their current zone, so consecutive tasks are sequenced by travel.
+ *
+ * Queues are rebuilt from the database periodically. Entries are hints: the caller claims the task
+ * atomically in the database and simply polls again when someone else got it first.
+ */
+@Component
+public class TaskDispatchQueue {
+
+    private static final Comparator<QueuedTask> QUEUE_ORDER = Comparator
+        .comparingInt(QueuedTask::priority).reversed()
+        .thenComparing(QueuedTask::travelKey, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(QueuedTask::taskId);
+
+    /**
+     * One NEW task waiting for an operator.
+     */
+    public record QueuedTask(Long taskId, TaskType taskType, Long zoneId, int priority, String travelKey) {
+    }
+
+    private record QueueKey(TaskType taskType, Long zoneId) {
+    }
+
+    private record Position(Long zoneId, String travelKey) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+    private volatile State state;
+
+    public TaskDispatchQueue(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Removes and returns the next task for an operator.
+     *
+     * @param operator username, used to continue from the operator's last position
+     * @param taskTypes task types the operator may take; empty means any
+     * @param zoneIds zones the operator works in; empty means any (tasks without a location always match)
+     * @return next task, or empty if no queue the operator may serve has tasks
+     */
+    public synchronized Optional<QueuedTask> poll(String operator, Set<TaskType> taskTypes, Set<Long> zoneIds) {
+        Position position = positions.get(operator);
+        QueuedTask best = null;
+        NavigableSet<QueuedTask> bestQueue = null;
+        for (Map.Entry<QueueKey, NavigableSet<QueuedTask>> entry : state().queues.entrySet()) {
+            QueueKey key = entry.getKey();
+            NavigableSet<QueuedTask> queue = entry.getValue();
+            if (queue.isEmpty()
+                || (!taskTypes.isEmpty() && !taskTypes.contains(key.taskType()))
+                || (!zoneIds.isEmpty() && key.zoneId() != null && !zoneIds.contains(key.zoneId()))) {
+                continue;
+            }
+            QueuedTask candidate = next(queue, position);
+            if (best == null || isBetter(candidate, best, position)) {
+                best = candidate;
+                bestQueue = queue;
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        bestQueue.remove(best);
+        positions.put(operator, new Position(best.zoneId(), best.travelKey()));
+        return Optional.of(best);
+    }
+
+    /**
+     * Rebuilds the queues from the database, replacing the current snapshot in one step.
+     */
+    @Scheduled(
+        initialDelayString = "${wms.dispatch.refresh-ms:10000}",
+        fixedDelayString = "${wms.dispatch.refresh-ms:10000}"
+    )
+    public void refresh() {
+        if (state != null) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the queues unless the current snapshot is younger than {@code minAgeMillis}.
+     *
+     * @param minAgeMillis minimum snapshot age
+     * @return true if the queues were rebuilt
+     */
+    public boolean refreshIfOlderThan(long minAgeMillis) {
+        State current = state;
+        if (current != null && System.nanoTime() - current.loadedAt < minAgeMillis * 1_000_000L) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    private void reload() {
+        State rebuilt = load();
+        synchronized (this) {
+            state = rebuilt;
+        }
+    }
+
+    // Within the top priority of the queue: first cell at or after the operator's last one, else wrap to the head
+    private static QueuedTask next(NavigableSet<QueuedTask> queue, Position position) {
+        QueuedTask head = queue.first();
+        if (position == null || position.travelKey() == null || !Objects.equals(position.zoneId(), head.zoneId())) {
+            return head;
+        }
+        QueuedTask fromPosition = queue.ceiling(
+            new QueuedTask(Long.MIN_VALUE, head.taskType(), head.zoneId(), head.priority(), position.travelKey()));
+        return fromPosition != null && fromPosition.priority() == head.priority() ? fromPosition : head;
+    }
+
+    private static boolean isBetter(QueuedTask candidate, QueuedTask best, Position position) {
+        if (candidate.priority() != best.priority()) {
+            return candidate.priority() > best.priority();
+        }
+        if (position != null) {
+            boolean candidateInZone = Objects.equals(candidate.zoneId(), position.zoneId());
+            boolean bestInZone = Objects.equals(best.zoneId(), position.zoneId());
+            if (candidateInZone != bestInZone) {
+                return candidateInZone;
+            }
+        }
+        return candidate.taskId() < best.taskId();
+    }
+
+    private State state() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                state = load();
+            }
+            return state;
+        }
+    }
+
+    private State load() {
+        Map<QueueKey, NavigableSet<QueuedTask>> queues = new HashMap<>();
+        for (TaskDispatchView view : taskRepository.findDispatchCandidates(TaskStatus.NEW)) {
+            TaskType taskType = view.getTaskType() != null ? view.getTaskType() : TaskType.RECEIVING;
+            QueuedTask task = new QueuedTask(view.getTaskId(), taskType, view.getZoneId(),
+                view.getPriority() != null ? view.getPriority() : 0, view.getLocationCode());
+            queues.computeIfAbsent(new QueueKey(taskType, task.zoneId()), k -> new TreeSet<>(QUEUE_ORDER)).add(task);
+        }
+        return new State(queues, System.nanoTime());
+    }
+
+    private record State(Map<QueueKey, NavigableSet<QueuedTask>> queues, long loadedAt) {
+    }
+}
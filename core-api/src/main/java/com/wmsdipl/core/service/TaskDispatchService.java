@@ -0,0 +1,104 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.domain.User;
+import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Pull dispatch: hands an operator their next task.
+ *
+ * An operator who already holds an ASSIGNED or IN_PROGRESS task gets that one back. Otherwise the best NEW task
+ * matching the operator's dispatch profile (task types, zones) is taken from {@link TaskDispatchQueue} and claimed
+ * with a single conditional UPDATE that skips rows locked by a concurrent claim, so two operators never receive
+ * the same task, whichever instance serves them.
+ */
+@Service
+public class TaskDispatchService {
+
+    static final String ASSIGNED_BY = "dispatch";
+
+    private static final List<TaskStatus> HELD_STATUSES = List.of(TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+    private static final int MAX_CLAIM_ATTEMPTS = 50;
+
+    private static final String CLAIM = """
+        UPDATE tasks
+        SET status = 'ASSIGNED', assignee = ?, assigned_by = ?, entity_version = entity_version + 1
+        WHERE id = (SELECT id FROM tasks WHERE id = ? AND status = 'NEW' FOR UPDATE SKIP LOCKED)
+        """;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskDispatchQueue dispatchQueue;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeed changeFeed;
+    private final long minReloadMillis;
+
+    public TaskDispatchService(TaskRepository taskRepository,
+                               UserRepository userRepository,
+                               TaskDispatchQueue dispatchQueue,
+                               JdbcTemplate jdbcTemplate,
+                               ChangeFeed changeFeed,
+                               @Value("${wms.dispatch.min-reload-ms:1000}") long minReloadMillis) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.dispatchQueue = dispatchQueue;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeFeed = changeFeed;
+        this.minReloadMillis = minReloadMillis;
+    }
+
+    /**
+     * Returns the operator's next task, claiming a NEW one if they hold none.
+     *
+     * @param username operator
+     * @return held or newly claimed task, or empty if nothing matches the operator's profile
+     * @throws ResponseStatusException if the user does not exist
+     */
+    @Transactional
+    public Optional<Task> claimNext(String username) {
+        Optional<Task> held = taskRepository.findFirstByAssigneeAndStatusInOrderByPriorityDescIdAsc(username, HELD_STATUSES);
+        if (held.isPresent()) {
+            return held;
+        }
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found: " + username));
+        Set<TaskType> taskTypes = Set.copyOf(user.getTaskSkills());
+        Set<Long> zoneIds = Set.copyOf(user.getZoneIds());
+
+        boolean reloaded = false;
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Optional<TaskDispatchQueue.QueuedTask> next = dispatchQueue.poll(username, taskTypes, zoneIds);
+            if (next.isEmpty()) {
+                // Queues are refreshed periodically; look once more at the database before giving up
+                if (reloaded || !dispatchQueue.refreshIfOlderThan(minReloadMillis)) {
+                    return Optional.empty();
+                }
+                reloaded = true;
+                continue;
+            }
+            Long taskId = next.get().taskId();
+            if (jdbcTemplate.update(CLAIM, username, ASSIGNED_BY, taskId) == 1) {
+                Optional<Task> claimed = taskRepository.findById(taskId);
+                // The claim bypasses Hibernate, so the entity listener does not see it
+                claimed.ifPresent(task -> changeFeed.record(ChangeFeed.EntityType.TASK, task.getId(),
+                    task.getReceipt() != null ? task.getReceipt().getId() : null, ChangeFeed.Action.UPDATED));
+                return claimed;
+            }
+        }
+        return Optional.empty();
+    }
+}
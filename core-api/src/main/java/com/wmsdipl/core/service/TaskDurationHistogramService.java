@@ -0,0 +1,165 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
+import com.wmsdipl.contracts.dto.TaskDurationPercentilesDto;
+import com.wmsdipl.core.domain.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records task durations into hourly {@link DurationHistogram}s and reports their percentiles.
+ *
+ * Each completed task adds one sample to the (hour, task type, operator, zone, bin) row of
+ * {@code task_duration_histograms}. Reading a period merges the rows with SUM per group in SQL and streams
+ * the bin counts into one fixed-size histogram per group, so memory depends on the number of operators
+ * and zones, never on the number of tasks.
+ */
+@Service
+public class TaskDurationHistogramService {
+
+    static final double[] PERCENTILES = {50.0, 90.0, 99.0};
+
+    private static final String RECORD_SAMPLE = """
+        INSERT INTO task_duration_histograms (bucket_start, task_type, assignee, zone_id, bin, sample_count)
+        VALUES (?, ?, ?, COALESCE((SELECT zone_id FROM locations WHERE id = CAST(? AS BIGINT)), 0), ?, 1)
+        ON CONFLICT (bucket_start, task_type, assignee, zone_id, bin)
+        DO UPDATE SET sample_count = task_duration_histograms.sample_count + 1
+        """;
+
+    private static final String MERGED_BINS = """
+        SELECT h.task_type,
+               GROUPING(h.assignee) AS assignee_rolled_up,
+               GROUPING(h.zone_id) AS zone_rolled_up,
+               h.assignee,
+               h.zone_id,
+               z.code AS zone_code,
+               h.bin,
+               SUM(h.sample_count) AS sample_count
+        FROM task_duration_histograms h
+        LEFT JOIN zones z ON z.id = h.zone_id
+        WHERE h.bucket_start >= ? AND h.bucket_start <= ?
+        GROUP BY GROUPING SETS (
+            (h.task_type, h.bin),
+            (h.task_type, h.assignee, h.bin),
+            (h.task_type, h.zone_id, z.code, h.bin)
+        )
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskDurationHistogramService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the task's start-to-close duration to the histogram of the hour it was closed in.
+     * Runs in the caller's transaction, so only committed completions are counted.
+     * Tasks that never started are skipped.
+     *
+     * @param task closed task
+     */
+    @Transactional
+    public void record(Task task) {
+        LocalDateTime startedAt = task.getStartedAt();
+        LocalDateTime closedAt = task.getClosedAt();
+        if (startedAt == null || closedAt == null || task.getTaskType() == null || closedAt.isBefore(startedAt)) {
+            return;
+        }
+        long seconds = Duration.between(startedAt, closedAt).getSeconds();
+        Long locationId = task.getTargetLocationId() != null ? task.getTargetLocationId() : task.getSourceLocationId();
+
+        jdbcTemplate.update(
+            RECORD_SAMPLE,
+            Timestamp.valueOf(closedAt.truncatedTo(ChronoUnit.HOURS)),
+            task.getTaskType().name(),
+            task.getAssignee() != null ? task.getAssignee() : "",
+            locationId,
+            DurationHistogram.binOf(seconds)
+        );
+    }
+
+    /**
+     * Calculates p50/p90/p99 durations per task type, per operator and per zone for tasks closed in a period.
+     * The hour containing {@code startDate} is included.
+     *
+     * @param startDate start of period (inclusive)
+     * @param endDate end of period (inclusive)
+     * @return percentiles, sorted by task type and then operator or zone code
+     */
+    @Transactional(readOnly = true)
+    public TaskDurationAnalyticsDto calculatePercentiles(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<GroupKey, DurationHistogram> histograms = new LinkedHashMap<>();
+        jdbcTemplate.query(MERGED_BINS, rs -> {
+            boolean byOperator = rs.getInt("assignee_rolled_up") == 0;
+            boolean byZone = rs.getInt("zone_rolled_up") == 0;
+            GroupKey key = new GroupKey(
+                byOperator ? Grouping.OPERATOR : byZone ? Grouping.ZONE : Grouping.OVERALL,
+                rs.getString("task_type"),
+                byOperator ? rs.getString("assignee") : null,
+                byZone ? rs.getLong("zone_id") : null,
+                byZone ? rs.getString("zone_code") : null
+            );
+            histograms.computeIfAbsent(key, ignored -> new DurationHistogram())
+                .addToBin(rs.getInt("bin"), rs.getLong("sample_count"));
+        }, Timestamp.valueOf(startDate.truncatedTo(ChronoUnit.HOURS)), Timestamp.valueOf(endDate));
+
+        List<TaskDurationPercentilesDto> overall = new ArrayList<>();
+        List<TaskDurationPercentilesDto> byOperator = new ArrayList<>();
+        List<TaskDurationPercentilesDto> byZone = new ArrayList<>();
+        histograms.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(GroupKey.ORDER))
+            .forEach(entry -> {
+                TaskDurationPercentilesDto dto = toDto(entry.getKey(), entry.getValue());
+                switch (entry.getKey().grouping()) {
+                    case OVERALL -> overall.add(dto);
+                    case OPERATOR -> byOperator.add(dto);
+                    case ZONE -> byZone.add(dto);
+                }
+            });
+
+        return new TaskDurationAnalyticsDto(startDate.toLocalDate(), endDate.toLocalDate(), overall, byOperator, byZone);
+    }
+
+    private TaskDurationPercentilesDto toDto(GroupKey key, DurationHistogram histogram) {
+        return new TaskDurationPercentilesDto(
+            key.taskType(),
+            key.assignee(),
+            key.zoneId(),
+            key.zoneCode(),
+            histogram.getTotalCount(),
+            hoursAt(histogram, PERCENTILES[0]),
+            hoursAt(histogram, PERCENTILES[1]),
+            hoursAt(histogram, PERCENTILES[2])
+        );
+    }
+
+    private double hoursAt(DurationHistogram histogram, double percentile) {
+        return histogram.valueAtPercentile(percentile) / 3600.0;
+    }
+
+    private enum Grouping {
+        OVERALL,
+        OPERATOR,
+        ZONE
+    }
+
+    private record GroupKey(Grouping grouping, String taskType, String assignee, Long zoneId, String zoneCode) {
+
+        static final Comparator<GroupKey> ORDER = Comparator
+            .comparing(GroupKey::taskType)
+            .thenComparing(GroupKey::assignee, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(key -> key.zoneCode() != null ? key.zoneCode() : "", Comparator.naturalOrder())
+            .thenComparing(GroupKey::zoneId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
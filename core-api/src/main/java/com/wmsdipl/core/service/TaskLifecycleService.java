@@ -11,6 +11,7 @@ import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.repository.DiscrepancyRepository;
 import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,15 +33,21 @@ public class TaskLifecycleService {
     private final TaskRepository taskRepository;
     private final ScanRepository scanRepository;
     private final DiscrepancyRepository discrepancyRepository;
+    private final TaskDurationHistogramService taskDurationHistogramService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TaskLifecycleService(
             TaskRepository taskRepository,
             ScanRepository scanRepository,
-            DiscrepancyRepository discrepancyRepository
+            DiscrepancyRepository discrepancyRepository,
+            TaskDurationHistogramService taskDurationHistogramService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.taskRepository = taskRepository;
         this.scanRepository = scanRepository;
         this.discrepancyRepository = discrepancyRepository;
+        this.taskDurationHistogramService = taskDurationHistogramService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -56,6 +63,20 @@ public class TaskLifecycleService {
                 .orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
     }
 
+    /**
+     * Retrieves a task by ID together with its receipt and receipt line in one query.
+     * Used on the scan path, which reads both on every request.
+     *
+     * @param id task ID
+     * @return the task with receipt and line initialized
+     * @throws IllegalArgumentException if task not found
+     */
+    @Transactional(readOnly = true)
+    public Task getTaskWithReceiptAndLine(Long id) {
+        return taskRepository.findWithReceiptAndLineById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
+    }
+
     /**
      * Assigns or reassigns a task to a user.
      * NEW task -> ASSIGNED.
@@ -122,6 +143,9 @@ public class TaskLifecycleService {
      * - Desktop client shows confirmation dialog before allowing completion
      * - This means the operator has visually confirmed and accepted the discrepancy
      *
+     * The start-to-close duration is recorded in the task duration histograms, see {@link TaskDurationHistogramService}.
+     * Publishes a {@link TaskCompletedEvent}, and a {@link DiscrepancyCreatedEvent} for an UNDER_QTY record.
+     *
      * @param id task ID
      * @return updated task
      */
@@ -178,6 +202,9 @@ public class TaskLifecycleService {
                 ));
 
                 discrepancyRepository.save(discrepancy);
+                eventPublisher.publishEvent(new DiscrepancyCreatedEvent(
+                    discrepancy.getId(), receipt.getId(), discrepancy.getType(), discrepancy.getCreatedAt()
+                ));
 
                 // Mark last scan with discrepancy flag for UI visibility
                 List<Scan> scans = scanRepository.findByTask(task);
@@ -191,7 +218,16 @@ public class TaskLifecycleService {
 
         task.setStatus(TaskStatus.COMPLETED);
         task.setClosedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskDurationHistogramService.record(saved);
+        eventPublisher.publishEvent(new TaskCompletedEvent(
+            saved.getId(),
+            saved.getReceipt() != null ? saved.getReceipt().getId() : null,
+            saved.getTaskType(),
+            saved.getAssignee(),
+            saved.getClosedAt()
+        ));
+        return saved;
     }
 
     /**
@@ -15,6 +15,7 @@ import com.wmsdipl.core.repository.PalletMovementRepository;
 import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -34,6 +35,7 @@ public class TaskScanUndoService {
     private final DiscrepancyRepository discrepancyRepository;
     private final LocationRepository locationRepository;
     private final AuditLogService auditLogService;
+    private final ExpiryStockIndex expiryStockIndex;
 
     public TaskScanUndoService(
         TaskLifecycleService taskLifecycleService,
@@ -43,7 +45,8 @@ public class TaskScanUndoService {
         PalletMovementRepository palletMovementRepository,
         DiscrepancyRepository discrepancyRepository,
         LocationRepository locationRepository,
-        AuditLogService auditLogService
+        AuditLogService auditLogService,
+        ExpiryStockIndex expiryStockIndex
     ) {
         this.taskLifecycleService = taskLifecycleService;
         this.taskRepository = taskRepository;
@@ -53,6 +56,7 @@ public class TaskScanUndoService {
         this.discrepancyRepository = discrepancyRepository;
         this.locationRepository = locationRepository;
         this.auditLogService = auditLogService;
+        this.expiryStockIndex = expiryStockIndex;
     }
 
     @Transactional
@@ -201,6 +205,7 @@ public class TaskScanUndoService {
         pallet.setLocation(restoredLocation);
         pallet.setStatus(PalletStatus.RECEIVED);
         palletRepository.save(pallet);
+        expiryStockIndex.update(pallet);
     }
 
     private void rollbackShipping(Task task, PalletMovement movement, Pallet pallet, BigDecimal scanQty) {
@@ -216,6 +221,7 @@ public class TaskScanUndoService {
         pallet.setLocation(restoredLocation);
         pallet.setStatus(PalletStatus.PLACED);
         palletRepository.save(pallet);
+        expiryStockIndex.update(pallet);
     }
 
     private Location resolveFromLocation(Task task, PalletMovement movement) {
@@ -9,9 +9,14 @@ import com.wmsdipl.core.domain.Task;
 import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.repository.DiscrepancyRepository;
+import com.wmsdipl.core.repository.LikePatterns;
 import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetPager;
+import com.wmsdipl.core.service.paging.KeysetRequest;
+import com.wmsdipl.core.service.paging.KeysetSort;
 import com.wmsdipl.core.service.workflow.PlacementWorkflowService;
 import com.wmsdipl.core.service.workflow.ReceivingWorkflowService;
 import com.wmsdipl.core.service.workflow.ShippingWorkflowService;
@@ -21,19 +26,23 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 import java.math.BigInteger;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -50,6 +59,17 @@ public class TaskService {
 
     private static final Logger log = LoggerFactory.getLogger(TaskService.class);
 
+    private static final Map<String, KeysetSort<Task>> TASK_SORTS = Map.of(
+            "id", KeysetSort.byId(Task::getId),
+            "priority", new KeysetSort<>("priority", "priority", Task::getPriority, Integer::valueOf),
+            "createdAt", new KeysetSort<>("createdAt", "createdAt", Task::getCreatedAt, LocalDateTime::parse)
+    );
+
+    private static final Map<String, KeysetSort<Discrepancy>> DISCREPANCY_SORTS = Map.of(
+            "id", KeysetSort.byId(Discrepancy::getId),
+            "createdAt", new KeysetSort<>("createdAt", "createdAt", Discrepancy::getCreatedAt, LocalDateTime::parse)
+    );
+
     private final TaskRepository taskRepository;
     private final ReceiptRepository receiptRepository;
     private final DiscrepancyRepository discrepancyRepository;
@@ -60,6 +80,7 @@ public class TaskService {
     private final PlacementWorkflowService placementWorkflowService;
     private final ShippingWorkflowService shippingWorkflowService;
     private final AuditLogService auditLogService;
+    private final KeysetPager keysetPager;
 
     public TaskService(
             TaskRepository taskRepository,
@@ -71,7 +92,8 @@ public class TaskService {
             ReceivingWorkflowService receivingWorkflowService,
             PlacementWorkflowService placementWorkflowService,
             ShippingWorkflowService shippingWorkflowService,
-            AuditLogService auditLogService
+            AuditLogService auditLogService,
+            KeysetPager keysetPager
     ) {
         this.taskRepository = taskRepository;
         this.receiptRepository = receiptRepository;
@@ -83,6 +105,7 @@ public class TaskService {
         this.placementWorkflowService = placementWorkflowService;
         this.shippingWorkflowService = shippingWorkflowService;
         this.auditLogService = auditLogService;
+        this.keysetPager = keysetPager;
     }
 
     @Transactional(readOnly = true)
@@ -98,6 +121,35 @@ public class TaskService {
             Long receiptId,
             Long taskId,
             Pageable pageable
+    ) {
+        return taskRepository.findAll(buildTaskSpecification(assignee, status, taskType, receiptId, taskId), pageable);
+    }
+
+    /**
+     * Keyset variant of {@link #findFiltered}: pages continue after the last row of the previous page
+     * instead of skipping rows, and the total is only counted on request.
+     * Sort keys: id (default), priority, createdAt.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<Task> findFilteredSlice(
+            String assignee,
+            TaskStatus status,
+            TaskType taskType,
+            Long receiptId,
+            Long taskId,
+            KeysetRequest request
+    ) {
+        KeysetSort<Task> sort = KeysetPager.resolveSort(TASK_SORTS, request.sort(), "id");
+        return keysetPager.find(Task.class,
+                buildTaskSpecification(assignee, status, taskType, receiptId, taskId), sort, request);
+    }
+
+    private Specification<Task> buildTaskSpecification(
+            String assignee,
+            TaskStatus status,
+            TaskType taskType,
+            Long receiptId,
+            Long taskId
     ) {
         Specification<Task> spec = Specification.where(null);
         if (assignee != null && !assignee.isBlank()) {
@@ -125,7 +177,7 @@ public class TaskService {
                 return cb.or(predicates.toArray(new Predicate[0]));
             });
         }
-        return taskRepository.findAll(spec, pageable);
+        return spec;
     }
 
     private List<long[]> buildTaskIdPrefixRanges(Long taskIdPrefix) {
@@ -287,6 +339,10 @@ public class TaskService {
         return saved;
     }
 
+    /**
+     * Discrepancy journal, newest first. All filters, including the operator, are applied in SQL.
+     * Prefer {@link #findDiscrepancyJournalSlice} for the journal screen: this variant is unbounded.
+     */
     @Transactional(readOnly = true)
     public List<Discrepancy> findDiscrepancyJournal(
         Long receiptId,
@@ -298,30 +354,104 @@ public class TaskService {
         String operator,
         Boolean resolved
     ) {
-        List<Discrepancy> discrepancies = discrepancyRepository.findAll();
-        Map<Long, String> taskAssignees = findTaskAssigneesByDiscrepancies(discrepancies);
+        return discrepancyRepository.findAll(
+            buildDiscrepancyJournalSpecification(receiptId, from, to, type, docNo, skuId, operator, resolved),
+            Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))
+        );
+    }
+
+    /**
+     * Keyset-paged discrepancy journal. Sort keys: createdAt (default), id.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<Discrepancy> findDiscrepancyJournalSlice(
+        Long receiptId,
+        LocalDateTime from,
+        LocalDateTime to,
+        String type,
+        String docNo,
+        Long skuId,
+        String operator,
+        Boolean resolved,
+        KeysetRequest request
+    ) {
+        KeysetSort<Discrepancy> sort = KeysetPager.resolveSort(DISCREPANCY_SORTS, request.sort(), "createdAt");
+        return keysetPager.find(Discrepancy.class,
+            buildDiscrepancyJournalSpecification(receiptId, from, to, type, docNo, skuId, operator, resolved),
+            sort, request);
+    }
 
+    private Specification<Discrepancy> buildDiscrepancyJournalSpecification(
+        Long receiptId,
+        LocalDateTime from,
+        LocalDateTime to,
+        String type,
+        String docNo,
+        Long skuId,
+        String operator,
+        Boolean resolved
+    ) {
         String normalizedType = normalizeFilter(type);
         String normalizedDocNo = normalizeFilter(docNo);
         String normalizedOperator = normalizeFilter(operator);
 
-        return discrepancies.stream()
-            .filter(d -> receiptId == null || (d.getReceipt() != null && receiptId.equals(d.getReceipt().getId())))
-            .filter(d -> from == null || (d.getCreatedAt() != null && !d.getCreatedAt().isBefore(from)))
-            .filter(d -> to == null || (d.getCreatedAt() != null && !d.getCreatedAt().isAfter(to)))
-            .filter(d -> normalizedType == null || (d.getType() != null && d.getType().equalsIgnoreCase(normalizedType)))
-            .filter(d -> normalizedDocNo == null || (
-                d.getReceipt() != null
-                    && d.getReceipt().getDocNo() != null
-                    && d.getReceipt().getDocNo().toLowerCase().contains(normalizedDocNo.toLowerCase())
-            ))
-            .filter(d -> skuId == null || (d.getLine() != null && skuId.equals(d.getLine().getSkuId())))
-            .filter(d -> resolved == null || Objects.equals(resolved, d.getResolved()))
-            .filter(d -> normalizedOperator == null || normalizedOperator.equalsIgnoreCase(
-                resolveDiscrepancyOperator(d, taskAssignees)
-            ))
-            .sorted(Comparator.comparing(Discrepancy::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-            .toList();
+        // Receipt and line are shown in every row; fetch them with the page instead of one query per row
+        Specification<Discrepancy> spec = (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("receipt", JoinType.LEFT);
+                root.fetch("line", JoinType.LEFT);
+            }
+            return null;
+        };
+        if (receiptId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("receipt").get("id"), receiptId));
+        }
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), to));
+        }
+        if (normalizedType != null) {
+            // Types are free text in the column (mapper input is stored as sent); upper(type) is indexed (V041)
+            String upperType = normalizedType.toUpperCase(Locale.ROOT);
+            spec = spec.and((root, query, cb) -> cb.equal(cb.upper(root.get("type")), upperType));
+        }
+        if (normalizedDocNo != null) {
+            spec = spec.and((root, query, cb) -> cb.like(
+                cb.lower(root.get("receipt").get("docNo")), LikePatterns.contains(normalizedDocNo)));
+        }
+        if (skuId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("line").get("skuId"), skuId));
+        }
+        if (resolved != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("resolved"), resolved));
+        }
+        if (normalizedOperator != null) {
+            String lowerOperator = normalizedOperator.toLowerCase(Locale.ROOT);
+            spec = spec.and((root, query, cb) -> {
+                // Same rule as resolveDiscrepancyOperator: the task assignee, else whoever resolved it.
+                // Discrepancy maps task_id as a plain column, so the task is probed by primary key in subqueries.
+                Subquery<Long> assignedTask = query.subquery(Long.class);
+                Root<Task> task = assignedTask.from(Task.class);
+                assignedTask.select(task.get("id")).where(
+                    cb.equal(task.get("id"), root.get("taskId")),
+                    cb.isNotNull(task.get("assignee")),
+                    cb.notEqual(cb.trim(task.get("assignee")), "")
+                );
+                Subquery<Long> assignedToOperator = query.subquery(Long.class);
+                Root<Task> operatorTask = assignedToOperator.from(Task.class);
+                assignedToOperator.select(operatorTask.get("id")).where(
+                    cb.equal(operatorTask.get("id"), root.get("taskId")),
+                    cb.equal(cb.lower(operatorTask.get("assignee")), lowerOperator)
+                );
+                return cb.or(
+                    cb.exists(assignedToOperator),
+                    cb.and(cb.not(cb.exists(assignedTask)), cb.equal(cb.lower(root.get("resolvedBy")), lowerOperator))
+                );
+            });
+        }
+        return spec;
     }
 
     @Transactional(readOnly = true)
@@ -1,5 +1,7 @@
 package com.wmsdipl.core.service;
 
+import com.wmsdipl.core.config.UserDetailsCache;
+import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.domain.UserRole;
 import com.wmsdipl.core.repository.UserRepository;
@@ -9,11 +11,14 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
@@ -27,10 +32,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Transactional(readOnly = true)
@@ -82,6 +89,7 @@ public class UserService {
                 user.getUsername(), user.getRole(), user.getActive());
             
             User saved = userRepository.save(user);
+            evictAfterCommit(saved.getUsername());
             log.info("User created successfully: {} (id={})", saved.getUsername(), saved.getId());
             return saved;
         } catch (DataIntegrityViolationException e) {
@@ -100,7 +108,9 @@ public class UserService {
         if (payload.getRole() != null) existing.setRole(payload.getRole());
         if (payload.getActive() != null) existing.setActive(payload.getActive());
         existing.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        evictAfterCommit(existing.getUsername());
+        return saved;
     }
 
     public void updatePassword(Long id, String rawPassword) {
@@ -108,12 +118,49 @@ public class UserService {
         existing.setPasswordHash(encodeIfNeeded(rawPassword));
         existing.setUpdatedAt(LocalDateTime.now());
         userRepository.save(existing);
+        evictAfterCommit(existing.getUsername());
+    }
+
+    /**
+     * Replaces the operator's dispatch profile.
+     *
+     * @param id user ID
+     * @param taskTypes task types the operator may be dispatched; empty means any
+     * @param zoneIds zones the operator works in; empty means any
+     * @return updated user
+     */
+    public User updateDispatchProfile(Long id, Set<TaskType> taskTypes, Set<Long> zoneIds) {
+        User existing = findById(id);
+        existing.getTaskSkills().clear();
+        existing.getTaskSkills().addAll(taskTypes);
+        existing.getZoneIds().clear();
+        existing.getZoneIds().addAll(zoneIds);
+        existing.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(existing);
     }
 
     public void delete(Long id) {
+        userRepository.findById(id).ifPresent(user -> evictAfterCommit(user.getUsername()));
         userRepository.deleteById(id);
     }
 
+    /**
+     * Evicts the cached login once the change is committed; evicting earlier lets a concurrent
+     * login reload the old row and cache it again until the TTL expires.
+     */
+    private void evictAfterCommit(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.evict(username);
+                }
+            });
+        } else {
+            userDetailsCache.evict(username);
+        }
+    }
+
     private String encodeIfNeeded(String value) {
         if (value.startsWith("{")) {
             return value;
@@ -0,0 +1,142 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.MovementType;
+import com.wmsdipl.core.domain.SkuStorageConfig;
+import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.repository.SkuMovementCount;
+import com.wmsdipl.core.repository.SkuStorageConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies SKUs into ABC velocity classes from pallet movement history.
+ * SKUs are ranked by PICK/MOVE count over a rolling window; the ones making up the first 80% of
+ * movements are A, the next 15% are B, the rest (including SKUs without movements) are C.
+ *
+ * Runs on a schedule so putaway only reads the stored {@link SkuStorageConfig#getVelocityClass()}.
+ * Each run is one grouped query over the window, and only configs whose class changed are written.
+ */
+@Service
+public class VelocityClassificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityClassificationService.class);
+
+    static final List<MovementType> VELOCITY_MOVEMENTS = List.of(MovementType.PICK, MovementType.MOVE);
+    static final String CLASS_A = "A";
+    static final String CLASS_B = "B";
+    static final String CLASS_C = "C";
+    static final double CLASS_A_SHARE = 0.80;
+    static final double CLASS_B_SHARE = 0.95;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PalletMovementRepository palletMovementRepository;
+    private final SkuStorageConfigRepository skuStorageConfigRepository;
+    private final int windowDays;
+
+    public VelocityClassificationService(
+        PalletMovementRepository palletMovementRepository,
+        SkuStorageConfigRepository skuStorageConfigRepository,
+        @Value("${wms.velocity.window-days:90}") int windowDays
+    ) {
+        this.palletMovementRepository = palletMovementRepository;
+        this.skuStorageConfigRepository = skuStorageConfigRepository;
+        this.windowDays = windowDays;
+    }
+
+    @Scheduled(cron = "${wms.velocity.cron:0 30 2 * * *}")
+    public void scheduledReclassify() {
+        int changed = reclassify();
+        log.info("Velocity classification finished: {} SKU configs updated", changed);
+    }
+
+    /**
+     * Recomputes velocity classes over the rolling window and stores changed classes.
+     *
+     * @return number of SKU configs created or updated
+     */
+    @Transactional
+    public int reclassify() {
+        LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+        Map<Long, String> classes = classify(palletMovementRepository.countBySkuSince(VELOCITY_MOVEMENTS, since));
+
+        Map<Long, SkuStorageConfig> configs = new HashMap<>();
+        List<Long> skuIds = new ArrayList<>(classes.keySet());
+        for (int from = 0; from < skuIds.size(); from += BATCH_SIZE) {
+            for (SkuStorageConfig config : skuStorageConfigRepository.findBySkuIdIn(
+                skuIds.subList(from, Math.min(from + BATCH_SIZE, skuIds.size())))) {
+                configs.put(config.getSkuId(), config);
+            }
+        }
+        // SKUs that stopped moving drop back to C
+        for (SkuStorageConfig config : skuStorageConfigRepository.findByVelocityClassIn(List.of(CLASS_A, CLASS_B))) {
+            configs.putIfAbsent(config.getSkuId(), config);
+        }
+
+        List<SkuStorageConfig> changed = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : classes.entrySet()) {
+            SkuStorageConfig config = configs.remove(entry.getKey());
+            if (config == null) {
+                if (CLASS_C.equals(entry.getValue())) {
+                    continue; // no config already means C
+                }
+                config = new SkuStorageConfig();
+                config.setSkuId(entry.getKey());
+                config.setCreatedAt(LocalDateTime.now());
+            } else if (entry.getValue().equals(config.getVelocityClass())) {
+                continue;
+            }
+            config.setVelocityClass(entry.getValue());
+            changed.add(config);
+        }
+        for (SkuStorageConfig stale : configs.values()) {
+            if (!CLASS_C.equals(stale.getVelocityClass())) {
+                stale.setVelocityClass(CLASS_C);
+                changed.add(stale);
+            }
+        }
+
+        skuStorageConfigRepository.saveAll(changed);
+        return changed.size();
+    }
+
+    /**
+     * Pareto split of movement counts: a SKU is A while the share of movements ranked above it is below 80%,
+     * B below 95%, otherwise C. Ties are broken by SKU ID so repeated runs are stable.
+     */
+    static Map<Long, String> classify(List<SkuMovementCount> counts) {
+        List<SkuMovementCount> ranked = new ArrayList<>(counts);
+        ranked.removeIf(count -> count.getSkuId() == null || count.getTotal() == null || count.getTotal() <= 0);
+        ranked.sort(Comparator.comparing(SkuMovementCount::getTotal).reversed()
+            .thenComparing(SkuMovementCount::getSkuId));
+
+        long total = 0;
+        for (SkuMovementCount count : ranked) {
+            total += count.getTotal();
+        }
+
+        Map<Long, String> classes = new LinkedHashMap<>();
+        long cumulative = 0;
+        for (SkuMovementCount count : ranked) {
+            double shareBefore = (double) cumulative / total;
+            String velocityClass = shareBefore < CLASS_A_SHARE ? CLASS_A
+                : shareBefore < CLASS_B_SHARE ? CLASS_B
+                : CLASS_C;
+            classes.put(count.getSkuId(), velocityClass);
+            cumulative += count.getTotal();
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,22 @@
+package com.wmsdipl.core.service.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page.
+ *
+ * @param content rows of the page
+ * @param nextCursor cursor of the next page, null on the last page
+ * @param totalElements total number of matching rows, null unless requested
+ */
+public record CursorSlice<T>(List<T> content, String nextCursor, Long totalElements) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorSlice<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorSlice<>(content.stream().<R>map(mapper).toList(), nextCursor, totalElements);
+    }
+}
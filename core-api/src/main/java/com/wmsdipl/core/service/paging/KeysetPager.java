@@ -0,0 +1,201 @@
+package com.wmsdipl.core.service.paging;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over JPA specifications.
+ *
+ * Instead of {@code OFFSET n}, each page continues after the sort value and ID of the previous page's last row,
+ * so deep pages cost the same as the first one when an index on (sort key, id) exists. One extra row is read
+ * to tell whether a next page exists; the COUNT query runs only when the client asks for the total.
+ *
+ * Cursors are opaque Base64 tokens holding the sort key, direction, last ID and last sort value.
+ * NULL sort values follow PostgreSQL ordering (last when ascending, first when descending).
+ */
+@Component
+public class KeysetPager {
+
+    public static final int MAX_SIZE = 500;
+
+    private static final String CURSOR_VERSION = "k1";
+    private static final String NULL_VALUE = "-";
+    private static final String VALUE_PREFIX = "=";
+
+    private final EntityManager entityManager;
+
+    public KeysetPager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Resolves the requested sort key among the keys allowed for an entity.
+     *
+     * @throws IllegalArgumentException if the key is not allowed
+     */
+    public static <T> KeysetSort<T> resolveSort(Map<String, KeysetSort<T>> allowed, String name, String defaultName) {
+        String key = name == null || name.isBlank() ? defaultName : name.trim();
+        KeysetSort<T> sort = allowed.get(key);
+        if (sort == null) {
+            throw new IllegalArgumentException("Unsupported sort key: " + key + ". Allowed: " + allowed.keySet());
+        }
+        return sort;
+    }
+
+    /**
+     * Reads one keyset page.
+     *
+     * @param type entity class
+     * @param spec filters (nullable)
+     * @param sort sort key
+     * @param request page request
+     * @return page rows, next cursor and optional total
+     * @throws IllegalArgumentException if the cursor is malformed, was issued for another sort,
+     *                                  or {@code after} does not reference an existing row
+     */
+    public <T> CursorSlice<T> find(Class<T> type, Specification<T> spec, KeysetSort<T> sort, KeysetRequest request) {
+        int size = Math.max(1, Math.min(request.size(), MAX_SIZE));
+        boolean descending = request.descending();
+        Position position = startPosition(type, sort, request);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (position != null) {
+            predicates.add(seekPredicate(cb, root, sort, descending, position));
+        }
+        Path<Object> key = root.get(sort.attribute());
+        Path<Object> id = root.get("id");
+        query.select(root)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(descending ? cb.desc(key) : cb.asc(key), descending ? cb.desc(id) : cb.asc(id));
+
+        List<T> rows = entityManager.createQuery(query)
+            .setMaxResults(size + 1)
+            .getResultList();
+
+        String nextCursor = null;
+        List<T> content = rows;
+        if (rows.size() > size) {
+            content = new ArrayList<>(rows.subList(0, size));
+            T last = content.get(size - 1);
+            nextCursor = encode(sort, descending, idOf(last), sort.getter().apply(last));
+        }
+        Long total = request.includeTotal() ? count(type, spec) : null;
+        return new CursorSlice<>(content, nextCursor, total);
+    }
+
+    private <T> Position startPosition(Class<T> type, KeysetSort<T> sort, KeysetRequest request) {
+        if (request.cursor() != null && !request.cursor().isBlank()) {
+            return decode(sort, request.descending(), request.cursor());
+        }
+        if (request.after() == null) {
+            return null;
+        }
+        if ("id".equals(sort.attribute())) {
+            return new Position(request.after(), request.after());
+        }
+        T after = entityManager.find(type, request.after());
+        if (after == null) {
+            throw new IllegalArgumentException("Row not found for after=" + request.after());
+        }
+        return new Position(request.after(), sort.getter().apply(after));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate seekPredicate(CriteriaBuilder cb, Root<T> root, KeysetSort<T> sort,
+                                        boolean descending, Position position) {
+        Expression<Comparable> key = root.get(sort.attribute());
+        Expression<Long> id = root.get("id");
+        Comparable value = position.value();
+        Predicate idAfter = descending ? cb.lessThan(id, position.id()) : cb.greaterThan(id, position.id());
+
+        if (value == null) {
+            // Ascending: NULLs come last, only NULL rows with a later ID remain.
+            // Descending: NULLs come first, the rest of the NULL rows and then all non-NULL values remain.
+            Predicate sameNull = cb.and(cb.isNull(key), idAfter);
+            return descending ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+        }
+        Predicate beyond = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+        Predicate tie = cb.and(cb.equal(key, value), idAfter);
+        return descending ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(key));
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                query.where(filter);
+            }
+        }
+        query.select(cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Long idOf(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    static String encode(KeysetSort<?> sort, boolean descending, Long id, Object value) {
+        String raw = String.join("|",
+            CURSOR_VERSION,
+            sort.name(),
+            descending ? "D" : "A",
+            String.valueOf(id),
+            value == null ? NULL_VALUE : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(KeysetSort<?> sort, boolean descending, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!sort.name().equals(parts[1]) || !(descending ? "D" : "A").equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        try {
+            Long id = Long.valueOf(parts[3]);
+            if (NULL_VALUE.equals(parts[4])) {
+                return new Position(id, null);
+            }
+            if (!parts[4].startsWith(VALUE_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(id, sort.parser().apply(parts[4].substring(VALUE_PREFIX.length())));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    record Position(Long id, Comparable<?> value) {
+    }
+}
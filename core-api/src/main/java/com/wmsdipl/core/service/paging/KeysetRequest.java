@@ -0,0 +1,14 @@
+package com.wmsdipl.core.service.paging;
+
+/**
+ * Keyset (seek) page request.
+ *
+ * @param sort sort key name (null for the default key)
+ * @param descending sort direction
+ * @param cursor opaque cursor from the previous page, takes precedence over {@code after}
+ * @param after ID of the last row already seen, for clients that keep IDs instead of cursors
+ * @param size page size
+ * @param includeTotal whether to run a count query for the total number of matching rows
+ */
+public record KeysetRequest(String sort, boolean descending, String cursor, Long after, int size, boolean includeTotal) {
+}
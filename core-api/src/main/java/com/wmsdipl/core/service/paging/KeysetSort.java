@@ -0,0 +1,27 @@
+package com.wmsdipl.core.service.paging;
+
+import java.util.function.Function;
+
+/**
+ * Sort key usable for keyset pagination: an entity attribute, how to read it from a row
+ * and how to parse it back from a cursor. The entity ID is always appended as tiebreaker.
+ *
+ * @param name key name accepted in requests and stored in cursors
+ * @param attribute entity attribute to order and seek on
+ * @param getter reads the attribute from a loaded row
+ * @param parser parses the value written by {@link Object#toString()}
+ */
+public record KeysetSort<T>(
+    String name,
+    String attribute,
+    Function<T, ? extends Comparable<?>> getter,
+    Function<String, ? extends Comparable<?>> parser
+) {
+
+    /**
+     * Sort on the entity ID alone.
+     */
+    public static <T> KeysetSort<T> byId(Function<T, Long> idGetter) {
+        return new KeysetSort<>("id", "id", idGetter, Long::valueOf);
+    }
+}
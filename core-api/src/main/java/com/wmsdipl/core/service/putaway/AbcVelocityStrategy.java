@@ -6,18 +6,34 @@ import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
+/**
+ * Velocity-based slotting: A (fast-moving) SKUs go to the free cells nearest to dispatch,
+ * so the most frequent picks travel the shortest way. B and C SKUs, and A SKUs when no
+ * forward cell is found, are placed like {@link ClosestAvailableStrategy}.
+ *
+ * Velocity classes are maintained by {@link com.wmsdipl.core.service.VelocityClassificationService}.
+ */
 @Component
 public class AbcVelocityStrategy implements PutawayStrategy {
 
+    static final String FAST_MOVER_CLASS = "A";
+
     private final ClosestAvailableStrategy closest;
+    private final ForwardSlotLocator forwardSlots;
 
-    public AbcVelocityStrategy(ClosestAvailableStrategy closest) {
+    public AbcVelocityStrategy(ClosestAvailableStrategy closest, ForwardSlotLocator forwardSlots) {
         this.closest = closest;
+        this.forwardSlots = forwardSlots;
     }
 
     @Override
     public Optional<Location> findLocation(Pallet pallet, PutawayContext context) {
-        // In this simplified version we just delegate to closest within preferred zone.
+        if (FAST_MOVER_CLASS.equalsIgnoreCase(context.getVelocityClass())) {
+            Optional<Location> forward = forwardSlots.findNearDispatch(context);
+            if (forward.isPresent()) {
+                return forward;
+            }
+        }
         return closest.findLocation(pallet, context);
     }
 
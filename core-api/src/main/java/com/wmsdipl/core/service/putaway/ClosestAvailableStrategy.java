@@ -2,38 +2,52 @@ package com.wmsdipl.core.service.putaway;
 
 import com.wmsdipl.core.domain.Location;
 import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.Zone;
-import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.repository.LocationRepository;
-import com.wmsdipl.core.repository.PalletRepository;
-import com.wmsdipl.core.repository.TaskRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Supplier;
 
+/**
+ * Picks the free location of the target type nearest to the pallet's current location.
+ * Falls back to first fit in repository order when the pallet's current location has no coordinates.
+ */
 @Component
 public class ClosestAvailableStrategy implements PutawayStrategy {
 
-    private final LocationRepository locationRepository;
-    private final PalletRepository palletRepository;
-    private final TaskRepository taskRepository;
+    /**
+     * Nearest candidates loaded and capacity-checked per round trip.
+     */
+    private static final int NEAREST_BATCH_SIZE = 32;
 
-    private static final Set<TaskStatus> PENDING_STATUSES = Set.of(TaskStatus.NEW, TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+    private final LocationRepository locationRepository;
+    private final LocationOccupancyIndex occupancyIndex;
+    private final LocationSpatialIndex spatialIndex;
 
-    public ClosestAvailableStrategy(LocationRepository locationRepository, 
-                                   PalletRepository palletRepository,
-                                   TaskRepository taskRepository) {
+    public ClosestAvailableStrategy(LocationRepository locationRepository,
+                                   LocationOccupancyIndex occupancyIndex,
+                                   LocationSpatialIndex spatialIndex) {
         this.locationRepository = locationRepository;
-        this.palletRepository = palletRepository;
-        this.taskRepository = taskRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.spatialIndex = spatialIndex;
     }
 
     @Override
     public Optional<Location> findLocation(Pallet pallet, PutawayContext context) {
+        PutawayPlanningSession session = context.getPlanningSession();
+        if (LocationSpatialIndex.hasCoordinates(context.getCurrentLocation())) {
+            return findNearestFit(context.getTargetLocationType(), context.getPreferredZone(), context.getCurrentLocation(), session);
+        }
+
         List<Zone> zones = context.getPreferredZone() != null
             ? List.of(context.getPreferredZone())
             : Collections.emptyList();
@@ -43,16 +57,16 @@ public class ClosestAvailableStrategy implements PutawayStrategy {
         
         // If no zones specified, find any available location of target type
         if (zones.isEmpty()) {
-            return findFirstFit(
-                locationRepository.findByLocationTypeAndStatusAndActiveTrue(locationType, LocationStatus.AVAILABLE)
-            );
+            return findFirstFit(candidates(session, new PutawayPlanningSession.CandidateKey("TYPE", locationType, null, null),
+                () -> locationRepository.findByLocationTypeAndStatusAndActiveTrue(locationType, LocationStatus.AVAILABLE)
+            ), session);
         }
         
         // Try to find location in preferred zone with target type
         for (Zone zone : zones) {
-            Optional<Location> fit = findFirstFit(
-                locationRepository.findByZoneAndLocationTypeAndStatusAndActiveTrue(zone, locationType, LocationStatus.AVAILABLE)
-            );
+            Optional<Location> fit = findFirstFit(candidates(session, new PutawayPlanningSession.CandidateKey("ZONE_TYPE", locationType, zone.getId(), null),
+                () -> locationRepository.findByZoneAndLocationTypeAndStatusAndActiveTrue(zone, locationType, LocationStatus.AVAILABLE)
+            ), session);
             if (fit.isPresent()) {
                 return fit;
             }
@@ -61,17 +75,80 @@ public class ClosestAvailableStrategy implements PutawayStrategy {
         return Optional.empty();
     }
 
-    private Optional<Location> findFirstFit(List<Location> candidates) {
-        return candidates.stream()
-            .filter(loc -> {
-                if (loc.getMaxPallets() == null) return true;
-                
-                long currentPallets = palletRepository.countByLocation(loc);
-                long pendingArrivals = taskRepository.countByTargetLocationIdAndStatusIn(loc.getId(), PENDING_STATUSES);
-                
-                return (currentPallets + pendingArrivals) < loc.getMaxPallets();
-            })
-            .findFirst();
+    /**
+     * Finds the free location nearest to the origin using the spatial index.
+     * Index hits are re-checked against the loaded entities, since the index may lag behind the database.
+     *
+     * @param locationType target location type
+     * @param zone zone restriction, or null for any zone
+     * @param origin reference location with coordinates
+     * @param session batch planning session, or null
+     * @return nearest location with free capacity, or empty
+     */
+    public Optional<Location> findNearestFit(LocationType locationType, Zone zone, Location origin, PutawayPlanningSession session) {
+        Long zoneId = zone != null ? zone.getId() : null;
+        Iterator<Long> nearestIds = spatialIndex.nearest(locationType, zoneId, origin);
+        while (nearestIds.hasNext()) {
+            List<Long> batch = new ArrayList<>(NEAREST_BATCH_SIZE);
+            while (nearestIds.hasNext() && batch.size() < NEAREST_BATCH_SIZE) {
+                batch.add(nearestIds.next());
+            }
+
+            Map<Long, Location> loaded = loadLocations(batch, session);
+            List<Location> candidates = new ArrayList<>(batch.size());
+            for (Long id : batch) {
+                Location location = loaded.get(id);
+                if (location != null && isPlaceable(location, locationType, zoneId)) {
+                    candidates.add(location);
+                }
+            }
+
+            Optional<Location> fit = findFirstFit(candidates, session);
+            if (fit.isPresent()) {
+                return fit;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Map<Long, Location> loadLocations(List<Long> ids, PutawayPlanningSession session) {
+        Map<Long, Location> loaded = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Location cached = session != null ? session.cachedLocation(id) : null;
+            if (cached != null) {
+                loaded.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Location> fetched = locationRepository.findAllById(missing);
+            for (Location location : fetched) {
+                loaded.put(location.getId(), location);
+            }
+            if (session != null) {
+                session.cacheLocations(fetched);
+            }
+        }
+        return loaded;
+    }
+
+    private List<Location> candidates(PutawayPlanningSession session,
+                                      PutawayPlanningSession.CandidateKey key,
+                                      Supplier<List<Location>> loader) {
+        return session != null ? session.candidates(key, loader) : loader.get();
+    }
+
+    private boolean isPlaceable(Location location, LocationType locationType, Long zoneId) {
+        return location.getStatus() == LocationStatus.AVAILABLE
+            && Boolean.TRUE.equals(location.getActive())
+            && location.getLocationType() == locationType
+            && (zoneId == null || (location.getZone() != null && zoneId.equals(location.getZone().getId())));
+    }
+
+    private Optional<Location> findFirstFit(List<Location> candidates, PutawayPlanningSession session) {
+        return occupancyIndex.findFirstFit(candidates, session);
     }
 
     @Override
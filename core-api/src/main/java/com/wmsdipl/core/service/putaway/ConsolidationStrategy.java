@@ -3,33 +3,26 @@ package com.wmsdipl.core.service.putaway;
 import com.wmsdipl.core.domain.Location;
 import com.wmsdipl.core.domain.LocationStatus;
 import com.wmsdipl.core.domain.Pallet;
-import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.repository.LocationRepository;
-import com.wmsdipl.core.repository.PalletRepository;
-import com.wmsdipl.core.repository.TaskRepository;
 import org.springframework.stereotype.Component;
 
-import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Component
 public class ConsolidationStrategy implements PutawayStrategy {
 
     private final LocationRepository locationRepository;
-    private final PalletRepository palletRepository;
-    private final TaskRepository taskRepository;
+    private final LocationOccupancyIndex occupancyIndex;
     private final ClosestAvailableStrategy fallback;
 
-    private static final Set<TaskStatus> PENDING_STATUSES = Set.of(TaskStatus.NEW, TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+    private static final List<LocationStatus> CONSOLIDATION_STATUSES = List.of(LocationStatus.AVAILABLE, LocationStatus.OCCUPIED);
 
     public ConsolidationStrategy(LocationRepository locationRepository,
-                                 PalletRepository palletRepository,
-                                 TaskRepository taskRepository,
+                                 LocationOccupancyIndex occupancyIndex,
                                  ClosestAvailableStrategy fallback) {
         this.locationRepository = locationRepository;
-        this.palletRepository = palletRepository;
-        this.taskRepository = taskRepository;
+        this.occupancyIndex = occupancyIndex;
         this.fallback = fallback;
     }
 
@@ -39,19 +32,13 @@ public class ConsolidationStrategy implements PutawayStrategy {
             var locationType = context.getTargetLocationType();
             
             // Try locations that already hold the same SKU, match the target type, and are not blocked.
-            Optional<Location> match = locationRepository.findAll().stream()
-                .filter(loc -> loc.getLocationType() == locationType) // Filter by target location type
-                .filter(loc -> loc.getStatus() == LocationStatus.AVAILABLE || loc.getStatus() == LocationStatus.OCCUPIED)
-                .filter(loc -> palletRepository.findByLocation(loc).stream()
-                    .anyMatch(p -> pallet.getSkuId().equals(p.getSkuId())))
-                .sorted(Comparator.comparing(Location::getId))
-                .filter(loc -> {
-                    if (loc.getMaxPallets() == null) return true;
-                    long currentPallets = palletRepository.countByLocation(loc);
-                    long pendingArrivals = taskRepository.countByTargetLocationIdAndStatusIn(loc.getId(), PENDING_STATUSES);
-                    return (currentPallets + pendingArrivals) < loc.getMaxPallets();
-                })
-                .findFirst();
+            PutawayPlanningSession session = context.getPlanningSession();
+            List<Location> sameSkuLocations = session != null
+                ? session.candidates(
+                    new PutawayPlanningSession.CandidateKey("SKU", locationType, null, pallet.getSkuId()),
+                    () -> locationRepository.findHoldingSku(pallet.getSkuId(), locationType, CONSOLIDATION_STATUSES))
+                : locationRepository.findHoldingSku(pallet.getSkuId(), locationType, CONSOLIDATION_STATUSES);
+            Optional<Location> match = occupancyIndex.findFirstFit(sameSkuLocations, session);
             if (match.isPresent()) {
                 return match;
             }
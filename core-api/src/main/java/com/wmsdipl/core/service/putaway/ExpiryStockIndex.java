@@ -0,0 +1,203 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.domain.PalletStatus;
+import com.wmsdipl.core.repository.PalletExpiryView;
+import com.wmsdipl.core.repository.PalletRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory FEFO index of stored pallets: per SKU, occupied cells sorted by (expiryDate, palletId).
+ * Serves "oldest stock for SKU" for outbound and "cells holding SKU in expiry range" for putaway
+ * without scanning the pallets table.
+ *
+ * Pallet changes are applied after their transaction commits ({@link #update(Pallet)});
+ * the index is also rebuilt periodically to pick up writers that bypass those hooks. Changes applied while a
+ * rebuild is loading are replayed onto the rebuilt snapshot, so a refresh never drops a committed change.
+ * Entries are hints: callers re-check the loaded pallets and locations.
+ */
+@Component
+public class ExpiryStockIndex {
+
+    static final List<PalletStatus> STOCK_STATUSES = List.of(PalletStatus.PLACED, PalletStatus.STORED);
+
+    private static final Comparator<StockEntry> FEFO_ORDER =
+        Comparator.comparing(StockEntry::expiryDate).thenComparing(StockEntry::palletId);
+
+    /**
+     * One stored pallet with an expiry date.
+     */
+    public record StockEntry(Long palletId, Long skuId, LocalDate expiryDate, String lotNumber, Long locationId) {
+    }
+
+    private final PalletRepository palletRepository;
+    private volatile State state;
+    // Changes applied while refresh() loads, keyed by pallet ID (null value: no longer indexed); guarded by this
+    private Map<Long, StockEntry> appliedDuringRefresh;
+
+    public ExpiryStockIndex(PalletRepository palletRepository) {
+        this.palletRepository = palletRepository;
+    }
+
+    /**
+     * Returns stored pallets of the SKU in FEFO order (earliest expiry first).
+     *
+     * @param skuId SKU ID
+     * @return lazy iterator over the current snapshot of the SKU's entries
+     */
+    public Iterator<StockEntry> oldestFirst(Long skuId) {
+        NavigableSet<StockEntry> entries = state().bySku.get(skuId);
+        return entries != null ? entries.iterator() : Collections.emptyIterator();
+    }
+
+    /**
+     * Returns stored pallets of the SKU expiring in [from, to), in FEFO order.
+     *
+     * @param skuId SKU ID
+     * @param from first expiry date, inclusive
+     * @param to last expiry date, exclusive
+     * @return matching entries
+     */
+    public List<StockEntry> expiringBetween(Long skuId, LocalDate from, LocalDate to) {
+        NavigableSet<StockEntry> entries = state().bySku.get(skuId);
+        if (entries == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return new ArrayList<>(entries.subSet(
+            new StockEntry(Long.MIN_VALUE, skuId, from, null, null), true,
+            new StockEntry(Long.MIN_VALUE, skuId, to, null, null), false));
+    }
+
+    /**
+     * Re-indexes the pallet once the current transaction commits (immediately outside a transaction).
+     * The pallet's state is read at that point, so callers may keep modifying it until commit.
+     *
+     * @param pallet changed pallet
+     */
+    public void update(Pallet pallet) {
+        if (pallet == null || pallet.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(pallet);
+                }
+            });
+        } else {
+            apply(pallet);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database, replacing the current snapshot in one step.
+     * Pallets re-indexed while the query runs are replayed onto the rebuilt snapshot before the swap.
+     */
+    @Scheduled(
+        initialDelayString = "${wms.putaway.fefo.refresh-ms:300000}",
+        fixedDelayString = "${wms.putaway.fefo.refresh-ms:300000}"
+    )
+    public void refresh() {
+        synchronized (this) {
+            if (state == null || appliedDuringRefresh != null) {
+                return;
+            }
+            appliedDuringRefresh = new LinkedHashMap<>();
+        }
+        try {
+            State rebuilt = load();
+            synchronized (this) {
+                // The load may have read rows from before these commits
+                appliedDuringRefresh.forEach(rebuilt::put);
+                state = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                appliedDuringRefresh = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Pallet pallet) {
+        State current = state;
+        if (current == null) {
+            return; // not loaded yet, the first read sees the committed state
+        }
+        StockEntry entry = null;
+        if (pallet.getSkuId() != null
+            && pallet.getExpiryDate() != null
+            && pallet.getLocation() != null
+            && STOCK_STATUSES.contains(pallet.getStatus())) {
+            entry = new StockEntry(pallet.getId(), pallet.getSkuId(), pallet.getExpiryDate(),
+                pallet.getLotNumber(), pallet.getLocation().getId());
+        }
+        current.put(pallet.getId(), entry);
+        if (appliedDuringRefresh != null) {
+            appliedDuringRefresh.put(pallet.getId(), entry);
+        }
+    }
+
+    private State state() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                state = load();
+            }
+            return state;
+        }
+    }
+
+    private State load() {
+        State loaded = new State();
+        for (PalletExpiryView view : palletRepository.findExpiryStock(STOCK_STATUSES)) {
+            loaded.add(new StockEntry(view.getPalletId(), view.getSkuId(), view.getExpiryDate(),
+                view.getLotNumber(), view.getLocationId()));
+        }
+        return loaded;
+    }
+
+    private static final class State {
+        private final Map<Long, NavigableSet<StockEntry>> bySku = new ConcurrentHashMap<>();
+        private final Map<Long, StockEntry> byPallet = new ConcurrentHashMap<>();
+
+        void add(StockEntry entry) {
+            bySku.computeIfAbsent(entry.skuId(), k -> new ConcurrentSkipListSet<>(FEFO_ORDER)).add(entry);
+            byPallet.put(entry.palletId(), entry);
+        }
+
+        /**
+         * Replaces the pallet's entry; a null entry removes it.
+         */
+        void put(Long palletId, StockEntry entry) {
+            StockEntry previous = byPallet.remove(palletId);
+            if (previous != null) {
+                NavigableSet<StockEntry> entries = bySku.get(previous.skuId());
+                if (entries != null) {
+                    entries.remove(previous);
+                }
+            }
+            if (entry != null) {
+                add(entry);
+            }
+        }
+    }
+}
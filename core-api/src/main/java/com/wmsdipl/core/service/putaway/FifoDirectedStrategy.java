@@ -1,26 +1,111 @@
 package com.wmsdipl.core.service.putaway;
 
 import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
 import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * FEFO slotting for pallets with an expiry date:
+ * short-dated stock (expiring within {@code wms.putaway.fefo.short-dated-days}) goes to forward cells near dispatch;
+ * other stock joins cells already holding the same SKU in the same expiry bucket ({@code wms.putaway.fefo.bucket-days}),
+ * within the preferred zone if the rule sets one, so one pick face does not mix far-apart dates. Everything else is placed like {@link ClosestAvailableStrategy}.
+ */
 @Component
 public class FifoDirectedStrategy implements PutawayStrategy {
 
+    private static final List<LocationStatus> GROUPING_STATUSES = List.of(LocationStatus.AVAILABLE, LocationStatus.OCCUPIED);
+
     private final ClosestAvailableStrategy fallback;
+    private final ForwardSlotLocator forwardSlots;
+    private final ExpiryStockIndex expiryStockIndex;
+    private final LocationRepository locationRepository;
+    private final LocationOccupancyIndex occupancyIndex;
+    private final int shortDatedDays;
+    private final int bucketDays;
 
-    public FifoDirectedStrategy(ClosestAvailableStrategy fallback) {
+    public FifoDirectedStrategy(ClosestAvailableStrategy fallback,
+                                ForwardSlotLocator forwardSlots,
+                                ExpiryStockIndex expiryStockIndex,
+                                LocationRepository locationRepository,
+                                LocationOccupancyIndex occupancyIndex,
+                                @Value("${wms.putaway.fefo.short-dated-days:30}") int shortDatedDays,
+                                @Value("${wms.putaway.fefo.bucket-days:7}") int bucketDays) {
         this.fallback = fallback;
+        this.forwardSlots = forwardSlots;
+        this.expiryStockIndex = expiryStockIndex;
+        this.locationRepository = locationRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.shortDatedDays = shortDatedDays;
+        this.bucketDays = Math.max(1, bucketDays);
     }
 
     @Override
     public Optional<Location> findLocation(Pallet pallet, PutawayContext context) {
-        // Simplified: delegate to closest. FIFO sequencing can be refined later using lot/expiry grouping.
+        LocalDate expiry = pallet.getExpiryDate();
+        if (pallet.getSkuId() == null || expiry == null) {
+            return fallback.findLocation(pallet, context);
+        }
+
+        if (!expiry.isAfter(LocalDate.now().plusDays(shortDatedDays))) {
+            Optional<Location> forward = forwardSlots.findNearDispatch(context);
+            if (forward.isPresent()) {
+                return forward;
+            }
+        }
+
+        Optional<Location> sameBucket = findSameBucketLocation(pallet.getSkuId(), expiry, context);
+        if (sameBucket.isPresent()) {
+            return sameBucket;
+        }
         return fallback.findLocation(pallet, context);
     }
 
+    private Optional<Location> findSameBucketLocation(Long skuId, LocalDate expiry, PutawayContext context) {
+        long bucket = Math.floorDiv(expiry.toEpochDay(), bucketDays);
+        LocalDate from = LocalDate.ofEpochDay(bucket * bucketDays);
+        Set<Long> locationIds = new LinkedHashSet<>();
+        for (ExpiryStockIndex.StockEntry entry : expiryStockIndex.expiringBetween(skuId, from, from.plusDays(bucketDays))) {
+            locationIds.add(entry.locationId());
+        }
+        if (locationIds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long zoneId = context.getPreferredZone() != null ? context.getPreferredZone().getId() : null;
+        Map<Long, Location> loaded = new HashMap<>();
+        for (Location location : locationRepository.findAllById(locationIds)) {
+            loaded.put(location.getId(), location);
+        }
+        List<Location> candidates = new ArrayList<>(locationIds.size());
+        for (Long id : locationIds) {
+            Location location = loaded.get(id);
+            if (location != null && isPlaceable(location, context.getTargetLocationType(), zoneId)) {
+                candidates.add(location);
+            }
+        }
+        return occupancyIndex.findFirstFit(candidates, context.getPlanningSession());
+    }
+
+    private boolean isPlaceable(Location location, LocationType locationType, Long zoneId) {
+        return GROUPING_STATUSES.contains(location.getStatus())
+            && Boolean.TRUE.equals(location.getActive())
+            && location.getLocationType() == locationType
+            && (zoneId == null || (location.getZone() != null && zoneId.equals(location.getZone().getId())));
+    }
+
     @Override
     public String getStrategyType() {
         return "FIFO";
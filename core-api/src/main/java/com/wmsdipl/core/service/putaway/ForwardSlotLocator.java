@@ -0,0 +1,74 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds forward cells: free locations of the target type ranked by distance to dispatch.
+ * The dispatch reference is the located SHIPPING cell nearest to the pallet's current location,
+ * or the first one by ID when the pallet's position is unknown.
+ */
+@Component
+public class ForwardSlotLocator {
+
+    private final ClosestAvailableStrategy closest;
+    private final LocationRepository locationRepository;
+
+    public ForwardSlotLocator(ClosestAvailableStrategy closest, LocationRepository locationRepository) {
+        this.closest = closest;
+        this.locationRepository = locationRepository;
+    }
+
+    /**
+     * @param context putaway context (target type, preferred zone, current location, session)
+     * @return free location nearest to dispatch, or empty when none fits or no dispatch cell has coordinates
+     */
+    public Optional<Location> findNearDispatch(PutawayContext context) {
+        return findDispatchPoint(context).flatMap(dispatch -> closest.findNearestFit(
+            context.getTargetLocationType(), context.getPreferredZone(), dispatch, context.getPlanningSession()));
+    }
+
+    private Optional<Location> findDispatchPoint(PutawayContext context) {
+        PutawayPlanningSession session = context.getPlanningSession();
+        List<Location> docks = session != null
+            ? session.candidates(new PutawayPlanningSession.CandidateKey("DISPATCH", LocationType.SHIPPING, null, null),
+                () -> locationRepository.findActiveWithCoordinates(LocationType.SHIPPING))
+            : locationRepository.findActiveWithCoordinates(LocationType.SHIPPING);
+        if (docks.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Location current = context.getCurrentLocation();
+        if (!LocationSpatialIndex.hasCoordinates(current)) {
+            return Optional.of(docks.get(0));
+        }
+        Location best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Location dock : docks) {
+            double distance = squaredDistance(current, dock);
+            if (distance < bestDistance) {
+                best = dock;
+                bestDistance = distance;
+            }
+        }
+        return Optional.of(best);
+    }
+
+    private static double squaredDistance(Location a, Location b) {
+        double dx = a.getXCoord().doubleValue() - b.getXCoord().doubleValue();
+        double dy = a.getYCoord().doubleValue() - b.getYCoord().doubleValue();
+        double dz = z(a) - z(b);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double z(Location location) {
+        BigDecimal z = location.getZCoord();
+        return z != null ? z.doubleValue() : 0;
+    }
+}
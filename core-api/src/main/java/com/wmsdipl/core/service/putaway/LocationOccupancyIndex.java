@@ -0,0 +1,138 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.repository.LocationCount;
+import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Set-based capacity lookup for putaway candidates.
+ * Occupied slots of a location = pallets stored there + open placement tasks targeting it.
+ * Counts for a whole candidate list are loaded with two grouped queries per batch
+ * instead of two count queries per location, so the per-candidate check is a map lookup.
+ */
+@Component
+public class LocationOccupancyIndex {
+
+    static final List<TaskStatus> PENDING_STATUSES = List.of(TaskStatus.NEW, TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+
+    /**
+     * Upper bound for IN-list size per query (PostgreSQL JDBC allows at most 32767 bind parameters).
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final PalletRepository palletRepository;
+    private final TaskRepository taskRepository;
+
+    public LocationOccupancyIndex(PalletRepository palletRepository, TaskRepository taskRepository) {
+        this.palletRepository = palletRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Loads occupied slot counts (stored pallets + pending arrivals) for the given locations.
+     * Locations without a capacity limit are skipped; missing keys mean zero occupied slots.
+     *
+     * @param locations candidate locations
+     * @return map of location ID to occupied slots
+     */
+    public Map<Long, Long> loadOccupiedSlots(Collection<Location> locations) {
+        List<Long> ids = new ArrayList<>();
+        for (Location location : locations) {
+            if (location.getMaxPallets() != null && location.getId() != null) {
+                ids.add(location.getId());
+            }
+        }
+
+        Map<Long, Long> occupied = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            merge(occupied, palletRepository.countGroupedByLocationIdIn(batch));
+            merge(occupied, taskRepository.countGroupedByTargetLocationIdIn(batch, PENDING_STATUSES));
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns the first candidate (in list order) that still has a free slot.
+     * Candidates are checked batch by batch, so a fit near the head of the list costs one batch.
+     *
+     * @param candidates candidate locations in preference order
+     * @return first location with free capacity, or empty
+     */
+    public Optional<Location> findFirstFit(List<Location> candidates) {
+        for (int from = 0; from < candidates.size(); from += BATCH_SIZE) {
+            List<Location> batch = candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()));
+            Map<Long, Long> occupied = loadOccupiedSlots(batch);
+            for (Location location : batch) {
+                if (hasFreeSlot(location, occupied)) {
+                    return Optional.of(location);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Session-aware variant of {@link #findFirstFit(List)}: occupancy is loaded only for candidates
+     * not seen earlier in the session, and slots reserved by already planned pallets count as taken.
+     *
+     * @param candidates candidate locations in preference order
+     * @param session planning session, or null for a one-off lookup
+     * @return first location with free capacity, or empty
+     */
+    public Optional<Location> findFirstFit(List<Location> candidates, PutawayPlanningSession session) {
+        if (session == null) {
+            return findFirstFit(candidates);
+        }
+        for (int from = 0; from < candidates.size(); from += BATCH_SIZE) {
+            List<Location> batch = candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()));
+            List<Location> unseen = new ArrayList<>();
+            for (Location location : batch) {
+                if (location.getMaxPallets() != null && !session.isOccupancyLoaded(location.getId())) {
+                    unseen.add(location);
+                }
+            }
+            if (!unseen.isEmpty()) {
+                session.recordOccupancy(unseen, loadOccupiedSlots(unseen));
+            }
+            for (Location location : batch) {
+                if (session.hasFreeSlot(location)) {
+                    return Optional.of(location);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks capacity of a location against previously loaded occupancy.
+     *
+     * @param location the location to check
+     * @param occupied occupancy map from {@link #loadOccupiedSlots(Collection)}
+     * @return true if the location is unlimited or has at least one free slot
+     */
+    public static boolean hasFreeSlot(Location location, Map<Long, Long> occupied) {
+        if (location.getMaxPallets() == null) {
+            return true;
+        }
+        return occupied.getOrDefault(location.getId(), 0L) < location.getMaxPallets();
+    }
+
+    private void merge(Map<Long, Long> target, List<LocationCount> counts) {
+        for (LocationCount count : counts) {
+            if (count.getLocationId() != null && count.getTotal() != null) {
+                target.merge(count.getLocationId(), count.getTotal(), Long::sum);
+            }
+        }
+    }
+}
@@ -5,17 +5,11 @@ import com.wmsdipl.core.domain.LocationStatus;
 import com.wmsdipl.core.domain.LocationType;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletStatus;
-import com.wmsdipl.core.domain.PutawayRule;
-import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.repository.LocationRepository;
-import com.wmsdipl.core.repository.PalletRepository;
-import com.wmsdipl.core.repository.TaskRepository;
-import com.wmsdipl.core.service.PutawayRuleService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Service responsible for selecting the optimal storage location for a pallet
@@ -24,25 +18,17 @@ import java.util.Set;
 @Service
 public class LocationSelectionService {
 
-    private final PutawayRuleService ruleService;
-    private final StrategyRegistry strategyRegistry;
+    private final PutawayRuleMatcher ruleMatcher;
     private final LocationRepository locationRepository;
-    private final PalletRepository palletRepository;
-    private final TaskRepository taskRepository;
-
-    private static final Set<TaskStatus> PENDING_STATUSES = Set.of(TaskStatus.NEW, TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+    private final LocationOccupancyIndex occupancyIndex;
 
     public LocationSelectionService(
-            PutawayRuleService ruleService, 
-            StrategyRegistry strategyRegistry,
+            PutawayRuleMatcher ruleMatcher,
             LocationRepository locationRepository,
-            PalletRepository palletRepository,
-            TaskRepository taskRepository) {
-        this.ruleService = ruleService;
-        this.strategyRegistry = strategyRegistry;
+            LocationOccupancyIndex occupancyIndex) {
+        this.ruleMatcher = ruleMatcher;
         this.locationRepository = locationRepository;
-        this.palletRepository = palletRepository;
-        this.taskRepository = taskRepository;
+        this.occupancyIndex = occupancyIndex;
     }
 
     /**
@@ -54,34 +40,23 @@ public class LocationSelectionService {
      * @return Optional containing the selected location, or empty if no suitable location found
      */
     public Optional<Location> determineLocation(Pallet pallet, PutawayContext context) {
+        PutawayPlanningSession session = context.getPlanningSession();
+
         // Special handling for damaged pallets -> DAMAGED locations
         if (pallet.getStatus() == PalletStatus.DAMAGED) {
-            return findFirstFit(
-                locationRepository.findByLocationTypeAndStatusAndActiveTrue(LocationType.DAMAGED, LocationStatus.AVAILABLE)
-            );
+            return findFirstFit(LocationType.DAMAGED, session);
         }
         
         // Special handling for quarantine pallets -> QUARANTINE locations
         if (pallet.getStatus() == PalletStatus.QUARANTINE) {
-            return findFirstFit(
-                locationRepository.findByLocationTypeAndStatusAndActiveTrue(LocationType.QUARANTINE, LocationStatus.AVAILABLE)
-            );
+            return findFirstFit(LocationType.QUARANTINE, session);
         }
         
         // Normal flow: use putaway rules and strategies
-        List<PutawayRule> rules = ruleService.getActiveRules();
-
-        for (PutawayRule rule : rules) {
-            if (!matchesRule(rule, pallet, context)) {
-                continue;
-            }
-
-            Optional<PutawayStrategy> strategyOpt = strategyRegistry.get(rule.getStrategyType());
-            if (strategyOpt.isEmpty()) {
-                continue;
-            }
-
-            Optional<Location> candidate = strategyOpt.get().findLocation(pallet, context);
+        Long zoneId = context.getPreferredZone() != null ? context.getPreferredZone().getId() : null;
+        PutawayStrategy[] strategies = ruleMatcher.match(zoneId, context.getVelocityClass(), context.getSkuCategory());
+        for (PutawayStrategy strategy : strategies) {
+            Optional<Location> candidate = strategy.findLocation(pallet, context);
             if (candidate.isPresent()) {
                 return candidate;
             }
@@ -90,47 +65,12 @@ public class LocationSelectionService {
         return Optional.empty();
     }
 
-    private Optional<Location> findFirstFit(List<Location> candidates) {
-        return candidates.stream()
-            .filter(loc -> {
-                if (loc.getMaxPallets() == null) return true;
-                long currentPallets = palletRepository.countByLocation(loc);
-                long pendingArrivals = taskRepository.countByTargetLocationIdAndStatusIn(loc.getId(), PENDING_STATUSES);
-                return (currentPallets + pendingArrivals) < loc.getMaxPallets();
-            })
-            .findFirst();
-    }
-
-    /**
-     * Checks if a pallet matches the criteria defined in a putaway rule.
-     */
-    private boolean matchesRule(PutawayRule rule, Pallet pallet, PutawayContext context) {
-        if (!Boolean.TRUE.equals(rule.getActive())) {
-            return false;
-        }
-
-        // Zone matching
-        if (rule.getZone() != null) {
-            if (context.getPreferredZone() == null || 
-                !rule.getZone().getId().equals(context.getPreferredZone().getId())) {
-                return false;
-            }
-        }
-
-        // Velocity class matching
-        if (rule.getVelocityClass() != null && context.getVelocityClass() != null) {
-            if (!rule.getVelocityClass().equalsIgnoreCase(context.getVelocityClass())) {
-                return false;
-            }
-        }
-
-        // SKU category matching
-        if (rule.getSkuCategory() != null && context.getSkuCategory() != null) {
-            if (!rule.getSkuCategory().equalsIgnoreCase(context.getSkuCategory())) {
-                return false;
-            }
-        }
-
-        return true;
+    private Optional<Location> findFirstFit(LocationType locationType, PutawayPlanningSession session) {
+        List<Location> candidates = session != null
+            ? session.candidates(
+                new PutawayPlanningSession.CandidateKey("TYPE", locationType, null, null),
+                () -> locationRepository.findByLocationTypeAndStatusAndActiveTrue(locationType, LocationStatus.AVAILABLE))
+            : locationRepository.findByLocationTypeAndStatusAndActiveTrue(locationType, LocationStatus.AVAILABLE);
+        return occupancyIndex.findFirstFit(candidates, session);
     }
 }
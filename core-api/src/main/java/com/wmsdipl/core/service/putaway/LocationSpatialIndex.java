@@ -0,0 +1,378 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory grid index of placeable locations (AVAILABLE and active) keyed by location type and zone.
+ * Answers "nearest cells of type T to point P" by expanding square rings of grid buckets around P,
+ * so a query touches only the buckets near the origin instead of every location.
+ *
+ * {@link com.wmsdipl.core.service.LocationService} edits are applied after commit and touch only the grid cell
+ * of the changed location; each cell list is immutable and replaced atomically, so readers iterate without locking
+ * and may see edits made while they run. Results are hints only: callers re-check status and capacity
+ * on the loaded entities.
+ */
+@Component
+public class LocationSpatialIndex {
+
+    /**
+     * Grid bucket edge length in coordinate units.
+     */
+    static final double CELL_SIZE = 5.0;
+
+    private final LocationRepository locationRepository;
+    private final Map<BucketKey, Grid> grids = new ConcurrentHashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private volatile boolean loaded;
+
+    public LocationSpatialIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    /**
+     * Returns IDs of indexed locations of the given type ordered by distance to the origin.
+     * Locations without coordinates follow all located ones, ordered by ID.
+     *
+     * @param locationType target location type
+     * @param zoneId zone restriction, or null for any zone
+     * @param origin reference location; must have coordinates (see {@link #hasCoordinates(Location)})
+     * @return lazy iterator of location IDs, nearest first
+     */
+    public Iterator<Long> nearest(LocationType locationType, Long zoneId, Location origin) {
+        ensureLoaded();
+        Grid grid = grids.get(new BucketKey(locationType, zoneId));
+        if (grid == null) {
+            return Collections.emptyIterator();
+        }
+        return new NearestIterator(grid, origin.getXCoord().doubleValue(), origin.getYCoord().doubleValue(), z(origin));
+    }
+
+    /**
+     * Adds, moves or removes a location in the index according to its current state, once the current
+     * transaction commits (immediately outside a transaction). A rolled back edit never reaches the index.
+     *
+     * @param location the saved location
+     */
+    public void upsert(Location location) {
+        if (location == null || location.getId() == null) {
+            return;
+        }
+        afterCommit(() -> apply(location));
+    }
+
+    /**
+     * Removes a deleted location from the index once the current transaction commits.
+     *
+     * @param locationId location ID
+     */
+    public void remove(Long locationId) {
+        if (locationId == null) {
+            return;
+        }
+        afterCommit(() -> applyRemove(locationId));
+    }
+
+    /**
+     * Discards the index; it is rebuilt from the database on next use.
+     * Needed only after bulk location changes that bypass {@link com.wmsdipl.core.service.LocationService}.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        points.clear();
+        grids.clear();
+    }
+
+    public static boolean hasCoordinates(Location location) {
+        return location != null && location.getXCoord() != null && location.getYCoord() != null;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (Location location : locationRepository.findAll()) {
+                addPoint(toPoint(location));
+            }
+            loaded = true;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private synchronized void apply(Location location) {
+        if (!loaded) {
+            return;
+        }
+        removePoint(location.getId());
+        addPoint(toPoint(location));
+    }
+
+    private synchronized void applyRemove(Long locationId) {
+        if (loaded) {
+            removePoint(locationId);
+        }
+    }
+
+    private void addPoint(Point point) {
+        if (point == null) {
+            return;
+        }
+        points.put(point.id(), point);
+        for (BucketKey key : point.keys()) {
+            grids.computeIfAbsent(key, k -> new Grid()).add(point);
+        }
+    }
+
+    private void removePoint(Long locationId) {
+        Point previous = points.remove(locationId);
+        if (previous == null) {
+            return;
+        }
+        for (BucketKey key : previous.keys()) {
+            Grid grid = grids.get(key);
+            if (grid == null) {
+                continue;
+            }
+            grid.remove(previous);
+            if (grid.isEmpty()) {
+                grids.remove(key);
+            }
+        }
+    }
+
+    private static Point toPoint(Location location) {
+        if (location.getId() == null
+            || location.getStatus() != LocationStatus.AVAILABLE
+            || !Boolean.TRUE.equals(location.getActive())
+            || location.getLocationType() == null) {
+            return null;
+        }
+        Long zoneId = location.getZone() != null ? location.getZone().getId() : null;
+        boolean located = hasCoordinates(location);
+        return new Point(
+            location.getId(),
+            location.getLocationType(),
+            zoneId,
+            located,
+            located ? location.getXCoord().doubleValue() : 0,
+            located ? location.getYCoord().doubleValue() : 0,
+            z(location)
+        );
+    }
+
+    private static double z(Location location) {
+        return location.getZCoord() != null ? location.getZCoord().doubleValue() : 0;
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private record BucketKey(LocationType locationType, Long zoneId) {
+    }
+
+    private record Point(Long id, LocationType locationType, Long zoneId, boolean located, double x, double y, double z) {
+
+        List<BucketKey> keys() {
+            return zoneId != null
+                ? List.of(new BucketKey(locationType, null), new BucketKey(locationType, zoneId))
+                : List.of(new BucketKey(locationType, null));
+        }
+    }
+
+    /**
+     * Grid of one (type, zone) bucket: located points hashed by grid cell, plus points without coordinates
+     * in ID order. Written under the index lock, one cell at a time; read without locking.
+     * Bounds only grow, so after removals a query may scan a few empty rings but never misses a cell.
+     */
+    private static final class Grid {
+        private final Map<Long, List<Point>> cells = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, Point> unlocated = new ConcurrentSkipListMap<>();
+        private volatile int minCx = Integer.MAX_VALUE;
+        private volatile int maxCx = Integer.MIN_VALUE;
+        private volatile int minCy = Integer.MAX_VALUE;
+        private volatile int maxCy = Integer.MIN_VALUE;
+
+        void add(Point point) {
+            if (!point.located()) {
+                unlocated.put(point.id(), point);
+                return;
+            }
+            int cx = cell(point.x());
+            int cy = cell(point.y());
+            minCx = Math.min(minCx, cx);
+            maxCx = Math.max(maxCx, cx);
+            minCy = Math.min(minCy, cy);
+            maxCy = Math.max(maxCy, cy);
+            cells.compute(cellKey(cx, cy), (key, bucket) -> {
+                List<Point> updated = bucket == null ? new ArrayList<>(1) : new ArrayList<>(bucket);
+                updated.add(point);
+                return List.copyOf(updated);
+            });
+        }
+
+        void remove(Point point) {
+            if (!point.located()) {
+                unlocated.remove(point.id());
+                return;
+            }
+            cells.computeIfPresent(cellKey(cell(point.x()), cell(point.y())), (key, bucket) -> {
+                List<Point> rest = bucket.stream().filter(member -> !member.id().equals(point.id())).toList();
+                return rest.isEmpty() ? null : rest;
+            });
+        }
+
+        boolean hasLocated() {
+            return !cells.isEmpty();
+        }
+
+        boolean isEmpty() {
+            return cells.isEmpty() && unlocated.isEmpty();
+        }
+    }
+
+    private record Candidate(Long id, double distance) {
+    }
+
+    /**
+     * Ring-expansion nearest-neighbour iterator. After rings 0..r around the origin cell are scanned,
+     * every unscanned point is farther than r * CELL_SIZE, so queued candidates within that radius
+     * can be emitted in exact distance order.
+     */
+    private static final class NearestIterator implements Iterator<Long> {
+        private final Grid grid;
+        private final double ox;
+        private final double oy;
+        private final double oz;
+        private final int ocx;
+        private final int ocy;
+        private final int maxRing;
+        private final PriorityQueue<Candidate> queue =
+            new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).thenComparing(Candidate::id));
+        private int scannedRing = -1;
+        private Iterator<Point> unlocated;
+        private Long next;
+
+        NearestIterator(Grid grid, double ox, double oy, double oz) {
+            this.grid = grid;
+            this.ox = ox;
+            this.oy = oy;
+            this.oz = oz;
+            this.ocx = cell(ox);
+            this.ocy = cell(oy);
+            this.maxRing = grid.hasLocated()
+                ? Math.max(
+                    Math.max(Math.abs(ocx - grid.minCx), Math.abs(grid.maxCx - ocx)),
+                    Math.max(Math.abs(ocy - grid.minCy), Math.abs(grid.maxCy - ocy)))
+                : -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Long result = next;
+            next = null;
+            return result;
+        }
+
+        private Long advance() {
+            while (true) {
+                if (!queue.isEmpty()
+                    && (scannedRing >= maxRing || queue.peek().distance() <= scannedRing * CELL_SIZE)) {
+                    return queue.poll().id();
+                }
+                if (scannedRing >= maxRing) {
+                    break;
+                }
+                scannedRing++;
+                scanRing(scannedRing);
+            }
+            if (unlocated == null) {
+                unlocated = grid.unlocated.values().iterator();
+            }
+            return unlocated.hasNext() ? unlocated.next().id() : null;
+        }
+
+        private void scanRing(int ring) {
+            if (ring == 0) {
+                visit(ocx, ocy);
+                return;
+            }
+            int fromX = Math.max(ocx - ring, grid.minCx);
+            int toX = Math.min(ocx + ring, grid.maxCx);
+            for (int cx = fromX; cx <= toX; cx++) {
+                visit(cx, ocy - ring);
+                visit(cx, ocy + ring);
+            }
+            int fromY = Math.max(ocy - ring + 1, grid.minCy);
+            int toY = Math.min(ocy + ring - 1, grid.maxCy);
+            for (int cy = fromY; cy <= toY; cy++) {
+                visit(ocx - ring, cy);
+                visit(ocx + ring, cy);
+            }
+        }
+
+        private void visit(int cx, int cy) {
+            if (cx < grid.minCx || cx > grid.maxCx || cy < grid.minCy || cy > grid.maxCy) {
+                return;
+            }
+            List<Point> bucket = grid.cells.get(cellKey(cx, cy));
+            if (bucket == null) {
+                return;
+            }
+            for (Point point : bucket) {
+                double dx = point.x() - ox;
+                double dy = point.y() - oy;
+                double dz = point.z() - oz;
+                queue.add(new Candidate(point.id(), Math.sqrt(dx * dx + dy * dy + dz * dz)));
+            }
+        }
+    }
+}
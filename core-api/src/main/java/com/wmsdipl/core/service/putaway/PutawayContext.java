@@ -12,14 +12,20 @@ public class PutawayContext {
     private final String skuCategory;
     private final Location currentLocation;
     private final LocationType targetLocationType;
+    private final PutawayPlanningSession planningSession;
 
     public PutawayContext(Receipt receipt, Zone preferredZone, String velocityClass, String skuCategory, Location currentLocation, LocationType targetLocationType) {
+        this(receipt, preferredZone, velocityClass, skuCategory, currentLocation, targetLocationType, null);
+    }
+
+    public PutawayContext(Receipt receipt, Zone preferredZone, String velocityClass, String skuCategory, Location currentLocation, LocationType targetLocationType, PutawayPlanningSession planningSession) {
         this.receipt = receipt;
         this.preferredZone = preferredZone;
         this.velocityClass = velocityClass;
         this.skuCategory = skuCategory;
         this.currentLocation = currentLocation;
         this.targetLocationType = targetLocationType;
+        this.planningSession = planningSession;
     }
 
     public Receipt getReceipt() {
@@ -45,4 +51,11 @@ public class PutawayContext {
     public LocationType getTargetLocationType() {
         return targetLocationType;
     }
+
+    /**
+     * @return batch planning session, or null when the pallet is placed on its own
+     */
+    public PutawayPlanningSession getPlanningSession() {
+        return planningSession;
+    }
 }
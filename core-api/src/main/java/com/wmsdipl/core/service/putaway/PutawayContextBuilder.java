@@ -7,6 +7,13 @@ import com.wmsdipl.core.domain.SkuStorageConfig;
 import com.wmsdipl.core.repository.SkuStorageConfigRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Builder for creating PutawayContext from pallet data.
  * Encapsulates the logic for retrieving SKU storage configuration
@@ -39,6 +46,40 @@ public class PutawayContextBuilder {
             config = skuStorageConfigRepository.findBySkuId(pallet.getSkuId()).orElse(null);
         }
 
+        return toContext(pallet, config, null);
+    }
+
+    /**
+     * Builds contexts for a batch of pallets, loading SKU storage configurations with a single query.
+     *
+     * @param pallets pallets to build contexts for
+     * @param session planning session shared by the batch
+     * @return contexts in the same order as the pallets
+     */
+    public List<PutawayContext> buildContexts(List<Pallet> pallets, PutawayPlanningSession session) {
+        Set<Long> skuIds = new HashSet<>();
+        for (Pallet pallet : pallets) {
+            if (pallet.getSkuId() != null) {
+                skuIds.add(pallet.getSkuId());
+            }
+        }
+
+        Map<Long, SkuStorageConfig> configsBySku = new HashMap<>();
+        if (!skuIds.isEmpty()) {
+            for (SkuStorageConfig config : skuStorageConfigRepository.findBySkuIdIn(skuIds)) {
+                configsBySku.put(config.getSkuId(), config);
+            }
+        }
+
+        List<PutawayContext> contexts = new ArrayList<>(pallets.size());
+        for (Pallet pallet : pallets) {
+            SkuStorageConfig config = pallet.getSkuId() != null ? configsBySku.get(pallet.getSkuId()) : null;
+            contexts.add(toContext(pallet, config, session));
+        }
+        return contexts;
+    }
+
+    private PutawayContext toContext(Pallet pallet, SkuStorageConfig config, PutawayPlanningSession session) {
         LocationType targetLocationType = determineTargetLocationType(pallet);
 
         return new PutawayContext(
@@ -47,7 +88,8 @@ public class PutawayContextBuilder {
                 config != null ? config.getVelocityClass() : null,
                 null, // SKU category - currently not used
                 pallet.getLocation(),
-                targetLocationType
+                targetLocationType,
+                session
         );
     }
 
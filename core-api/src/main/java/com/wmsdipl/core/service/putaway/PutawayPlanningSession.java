@@ -0,0 +1,80 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Planning state shared by all pallets of one batch putaway run (one receipt).
+ * Candidate lists, loaded locations and occupancy counts are read once per run;
+ * slots taken by pallets planned earlier in the run are tracked as local reservations,
+ * because their tasks are only written to the database when the whole plan is persisted.
+ *
+ * Not thread-safe: a session belongs to a single planning call.
+ */
+public class PutawayPlanningSession {
+
+    /**
+     * Identifies a cached candidate list: the query it came from and its parameters.
+     */
+    public record CandidateKey(String source, LocationType locationType, Long zoneId, Long skuId) {
+    }
+
+    private final Map<CandidateKey, List<Location>> candidates = new HashMap<>();
+    private final Map<Long, Location> locations = new HashMap<>();
+    private final Map<Long, Long> loadedOccupancy = new HashMap<>();
+    private final Map<Long, Long> reservations = new HashMap<>();
+
+    public List<Location> candidates(CandidateKey key, Supplier<List<Location>> loader) {
+        return candidates.computeIfAbsent(key, k -> loader.get());
+    }
+
+    public Location cachedLocation(Long locationId) {
+        return locations.get(locationId);
+    }
+
+    public void cacheLocations(Collection<Location> loaded) {
+        for (Location location : loaded) {
+            locations.put(location.getId(), location);
+        }
+    }
+
+    boolean isOccupancyLoaded(Long locationId) {
+        return loadedOccupancy.containsKey(locationId);
+    }
+
+    /**
+     * Records database occupancy for locations; locations absent from the counts are stored as empty.
+     */
+    void recordOccupancy(Collection<Location> loaded, Map<Long, Long> counts) {
+        for (Location location : loaded) {
+            loadedOccupancy.put(location.getId(), counts.getOrDefault(location.getId(), 0L));
+        }
+    }
+
+    /**
+     * Checks capacity using database occupancy plus reservations made in this session.
+     */
+    boolean hasFreeSlot(Location location) {
+        if (location.getMaxPallets() == null) {
+            return true;
+        }
+        long occupied = loadedOccupancy.getOrDefault(location.getId(), 0L)
+            + reservations.getOrDefault(location.getId(), 0L);
+        return occupied < location.getMaxPallets();
+    }
+
+    /**
+     * Reserves one slot in the location for a pallet planned in this session.
+     *
+     * @param location planned target location
+     */
+    public void reserve(Location location) {
+        reservations.merge(location.getId(), 1L, Long::sum);
+    }
+}
@@ -0,0 +1,191 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.PutawayRule;
+import com.wmsdipl.core.service.PutawayRuleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Decision table compiled from the active putaway rules.
+ * For every (zoneId, velocityClass, skuCategory) combination that can be told apart by the rules,
+ * the matching strategies are precomputed in rule priority order, so a lookup is three map reads
+ * and never touches the database.
+ *
+ * Matching semantics are those of the rules themselves: a rule zone must equal the preferred zone;
+ * velocity class and category match case-insensitively, and a missing value on either side matches anything.
+ *
+ * The table is rebuilt on first use after {@link #invalidate()} (called when rules are edited)
+ * or after {@code wms.putaway.rules.cache-ttl-ms}, which bounds staleness for edits made through another instance.
+ */
+@Component
+public class PutawayRuleMatcher {
+
+    private final PutawayRuleService ruleService;
+    private final StrategyRegistry strategyRegistry;
+    private final long ttlNanos;
+    private volatile DecisionTable table;
+
+    public PutawayRuleMatcher(PutawayRuleService ruleService,
+                              StrategyRegistry strategyRegistry,
+                              @Value("${wms.putaway.rules.cache-ttl-ms:60000}") long ttlMillis) {
+        this.ruleService = ruleService;
+        this.strategyRegistry = strategyRegistry;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns strategies of the rules matching the context, highest priority first.
+     * The returned array is shared and must not be modified.
+     *
+     * @param zoneId preferred zone ID, or null
+     * @param velocityClass SKU velocity class, or null
+     * @param skuCategory SKU category, or null
+     * @return matching strategies (possibly empty)
+     */
+    public PutawayStrategy[] match(Long zoneId, String velocityClass, String skuCategory) {
+        DecisionTable current = table();
+        ZoneTable zoneTable = zoneId != null ? current.byZone().get(zoneId) : null;
+        if (zoneTable == null) {
+            zoneTable = current.anyZone();
+        }
+        VelocityTable velocityTable = velocityClass == null
+            ? zoneTable.unspecified()
+            : zoneTable.byVelocity().getOrDefault(velocityClass, zoneTable.other());
+        return skuCategory == null
+            ? velocityTable.unspecified()
+            : velocityTable.byCategory().getOrDefault(skuCategory, velocityTable.other());
+    }
+
+    /**
+     * Discards the compiled table; the next lookup recompiles it from the active rules.
+     * Waits for a compilation in progress, so a table built from the old rules is never kept.
+     */
+    public synchronized void invalidate() {
+        table = null;
+    }
+
+    private DecisionTable table() {
+        DecisionTable current = table;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = table;
+            if (!isFresh(current)) {
+                current = compile(ruleService.getActiveRules());
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isFresh(DecisionTable current) {
+        return current != null && System.nanoTime() - current.compiledAt() < ttlNanos;
+    }
+
+    private DecisionTable compile(List<PutawayRule> rules) {
+        List<CompiledRule> compiled = new ArrayList<>();
+        Set<Long> zoneIds = new LinkedHashSet<>();
+        Set<String> velocities = new LinkedHashSet<>();
+        Set<String> categories = new LinkedHashSet<>();
+        for (PutawayRule rule : rules) {
+            if (!Boolean.TRUE.equals(rule.getActive())) {
+                continue;
+            }
+            Optional<PutawayStrategy> strategy = strategyRegistry.get(rule.getStrategyType());
+            if (strategy.isEmpty()) {
+                continue;
+            }
+            Long zoneId = rule.getZone() != null ? rule.getZone().getId() : null;
+            compiled.add(new CompiledRule(zoneId, rule.getVelocityClass(), rule.getSkuCategory(), strategy.get()));
+            if (zoneId != null) {
+                zoneIds.add(zoneId);
+            }
+            if (rule.getVelocityClass() != null) {
+                velocities.add(rule.getVelocityClass());
+            }
+            if (rule.getSkuCategory() != null) {
+                categories.add(rule.getSkuCategory());
+            }
+        }
+
+        Map<Long, ZoneTable> byZone = new HashMap<>();
+        for (Long zoneId : zoneIds) {
+            byZone.put(zoneId, zoneTable(compiled, zoneId, velocities, categories));
+        }
+        return new DecisionTable(byZone, zoneTable(compiled, null, velocities, categories), System.nanoTime());
+    }
+
+    private ZoneTable zoneTable(List<CompiledRule> rules, Long zoneId, Set<String> velocities, Set<String> categories) {
+        Map<String, VelocityTable> byVelocity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String velocity : velocities) {
+            byVelocity.putIfAbsent(velocity, velocityTable(rules, zoneId, Criterion.of(velocity), categories));
+        }
+        return new ZoneTable(
+            byVelocity,
+            velocityTable(rules, zoneId, Criterion.UNSPECIFIED, categories),
+            velocityTable(rules, zoneId, Criterion.OTHER, categories)
+        );
+    }
+
+    private VelocityTable velocityTable(List<CompiledRule> rules, Long zoneId, Criterion velocity, Set<String> categories) {
+        Map<String, PutawayStrategy[]> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String category : categories) {
+            byCategory.putIfAbsent(category, strategies(rules, zoneId, velocity, Criterion.of(category)));
+        }
+        return new VelocityTable(
+            byCategory,
+            strategies(rules, zoneId, velocity, Criterion.UNSPECIFIED),
+            strategies(rules, zoneId, velocity, Criterion.OTHER)
+        );
+    }
+
+    private PutawayStrategy[] strategies(List<CompiledRule> rules, Long zoneId, Criterion velocity, Criterion category) {
+        List<PutawayStrategy> matching = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            if ((rule.zoneId() == null || rule.zoneId().equals(zoneId))
+                && velocity.matches(rule.velocityClass())
+                && category.matches(rule.skuCategory())) {
+                matching.add(rule.strategy());
+            }
+        }
+        return matching.toArray(new PutawayStrategy[0]);
+    }
+
+    /**
+     * A context attribute during compilation: a value named by some rule, no value, or a value no rule names.
+     */
+    private record Criterion(String text, boolean unspecified) {
+        static final Criterion UNSPECIFIED = new Criterion(null, true);
+        static final Criterion OTHER = new Criterion(null, false);
+
+        static Criterion of(String text) {
+            return new Criterion(text, false);
+        }
+
+        boolean matches(String ruleValue) {
+            return ruleValue == null || unspecified || ruleValue.equalsIgnoreCase(text);
+        }
+    }
+
+    private record CompiledRule(Long zoneId, String velocityClass, String skuCategory, PutawayStrategy strategy) {
+    }
+
+    private record DecisionTable(Map<Long, ZoneTable> byZone, ZoneTable anyZone, long compiledAt) {
+    }
+
+    private record ZoneTable(Map<String, VelocityTable> byVelocity, VelocityTable unspecified, VelocityTable other) {
+    }
+
+    private record VelocityTable(Map<String, PutawayStrategy[]> byCategory, PutawayStrategy[] unspecified, PutawayStrategy[] other) {
+    }
+}
@@ -106,7 +106,7 @@ public class PlacementWorkflowService {
         }
 
         DuplicateScanDetectionService.ScanResult duplicateResult =
-            duplicateScanDetectionService.checkScan(request.palletCode());
+            duplicateScanDetectionService.checkRecentScan(request.palletCode());
         if (duplicateResult.isDuplicate()) {
             Scan recentScan = scanRepository.findFirstByTaskIdAndPalletCodeOrderByScannedAtDesc(
                 taskId,
@@ -0,0 +1,108 @@
+package com.wmsdipl.core.service.workflow;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.repository.LocationRepository;
+import com.wmsdipl.core.repository.SkuRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Reference data read on every receiving scan: SKU code and base UOM, and the transit location.
+ * Entries are kept in memory so a scan does not repeat these lookups.
+ *
+ * SkuService and LocationService evict entries when they change the underlying rows;
+ * {@code wms.receiving.lookup-cache-ttl-ms} bounds staleness for edits made through another instance.
+ */
+@Component
+public class ReceivingLookupCache {
+
+    private final SkuRepository skuRepository;
+    private final LocationRepository locationRepository;
+    private final long ttlNanos;
+    private final Map<Long, CachedSku> skus = new ConcurrentHashMap<>();
+    private volatile TransitRef transit;
+
+    public ReceivingLookupCache(SkuRepository skuRepository,
+                                LocationRepository locationRepository,
+                                @Value("${wms.receiving.lookup-cache-ttl-ms:60000}") long ttlMillis) {
+        this.skuRepository = skuRepository;
+        this.locationRepository = locationRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns the code and base UOM of a SKU. Missing SKUs are not cached.
+     *
+     * @param skuId SKU ID
+     * @return SKU reference, or empty if the SKU does not exist
+     */
+    public Optional<SkuRef> findSku(Long skuId) {
+        if (skuId == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        CachedSku cached = skus.get(skuId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return Optional.of(cached.ref());
+        }
+        Optional<SkuRef> loaded = skuRepository.findById(skuId)
+            .map(sku -> new SkuRef(sku.getId(), sku.getCode(), sku.getUom()));
+        if (loaded.isPresent()) {
+            skus.put(skuId, new CachedSku(loaded.get(), now));
+        } else {
+            skus.remove(skuId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the first available RECEIVING location, used as transit location for received pallets.
+     * Only the ID is cached; the result is a reference bound to the current persistence context.
+     *
+     * @return transit location
+     * @throws ResponseStatusException if no receiving location is available
+     */
+    public Location getTransitLocation() {
+        long now = System.nanoTime();
+        TransitRef cached = transit;
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return locationRepository.getReferenceById(cached.locationId());
+        }
+        Location location = locationRepository
+            .findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
+                LocationType.RECEIVING, LocationStatus.AVAILABLE)
+            .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST,
+                "No available transit location found. " +
+                "Create locations with type RECEIVING and status AVAILABLE first."));
+        transit = new TransitRef(location.getId(), now);
+        return location;
+    }
+
+    public void evictSku(Long skuId) {
+        if (skuId != null) {
+            skus.remove(skuId);
+        }
+    }
+
+    public void evictTransitLocation() {
+        transit = null;
+    }
+
+    public record SkuRef(Long id, String code, String uom) {
+    }
+
+    private record CachedSku(SkuRef ref, long loadedAt) {
+    }
+
+    private record TransitRef(Long locationId, long loadedAt) {
+    }
+}
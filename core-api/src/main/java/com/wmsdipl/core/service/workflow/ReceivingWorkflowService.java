@@ -4,8 +4,6 @@ import com.wmsdipl.contracts.dto.DiscrepancyType;
 import com.wmsdipl.contracts.dto.RecordScanRequest;
 import com.wmsdipl.core.domain.Discrepancy;
 import com.wmsdipl.core.domain.Location;
-import com.wmsdipl.core.domain.LocationStatus;
-import com.wmsdipl.core.domain.LocationType;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletStatus;
 import com.wmsdipl.core.domain.Receipt;
@@ -18,12 +16,12 @@ import com.wmsdipl.core.domain.Task;
 import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.repository.DiscrepancyRepository;
-import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.SkuRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.DiscrepancyCreatedEvent;
 import com.wmsdipl.core.service.DuplicateScanDetectionService;
 import com.wmsdipl.core.service.ReceiptService;
 import com.wmsdipl.core.service.ReceiptWorkflowBlockedException;
@@ -31,6 +29,7 @@ import com.wmsdipl.core.service.ReceiptWorkflowBlockerService;
 import com.wmsdipl.core.service.SkuService;
 import com.wmsdipl.core.service.TaskLifecycleService;
 import com.wmsdipl.core.service.StockMovementService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -58,13 +57,14 @@ public class ReceivingWorkflowService {
     private final DiscrepancyRepository discrepancyRepository;
     private final TaskLifecycleService taskLifecycleService;
     private final PalletRepository palletRepository;
-    private final LocationRepository locationRepository;
     private final SkuRepository skuRepository;
     private final SkuService skuService;
     private final StockMovementService stockMovementService;
     private final DuplicateScanDetectionService duplicateScanDetectionService;
     private final ReceiptService receiptService;
     private final ReceiptWorkflowBlockerService receiptWorkflowBlockerService;
+    private final ReceivingLookupCache lookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReceivingWorkflowService(
             ReceiptRepository receiptRepository,
@@ -73,13 +73,14 @@ public class ReceivingWorkflowService {
             DiscrepancyRepository discrepancyRepository,
             TaskLifecycleService taskLifecycleService,
             PalletRepository palletRepository,
-            LocationRepository locationRepository,
             SkuRepository skuRepository,
             SkuService skuService,
             StockMovementService stockMovementService,
             DuplicateScanDetectionService duplicateScanDetectionService,
             ReceiptService receiptService,
-            ReceiptWorkflowBlockerService receiptWorkflowBlockerService
+            ReceiptWorkflowBlockerService receiptWorkflowBlockerService,
+            ReceivingLookupCache lookupCache,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.receiptRepository = receiptRepository;
         this.taskRepository = taskRepository;
@@ -87,13 +88,14 @@ public class ReceivingWorkflowService {
         this.discrepancyRepository = discrepancyRepository;
         this.taskLifecycleService = taskLifecycleService;
         this.palletRepository = palletRepository;
-        this.locationRepository = locationRepository;
         this.skuRepository = skuRepository;
         this.skuService = skuService;
         this.stockMovementService = stockMovementService;
         this.duplicateScanDetectionService = duplicateScanDetectionService;
         this.receiptService = receiptService;
         this.receiptWorkflowBlockerService = receiptWorkflowBlockerService;
+        this.lookupCache = lookupCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -196,11 +198,30 @@ public class ReceivingWorkflowService {
      * 11. Create discrepancy record if needed
      * 
      * Auto-starts task if in NEW or ASSIGNED status.
+     *
+     * Reads are kept to the task (fetched with receipt and line), the pallet and, when a request ID is given,
+     * the idempotency lookup; SKU and transit location come from {@link ReceivingLookupCache}.
+     * Pallet and task updates are flushed together at commit.
      */
     @Transactional
     public Scan recordScan(Long taskId, RecordScanRequest request) {
+        return recordScan(taskId, request, true);
+    }
+
+    /**
+     * Records a scan replayed from a terminal queue (see {@link ScanBatchService}).
+     * Same as {@link #recordScan(Long, RecordScanRequest)}, except that the 5-second repeat window is not applied:
+     * queued scans reach the server back to back regardless of when they were taken,
+     * so only requestId idempotency tells a replay from a new scan.
+     */
+    @Transactional
+    public Scan recordQueuedScan(Long taskId, RecordScanRequest request) {
+        return recordScan(taskId, request, false);
+    }
+
+    private Scan recordScan(Long taskId, RecordScanRequest request, boolean detectRepeatedScans) {
         // === 1. VALIDATE TASK AND REQUEST ===
-        Task task = taskLifecycleService.getTask(taskId);
+        Task task = taskLifecycleService.getTaskWithReceiptAndLine(taskId);
         validateScanRequest(task, request);
         String requestId = normalizeRequestId(request.requestId());
         BigDecimal qtyLine = new BigDecimal(request.qty());
@@ -213,8 +234,9 @@ public class ReceivingWorkflowService {
             }
         }
 
-        DuplicateScanDetectionService.ScanResult duplicateResult =
-            duplicateScanDetectionService.checkScan(request.palletCode());
+        DuplicateScanDetectionService.ScanResult duplicateResult = detectRepeatedScans
+            ? duplicateScanDetectionService.checkRecentScan(request.palletCode())
+            : DuplicateScanDetectionService.ScanResult.valid(request.palletCode());
         if (duplicateResult.isDuplicate()) {
             Scan recentScan = scanRepository.findFirstByTaskIdAndPalletCodeOrderByScannedAtDesc(
                 taskId,
@@ -250,14 +272,14 @@ public class ReceivingWorkflowService {
         }
         
         // === 5. VALIDATE BARCODE MATCHES EXPECTED SKU.CODE ===
-        Sku expectedSku = null;
+        ReceivingLookupCache.SkuRef expectedSku = null;
         boolean barcodeMatches = true;
         Long draftSkuId = null;
         if (request.barcode() != null && !request.barcode().isBlank()) {
-            expectedSku = skuRepository.findById(expectedSkuId)
+            expectedSku = lookupCache.findSku(expectedSkuId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND,
                     "Expected SKU not found: " + expectedSkuId));
-            if (!request.barcode().equals(expectedSku.getCode())) {
+            if (!request.barcode().equals(expectedSku.code())) {
                 barcodeMatches = false;
                 Sku scannedSku = skuRepository.findByCode(request.barcode())
                     .orElseGet(() -> skuService.findOrCreateDraftForBarcodeMismatch(
@@ -282,7 +304,7 @@ public class ReceivingWorkflowService {
             pallet.setReceiptLine(line);
             
             // Set transit location
-            transitLocation = findTransitLocation();
+            transitLocation = lookupCache.getTransitLocation();
             pallet.setLocation(transitLocation);
             
             // Initialize quantity
@@ -334,7 +356,7 @@ public class ReceivingWorkflowService {
         if (!barcodeMatches) {
             hasDiscrepancy = true;
             discrepancyType = DiscrepancyType.BARCODE_MISMATCH;
-            expectedValue = expectedSku != null ? expectedSku.getCode() : String.valueOf(expectedSkuId);
+            expectedValue = expectedSku != null ? expectedSku.code() : String.valueOf(expectedSkuId);
             actualValue = request.barcode();
         }
         
@@ -607,19 +629,6 @@ public class ReceivingWorkflowService {
         return existingScan;
     }
 
-    /**
-     * Finds first available location in RECEIVING zone.
-     * Used to assign transit location to pallets during receiving.
-     */
-    private Location findTransitLocation() {
-        return locationRepository
-            .findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
-                LocationType.RECEIVING, LocationStatus.AVAILABLE)
-            .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST,
-                "No available transit location found. " +
-                "Create locations with type RECEIVING and status AVAILABLE first."));
-    }
-
     private BigDecimal resolveQtyExpectedBase(ReceiptLine line) {
         if (line.getQtyExpectedBase() != null) {
             return line.getQtyExpectedBase();
@@ -658,8 +667,8 @@ public class ReceivingWorkflowService {
         if (line == null || line.getSkuId() == null) {
             return line != null ? line.getUom() : null;
         }
-        return skuRepository.findById(line.getSkuId())
-            .map(Sku::getUom)
+        return lookupCache.findSku(line.getSkuId())
+            .map(ReceivingLookupCache.SkuRef::uom)
             .orElse(line.getUom());
     }
 
@@ -683,6 +692,9 @@ public class ReceivingWorkflowService {
         d.setSystemCommentParams(joinParams(expectedValue, actualValue));
         d.setDraftSkuId(draftSkuId);
         discrepancyRepository.save(d);
+        eventPublisher.publishEvent(new DiscrepancyCreatedEvent(
+            d.getId(), receipt != null ? receipt.getId() : null, d.getType(), d.getCreatedAt()
+        ));
     }
 
     private String resolveSystemCommentKey(DiscrepancyType type) {
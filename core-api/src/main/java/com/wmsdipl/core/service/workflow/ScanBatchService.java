@@ -0,0 +1,161 @@
+package com.wmsdipl.core.service.workflow;
+
+import com.wmsdipl.contracts.dto.BatchScanItemResult;
+import com.wmsdipl.contracts.dto.BatchScanRequest;
+import com.wmsdipl.contracts.dto.RecordScanRequest;
+import com.wmsdipl.contracts.dto.ScanDto;
+import com.wmsdipl.core.domain.Scan;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.mapper.ScanMapper;
+import com.wmsdipl.core.repository.TaskRepository;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies scans queued by a terminal while it was offline.
+ *
+ * Entries are grouped by task, keeping their order within each task, and every task's scans are recorded
+ * in one transaction. If any scan of a task fails, that transaction is rolled back and the task's scans are
+ * recorded again one transaction each, so the failing entry is reported and the others still go through.
+ * Like the single-scan endpoint, each of those retries an optimistic-lock conflict up to three attempts.
+ * Entries with a requestId that was already processed are returned as idempotent replays.
+ */
+@Service
+public class ScanBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanBatchService.class);
+    private static final Set<TaskType> SCANNABLE_TYPES = EnumSet.of(TaskType.RECEIVING, TaskType.PLACEMENT, TaskType.SHIPPING);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String CONFLICT_MESSAGE = "Failed to record scan due to concurrent update. Please retry.";
+
+    private final TaskRepository taskRepository;
+    private final ReceivingWorkflowService receivingWorkflowService;
+    private final PlacementWorkflowService placementWorkflowService;
+    private final ShippingWorkflowService shippingWorkflowService;
+    private final ScanMapper scanMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScanBatchService(TaskRepository taskRepository,
+                            ReceivingWorkflowService receivingWorkflowService,
+                            PlacementWorkflowService placementWorkflowService,
+                            ShippingWorkflowService shippingWorkflowService,
+                            ScanMapper scanMapper,
+                            TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.receivingWorkflowService = receivingWorkflowService;
+        this.placementWorkflowService = placementWorkflowService;
+        this.shippingWorkflowService = shippingWorkflowService;
+        this.scanMapper = scanMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Records a batch of scans.
+     *
+     * @param request ordered scans, possibly for several tasks
+     * @return one result per entry, in request order
+     */
+    public List<BatchScanItemResult> recordBatch(BatchScanRequest request) {
+        List<BatchScanRequest.Item> items = request.items();
+        BatchScanItemResult[] results = new BatchScanItemResult[items.size()];
+
+        Map<Long, List<Integer>> indexesByTask = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexesByTask.computeIfAbsent(items.get(i).taskId(), id -> new ArrayList<>()).add(i);
+        }
+        Map<Long, TaskType> taskTypes = new HashMap<>();
+        for (Task task : taskRepository.findAllById(indexesByTask.keySet())) {
+            taskTypes.put(task.getId(), task.getTaskType());
+        }
+
+        indexesByTask.forEach((taskId, indexes) -> {
+            TaskType taskType = taskTypes.get(taskId);
+            if (taskType == null) {
+                indexes.forEach(i -> results[i] = failure(i, items.get(i), "Task not found: " + taskId));
+                return;
+            }
+            if (!SCANNABLE_TYPES.contains(taskType)) {
+                indexes.forEach(i -> results[i] = failure(i, items.get(i),
+                    "Unsupported task type for scan recording: " + taskType));
+                return;
+            }
+            try {
+                List<ScanDto> scans = transactionTemplate.execute(status -> {
+                    List<ScanDto> recorded = new ArrayList<>(indexes.size());
+                    for (Integer i : indexes) {
+                        recorded.add(scanMapper.toDto(record(taskType, taskId, items.get(i).scan())));
+                    }
+                    return recorded;
+                });
+                for (int n = 0; n < indexes.size(); n++) {
+                    int i = indexes.get(n);
+                    results[i] = success(i, items.get(i), scans.get(n));
+                }
+            } catch (RuntimeException ex) {
+                log.debug("Batch of {} scans for task {} rolled back, retrying one by one: {}",
+                    indexes.size(), taskId, errorMessage(ex));
+                for (Integer i : indexes) {
+                    results[i] = recordSingle(taskType, i, items.get(i));
+                }
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private BatchScanItemResult recordSingle(TaskType taskType, int index, BatchScanRequest.Item item) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ScanDto scan = transactionTemplate.execute(status ->
+                    scanMapper.toDto(record(taskType, item.taskId(), item.scan())));
+                return success(index, item, scan);
+            } catch (OptimisticLockingFailureException | OptimisticLockException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    return failure(index, item, CONFLICT_MESSAGE);
+                }
+                log.debug("Scan {} of task {} hit a concurrent update, attempt {} of {}",
+                    item.scan().requestId(), item.taskId(), attempt, MAX_ATTEMPTS);
+            } catch (RuntimeException ex) {
+                return failure(index, item, errorMessage(ex));
+            }
+        }
+    }
+
+    private Scan record(TaskType taskType, Long taskId, RecordScanRequest scan) {
+        return switch (taskType) {
+            case RECEIVING -> receivingWorkflowService.recordQueuedScan(taskId, scan);
+            case PLACEMENT -> placementWorkflowService.recordPlacement(taskId, scan);
+            case SHIPPING -> shippingWorkflowService.recordShipping(taskId, scan);
+            default -> throw new IllegalArgumentException("Unsupported task type for scan recording: " + taskType);
+        };
+    }
+
+    private BatchScanItemResult success(int index, BatchScanRequest.Item item, ScanDto scan) {
+        return new BatchScanItemResult(index, item.taskId(), item.scan().requestId(), true, scan, null);
+    }
+
+    private BatchScanItemResult failure(int index, BatchScanRequest.Item item, String error) {
+        return new BatchScanItemResult(index, item.taskId(), item.scan().requestId(), false, null, error);
+    }
+
+    private String errorMessage(RuntimeException ex) {
+        if (ex instanceof ResponseStatusException responseStatusException && responseStatusException.getReason() != null) {
+            return responseStatusException.getReason();
+        }
+        return ex.getMessage();
+    }
+}
@@ -182,7 +182,7 @@ public class ShippingWorkflowService {
         }
 
         DuplicateScanDetectionService.ScanResult duplicateResult =
-            duplicateScanDetectionService.checkScan(request.palletCode());
+            duplicateScanDetectionService.checkRecentScan(request.palletCode());
         if (duplicateResult.isDuplicate()) {
             Scan recentScan = scanRepository.findFirstByTaskIdAndPalletCodeOrderByScannedAtDesc(
                 taskId,
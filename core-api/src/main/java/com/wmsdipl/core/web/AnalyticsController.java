@@ -2,6 +2,7 @@ package com.wmsdipl.core.web;
 
 import com.wmsdipl.contracts.dto.ReceivingAnalyticsDto;
 import com.wmsdipl.contracts.dto.ReceivingHealthDto;
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
 import com.wmsdipl.core.service.AnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -140,6 +141,32 @@ public class AnalyticsController {
         return ResponseEntity.ok(health);
     }
 
+    /**
+     * Get task duration percentiles for a date range.
+     *
+     * GET /api/analytics/task-durations?fromDate=2026-01-01&toDate=2026-01-31
+     *
+     * Returns p50/p90/p99 start-to-close times in hours per task type, per operator and per zone.
+     */
+    @GetMapping("/task-durations")
+    @Operation(
+        summary = "Get task duration percentiles",
+        description = "p50/p90/p99 receiving and placement times per task type, operator and zone within a date range"
+    )
+    public ResponseEntity<TaskDurationAnalyticsDto> getTaskDurations(
+        @Parameter(description = "Start date (inclusive)", example = "2026-01-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+
+        @Parameter(description = "End date (inclusive)", example = "2026-01-31")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        validateDateRange(fromDate, toDate);
+
+        LocalDateTime startDateTime = fromDate.atStartOfDay();
+        LocalDateTime endDateTime = toDate.atTime(23, 59, 59);
+        return ResponseEntity.ok(analyticsService.calculateTaskDurations(startDateTime, endDateTime));
+    }
+
     /**
      * Export receiving analytics for a date range as CSV.
      *
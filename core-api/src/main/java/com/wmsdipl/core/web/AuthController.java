@@ -1,7 +1,10 @@
 package com.wmsdipl.core.web;
 
 import com.wmsdipl.contracts.dto.AuthRequest;
-import com.wmsdipl.contracts.dto.UserDto;
+import com.wmsdipl.contracts.dto.AuthResponse;
+import com.wmsdipl.contracts.dto.RefreshTokenRequest;
+import com.wmsdipl.core.config.AccessTokenService;
+import com.wmsdipl.core.config.UserDetailsCache;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.mapper.UserMapper;
 import com.wmsdipl.core.repository.UserRepository;
@@ -12,43 +15,78 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "User authentication and session management")
 public class AuthController {
 
+    private static final String TOKEN_TYPE = "Bearer";
+
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final AccessTokenService accessTokenService;
+    private final UserDetailsCache userDetailsCache;
 
     public AuthController(AuthenticationManager authenticationManager, 
                          UserRepository userRepository,
-                         UserMapper userMapper) {
+                         UserMapper userMapper,
+                         AccessTokenService accessTokenService,
+                         UserDetailsCache userDetailsCache) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.accessTokenService = accessTokenService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @PostMapping("/login")
-    @Operation(summary = "User login", description = "Authenticates a user with username and password, returning user details on success")
-    public ResponseEntity<UserDto> login(@RequestBody AuthRequest request) {
+    @Operation(summary = "User login", description = "Authenticates a user with username and password, returning user details and access/refresh tokens on success")
+    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
         try {
             Authentication auth = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.username(), request.password())
             );
             if (auth.isAuthenticated()) {
                 User user = userRepository.findByUsername(request.username()).orElseThrow();
-                return ResponseEntity.ok(userMapper.toDto(user));
+                return ResponseEntity.ok(toResponse(user));
             }
             return ResponseEntity.status(401).build();
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(401).build();
         }
     }
-}
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchanges a valid refresh token for a new access/refresh token pair without re-checking the password")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        Optional<UserDetails> principal = accessTokenService.authenticate(
+            request.refreshToken(), AccessTokenService.TokenType.REFRESH, userDetailsCache);
+        if (principal.isEmpty()) {
+            return ResponseEntity.status(401).build();
+        }
+        return userRepository.findByUsername(principal.get().getUsername())
+            .map(user -> ResponseEntity.ok(toResponse(user)))
+            .orElseGet(() -> ResponseEntity.status(401).build());
+    }
+
+    private AuthResponse toResponse(User user) {
+        AccessTokenService.IssuedTokens tokens = accessTokenService.issue(user.getUsername(), user.getPasswordHash());
+        return new AuthResponse(
+            userMapper.toDto(user),
+            TOKEN_TYPE,
+            tokens.accessToken(),
+            tokens.accessTtl().toSeconds(),
+            tokens.refreshToken(),
+            tokens.refreshTtl().toSeconds()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.wmsdipl.core.web;
 
+import com.wmsdipl.contracts.dto.CursorPageDto;
 import com.wmsdipl.contracts.dto.DiscrepancyRetentionConfigDto;
 import com.wmsdipl.contracts.dto.DiscrepancyDto;
 import com.wmsdipl.contracts.dto.RemapDiscrepancySkuRequest;
@@ -9,6 +10,8 @@ import com.wmsdipl.core.mapper.DiscrepancyMapper;
 import com.wmsdipl.core.service.DiscrepancySkuResolutionService;
 import com.wmsdipl.core.service.DiscrepancyJournalConfigService;
 import com.wmsdipl.core.service.TaskService;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -58,28 +61,44 @@ public class DiscrepancyController {
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
     ) {
-        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
-            throw new ResponseStatusException(BAD_REQUEST, "fromDate must be before or equal to toDate");
-        }
-        int retentionDays = discrepancyJournalConfigService.getRetentionDays();
-        LocalDateTime retentionFrom = LocalDate.now().minusDays(retentionDays).atStartOfDay();
-        LocalDateTime from = fromDate != null ? fromDate.atStartOfDay() : retentionFrom;
-        if (from.isBefore(retentionFrom)) {
-            from = retentionFrom;
-        }
-        LocalDateTime to = toDate != null ? toDate.atTime(23, 59, 59) : null;
+        LocalDateTime from = journalFrom(fromDate, toDate);
+        LocalDateTime to = journalTo(toDate);
 
         List<Discrepancy> discrepancies = taskService.findDiscrepancyJournal(
             receiptId, from, to, type, docNo, skuId, operator, resolved
         );
-        Map<Long, String> taskAssignees = taskService.findTaskAssigneesByDiscrepancies(discrepancies);
+        return toJournalDtos(discrepancies);
+    }
 
-        return discrepancies.stream()
-            .map(discrepancy -> discrepancyMapper.toDto(
-                discrepancy,
-                taskService.resolveDiscrepancyOperator(discrepancy, taskAssignees)
-            ))
-            .toList();
+    @GetMapping("/seek")
+    @Operation(summary = "Discrepancy journal with cursor pagination",
+        description = "Same filters as the journal, returned page by page after an opaque cursor (or after=<id>); " +
+            "sort keys: createdAt (default), id. The total is only counted when includeTotal=true")
+    public CursorPageDto<DiscrepancyDto> listSeek(
+        @RequestParam(required = false) Long receiptId,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) String docNo,
+        @RequestParam(required = false) Long skuId,
+        @RequestParam(required = false) String operator,
+        @RequestParam(required = false) Boolean resolved,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) String sort,
+        @RequestParam(defaultValue = "DESC") String direction,
+        @RequestParam(defaultValue = "200") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        LocalDateTime from = journalFrom(fromDate, toDate);
+        LocalDateTime to = journalTo(toDate);
+
+        CursorSlice<Discrepancy> slice = taskService.findDiscrepancyJournalSlice(
+            receiptId, from, to, type, docNo, skuId, operator, resolved,
+            new KeysetRequest(sort, "DESC".equalsIgnoreCase(direction), cursor, after, size, includeTotal)
+        );
+        List<DiscrepancyDto> content = toJournalDtos(slice.content());
+        return new CursorPageDto<>(content, slice.nextCursor(), slice.hasNext(), content.size(), slice.totalElements());
     }
 
     @PatchMapping("/{id}/comment")
@@ -111,6 +130,30 @@ public class DiscrepancyController {
         return new DiscrepancyRetentionConfigDto(updated);
     }
 
+    private LocalDateTime journalFrom(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new ResponseStatusException(BAD_REQUEST, "fromDate must be before or equal to toDate");
+        }
+        int retentionDays = discrepancyJournalConfigService.getRetentionDays();
+        LocalDateTime retentionFrom = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        LocalDateTime from = fromDate != null ? fromDate.atStartOfDay() : retentionFrom;
+        return from.isBefore(retentionFrom) ? retentionFrom : from;
+    }
+
+    private LocalDateTime journalTo(LocalDate toDate) {
+        return toDate != null ? toDate.atTime(23, 59, 59) : null;
+    }
+
+    private List<DiscrepancyDto> toJournalDtos(List<Discrepancy> discrepancies) {
+        Map<Long, String> taskAssignees = taskService.findTaskAssigneesByDiscrepancies(discrepancies);
+        return discrepancies.stream()
+            .map(discrepancy -> discrepancyMapper.toDto(
+                discrepancy,
+                taskService.resolveDiscrepancyOperator(discrepancy, taskAssignees)
+            ))
+            .toList();
+    }
+
     private static class UpdateCommentRequest {
         public String comment;
     }
@@ -0,0 +1,29 @@
+package com.wmsdipl.core.web;
+
+import com.wmsdipl.core.service.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "Events", description = "Server-sent change events for tasks, receipts, pallets and discrepancies")
+public class EventStreamController {
+
+    private final ChangeFeed changeFeed;
+
+    public EventStreamController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to changes",
+        description = "Event stream: 'ready' on connect, then one 'changes' event (JSON array of ChangeEventDto) per committed transaction")
+    public SseEmitter subscribe() {
+        return changeFeed.subscribe();
+    }
+}
@@ -4,7 +4,7 @@ import com.wmsdipl.contracts.dto.PalletDto;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import com.wmsdipl.core.mapper.PalletMapper;
-import com.wmsdipl.core.service.CsvExportService;
+import com.wmsdipl.core.service.CsvStreamingExportService;
 import com.wmsdipl.core.service.PalletService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -26,12 +27,13 @@ public class PalletController {
 
     private final PalletService palletService;
     private final PalletMapper palletMapper;
-    private final CsvExportService csvExportService;
+    private final CsvStreamingExportService csvStreamingExportService;
 
-    public PalletController(PalletService palletService, PalletMapper palletMapper, CsvExportService csvExportService) {
+    public PalletController(PalletService palletService, PalletMapper palletMapper,
+                            CsvStreamingExportService csvStreamingExportService) {
         this.palletService = palletService;
         this.palletMapper = palletMapper;
-        this.csvExportService = csvExportService;
+        this.csvStreamingExportService = csvStreamingExportService;
     }
 
     @GetMapping
@@ -99,10 +101,9 @@ public class PalletController {
     }
 
     @GetMapping("/export")
-    @Operation(summary = "Export all pallets to CSV", description = "Downloads all pallets as CSV file")
-    public ResponseEntity<byte[]> exportAllPallets() {
-        List<Pallet> pallets = palletService.getAll();
-        byte[] csv = csvExportService.exportPallets(pallets);
+    @Operation(summary = "Export all pallets to CSV", description = "Streams all pallets as CSV file")
+    public ResponseEntity<StreamingResponseBody> exportAllPallets() {
+        StreamingResponseBody csv = csvStreamingExportService::writePallets;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
@@ -6,6 +6,7 @@ import com.wmsdipl.core.domain.Zone;
 import com.wmsdipl.core.mapper.PutawayRuleMapper;
 import com.wmsdipl.core.repository.PutawayRuleRepository;
 import com.wmsdipl.core.repository.ZoneRepository;
+import com.wmsdipl.core.service.putaway.PutawayRuleMatcher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -32,13 +33,16 @@ public class PutawayRuleController {
     private final PutawayRuleRepository repository;
     private final ZoneRepository zoneRepository;
     private final PutawayRuleMapper mapper;
+    private final PutawayRuleMatcher ruleMatcher;
 
     public PutawayRuleController(PutawayRuleRepository repository, 
                                  ZoneRepository zoneRepository,
-                                 PutawayRuleMapper mapper) {
+                                 PutawayRuleMapper mapper,
+                                 PutawayRuleMatcher ruleMatcher) {
         this.repository = repository;
         this.zoneRepository = zoneRepository;
         this.mapper = mapper;
+        this.ruleMatcher = ruleMatcher;
     }
 
     @GetMapping
@@ -65,6 +69,7 @@ public class PutawayRuleController {
         applyZone(rule, dto.zoneId());
         rule.setCreatedAt(LocalDateTime.now());
         PutawayRule saved = repository.save(rule);
+        ruleMatcher.invalidate();
         return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDto(saved));
     }
 
@@ -74,6 +79,7 @@ public class PutawayRuleController {
         return repository.findById(id).map(rule -> {
             updateFromDto(rule, dto);
             PutawayRule saved = repository.save(rule);
+            ruleMatcher.invalidate();
             return ResponseEntity.ok(mapper.toDto(saved));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -85,6 +91,7 @@ public class PutawayRuleController {
             return ResponseEntity.notFound().build();
         }
         repository.deleteById(id);
+        ruleMatcher.invalidate();
         return ResponseEntity.noContent().build();
     }
 
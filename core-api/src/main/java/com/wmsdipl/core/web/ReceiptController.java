@@ -2,6 +2,7 @@ package com.wmsdipl.core.web;
 
 import com.wmsdipl.contracts.dto.CreateReceiptRequest;
 import com.wmsdipl.contracts.dto.CreateReceiptDraftRequest;
+import com.wmsdipl.contracts.dto.CursorPageDto;
 import com.wmsdipl.contracts.dto.ReceiptDiscrepancyDto;
 import com.wmsdipl.contracts.dto.ReceiptDto;
 import com.wmsdipl.contracts.dto.ReceiptLineDto;
@@ -10,10 +11,13 @@ import com.wmsdipl.contracts.dto.UpsertReceiptLineRequest;
 import com.wmsdipl.core.domain.Receipt;
 import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.service.CsvExportService;
+import com.wmsdipl.core.service.CsvStreamingExportService;
 import com.wmsdipl.core.service.workflow.PlacementWorkflowService;
 import com.wmsdipl.core.service.workflow.ReceivingWorkflowService;
 import com.wmsdipl.core.service.workflow.ShippingWorkflowService;
 import com.wmsdipl.core.service.ReceiptService;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -28,6 +32,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -44,6 +49,7 @@ public class ReceiptController {
     private final PlacementWorkflowService placementWorkflowService;
     private final ShippingWorkflowService shippingWorkflowService;
     private final CsvExportService csvExportService;
+    private final CsvStreamingExportService csvStreamingExportService;
     private final ReceiptRepository receiptRepository;
 
     public ReceiptController(ReceiptService receiptService,
@@ -51,12 +57,14 @@ public class ReceiptController {
                              PlacementWorkflowService placementWorkflowService,
                              ShippingWorkflowService shippingWorkflowService,
                              CsvExportService csvExportService,
+                             CsvStreamingExportService csvStreamingExportService,
                              ReceiptRepository receiptRepository) {
         this.receiptService = receiptService;
         this.receivingWorkflowService = receivingWorkflowService;
         this.placementWorkflowService = placementWorkflowService;
         this.shippingWorkflowService = shippingWorkflowService;
         this.csvExportService = csvExportService;
+        this.csvStreamingExportService = csvStreamingExportService;
         this.receiptRepository = receiptRepository;
     }
 
@@ -78,6 +86,28 @@ public class ReceiptController {
         return receiptService.listFiltered(status, supplier, fromDate, toDate, pageable);
     }
 
+    @GetMapping("/seek")
+    @Operation(summary = "List receipts with filters and cursor pagination",
+        description = "Returns receipts page by page after an opaque cursor (or after=<id>); sort keys: id, createdAt. " +
+            "The total is only counted when includeTotal=true")
+    public CursorPageDto<ReceiptDto> listFilteredSeek(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String supplier,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorSlice<ReceiptDto> slice = receiptService.listFilteredSlice(status, supplier, fromDate, toDate,
+            new KeysetRequest(sort, "DESC".equalsIgnoreCase(direction), cursor, after, size, includeTotal));
+        return new CursorPageDto<>(slice.content(), slice.nextCursor(), slice.hasNext(),
+            slice.content().size(), slice.totalElements());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get receipt by ID", description = "Returns a single receipt by its ID")
     public ReceiptDto get(@PathVariable Long id) {
@@ -221,10 +251,9 @@ public class ReceiptController {
     }
 
     @GetMapping("/export")
-    @Operation(summary = "Export all receipts to CSV", description = "Downloads all receipts as CSV file")
-    public ResponseEntity<byte[]> exportAllReceipts() {
-        List<Receipt> receipts = receiptRepository.findAll();
-        byte[] csv = csvExportService.exportReceipts(receipts);
+    @Operation(summary = "Export all receipts to CSV", description = "Streams all receipts as CSV file")
+    public ResponseEntity<StreamingResponseBody> exportAllReceipts() {
+        StreamingResponseBody csv = csvStreamingExportService::writeReceipts;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
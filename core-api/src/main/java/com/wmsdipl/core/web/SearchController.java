@@ -0,0 +1,57 @@
+package com.wmsdipl.core.web;
+
+import com.wmsdipl.contracts.dto.SearchResultDto;
+import com.wmsdipl.core.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for code search across pallets, SKUs and locations.
+ */
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Ranked search over pallet, SKU and location codes")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'PC_OPERATOR')")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Search pallets, SKUs and locations by code (SKUs also by name).
+     *
+     * @param q search text, at least 2 characters
+     * @param types entity types to search (PALLET, SKU, LOCATION); all by default
+     * @param limit maximum number of results (default 20, max 100)
+     * @return results ordered by match rank (exact, prefix, substring, fuzzy), then similarity
+     */
+    @GetMapping
+    @Operation(
+        summary = "Search by code",
+        description = "Prefix, substring and fuzzy (trigram) search over pallet, SKU and location codes and SKU names. " +
+                     "Exact matches come first, then prefixes, substrings and similar codes."
+    )
+    public List<SearchResultDto> search(
+            @Parameter(description = "Search text (min 2 characters)")
+            @RequestParam String q,
+
+            @Parameter(description = "Entity types: PALLET, SKU, LOCATION (default: all)")
+            @RequestParam(required = false) List<String> types,
+
+            @Parameter(description = "Maximum number of results (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return searchService.search(q, types, limit);
+    }
+}
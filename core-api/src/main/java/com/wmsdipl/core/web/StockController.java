@@ -1,13 +1,17 @@
 package com.wmsdipl.core.web;
 
+import com.wmsdipl.contracts.dto.CursorPageDto;
 import com.wmsdipl.contracts.dto.StockItemDto;
 import com.wmsdipl.contracts.dto.StockMovementDto;
+import com.wmsdipl.contracts.dto.StockSummaryDto;
 import com.wmsdipl.core.domain.Pallet;
 import com.wmsdipl.core.domain.PalletMovement;
 import com.wmsdipl.core.domain.Sku;
 import com.wmsdipl.core.mapper.StockMapper;
 import com.wmsdipl.core.service.StockService;
 import com.wmsdipl.core.service.StockService.StockResult;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -61,7 +65,7 @@ public class StockController {
                      "Default page size: 50, max: 500."
     )
     public Page<StockItemDto> getStock(
-            @Parameter(description = "Filter by SKU code")
+            @Parameter(description = "Filter by SKU code (partial match)")
             @RequestParam(required = false) String skuCode,
             
             @Parameter(description = "Filter by location code")
@@ -92,6 +96,107 @@ public class StockController {
         );
     }
 
+    /**
+     * Get stock inventory with keyset (cursor) pagination.
+     * Same filters as {@link #getStock}; the cost of a page does not grow with its depth.
+     * 
+     * @return Cursor page of stock items
+     */
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Get stock inventory (cursor pagination)", 
+        description = "Retrieves current inventory page by page using an opaque cursor instead of page numbers. " +
+                     "Pass nextCursor from the response as cursor to get the next page. " +
+                     "The total is only counted when includeTotal=true."
+    )
+    public CursorPageDto<StockItemDto> getStockSeek(
+            @Parameter(description = "Filter by SKU code (partial match)")
+            @RequestParam(required = false) String skuCode,
+            
+            @Parameter(description = "Filter by location code")
+            @RequestParam(required = false) String locationCode,
+            
+            @Parameter(description = "Filter by pallet barcode (partial match)")
+            @RequestParam(required = false) String palletBarcode,
+            
+            @Parameter(description = "Filter by receipt ID")
+            @RequestParam(required = false) Long receiptId,
+            
+            @Parameter(description = "Filter by pallet status (RECEIVED, PLACED, etc.)")
+            @RequestParam(required = false) String status,
+            
+            @Parameter(description = "Opaque cursor from the previous page (nextCursor)")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "Continue after this ID (alternative to cursor)")
+            @RequestParam(required = false) Long after,
+            
+            @Parameter(description = "Sort key: id, code (default: id)")
+            @RequestParam(required = false) String sort,
+            
+            @Parameter(description = "Sort direction: ASC or DESC")
+            @RequestParam(defaultValue = "ASC") String direction,
+            
+            @Parameter(description = "Page size (max 500)")
+            @RequestParam(defaultValue = "50") int size,
+            
+            @Parameter(description = "Also count all matching rows")
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        StockResult result = stockService.getStockSlice(skuCode, locationCode, palletBarcode, receiptId, status,
+                new KeysetRequest(sort, "DESC".equalsIgnoreCase(direction), cursor, after, size, includeTotal));
+        
+        Map<Long, Sku> skuMap = result.skuMap;
+        CursorSlice<StockItemDto> slice = result.slice.map(pallet -> 
+            stockMapper.toStockItemDto(pallet, skuMap.get(pallet.getSkuId()))
+        );
+        return new CursorPageDto<>(slice.content(), slice.nextCursor(), slice.hasNext(),
+                slice.content().size(), slice.totalElements());
+    }
+
+    /**
+     * Get stock totals grouped by SKU, zone, location type and/or status.
+     * 
+     * @param skuCode SKU code filter (optional)
+     * @param locationCode Location code filter (optional)
+     * @param palletBarcode Pallet barcode filter (optional)
+     * @param receiptId Receipt ID filter (optional)
+     * @param status Pallet status filter (optional)
+     * @param groupBy Grouping dimensions: SKU, ZONE, LOCATION_TYPE, STATUS (default: SKU)
+     * @return Aggregated stock, one row per group
+     */
+    @GetMapping("/summary")
+    @Operation(
+        summary = "Get stock summary", 
+        description = "Aggregates current inventory in the database (total quantity, pallet and location counts) " +
+                     "grouped by any combination of SKU, ZONE, LOCATION_TYPE and STATUS. " +
+                     "Accepts the same filters as the stock list. Results may be cached for a few seconds."
+    )
+    public List<StockSummaryDto> getStockSummary(
+            @Parameter(description = "Filter by SKU code (partial match)")
+            @RequestParam(required = false) String skuCode,
+            
+            @Parameter(description = "Filter by location code")
+            @RequestParam(required = false) String locationCode,
+            
+            @Parameter(description = "Filter by pallet barcode (partial match)")
+            @RequestParam(required = false) String palletBarcode,
+            
+            @Parameter(description = "Filter by receipt ID")
+            @RequestParam(required = false) Long receiptId,
+            
+            @Parameter(description = "Filter by pallet status (RECEIVED, PLACED, etc.)")
+            @RequestParam(required = false) String status,
+            
+            @Parameter(description = "Grouping dimensions, comma-separated (SKU, ZONE, LOCATION_TYPE, STATUS)")
+            @RequestParam(required = false) List<String> groupBy
+    ) {
+        return stockService.getStockSummary(skuCode, locationCode, palletBarcode, receiptId, status, groupBy)
+                .stream()
+                .map(stockMapper::toStockSummaryDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get single pallet details by ID.
      * 
@@ -161,4 +266,30 @@ public class StockController {
             stockMapper.toStockItemDto(pallet, skuMap.get(pallet.getSkuId()))
         );
     }
+
+    /**
+     * Get stored pallets of a SKU with the earliest expiry first (FEFO pick order).
+     * 
+     * @param skuId SKU ID
+     * @param limit Maximum number of pallets
+     * @return Stock items ordered by expiry date
+     */
+    @GetMapping("/sku/{skuId}/oldest")
+    @Operation(
+        summary = "Get oldest stock for SKU", 
+        description = "Retrieves stored pallets of a SKU ordered by expiry date (earliest first) for FEFO picking"
+    )
+    public List<StockItemDto> getOldestStock(
+            @Parameter(description = "SKU ID")
+            @PathVariable Long skuId,
+            
+            @Parameter(description = "Maximum number of pallets (up to 200)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        StockResult result = stockService.getOldestStock(skuId, limit);
+        Map<Long, Sku> skuMap = result.skuMap;
+        return result.pallets.getContent().stream()
+                .map(pallet -> stockMapper.toStockItemDto(pallet, skuMap.get(pallet.getSkuId())))
+                .collect(Collectors.toList());
+    }
 }
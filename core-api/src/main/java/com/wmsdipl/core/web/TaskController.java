@@ -1,5 +1,8 @@
 package com.wmsdipl.core.web;
 
+import com.wmsdipl.contracts.dto.BatchScanItemResult;
+import com.wmsdipl.contracts.dto.BatchScanRequest;
+import com.wmsdipl.contracts.dto.CursorPageDto;
 import com.wmsdipl.contracts.dto.RecordScanRequest;
 import com.wmsdipl.contracts.dto.ScanDto;
 import com.wmsdipl.contracts.dto.TaskDto;
@@ -11,9 +14,13 @@ import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.mapper.ScanMapper;
 import com.wmsdipl.core.mapper.TaskMapper;
 import com.wmsdipl.core.repository.ScanRepository;
+import com.wmsdipl.core.service.TaskDispatchService;
 import com.wmsdipl.core.service.TaskService;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import com.wmsdipl.core.service.workflow.PlacementWorkflowService;
 import com.wmsdipl.core.service.workflow.ReceivingWorkflowService;
+import com.wmsdipl.core.service.workflow.ScanBatchService;
 import com.wmsdipl.core.service.workflow.ShippingWorkflowService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -43,26 +50,32 @@ public class TaskController {
     private final ReceivingWorkflowService receivingWorkflowService;
     private final PlacementWorkflowService placementWorkflowService;
     private final ShippingWorkflowService shippingWorkflowService;
+    private final ScanBatchService scanBatchService;
     private final ScanRepository scanRepository;
     private final ScanMapper scanMapper;
     private final TaskMapper taskMapper;
+    private final TaskDispatchService taskDispatchService;
 
     public TaskController(
             TaskService taskService, 
             ReceivingWorkflowService receivingWorkflowService,
             PlacementWorkflowService placementWorkflowService,
             ShippingWorkflowService shippingWorkflowService,
+            ScanBatchService scanBatchService,
             ScanRepository scanRepository,
             ScanMapper scanMapper,
-            TaskMapper taskMapper
+            TaskMapper taskMapper,
+            TaskDispatchService taskDispatchService
     ) {
         this.taskService = taskService;
         this.receivingWorkflowService = receivingWorkflowService;
         this.placementWorkflowService = placementWorkflowService;
         this.shippingWorkflowService = shippingWorkflowService;
+        this.scanBatchService = scanBatchService;
         this.scanRepository = scanRepository;
         this.scanMapper = scanMapper;
         this.taskMapper = taskMapper;
+        this.taskDispatchService = taskDispatchService;
     }
 
     @GetMapping
@@ -86,6 +99,29 @@ public class TaskController {
         return new PageImpl<>(content, taskPage.getPageable(), taskPage.getTotalElements());
     }
 
+    @GetMapping("/seek")
+    @Operation(summary = "List tasks with filters and cursor pagination",
+        description = "Retrieves tasks page by page after an opaque cursor (or after=<id>); sort keys: id, priority, createdAt. " +
+            "The total is only counted when includeTotal=true")
+    public CursorPageDto<TaskDto> allFilteredSeek(
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskType taskType,
+            @RequestParam(required = false) Long receiptId,
+            @RequestParam(required = false) Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorSlice<Task> slice = taskService.findFilteredSlice(assignee, status, taskType, receiptId, taskId,
+            new KeysetRequest(sort, "DESC".equalsIgnoreCase(direction), cursor, after, size, includeTotal));
+        List<TaskDto> content = taskMapper.toDtoList(slice.content());
+        return new CursorPageDto<>(content, slice.nextCursor(), slice.hasNext(), content.size(), slice.totalElements());
+    }
+
     @GetMapping(params = {"receiptId", "!page"})
     @Operation(summary = "List tasks by receipt", description = "Retrieves all tasks associated with a specific receipt")
     public List<TaskDto> byReceipt(@RequestParam Long receiptId) {
@@ -107,6 +143,24 @@ public class TaskController {
             .body(taskMapper.toDto(created));
     }
 
+    @PostMapping("/next")
+    @Operation(
+        summary = "Get my next task",
+        description = "Returns the caller's ASSIGNED/IN_PROGRESS task, or atomically claims the best NEW task "
+            + "matching their dispatch profile (task types, zones) by priority and travel order. 204 if none."
+    )
+    @ApiResponse(responseCode = "204", description = "No task available for the caller")
+    public ResponseEntity<TaskDto> next(java.security.Principal principal) {
+        var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+        String currentUser = principal != null ? principal.getName() : (auth != null ? auth.getName() : null);
+        if (currentUser == null) {
+            throw new ResponseStatusException(org.springframework.http.HttpStatus.UNAUTHORIZED, "User is not authenticated");
+        }
+        return taskDispatchService.claimNext(currentUser)
+            .map(task -> ResponseEntity.ok(taskMapper.toDto(task)))
+            .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     @PostMapping("/{id}/assign")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'OPERATOR')")
     @Operation(
@@ -222,6 +276,19 @@ public class TaskController {
         return ResponseEntity.created(URI.create("/api/tasks/" + id + "/scans/" + scan.getId())).body(dto);
     }
 
+    @PostMapping("/scans/batch")
+    @Operation(
+        summary = "Record scan batch",
+        description = "Records an ordered list of scans queued by a terminal, possibly for several tasks. "
+            + "Scans of one task are applied in one transaction; requestId idempotency applies per entry. "
+            + "Returns one result per entry in request order."
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed; see per-entry results")
+    @ApiResponse(responseCode = "400", description = "Invalid batch request")
+    public List<BatchScanItemResult> scanBatch(@RequestBody @Valid BatchScanRequest request) {
+        return scanBatchService.recordBatch(request);
+    }
+
     @PostMapping("/generate")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
     @Operation(summary = "Generate tasks", description = "Generates multiple tasks for a receipt (e.g., receiving or putaway tasks)")
@@ -1,7 +1,9 @@
 package com.wmsdipl.core.web;
 
+import com.wmsdipl.contracts.dto.DispatchProfileDto;
 import com.wmsdipl.contracts.dto.UserDto;
 import com.wmsdipl.contracts.dto.UserRequest;
+import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.mapper.UserMapper;
 import com.wmsdipl.core.service.UserService;
@@ -13,6 +15,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -68,6 +72,31 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/{id}/dispatch-profile")
+    @Operation(summary = "Get dispatch profile", description = "Task types and zones the operator is dispatched by \"next task\"; empty means any")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    public DispatchProfileDto getDispatchProfile(@PathVariable Long id) {
+        return toDispatchProfile(userService.findById(id));
+    }
+
+    @PutMapping("/{id}/dispatch-profile")
+    @Operation(summary = "Update dispatch profile", description = "Replaces the task types and zones the operator is dispatched")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    public DispatchProfileDto updateDispatchProfile(@PathVariable Long id, @RequestBody DispatchProfileDto request) {
+        Set<TaskType> taskTypes = request.taskTypes() == null ? Set.of() : request.taskTypes().stream()
+            .map(TaskType::valueOf)
+            .collect(Collectors.toSet());
+        Set<Long> zoneIds = request.zoneIds() == null ? Set.of() : Set.copyOf(request.zoneIds());
+        return toDispatchProfile(userService.updateDispatchProfile(id, taskTypes, zoneIds));
+    }
+
+    private DispatchProfileDto toDispatchProfile(User user) {
+        return new DispatchProfileDto(
+            user.getTaskSkills().stream().map(Enum::name).sorted().toList(),
+            user.getZoneIds().stream().sorted().toList()
+        );
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Removes a user from the system")
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,4 @@
+-- Support grouped capacity lookups used by putaway candidate selection.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_target_location_status
+    ON tasks(target_location_id, status);
@@ -0,0 +1,4 @@
+-- Support rolling-window movement counts used by velocity classification.
+
+CREATE INDEX IF NOT EXISTS idx_pallet_movements_moved_at_type
+    ON pallet_movements(moved_at, movement_type);
@@ -0,0 +1,4 @@
+-- Per-pallet movement history in time order for point-in-time stock reconstruction.
+
+CREATE INDEX IF NOT EXISTS idx_pallet_movements_pallet_moved_at
+    ON pallet_movements(pallet_id, moved_at, id);
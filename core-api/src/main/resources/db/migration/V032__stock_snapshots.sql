@@ -0,0 +1,19 @@
+-- Daily stock snapshots: point-in-time stock is rebuilt from the nearest prior snapshot
+-- plus the movements made after it.
+
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id              BIGSERIAL PRIMARY KEY,
+    snapshot_at     TIMESTAMP NOT NULL UNIQUE,
+    pallet_count    INTEGER NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS stock_snapshot_lines (
+    snapshot_id     BIGINT NOT NULL REFERENCES stock_snapshots(id) ON DELETE CASCADE,
+    pallet_id       BIGINT NOT NULL,
+    location_id     BIGINT,
+    sku_id          BIGINT,
+    quantity        NUMERIC(10,2) NOT NULL,
+    status          VARCHAR(32) NOT NULL,
+    PRIMARY KEY (snapshot_id, pallet_id)
+);
@@ -0,0 +1,10 @@
+-- Keyset pagination seeks on (sort key, id); pallets and the id sort use the primary key.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_id
+    ON tasks(priority, id);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id
+    ON tasks(created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_receipts_created_at_id
+    ON receipts(created_at, id);
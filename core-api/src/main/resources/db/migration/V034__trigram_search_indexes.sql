@@ -0,0 +1,17 @@
+-- Trigram indexes for code search and partial-match stock filters.
+-- gin_trgm_ops serves LIKE '%x%', LIKE 'x%' and the % similarity operator on lower(...) expressions,
+-- which previously forced sequential scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_pallets_code_trgm
+    ON pallets USING gin (lower(code) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_skus_code_trgm
+    ON skus USING gin (lower(code) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_skus_name_trgm
+    ON skus USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_locations_code_trgm
+    ON locations USING gin (lower(code) gin_trgm_ops);
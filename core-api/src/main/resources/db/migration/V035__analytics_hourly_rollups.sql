@@ -0,0 +1,37 @@
+-- Hourly pre-aggregated receiving analytics, rebuilt per dirty hour by AnalyticsRollupService.
+
+-- Additive counters per hour: DISCREPANCY_TYPE, PALLET_STATUS, TASK_DURATION (count + seconds)
+CREATE TABLE IF NOT EXISTS analytics_hourly_rollups (
+    bucket_start TIMESTAMP NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    duration_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, metric, dimension)
+);
+
+-- Receipts touched per hour; distinct receipts of a period are not additive, so they are kept per receipt
+CREATE TABLE IF NOT EXISTS analytics_hourly_receipts (
+    bucket_start TIMESTAMP NOT NULL,
+    receipt_id BIGINT NOT NULL REFERENCES receipts(id) ON DELETE CASCADE,
+    has_discrepancy BOOLEAN NOT NULL DEFAULT false,
+    has_damage_discrepancy BOOLEAN NOT NULL DEFAULT false,
+    has_damaged_pallet BOOLEAN NOT NULL DEFAULT false,
+    PRIMARY KEY (bucket_start, receipt_id)
+);
+
+-- Change watermark of the incremental refresh; the row is locked while a refresh runs
+CREATE TABLE IF NOT EXISTS analytics_rollup_state (
+    name VARCHAR(64) PRIMARY KEY,
+    refreshed_to TIMESTAMP
+);
+
+INSERT INTO analytics_rollup_state (name, refreshed_to)
+VALUES ('receiving_analytics', NULL)
+ON CONFLICT (name) DO NOTHING;
+
+-- Dirty-hour detection and per-hour rebuilds
+CREATE INDEX IF NOT EXISTS idx_pallets_updated_at ON pallets(updated_at);
+CREATE INDEX IF NOT EXISTS idx_pallets_created_at ON pallets(created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_closed_at ON tasks(closed_at);
+CREATE INDEX IF NOT EXISTS idx_discrepancies_created_at ON discrepancies(created_at);
@@ -0,0 +1,14 @@
+-- Receiving health is computed in one statement; these indexes serve its filters.
+
+-- Stuck receipts: status equality + updated_at range
+CREATE INDEX IF NOT EXISTS idx_receipts_status_updated_at
+    ON receipts(status, updated_at);
+
+-- Stale tasks: only open tasks are candidates
+CREATE INDEX IF NOT EXISTS idx_tasks_open_created_at
+    ON tasks(created_at)
+    WHERE status IN ('ASSIGNED', 'IN_PROGRESS');
+
+-- NOT EXISTS probe for recent scans of a task
+CREATE INDEX IF NOT EXISTS idx_scans_task_scanned_at
+    ON scans(task_id, scanned_at);
@@ -0,0 +1,12 @@
+-- Hourly task duration histograms (bin counts of DurationHistogram), recorded at task completion.
+-- Histograms are mergeable, so any period / operator / zone percentile is a SUM over these rows.
+-- assignee '' and zone_id 0 stand for unassigned tasks and tasks without a location.
+CREATE TABLE IF NOT EXISTS task_duration_histograms (
+    bucket_start TIMESTAMP NOT NULL,
+    task_type VARCHAR(32) NOT NULL,
+    assignee VARCHAR(128) NOT NULL DEFAULT '',
+    zone_id BIGINT NOT NULL DEFAULT 0,
+    bin SMALLINT NOT NULL,
+    sample_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, task_type, assignee, zone_id, bin)
+);
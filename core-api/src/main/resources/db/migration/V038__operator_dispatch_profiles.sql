@@ -0,0 +1,13 @@
+-- Operator dispatch profile used by the "next task" pull dispatcher.
+-- No rows for a user means any task type / any zone.
+CREATE TABLE IF NOT EXISTS user_task_skills (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    task_type VARCHAR(32) NOT NULL,
+    PRIMARY KEY (user_id, task_type)
+);
+
+CREATE TABLE IF NOT EXISTS user_zones (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    zone_id BIGINT NOT NULL REFERENCES zones(id) ON DELETE CASCADE,
+    PRIMARY KEY (user_id, zone_id)
+);
@@ -0,0 +1,12 @@
+-- Discrepancy journal is filtered and keyset-paged in SQL.
+
+-- Retention/date window with type and resolved checked inside the index
+CREATE INDEX IF NOT EXISTS idx_discrepancies_created_at_type_resolved
+    ON discrepancies(created_at, type, resolved);
+
+-- Keyset seek on (created_at, id), newest first
+CREATE INDEX IF NOT EXISTS idx_discrepancies_created_at_id
+    ON discrepancies(created_at, id);
+
+-- Both indexes above lead with created_at
+DROP INDEX IF EXISTS idx_discrepancies_created_at;
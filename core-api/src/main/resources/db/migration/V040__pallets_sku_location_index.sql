@@ -0,0 +1,7 @@
+-- Consolidation putaway looks up cells holding a SKU (LocationRepository.findHoldingSku)
+
+CREATE INDEX IF NOT EXISTS idx_pallets_sku_location
+    ON pallets(sku_id, location_id);
+
+-- The composite index above leads with sku_id
+DROP INDEX IF EXISTS idx_pallets_sku;
@@ -0,0 +1,4 @@
+-- Discrepancy journal filters types case-insensitively (TaskService.buildDiscrepancyJournalSpecification)
+
+CREATE INDEX IF NOT EXISTS idx_discrepancies_upper_type_created_at
+    ON discrepancies(UPPER(type), created_at);
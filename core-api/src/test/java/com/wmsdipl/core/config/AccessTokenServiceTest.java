@@ -0,0 +1,112 @@
+package com.wmsdipl.core.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessTokenServiceTest {
+
+    private static final byte[] SECRET = "test-secret-test-secret-test-secret".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2026-02-05T08:00:00Z");
+    private static final String HASH = "{bcrypt}$2a$10$hash";
+
+    private final AccessTokenService service = service(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldAuthenticateIssuedAccessToken() {
+        AccessTokenService.IssuedTokens tokens = service.issue("operator", HASH);
+
+        UserDetails user = service.authenticate(tokens.accessToken(), AccessTokenService.TokenType.ACCESS,
+            users(user("operator", HASH, true))).orElseThrow();
+
+        assertEquals("operator", user.getUsername());
+        assertEquals(Duration.ofMinutes(15), tokens.accessTtl());
+    }
+
+    @Test
+    void shouldRejectTokenOfOtherType() {
+        AccessTokenService.IssuedTokens tokens = service.issue("operator", HASH);
+        UserDetailsService users = users(user("operator", HASH, true));
+
+        assertFalse(service.authenticate(tokens.refreshToken(), AccessTokenService.TokenType.ACCESS, users).isPresent());
+        assertTrue(service.authenticate(tokens.refreshToken(), AccessTokenService.TokenType.REFRESH, users).isPresent());
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = service.issue("operator", HASH).accessToken();
+        AccessTokenService later = service(Clock.fixed(NOW.plus(Duration.ofMinutes(15)), ZoneOffset.UTC));
+
+        assertFalse(later.authenticate(token, AccessTokenService.TokenType.ACCESS,
+            users(user("operator", HASH, true))).isPresent());
+    }
+
+    @Test
+    void shouldRejectTamperedOrForeignToken() {
+        String token = service.issue("operator", HASH).accessToken();
+        UserDetailsService users = users(user("admin", HASH, true));
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+            StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(payload.replace("operator", "admin").getBytes(StandardCharsets.UTF_8))
+            + token.substring(token.indexOf('.'));
+        AccessTokenService otherKey = new AccessTokenService(
+            "another-secret-another-secret-another".getBytes(StandardCharsets.UTF_8),
+            Duration.ofMinutes(15), Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertFalse(service.authenticate(forged, AccessTokenService.TokenType.ACCESS, users).isPresent());
+        assertFalse(service.authenticate("garbage", AccessTokenService.TokenType.ACCESS, users).isPresent());
+        assertFalse(otherKey.authenticate(service.issue("admin", HASH).accessToken(),
+            AccessTokenService.TokenType.ACCESS, users).isPresent());
+    }
+
+    @Test
+    void shouldRejectToken_WhenPasswordChangedOrUserDisabledOrMissing() {
+        String token = service.issue("operator", HASH).accessToken();
+
+        assertFalse(service.authenticate(token, AccessTokenService.TokenType.ACCESS,
+            users(user("operator", "{bcrypt}$2a$10$other", true))).isPresent());
+        assertFalse(service.authenticate(token, AccessTokenService.TokenType.ACCESS,
+            users(user("operator", HASH, false))).isPresent());
+        assertFalse(service.authenticate(token, AccessTokenService.TokenType.ACCESS, username -> {
+            throw new UsernameNotFoundException(username);
+        }).isPresent());
+    }
+
+    @Test
+    void shouldRequireSecretOfAtLeast32Bytes() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessTokenService(
+            new byte[16], Duration.ofMinutes(15), Duration.ofHours(12), Clock.systemUTC()));
+    }
+
+    private static AccessTokenService service(Clock clock) {
+        return new AccessTokenService(SECRET, Duration.ofMinutes(15), Duration.ofHours(12), clock);
+    }
+
+    private static UserDetails user(String username, String passwordHash, boolean enabled) {
+        return User.withUsername(username).password(passwordHash).roles("OPERATOR").disabled(!enabled).build();
+    }
+
+    private static UserDetailsService users(UserDetails user) {
+        return username -> {
+            if (!user.getUsername().equals(username)) {
+                throw new UsernameNotFoundException(username);
+            }
+            return user;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.wmsdipl.core.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SecurityConfigTest {
+
+    private final SecurityConfig securityConfig = new SecurityConfig(null);
+
+    @Test
+    void shouldRefuseToStartWithoutTokenSecret_OutsideDevAndTest() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class,
+            () -> securityConfig.accessTokenService(environment, "", 15, 12));
+    }
+
+    @Test
+    void shouldUseRandomKeyWithoutTokenSecret_InTestProfile() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+
+        assertNotNull(securityConfig.accessTokenService(environment, "", 15, 12));
+    }
+
+    @Test
+    void shouldRejectShortTokenSecret() {
+        MockEnvironment environment = new MockEnvironment();
+
+        assertThrows(IllegalStateException.class,
+            () -> securityConfig.accessTokenService(environment, "too-short", 15, 12));
+        assertNotNull(securityConfig.accessTokenService(environment, "0123456789abcdef0123456789abcdef", 15, 12));
+    }
+}
@@ -0,0 +1,97 @@
+package com.wmsdipl.core.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenAuthenticationFilterTest {
+
+    private static final byte[] SECRET = "test-secret-test-secret-test-secret".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2026-02-05T08:00:00Z");
+    private static final String HASH = "{bcrypt}$2a$10$hash";
+
+    private final AccessTokenService tokenService = service(Clock.fixed(NOW, ZoneOffset.UTC));
+    private final RequestAttributeSecurityContextRepository repository = new RequestAttributeSecurityContextRepository();
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService, username -> {
+        if (!"operator".equals(username)) {
+            throw new UsernameNotFoundException(username);
+        }
+        return user();
+    }, repository);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateValidAccessToken_AndSaveContextForAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = request("Bearer " + tokenService.issue("operator", HASH).accessToken());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("operator", authentication.getName());
+        assertNotNull(chain.getRequest());
+        assertEquals(authentication, repository.loadDeferredContext(request).get().getAuthentication());
+    }
+
+    @Test
+    void shouldLeaveRequestUnauthenticated_ForMissingForgedExpiredOrRefreshToken() throws Exception {
+        AccessTokenService.IssuedTokens tokens = tokenService.issue("operator", HASH);
+        String expired = service(Clock.fixed(NOW.minus(Duration.ofHours(1)), ZoneOffset.UTC))
+            .issue("operator", HASH).accessToken();
+        String forged = new AccessTokenService("another-secret-another-secret-another".getBytes(StandardCharsets.UTF_8),
+            Duration.ofMinutes(15), Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC))
+            .issue("operator", HASH).accessToken();
+
+        for (String header : new String[] {null, "Bearer " + forged, "Bearer " + expired, "Bearer " + tokens.refreshToken()}) {
+            MockHttpServletRequest request = request(header);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertNull(SecurityContextHolder.getContext().getAuthentication(), String.valueOf(header));
+            assertFalse(repository.containsContext(request));
+            assertNotNull(chain.getRequest());
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private static AccessTokenService service(Clock clock) {
+        return new AccessTokenService(SECRET, Duration.ofMinutes(15), Duration.ofHours(12), clock);
+    }
+
+    private static UserDetails user() {
+        return User.withUsername("operator").password(HASH).roles("OPERATOR").build();
+    }
+}
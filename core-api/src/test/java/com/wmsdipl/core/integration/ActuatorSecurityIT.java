@@ -0,0 +1,43 @@
+package com.wmsdipl.core.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Actuator access: health and info are public, metrics are for administrators only.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExposeHealthWithoutLogin_ButNotMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldForbidMetrics_ForNonAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldExposeMetrics_ToAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,72 @@
+package com.wmsdipl.core.integration;
+
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.domain.PalletStatus;
+import com.wmsdipl.core.domain.Receipt;
+import com.wmsdipl.core.domain.ReceiptStatus;
+import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.ReceiptRepository;
+import com.wmsdipl.core.service.CsvStreamingExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming CSV exports read through a JDBC cursor; checks columns and formatting of the written rows.
+ */
+@SpringBootTest(properties = "wms.export.fetch-size=2")
+@ActiveProfiles("test")
+@Transactional
+class CsvStreamingExportIT {
+
+    @Autowired
+    private CsvStreamingExportService csvStreamingExportService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private PalletRepository palletRepository;
+
+    @Test
+    void shouldStreamReceiptsAndPallets() throws Exception {
+        Receipt receipt = new Receipt();
+        receipt.setDocNo("RCV-CSV-" + System.nanoTime());
+        receipt.setDocDate(LocalDate.of(2026, 2, 1));
+        receipt.setSupplier("Supplier, Ltd");
+        receipt.setStatus(ReceiptStatus.DRAFT);
+        receipt = receiptRepository.saveAndFlush(receipt);
+
+        String palletCode = "PLT-CSV-" + System.nanoTime();
+        Pallet pallet = new Pallet();
+        pallet.setCode(palletCode);
+        pallet.setStatus(PalletStatus.RECEIVED);
+        pallet.setQuantity(new BigDecimal("12.50"));
+        pallet.setUom("PCS");
+        pallet.setReceipt(receipt);
+        pallet = palletRepository.saveAndFlush(pallet);
+
+        ByteArrayOutputStream receipts = new ByteArrayOutputStream();
+        csvStreamingExportService.writeReceipts(receipts);
+        String receiptsCsv = receipts.toString(StandardCharsets.UTF_8);
+
+        assertTrue(receiptsCsv.contains("ID,Doc No,Doc Date,Supplier,Status,Message ID,Created At,Updated At"));
+        assertTrue(receiptsCsv.contains(receipt.getId() + "," + receipt.getDocNo() + ",2026-02-01,\"Supplier, Ltd\",DRAFT,"));
+
+        ByteArrayOutputStream pallets = new ByteArrayOutputStream();
+        csvStreamingExportService.writePallets(pallets);
+        String palletsCsv = pallets.toString(StandardCharsets.UTF_8);
+
+        assertTrue(palletsCsv.contains("ID,Code,Code Type,Status,Location ID"));
+        assertTrue(palletsCsv.contains(pallet.getId() + "," + palletCode + ",INTERNAL,RECEIVED,,,,,12.50,PCS," + receipt.getId() + ","));
+    }
+}
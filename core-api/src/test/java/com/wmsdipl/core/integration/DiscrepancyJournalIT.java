@@ -0,0 +1,146 @@
+package com.wmsdipl.core.integration;
+
+import com.wmsdipl.core.domain.Discrepancy;
+import com.wmsdipl.core.domain.Receipt;
+import com.wmsdipl.core.domain.ReceiptStatus;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.repository.DiscrepancyRepository;
+import com.wmsdipl.core.repository.ReceiptRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.TaskService;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Discrepancy journal filtered and paged in SQL: operator resolution through the task assignee
+ * with fallback to resolvedBy, type and document filters, and keyset pages newest first.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DiscrepancyJournalIT {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DiscrepancyRepository discrepancyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldFilterByOperatorInDatabase_AndPageNewestFirst() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        Receipt receipt = new Receipt();
+        receipt.setDocNo("RCV-JRN-" + suffix);
+        receipt.setDocDate(LocalDate.of(2026, 3, 1));
+        receipt.setStatus(ReceiptStatus.DRAFT);
+        receipt = receiptRepository.saveAndFlush(receipt);
+
+        String assignee = "op-a-" + suffix;
+        String resolver = "op-b-" + suffix;
+        LocalDateTime now = LocalDateTime.now();
+        Task assigned = task(receipt, assignee);
+        Task unassigned = task(receipt, " ");
+
+        Discrepancy byAssignee = discrepancy(receipt, assigned.getId(), "UNDER_QTY", resolver, now.minusMinutes(3));
+        Discrepancy byResolver = discrepancy(receipt, null, "UNDER_QTY", resolver, now.minusMinutes(2));
+        Discrepancy blankAssignee = discrepancy(receipt, unassigned.getId(), "OVER_QTY", resolver, now.minusMinutes(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Discrepancy> ofAssignee = taskService.findDiscrepancyJournal(
+            receipt.getId(), null, null, null, null, null, assignee.toUpperCase(), null);
+        assertEquals(List.of(byAssignee.getId()), ids(ofAssignee));
+
+        // The task assignee wins over resolvedBy; blank assignees fall back to it
+        List<Discrepancy> ofResolver = taskService.findDiscrepancyJournal(
+            receipt.getId(), null, null, null, "jrn-" + suffix, null, resolver, null);
+        assertEquals(List.of(blankAssignee.getId(), byResolver.getId()), ids(ofResolver));
+
+        List<Discrepancy> underQty = taskService.findDiscrepancyJournal(
+            receipt.getId(), now.minusMinutes(10), now, "under_qty", null, null, null, false);
+        assertEquals(List.of(byResolver.getId(), byAssignee.getId()), ids(underQty));
+
+        CursorSlice<Discrepancy> first = taskService.findDiscrepancyJournalSlice(
+            receipt.getId(), null, null, null, null, null, null, null,
+            new KeysetRequest(null, true, null, null, 2, true));
+        assertEquals(List.of(blankAssignee.getId(), byResolver.getId()), ids(first.content()));
+        assertEquals(3L, first.totalElements());
+        assertNotNull(first.nextCursor());
+        assertEquals(receipt.getDocNo(), first.content().get(0).getReceipt().getDocNo());
+
+        CursorSlice<Discrepancy> second = taskService.findDiscrepancyJournalSlice(
+            receipt.getId(), null, null, null, null, null, null, null,
+            new KeysetRequest(null, true, first.nextCursor(), null, 2, false));
+        assertEquals(List.of(byAssignee.getId()), ids(second.content()));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void shouldMatchTypeIgnoringStoredCase() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        Receipt receipt = new Receipt();
+        receipt.setDocNo("RCV-TYP-" + suffix);
+        receipt.setDocDate(LocalDate.of(2026, 3, 1));
+        receipt.setStatus(ReceiptStatus.DRAFT);
+        receipt = receiptRepository.saveAndFlush(receipt);
+
+        LocalDateTime now = LocalDateTime.now();
+        Discrepancy lowerCase = discrepancy(receipt, null, "under_qty", "op-" + suffix, now.minusMinutes(2));
+        Discrepancy mixedCase = discrepancy(receipt, null, "Under_Qty", "op-" + suffix, now.minusMinutes(1));
+        discrepancy(receipt, null, "over_qty", "op-" + suffix, now);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Discrepancy> underQty = taskService.findDiscrepancyJournal(
+            receipt.getId(), null, null, "UNDER_QTY", null, null, null, null);
+        assertEquals(List.of(mixedCase.getId(), lowerCase.getId()), ids(underQty));
+    }
+
+    private Task task(Receipt receipt, String assignee) {
+        Task task = new Task();
+        task.setReceipt(receipt);
+        task.setTaskType(TaskType.RECEIVING);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setAssignee(assignee);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private Discrepancy discrepancy(Receipt receipt, Long taskId, String type, String resolvedBy, LocalDateTime createdAt) {
+        Discrepancy discrepancy = new Discrepancy();
+        discrepancy.setReceipt(receipt);
+        discrepancy.setTaskId(taskId);
+        discrepancy.setType(type);
+        discrepancy.setResolvedBy(resolvedBy);
+        discrepancy.setCreatedAt(createdAt);
+        return discrepancyRepository.saveAndFlush(discrepancy);
+    }
+
+    private static List<Long> ids(List<Discrepancy> discrepancies) {
+        return discrepancies.stream().map(Discrepancy::getId).toList();
+    }
+}
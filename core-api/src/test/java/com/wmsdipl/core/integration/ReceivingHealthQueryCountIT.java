@@ -0,0 +1,105 @@
+package com.wmsdipl.core.integration;
+
+import com.wmsdipl.contracts.dto.ReceivingHealthDto;
+import com.wmsdipl.core.domain.Receipt;
+import com.wmsdipl.core.domain.ReceiptStatus;
+import com.wmsdipl.core.domain.Scan;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.repository.ReceiptRepository;
+import com.wmsdipl.core.repository.ScanRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.AnalyticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Query-count regression test for receiving health.
+ * The counters must come from a constant number of statements however many tasks are open;
+ * the previous implementation issued one scan lookup per candidate task.
+ * The analytics cache is disabled so both calls reach the database.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "wms.analytics.cache-ttl-ms=0"
+})
+@ActiveProfiles("test")
+@Transactional
+class ReceivingHealthQueryCountIT {
+
+    private static final int OPEN_TASKS = 25;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ScanRepository scanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldComputeHealthWithOneStatement_RegardlessOfOpenTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        // Period end leaves room for the receipt's own creation time
+        LocalDateTime periodEnd = now.plusHours(1);
+        ReceivingHealthDto baseline = analyticsService.calculateReceivingHealth(now.minusDays(1), periodEnd, 4);
+
+        Receipt receipt = new Receipt();
+        receipt.setDocNo("RCV-HEALTH-" + System.nanoTime());
+        receipt.setDocDate(LocalDate.now());
+        receipt.setStatus(ReceiptStatus.IN_PROGRESS);
+        receipt = receiptRepository.saveAndFlush(receipt);
+        jdbcTemplate.update("UPDATE receipts SET updated_at = ? WHERE id = ?", now.minusHours(10), receipt.getId());
+
+        Task scannedTask = null;
+        for (int i = 0; i < OPEN_TASKS; i++) {
+            Task task = new Task();
+            task.setReceipt(receipt);
+            task.setTaskType(TaskType.RECEIVING);
+            task.setStatus(TaskStatus.IN_PROGRESS);
+            task.setCreatedAt(now.minusHours(12));
+            task.setStartedAt(now.minusHours(8));
+            task = taskRepository.save(task);
+            if (scannedTask == null) {
+                scannedTask = task;
+            }
+        }
+        Scan recentScan = new Scan();
+        recentScan.setTask(scannedTask);
+        recentScan.setRequestId("health-" + System.nanoTime());
+        recentScan.setScannedAt(now.minusMinutes(5));
+        scanRepository.saveAndFlush(recentScan);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ReceivingHealthDto health = analyticsService.calculateReceivingHealth(now.minusDays(1), periodEnd, 4);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(baseline.stuckReceivingReceipts() + 1, health.stuckReceivingReceipts());
+        assertEquals(baseline.staleTasks() + OPEN_TASKS - 1, health.staleTasks());
+    }
+}
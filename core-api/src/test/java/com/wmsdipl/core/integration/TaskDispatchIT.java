@@ -0,0 +1,121 @@
+package com.wmsdipl.core.integration;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.domain.User;
+import com.wmsdipl.core.domain.UserRole;
+import com.wmsdipl.core.domain.Zone;
+import com.wmsdipl.core.repository.LocationRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.repository.UserRepository;
+import com.wmsdipl.core.repository.ZoneRepository;
+import com.wmsdipl.core.service.TaskDispatchService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Pull dispatch against the database: profile filtering, priority and walk order, atomic claim,
+ * and skipping tasks taken behind the queue's back.
+ */
+@SpringBootTest(properties = "wms.dispatch.min-reload-ms=0")
+@ActiveProfiles("test")
+@Transactional
+class TaskDispatchIT {
+
+    @Autowired
+    private TaskDispatchService taskDispatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldClaimBestTaskOfOperatorProfile_AndReturnHeldTaskOnNextPull() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        Zone zone = new Zone();
+        zone.setCode("DZ-" + suffix);
+        zone.setName("Dispatch zone");
+        zone = zoneRepository.saveAndFlush(zone);
+        Location cell1 = location(zone, "D" + suffix + "-01");
+        Location cell2 = location(zone, "D" + suffix + "-02");
+
+        Task farPlacement = task(TaskType.PLACEMENT, 100, cell2.getId());
+        Task nearPlacement = task(TaskType.PLACEMENT, 100, cell1.getId());
+        Task urgentShipping = task(TaskType.SHIPPING, 200, cell1.getId());
+        String placer = operator("placer-" + suffix, Set.of(TaskType.PLACEMENT), zone.getId());
+        String anyType = operator("any-" + suffix, Set.of(), zone.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Task claimed = taskDispatchService.claimNext(placer).orElseThrow();
+        assertEquals(nearPlacement.getId(), claimed.getId());
+        assertEquals(TaskStatus.ASSIGNED, claimed.getStatus());
+        assertEquals(placer, claimed.getAssignee());
+        assertEquals("dispatch", claimed.getAssignedBy());
+        assertEquals(nearPlacement.getId(), taskDispatchService.claimNext(placer).orElseThrow().getId());
+
+        assertEquals(urgentShipping.getId(), taskDispatchService.claimNext(anyType).orElseThrow().getId());
+
+        // Taken by someone else without going through the dispatcher: the stale queue entry is skipped
+        Task taken = taskRepository.findById(farPlacement.getId()).orElseThrow();
+        taken.setStatus(TaskStatus.ASSIGNED);
+        taken.setAssignee("someone-else");
+        taskRepository.saveAndFlush(taken);
+        entityManager.clear();
+
+        assertFalse(taskDispatchService.claimNext(operator("late-" + suffix, Set.of(), zone.getId())).isPresent());
+    }
+
+    private Location location(Zone zone, String code) {
+        Location location = new Location();
+        location.setZone(zone);
+        location.setCode(code);
+        return locationRepository.saveAndFlush(location);
+    }
+
+    private Task task(TaskType taskType, int priority, Long locationId) {
+        Task task = new Task();
+        task.setTaskType(taskType);
+        task.setStatus(TaskStatus.NEW);
+        task.setPriority(priority);
+        if (taskType == TaskType.SHIPPING) {
+            task.setSourceLocationId(locationId);
+        } else {
+            task.setTargetLocationId(locationId);
+        }
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private String operator(String username, Set<TaskType> taskTypes, Long zoneId) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash("{noop}secret");
+        user.setRole(UserRole.OPERATOR);
+        user.getTaskSkills().addAll(taskTypes);
+        user.getZoneIds().add(zoneId);
+        userRepository.saveAndFlush(user);
+        return username;
+    }
+}
@@ -0,0 +1,86 @@
+package com.wmsdipl.core.integration;
+
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
+import com.wmsdipl.contracts.dto.TaskDurationPercentilesDto;
+import com.wmsdipl.core.domain.Receipt;
+import com.wmsdipl.core.domain.ReceiptStatus;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.repository.ReceiptRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.TaskDurationHistogramService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trip of task duration histograms: samples recorded per completion are merged per operator in SQL
+ * and reported as percentiles within the histogram precision.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TaskDurationHistogramIT {
+
+    @Autowired
+    private TaskDurationHistogramService taskDurationHistogramService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void shouldReportOperatorPercentiles_FromRecordedCompletions() {
+        LocalDateTime closedAt = LocalDateTime.now().withMinute(30);
+        String operator = "histogram-" + System.nanoTime();
+
+        Receipt receipt = new Receipt();
+        receipt.setDocNo("RCV-HIST-" + System.nanoTime());
+        receipt.setDocDate(LocalDate.now());
+        receipt.setStatus(ReceiptStatus.IN_PROGRESS);
+        receipt = receiptRepository.saveAndFlush(receipt);
+
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            Task task = new Task();
+            task.setReceipt(receipt);
+            task.setTaskType(TaskType.RECEIVING);
+            task.setStatus(TaskStatus.COMPLETED);
+            task.setAssignee(operator);
+            task.setStartedAt(closedAt.minusMinutes(minutes));
+            task.setClosedAt(closedAt);
+            taskDurationHistogramService.record(taskRepository.save(task));
+        }
+
+        TaskDurationAnalyticsDto result = taskDurationHistogramService.calculatePercentiles(
+            closedAt.minusHours(1), closedAt.plusHours(1)
+        );
+
+        TaskDurationPercentilesDto percentiles = result.byOperator().stream()
+            .filter(dto -> operator.equals(dto.assignee()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("RECEIVING", percentiles.taskType());
+        assertEquals(100L, percentiles.count());
+        assertWithinPrecision(50 / 60.0, percentiles.p50Hours());
+        assertWithinPrecision(90 / 60.0, percentiles.p90Hours());
+        assertWithinPrecision(99 / 60.0, percentiles.p99Hours());
+        assertTrue(result.overall().stream().anyMatch(dto -> "RECEIVING".equals(dto.taskType()) && dto.count() >= 100));
+        assertTrue(result.byZone().stream().anyMatch(dto -> dto.zoneId() == 0L && dto.count() >= 100));
+    }
+
+    private void assertWithinPrecision(double expectedHours, double actualHours) {
+        assertTrue(actualHours >= expectedHours && actualHours <= expectedHours * 1.0625,
+            "expected ~" + expectedHours + "h but was " + actualHours + "h");
+    }
+}
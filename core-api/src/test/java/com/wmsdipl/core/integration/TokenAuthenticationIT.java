@@ -0,0 +1,137 @@
+package com.wmsdipl.core.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wmsdipl.contracts.dto.AuthResponse;
+import com.wmsdipl.core.config.AccessTokenService;
+import com.wmsdipl.core.domain.User;
+import com.wmsdipl.core.domain.UserRole;
+import com.wmsdipl.core.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bearer token authentication end to end: login, protected calls, refresh, and the ASYNC dispatch
+ * of a streaming export authorized by the token of the original request.
+ */
+@SpringBootTest(properties = "wms.auth.token-secret=" + TokenAuthenticationIT.SECRET)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class TokenAuthenticationIT {
+
+    static final String SECRET = "integration-test-token-secret-0123456789";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String username;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        username = "token-admin-" + System.nanoTime();
+        user = new User();
+        user.setUsername(username);
+        user.setPasswordHash(passwordEncoder.encode("secret"));
+        user.setRole(UserRole.ADMIN);
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void shouldAuthorizeBearerToken_AndRejectMissingForgedExpiredOrRefreshToken() throws Exception {
+        AuthResponse tokens = login();
+
+        mockMvc.perform(get("/api/zones").header("Authorization", "Bearer " + tokens.accessToken()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/zones")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/zones").header("Authorization", "Bearer " + foreignKeyToken()))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/zones").header("Authorization", "Bearer " + expiredToken()))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/zones").header("Authorization", "Bearer " + tokens.refreshToken()))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldExchangeRefreshToken_ButNotAccessToken() throws Exception {
+        AuthResponse tokens = login();
+
+        MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + tokens.refreshToken() + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+        AuthResponse pair = objectMapper.readValue(refreshed.getResponse().getContentAsString(), AuthResponse.class);
+        mockMvc.perform(get("/api/zones").header("Authorization", "Bearer " + pair.accessToken()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + tokens.accessToken() + "\"}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldCompleteStreamingExport_OnAsyncDispatch() throws Exception {
+        AuthResponse tokens = login();
+
+        MvcResult started = mockMvc.perform(get("/api/pallets/export")
+                .header("Authorization", "Bearer " + tokens.accessToken()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    private AuthResponse login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class);
+    }
+
+    private String expiredToken() {
+        return new AccessTokenService(SECRET.getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(15), Duration.ofHours(12),
+            Clock.fixed(Instant.now().minus(Duration.ofHours(1)), ZoneOffset.UTC))
+            .issue(username, user.getPasswordHash()).accessToken();
+    }
+
+    private String foreignKeyToken() {
+        return new AccessTokenService("some-other-secret-some-other-secret-0000".getBytes(StandardCharsets.UTF_8),
+            Duration.ofMinutes(15), Duration.ofHours(12), Clock.systemUTC())
+            .issue(username, user.getPasswordHash()).accessToken();
+    }
+}
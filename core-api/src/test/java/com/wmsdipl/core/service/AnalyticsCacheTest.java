@@ -0,0 +1,97 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.TaskType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalyticsCacheTest {
+
+    private static final LocalDateTime TODAY_START = LocalDateTime.of(2026, 2, 5, 0, 0);
+    private static final LocalDateTime TODAY_END = LocalDateTime.of(2026, 2, 5, 23, 59, 59);
+    private static final LocalDateTime YESTERDAY_START = TODAY_START.minusDays(1);
+    private static final LocalDateTime YESTERDAY_END = TODAY_END.minusDays(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldReuseResultForSameViewPeriodAndThreshold_AndCountHitsAndMisses() {
+        AnalyticsCache cache = new AnalyticsCache(meterRegistry, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+        assertEquals(1, loads.get());
+
+        cache.get("receiving-health", TODAY_START, TODAY_END, 4, loads::incrementAndGet);
+        cache.get("receiving-health", TODAY_START, TODAY_END, 8, loads::incrementAndGet);
+        cache.get("receiving", YESTERDAY_START, YESTERDAY_END, null, loads::incrementAndGet);
+        assertEquals(4, loads.get());
+
+        assertEquals(1.0, meterRegistry.get("wms.analytics.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(4.0, meterRegistry.get("wms.analytics.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(4.0, meterRegistry.get("wms.analytics.cache.size").gauge().value());
+    }
+
+    @Test
+    void shouldEvictOnlyPeriodsCoveringTheChange() {
+        AnalyticsCache cache = new AnalyticsCache(meterRegistry, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+        cache.get("receiving", YESTERDAY_START, YESTERDAY_END, null, loads::incrementAndGet);
+
+        cache.onTaskCompleted(new TaskCompletedEvent(1L, 2L, TaskType.RECEIVING, "operator", TODAY_START.plusHours(10)));
+
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+        cache.get("receiving", YESTERDAY_START, YESTERDAY_END, null, loads::incrementAndGet);
+        assertEquals(3, loads.get());
+
+        cache.onDiscrepancyCreated(new DiscrepancyCreatedEvent(5L, 2L, "DAMAGE", YESTERDAY_START.plusHours(1)));
+
+        cache.get("receiving", YESTERDAY_START, YESTERDAY_END, null, loads::incrementAndGet);
+        assertEquals(4, loads.get());
+        assertEquals(2.0, meterRegistry.get("wms.analytics.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void shouldMatchPeriodStartByWholeHour() {
+        AnalyticsCache cache = new AnalyticsCache(meterRegistry, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        LocalDateTime start = TODAY_START.plusHours(9).plusMinutes(30);
+        cache.get("receiving", start, TODAY_END, null, loads::incrementAndGet);
+
+        cache.invalidate(TODAY_START.plusHours(9).plusMinutes(10));
+
+        cache.get("receiving", start, TODAY_END, null, loads::incrementAndGet);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotStoreResultLoadedAcrossAnInvalidation() {
+        AnalyticsCache cache = new AnalyticsCache(meterRegistry, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("receiving", TODAY_START, TODAY_END, null, () -> {
+            cache.invalidate(TODAY_START.plusHours(1));
+            return loads.incrementAndGet();
+        });
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldAlwaysLoad_WhenTtlIsZero() {
+        AnalyticsCache cache = new AnalyticsCache(meterRegistry, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+        cache.get("receiving", TODAY_START, TODAY_END, null, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+}
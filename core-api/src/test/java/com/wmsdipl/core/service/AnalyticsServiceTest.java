@@ -2,24 +2,19 @@ package com.wmsdipl.core.service;
 
 import com.wmsdipl.contracts.dto.ReceivingAnalyticsDto;
 import com.wmsdipl.contracts.dto.ReceivingHealthDto;
-import com.wmsdipl.core.domain.Discrepancy;
-import com.wmsdipl.core.domain.Pallet;
-import com.wmsdipl.core.domain.PalletStatus;
-import com.wmsdipl.core.domain.Receipt;
-import com.wmsdipl.core.domain.ReceiptStatus;
-import com.wmsdipl.core.domain.Task;
-import com.wmsdipl.core.domain.TaskStatus;
-import com.wmsdipl.core.domain.TaskType;
-import com.wmsdipl.core.repository.DiscrepancyRepository;
-import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
 import com.wmsdipl.core.repository.ReceiptRepository;
-import com.wmsdipl.core.repository.ScanRepository;
-import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.repository.ReceivingHealthCounts;
+import com.wmsdipl.core.service.AnalyticsRollupService.MetricTotal;
+import com.wmsdipl.core.service.AnalyticsRollupService.ReceiptStatusTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -27,10 +22,15 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,85 +40,37 @@ class AnalyticsServiceTest {
     private ReceiptRepository receiptRepository;
 
     @Mock
-    private TaskRepository taskRepository;
-
-    @Mock
-    private PalletRepository palletRepository;
+    private CsvExportService csvExportService;
 
     @Mock
-    private DiscrepancyRepository discrepancyRepository;
+    private AnalyticsRollupService analyticsRollupService;
 
     @Mock
-    private ScanRepository scanRepository;
+    private TaskDurationHistogramService taskDurationHistogramService;
 
-    @Mock
-    private CsvExportService csvExportService;
+    @Spy
+    private AnalyticsCache analyticsCache = new AnalyticsCache(new SimpleMeterRegistry(), 0);
 
     @InjectMocks
     private AnalyticsService analyticsService;
 
     @Test
-    void shouldCalculateMetricsAccurately_WhenDataExists() {
+    void shouldCalculateMetricsFromRollups_AfterRefreshing() {
         LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
         LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
 
-        Receipt receipt1 = new Receipt();
-        receipt1.setId(1L);
-        receipt1.setStatus(ReceiptStatus.ACCEPTED);
-        receipt1.setCreatedAt(from.plusHours(1));
-
-        Receipt receipt2 = new Receipt();
-        receipt2.setId(2L);
-        receipt2.setStatus(ReceiptStatus.IN_PROGRESS);
-        receipt2.setCreatedAt(from.plusHours(2));
-
-        Discrepancy discrepancy1 = new Discrepancy();
-        discrepancy1.setReceipt(receipt1);
-        discrepancy1.setType("DAMAGE");
-        discrepancy1.setCreatedAt(from.plusHours(3));
-
-        Discrepancy discrepancy2 = new Discrepancy();
-        discrepancy2.setReceipt(receipt1);
-        discrepancy2.setType("UNDER_QTY");
-        discrepancy2.setCreatedAt(from.plusHours(4));
-
-        Pallet pallet1 = new Pallet();
-        pallet1.setStatus(PalletStatus.DAMAGED);
-        pallet1.setCreatedAt(from.plusHours(2));
-        pallet1.setReceipt(receipt1);
-
-        Pallet pallet2 = new Pallet();
-        pallet2.setStatus(PalletStatus.RECEIVED);
-        pallet2.setCreatedAt(from.plusHours(5));
-        pallet2.setReceipt(receipt2);
-
-        Task task1 = new Task();
-        task1.setReceipt(receipt1);
-        task1.setTaskType(TaskType.RECEIVING);
-        task1.setStatus(TaskStatus.COMPLETED);
-        task1.setStartedAt(receipt1.getCreatedAt().plusHours(1));
-        task1.setClosedAt(receipt1.getCreatedAt().plusHours(3));
-
-        Task task2 = new Task();
-        task2.setReceipt(receipt2);
-        task2.setTaskType(TaskType.RECEIVING);
-        task2.setStatus(TaskStatus.COMPLETED);
-        task2.setStartedAt(receipt2.getCreatedAt().plusHours(1));
-        task2.setClosedAt(receipt2.getCreatedAt().plusHours(2));
-
-        Task placementTask = new Task();
-        placementTask.setReceipt(receipt1);
-        placementTask.setTaskType(TaskType.PLACEMENT);
-        placementTask.setStatus(TaskStatus.COMPLETED);
-        placementTask.setStartedAt(receipt1.getCreatedAt().plusHours(3));
-        placementTask.setClosedAt(receipt1.getCreatedAt().plusHours(4));
-
-        when(receiptRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(receipt1, receipt2));
-        when(receiptRepository.findAllById(any())).thenReturn(List.of(receipt1, receipt2));
-        when(discrepancyRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(discrepancy1, discrepancy2));
-        when(palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(from, to)).thenReturn(List.of(pallet1, pallet2));
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.RECEIVING, from, to)).thenReturn(List.of(task1, task2));
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.PLACEMENT, from, to)).thenReturn(List.of(placementTask));
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of(
+            new MetricTotal(AnalyticsRollupService.METRIC_DISCREPANCY_TYPE, "DAMAGE", 1, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_DISCREPANCY_TYPE, "UNDER_QTY", 1, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_PALLET_STATUS, "DAMAGED", 1, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_PALLET_STATUS, "RECEIVED", 1, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_TASK_DURATION, "RECEIVING", 2, 3 * 3600),
+            new MetricTotal(AnalyticsRollupService.METRIC_TASK_DURATION, "PLACEMENT", 1, 3600)
+        ));
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of(
+            new ReceiptStatusTotal("ACCEPTED", 1, 1, 1, 1),
+            new ReceiptStatusTotal("IN_PROGRESS", 1, 0, 0, 0)
+        ));
 
         ReceivingAnalyticsDto result = analyticsService.calculateAnalytics(from, to);
 
@@ -127,120 +79,80 @@ class AnalyticsServiceTest {
         assertEquals(1, result.receiptsByStatus().get("IN_PROGRESS"));
         assertEquals(1, result.discrepanciesByType().get("DAMAGE"));
         assertEquals(1, result.discrepanciesByType().get("UNDER_QTY"));
+        assertEquals(1, result.palletsByStatus().get("DAMAGED"));
         assertEquals(50.0, result.discrepancyRate(), 0.0001);
         assertEquals(50.0, result.damagedPalletsRate(), 0.0001);
         assertEquals(1.5, result.avgReceivingTimeHours(), 0.0001);
         assertEquals(1.0, result.avgPlacingTimeHours(), 0.0001);
+
+        InOrder inOrder = inOrder(analyticsRollupService);
+        inOrder.verify(analyticsRollupService).refresh();
+        inOrder.verify(analyticsRollupService).sumMetrics(from, to);
+        verifyNoInteractions(receiptRepository);
     }
 
     @Test
-    void shouldReturnNonZeroDiscrepancyRate_WhenReceiptCreatedOutsidePeriod() {
+    void shouldCalculateDamageRate_FromDamagedPalletReceipts_WhenNoDamageDiscrepancies() {
         LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
         LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
 
-        Receipt oldReceipt = new Receipt();
-        oldReceipt.setId(10L);
-        oldReceipt.setStatus(ReceiptStatus.PLACING);
-        oldReceipt.setCreatedAt(from.minusMonths(1));
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of(
+            new ReceiptStatusTotal("IN_PROGRESS", 2, 2, 0, 1)
+        ));
+
+        ReceivingAnalyticsDto result = analyticsService.calculateAnalytics(from, to);
+
+        assertEquals(100.0, result.discrepancyRate(), 0.0001);
+        assertEquals(50.0, result.damagedPalletsRate(), 0.0001);
+    }
 
-        Discrepancy discrepancy = new Discrepancy();
-        discrepancy.setReceipt(oldReceipt);
-        discrepancy.setType("UNDER_QTY");
-        discrepancy.setCreatedAt(from.plusDays(1));
+    @Test
+    void shouldCalculateDamageRate_FromDamageDiscrepancyReceipts_WhenPresent() {
+        LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
 
-        when(receiptRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of());
-        when(receiptRepository.findAllById(any())).thenReturn(List.of(oldReceipt));
-        when(discrepancyRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(discrepancy));
-        when(palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(from, to)).thenReturn(List.of());
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.RECEIVING, from, to)).thenReturn(List.of());
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.PLACEMENT, from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of(
+            new ReceiptStatusTotal("IN_PROGRESS", 4, 2, 1, 3)
+        ));
 
         ReceivingAnalyticsDto result = analyticsService.calculateAnalytics(from, to);
 
-        assertEquals(100.0, result.discrepancyRate(), 0.0001);
-        assertEquals(0.0, result.damagedPalletsRate(), 0.0001);
-        assertEquals(1, result.receiptsByStatus().get("PLACING"));
+        assertEquals(25.0, result.damagedPalletsRate(), 0.0001);
     }
 
     @Test
-    void shouldCalculateDamageRate_FromDamagedPalletReceipts_WhenNoDamageDiscrepancies() {
+    void shouldReturnZeroRates_WhenNoReceiptsTouched() {
         LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
         LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
 
-        Receipt receipt = new Receipt();
-        receipt.setId(7L);
-        receipt.setStatus(ReceiptStatus.IN_PROGRESS);
-        receipt.setCreatedAt(from.plusHours(1));
-
-        Discrepancy discrepancy = new Discrepancy();
-        discrepancy.setReceipt(receipt);
-        discrepancy.setType("UNDER_QTY");
-        discrepancy.setCreatedAt(from.plusHours(2));
-
-        Pallet damagedPallet = new Pallet();
-        damagedPallet.setStatus(PalletStatus.DAMAGED);
-        damagedPallet.setCreatedAt(from.plusHours(3));
-        damagedPallet.setReceipt(receipt);
-
-        Pallet regularPallet = new Pallet();
-        regularPallet.setStatus(PalletStatus.RECEIVED);
-        regularPallet.setCreatedAt(from.plusHours(4));
-        regularPallet.setReceipt(receipt);
-
-        when(receiptRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(receipt));
-        when(receiptRepository.findAllById(any())).thenReturn(List.of(receipt));
-        when(discrepancyRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(discrepancy));
-        when(palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(from, to))
-            .thenReturn(List.of(damagedPallet, regularPallet));
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.RECEIVING, from, to)).thenReturn(List.of());
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.PLACEMENT, from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of());
 
         ReceivingAnalyticsDto result = analyticsService.calculateAnalytics(from, to);
 
-        assertEquals(100.0, result.damagedPalletsRate(), 0.0001);
+        assertEquals(0.0, result.discrepancyRate(), 0.0001);
+        assertEquals(0.0, result.damagedPalletsRate(), 0.0001);
+        assertEquals(0.0, result.avgReceivingTimeHours(), 0.0001);
+        assertTrue(result.receiptsByStatus().isEmpty());
     }
 
     @Test
-    void shouldCalculateDamageRate_FromDamageDiscrepancyReceipts_WhenNoDamagedPallets() {
+    void shouldOrderCountsDescending() {
         LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
         LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
 
-        Receipt receipt = new Receipt();
-        receipt.setId(11L);
-        receipt.setStatus(ReceiptStatus.IN_PROGRESS);
-        receipt.setCreatedAt(from.plusHours(1));
-
-        Discrepancy damage = new Discrepancy();
-        damage.setReceipt(receipt);
-        damage.setType("DAMAGE");
-        damage.setCreatedAt(from.plusHours(2));
-
-        Discrepancy underQty = new Discrepancy();
-        underQty.setReceipt(receipt);
-        underQty.setType("UNDER_QTY");
-        underQty.setCreatedAt(from.plusHours(3));
-
-        Pallet regularPallet1 = new Pallet();
-        regularPallet1.setStatus(PalletStatus.RECEIVED);
-        regularPallet1.setCreatedAt(from.plusHours(2));
-        regularPallet1.setReceipt(receipt);
-
-        Pallet regularPallet2 = new Pallet();
-        regularPallet2.setStatus(PalletStatus.PLACED);
-        regularPallet2.setCreatedAt(from.plusHours(4));
-        regularPallet2.setReceipt(receipt);
-
-        when(receiptRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(receipt));
-        when(receiptRepository.findAllById(any())).thenReturn(List.of(receipt));
-        when(discrepancyRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(damage, underQty));
-        when(palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(from, to))
-            .thenReturn(List.of(regularPallet1, regularPallet2));
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.RECEIVING, from, to)).thenReturn(List.of());
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.PLACEMENT, from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of(
+            new MetricTotal(AnalyticsRollupService.METRIC_PALLET_STATUS, "RECEIVED", 2, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_PALLET_STATUS, "PLACED", 5, 0),
+            new MetricTotal(AnalyticsRollupService.METRIC_PALLET_STATUS, "DAMAGED", 2, 0)
+        ));
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of());
 
         ReceivingAnalyticsDto result = analyticsService.calculateAnalytics(from, to);
 
-        assertEquals(100.0, result.damagedPalletsRate(), 0.0001);
+        assertEquals(List.of("PLACED", "DAMAGED", "RECEIVED"), List.copyOf(result.palletsByStatus().keySet()));
     }
 
     @Test
@@ -248,24 +160,12 @@ class AnalyticsServiceTest {
         LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
         LocalDateTime to = LocalDateTime.of(2026, 2, 1, 23, 59, 59);
 
-        Receipt receipt = new Receipt();
-        receipt.setId(1L);
-        receipt.setStatus(ReceiptStatus.ACCEPTED);
-        receipt.setCreatedAt(from.plusHours(1));
-
-        Task task = new Task();
-        task.setReceipt(receipt);
-        task.setTaskType(TaskType.RECEIVING);
-        task.setStatus(TaskStatus.COMPLETED);
-        task.setStartedAt(receipt.getCreatedAt().plusHours(1));
-        task.setClosedAt(receipt.getCreatedAt().plusHours(2));
-
-        when(receiptRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of(receipt));
-        when(receiptRepository.findAllById(any())).thenReturn(List.of(receipt));
-        when(discrepancyRepository.findByCreatedAtBetween(from, to)).thenReturn(List.of());
-        when(palletRepository.findByCreatedAtBetweenAndReceiptIsNotNull(from, to)).thenReturn(List.of());
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.RECEIVING, from, to)).thenReturn(List.of(task));
-        when(taskRepository.findByTaskTypeAndClosedAtBetween(TaskType.PLACEMENT, from, to)).thenReturn(List.of());
+        when(analyticsRollupService.sumMetrics(from, to)).thenReturn(List.of(
+            new MetricTotal(AnalyticsRollupService.METRIC_TASK_DURATION, "RECEIVING", 1, 3600)
+        ));
+        when(analyticsRollupService.sumReceipts(from, to)).thenReturn(List.of(
+            new ReceiptStatusTotal("ACCEPTED", 1, 0, 0, 0)
+        ));
         when(csvExportService.generateCsv(anyList(), anyList())).thenReturn(new byte[] {1, 2, 3});
 
         byte[] exported = analyticsService.exportAnalyticsCsv(from, to);
@@ -278,6 +178,7 @@ class AnalyticsServiceTest {
         assertEquals(true, rowsCaptor.getValue().stream().anyMatch(row -> row.get(0).equals("fromDate")));
         assertEquals(true, rowsCaptor.getValue().stream().anyMatch(row -> row.get(0).equals("toDate")));
         assertEquals(true, rowsCaptor.getValue().stream().anyMatch(row -> row.get(0).equals("avgPlacingTimeHours")));
+        assertEquals(true, rowsCaptor.getValue().stream().anyMatch(row -> row.get(0).equals("receiptsByStatus.ACCEPTED")));
     }
 
     @Test
@@ -286,47 +187,24 @@ class AnalyticsServiceTest {
         LocalDateTime to = LocalDateTime.of(2026, 2, 1, 23, 59, 59);
 
         assertThrows(IllegalArgumentException.class, () -> analyticsService.calculateAnalytics(from, to));
+        verifyNoInteractions(analyticsRollupService);
     }
 
     @Test
-    void shouldCalculateReceivingHealth_WhenDataExists() {
+    void shouldCalculateReceivingHealth_WithSingleAggregatedQuery() {
         LocalDateTime from = LocalDateTime.now().minusDays(7);
         LocalDateTime to = LocalDateTime.now();
-
-        Receipt stuckReceiving = new Receipt();
-        stuckReceiving.setStatus(ReceiptStatus.IN_PROGRESS);
-        stuckReceiving.setCreatedAt(LocalDateTime.now().minusDays(2));
-        stuckReceiving.setUpdatedAt(LocalDateTime.now().minusHours(10));
-
-        Receipt stuckPlacing = new Receipt();
-        stuckPlacing.setStatus(ReceiptStatus.PLACING);
-        stuckPlacing.setCreatedAt(LocalDateTime.now().minusDays(1));
-        stuckPlacing.setUpdatedAt(LocalDateTime.now().minusHours(9));
-
-        Task staleTask = new Task();
-        staleTask.setId(1L);
-        staleTask.setTaskType(TaskType.RECEIVING);
-        staleTask.setStatus(TaskStatus.IN_PROGRESS);
-        staleTask.setCreatedAt(LocalDateTime.now().minusDays(1));
-        staleTask.setStartedAt(LocalDateTime.now().minusHours(8));
-
-        Discrepancy resolved = new Discrepancy();
-        resolved.setResolved(true);
-        resolved.setType("UNDER_QTY");
-        resolved.setCreatedAt(LocalDateTime.now().minusDays(1));
-
-        when(receiptRepository.findByStatusAndUpdatedAtBefore(eq(ReceiptStatus.IN_PROGRESS), any()))
-            .thenReturn(List.of(stuckReceiving));
-        when(receiptRepository.findByStatusAndUpdatedAtBefore(eq(ReceiptStatus.PLACING), any()))
-            .thenReturn(List.of(stuckPlacing));
-        when(receiptRepository.findByStatusAndUpdatedAtBefore(eq(ReceiptStatus.READY_FOR_SHIPMENT), any()))
-            .thenReturn(List.of());
-        when(receiptRepository.findByStatusAndUpdatedAtBefore(eq(ReceiptStatus.SHIPPING_IN_PROGRESS), any()))
-            .thenReturn(List.of());
-        when(taskRepository.findAll()).thenReturn(List.of(staleTask));
-        when(scanRepository.existsByTaskIdAndScannedAtAfter(eq(1L), any())).thenReturn(false);
-        when(discrepancyRepository.findByCreatedAtBetween(any(), any())).thenReturn(List.of(resolved));
-
+        ReceivingHealthCounts counts = mock(ReceivingHealthCounts.class);
+        when(counts.getStuckReceivingReceipts()).thenReturn(1L);
+        when(counts.getStuckPlacingReceipts()).thenReturn(1L);
+        when(counts.getStuckReadyForShipmentReceipts()).thenReturn(0L);
+        when(counts.getStuckShippingInProgressReceipts()).thenReturn(null);
+        when(counts.getStaleTasks()).thenReturn(1L);
+        when(counts.getAutoResolvedDiscrepancies()).thenReturn(1L);
+        when(counts.getCriticalDiscrepancies()).thenReturn(1L);
+        when(receiptRepository.countReceivingHealth(eq(from), eq(to), any())).thenReturn(counts);
+
+        LocalDateTime before = LocalDateTime.now().minusHours(4);
         ReceivingHealthDto result = analyticsService.calculateReceivingHealth(from, to, 4);
 
         assertEquals(1L, result.stuckReceivingReceipts());
@@ -336,5 +214,41 @@ class AnalyticsServiceTest {
         assertEquals(1L, result.staleTasks());
         assertEquals(1L, result.autoResolvedDiscrepancies());
         assertEquals(1L, result.criticalDiscrepancies());
+
+        ArgumentCaptor<LocalDateTime> threshold = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(receiptRepository).countReceivingHealth(eq(from), eq(to), threshold.capture());
+        assertTrue(!threshold.getValue().isBefore(before));
+        verifyNoMoreInteractions(receiptRepository);
+        verifyNoInteractions(analyticsRollupService);
+    }
+
+    @Test
+    void shouldRejectNonPositiveHealthThreshold() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime to = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.calculateReceivingHealth(from, to, 0));
+        verifyNoInteractions(receiptRepository);
+    }
+
+    @Test
+    void shouldDelegateTaskDurationPercentilesToHistograms() {
+        LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 7, 23, 59, 59);
+        TaskDurationAnalyticsDto dto = new TaskDurationAnalyticsDto(
+            from.toLocalDate(), to.toLocalDate(), List.of(), List.of(), List.of()
+        );
+        when(taskDurationHistogramService.calculatePercentiles(from, to)).thenReturn(dto);
+
+        assertEquals(dto, analyticsService.calculateTaskDurations(from, to));
+    }
+
+    @Test
+    void shouldRejectInvalidPeriod_ForTaskDurations() {
+        LocalDateTime from = LocalDateTime.of(2026, 2, 7, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 1, 0, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.calculateTaskDurations(from, to));
+        verifyNoInteractions(taskDurationHistogramService);
     }
 }
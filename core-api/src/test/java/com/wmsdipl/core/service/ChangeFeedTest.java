@@ -0,0 +1,159 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.contracts.dto.ChangeEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChangeFeed changeFeed = new ChangeFeed(meterRegistry, 60_000, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(changeFeed);
+    }
+
+    @Test
+    void shouldSendReadyOnSubscribe_AndChangesImmediatelyOutsideTransaction() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.subscribe(emitter);
+
+        changeFeed.record(ChangeFeed.EntityType.PALLET, 7L, 3L, ChangeFeed.Action.UPDATED);
+
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:ready"));
+        assertEquals(List.of(new ChangeEventDto("PALLET", 7L, "UPDATED", 3L)), emitter.changes.get(0));
+        assertEquals(1.0, meterRegistry.get("wms.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void shouldSendOneCoalescedEventAfterCommit() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.subscribe(emitter);
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeFeed.record(ChangeFeed.EntityType.TASK, 1L, null, ChangeFeed.Action.CREATED);
+        changeFeed.record(ChangeFeed.EntityType.TASK, 1L, 5L, ChangeFeed.Action.UPDATED);
+        changeFeed.record(ChangeFeed.EntityType.RECEIPT, 5L, 5L, ChangeFeed.Action.UPDATED);
+        changeFeed.record(ChangeFeed.EntityType.PALLET, 9L, 5L, ChangeFeed.Action.UPDATED);
+        changeFeed.record(ChangeFeed.EntityType.PALLET, 9L, 5L, ChangeFeed.Action.DELETED);
+        assertEquals(1, emitter.events.size());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(
+            new ChangeEventDto("TASK", 1L, "CREATED", 5L),
+            new ChangeEventDto("RECEIPT", 5L, "UPDATED", 5L),
+            new ChangeEventDto("PALLET", 9L, "DELETED", 5L)
+        ), emitter.changes.get(0));
+        assertNull(TransactionSynchronizationManager.getResource(changeFeed));
+    }
+
+    @Test
+    void shouldNotSendRolledBackChanges() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.subscribe(emitter);
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeFeed.record(ChangeFeed.EntityType.DISCREPANCY, 4L, 2L, ChangeFeed.Action.CREATED);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.changes.isEmpty());
+    }
+
+    @Test
+    void shouldDeliverChangeCommittedWhileSubscribing() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.beforeFirstSend = () -> changeFeed.record(ChangeFeed.EntityType.TASK, 3L, null, ChangeFeed.Action.UPDATED);
+
+        changeFeed.subscribe(emitter);
+
+        assertEquals(List.of(List.of(new ChangeEventDto("TASK", 3L, "UPDATED", null))), emitter.changes);
+        assertTrue(emitter.events.get(1).contains("event:ready"));
+        assertTrue(emitter.events.get(1).contains("id:0"));
+        assertEquals(1, changeFeed.subscriberCount());
+    }
+
+    @Test
+    void shouldNotRegisterSubscriber_WhenReadyFails() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+
+        changeFeed.subscribe(emitter);
+
+        assertEquals(0, changeFeed.subscriberCount());
+        assertEquals(1, emitter.attempts);
+    }
+
+    @Test
+    void shouldDropSubscriberWhenSendFails() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.subscribe(emitter);
+        emitter.failing = true;
+
+        changeFeed.record(ChangeFeed.EntityType.TASK, 1L, null, ChangeFeed.Action.UPDATED);
+        changeFeed.record(ChangeFeed.EntityType.TASK, 2L, null, ChangeFeed.Action.UPDATED);
+
+        assertEquals(0, changeFeed.subscriberCount());
+        assertEquals(1, emitter.attempts);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Object> changes = new ArrayList<>();
+        private boolean failing;
+        private int attempts;
+        private Runnable beforeFirstSend;
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            if (beforeFirstSend != null) {
+                Runnable action = beforeFirstSend;
+                beforeFirstSend = null;
+                action.run();
+            }
+            if (failing) {
+                attempts++;
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType item : items) {
+                if (item.getData() instanceof String part) {
+                    text.append(part);
+                } else if (item.getData() instanceof List<?> list) {
+                    changes.add(list);
+                }
+            }
+            events.add(text.toString());
+        }
+    }
+}
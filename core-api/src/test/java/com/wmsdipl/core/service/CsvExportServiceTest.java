@@ -1,7 +1,5 @@
 package com.wmsdipl.core.service;
 
-import com.wmsdipl.core.domain.Pallet;
-import com.wmsdipl.core.domain.PalletStatus;
 import com.wmsdipl.core.domain.Receipt;
 import com.wmsdipl.core.domain.ReceiptLine;
 import com.wmsdipl.core.domain.ReceiptStatus;
@@ -99,28 +97,6 @@ class CsvExportServiceTest {
         assertTrue(result.contains("1,,100"));
     }
 
-    @Test
-    void shouldExportReceipts_WhenReceiptsProvided() throws Exception {
-        // Given
-        Receipt receipt1 = createReceipt(1L, "RCP-001", "SUP-001", ReceiptStatus.DRAFT);
-        Receipt receipt2 = createReceipt(2L, "RCP-002", "SUP-002", ReceiptStatus.ACCEPTED);
-        List<Receipt> receipts = Arrays.asList(receipt1, receipt2);
-
-        // When
-        byte[] csv = csvExportService.exportReceipts(receipts);
-        String result = new String(csv, StandardCharsets.UTF_8);
-
-        // Then
-        assertNotNull(csv);
-        assertTrue(result.contains("ID,Doc No,Doc Date,Supplier,Status"));
-        assertTrue(result.contains("RCP-001"));
-        assertTrue(result.contains("RCP-002"));
-        assertTrue(result.contains("SUP-001"));
-        assertTrue(result.contains("SUP-002"));
-        assertTrue(result.contains("DRAFT"));
-        assertTrue(result.contains("ACCEPTED"));
-    }
-
     @Test
     void shouldExportReceiptWithLines_WhenLinesExist() throws Exception {
         // Given
@@ -144,26 +120,6 @@ class CsvExportServiceTest {
         assertTrue(result.contains("20")); // Quantity
     }
 
-    @Test
-    void shouldExportPallets_WhenPalletsProvided() throws Exception {
-        // Given
-        Pallet pallet1 = createPallet(1L, "PLT-001", PalletStatus.EMPTY);
-        Pallet pallet2 = createPallet(2L, "PLT-002", PalletStatus.PLACED);
-        List<Pallet> pallets = Arrays.asList(pallet1, pallet2);
-
-        // When
-        byte[] csv = csvExportService.exportPallets(pallets);
-        String result = new String(csv, StandardCharsets.UTF_8);
-
-        // Then
-        assertNotNull(csv);
-        assertTrue(result.contains("ID,Code,Code Type,Status"));
-        assertTrue(result.contains("PLT-001"));
-        assertTrue(result.contains("PLT-002"));
-        assertTrue(result.contains("EMPTY"));
-        assertTrue(result.contains("PLACED"));
-    }
-
     @Test
     void shouldExportEmptyList_WhenNoDataProvided() {
         // Given
@@ -245,21 +201,4 @@ class CsvExportServiceTest {
 
         return line;
     }
-
-    private Pallet createPallet(Long id, String code, PalletStatus status) throws Exception {
-        Pallet pallet = new Pallet();
-        pallet.setCode(code);
-        pallet.setCodeType("INTERNAL");
-        pallet.setStatus(status);
-        pallet.setSkuId(1L);
-        pallet.setQuantity(BigDecimal.TEN);
-        pallet.setUom("ШТ");
-
-        // Set ID using reflection
-        java.lang.reflect.Field idField = Pallet.class.getDeclaredField("id");
-        idField.setAccessible(true);
-        idField.set(pallet, id);
-
-        return pallet;
-    }
 }
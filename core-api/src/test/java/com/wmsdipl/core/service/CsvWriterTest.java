@@ -0,0 +1,43 @@
+package com.wmsdipl.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    void shouldWriteBomAndRowsCellByCell() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+
+        writer.writeRow(List.of("ID", "Code"));
+        writer.value("1").value((String) null).value(LocalDate.of(2026, 2, 1)).endRow();
+        writer.flush();
+
+        byte[] bytes = out.toByteArray();
+        assertEquals((byte) 0xEF, bytes[0]);
+        assertEquals((byte) 0xBB, bytes[1]);
+        assertEquals((byte) 0xBF, bytes[2]);
+        assertEquals("ID,Code" + NL + "1,,2026-02-01" + NL, new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldQuoteOnlyValuesThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+
+        writer.value("plain").value("a,b").value("say \"hi\"").value("two\nlines").value("ПАЛЛЕТА").endRow();
+        writer.flush();
+
+        String csv = new String(out.toByteArray(), 3, out.size() - 3, StandardCharsets.UTF_8);
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",ПАЛЛЕТА" + NL, csv);
+    }
+}
@@ -1,30 +1,24 @@
 package com.wmsdipl.core.service;
 
-import com.wmsdipl.core.repository.PalletRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for DuplicateScanDetectionService.
  * Tests duplicate detection and scan caching logic.
  */
-@ExtendWith(MockitoExtension.class)
 class DuplicateScanDetectionServiceTest {
 
-    @Mock
-    private PalletRepository palletRepository;
-
     private DuplicateScanDetectionService service;
 
     @BeforeEach
     void setUp() {
-        service = new DuplicateScanDetectionService(palletRepository);
+        service = new DuplicateScanDetectionService();
         service.clearAllScans(); // Clear cache before each test
     }
 
@@ -32,15 +26,13 @@ class DuplicateScanDetectionServiceTest {
     void shouldAllowFirstScan_WhenBarcodeNotScannedBefore() {
         // Given
         String barcode = "PLT-001";
-        when(palletRepository.existsByCode(barcode)).thenReturn(false);
 
         // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(barcode);
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan(barcode);
 
         // Then
         assertTrue(result.isValid());
         assertFalse(result.isDuplicate());
-        assertFalse(result.existsInDatabase());
         assertEquals(barcode, result.barcode());
     }
 
@@ -48,16 +40,15 @@ class DuplicateScanDetectionServiceTest {
     void shouldDetectDuplicate_WhenScannedTwiceQuickly() throws InterruptedException {
         // Given
         String barcode = "PLT-001";
-        when(palletRepository.existsByCode(barcode)).thenReturn(false);
 
         // When - scan first time
-        DuplicateScanDetectionService.ScanResult firstScan = service.checkScan(barcode);
+        DuplicateScanDetectionService.ScanResult firstScan = service.checkRecentScan(barcode);
         
         // Wait a bit but less than window
         Thread.sleep(1000);
         
         // Scan again
-        DuplicateScanDetectionService.ScanResult secondScan = service.checkScan(barcode);
+        DuplicateScanDetectionService.ScanResult secondScan = service.checkRecentScan(barcode);
 
         // Then
         assertTrue(firstScan.isValid());
@@ -72,41 +63,24 @@ class DuplicateScanDetectionServiceTest {
     void shouldAllowRescan_AfterClearingScan() {
         // Given
         String barcode = "PLT-001";
-        when(palletRepository.existsByCode(barcode)).thenReturn(false);
 
         // When
-        service.checkScan(barcode); // First scan
+        service.checkRecentScan(barcode); // First scan
         service.clearScan(barcode);  // Clear from cache
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(barcode); // Scan again
-
-        // Then
-        assertTrue(result.isValid());
-        assertFalse(result.isDuplicate());
-    }
-
-    @Test
-    void shouldIndicateExistence_WhenBarcodeInDatabase() {
-        // Given
-        String barcode = "PLT-EXISTING";
-        when(palletRepository.existsByCode(barcode)).thenReturn(true);
-
-        // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(barcode);
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan(barcode); // Scan again
 
         // Then
         assertTrue(result.isValid());
         assertFalse(result.isDuplicate());
-        assertTrue(result.existsInDatabase());
     }
 
     @Test
     void shouldNormalizeBarcode_ToUpperCase() {
         // Given
         String lowercase = "plt-001";
-        when(palletRepository.existsByCode("PLT-001")).thenReturn(false);
 
         // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(lowercase);
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan(lowercase);
 
         // Then
         assertTrue(result.isValid());
@@ -116,7 +90,7 @@ class DuplicateScanDetectionServiceTest {
     @Test
     void shouldReject_EmptyBarcode() {
         // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan("");
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan("");
 
         // Then
         assertFalse(result.isValid());
@@ -126,7 +100,7 @@ class DuplicateScanDetectionServiceTest {
     @Test
     void shouldReject_NullBarcode() {
         // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(null);
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan(null);
 
         // Then
         assertFalse(result.isValid());
@@ -135,16 +109,13 @@ class DuplicateScanDetectionServiceTest {
     @Test
     void shouldClearAllScans_WhenRequested() {
         // Given
-        when(palletRepository.existsByCode("PLT-001")).thenReturn(false);
-        when(palletRepository.existsByCode("PLT-002")).thenReturn(false);
-        
-        service.checkScan("PLT-001");
-        service.checkScan("PLT-002");
+        service.checkRecentScan("PLT-001");
+        service.checkRecentScan("PLT-002");
 
         // When
         service.clearAllScans();
-        DuplicateScanDetectionService.ScanResult result1 = service.checkScan("PLT-001");
-        DuplicateScanDetectionService.ScanResult result2 = service.checkScan("PLT-002");
+        DuplicateScanDetectionService.ScanResult result1 = service.checkRecentScan("PLT-001");
+        DuplicateScanDetectionService.ScanResult result2 = service.checkRecentScan("PLT-002");
 
         // Then
         assertTrue(result1.isValid());
@@ -158,12 +129,10 @@ class DuplicateScanDetectionServiceTest {
         // Given
         String barcode1 = "PLT-001";
         String barcode2 = "PLT-002";
-        when(palletRepository.existsByCode(barcode1)).thenReturn(false);
-        when(palletRepository.existsByCode(barcode2)).thenReturn(false);
 
         // When
-        DuplicateScanDetectionService.ScanResult result1 = service.checkScan(barcode1);
-        DuplicateScanDetectionService.ScanResult result2 = service.checkScan(barcode2);
+        DuplicateScanDetectionService.ScanResult result1 = service.checkRecentScan(barcode1);
+        DuplicateScanDetectionService.ScanResult result2 = service.checkRecentScan(barcode2);
 
         // Then
         assertTrue(result1.isValid());
@@ -176,13 +145,68 @@ class DuplicateScanDetectionServiceTest {
     void shouldTrimWhitespace_BeforeProcessing() {
         // Given
         String withSpaces = "  PLT-001  ";
-        when(palletRepository.existsByCode("PLT-001")).thenReturn(false);
 
         // When
-        DuplicateScanDetectionService.ScanResult result = service.checkScan(withSpaces);
+        DuplicateScanDetectionService.ScanResult result = service.checkRecentScan(withSpaces);
 
         // Then
         assertTrue(result.isValid());
         assertEquals("PLT-001", result.barcode());
     }
+
+    @Test
+    void shouldUseMonotonicClock_ForDuplicateWindow() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        DuplicateScanDetectionService clocked = new DuplicateScanDetectionService(clock::get);
+
+        // When
+        DuplicateScanDetectionService.ScanResult first = clocked.checkRecentScan("PLT-001");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(4_900));
+        DuplicateScanDetectionService.ScanResult withinWindow = clocked.checkRecentScan("PLT-001");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        DuplicateScanDetectionService.ScanResult afterWindow = clocked.checkRecentScan("PLT-001");
+
+        // Then
+        assertTrue(first.isValid());
+        assertTrue(withinWindow.isDuplicate());
+        assertNotNull(withinWindow.lastScanTime());
+        assertTrue(afterWindow.isValid());
+        assertFalse(afterWindow.isDuplicate());
+    }
+
+    @Test
+    void shouldExpireOldScans_WhenWheelTurns() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        DuplicateScanDetectionService clocked = new DuplicateScanDetectionService(clock::get);
+        for (int i = 0; i < 10_000; i++) {
+            clocked.checkRecentScan("PLT-" + i);
+        }
+        assertEquals(10_000, clocked.trackedScanCount());
+
+        // When - one full turn of the wheel later
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        clocked.checkRecentScan("PLT-NEW");
+
+        // Then
+        assertEquals(1, clocked.trackedScanCount());
+    }
+
+    @Test
+    void shouldKeepRescannedBarcode_WhenItsOlderEntryExpires() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        DuplicateScanDetectionService clocked = new DuplicateScanDetectionService(clock::get);
+        clocked.checkRecentScan("PLT-001");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        clocked.checkRecentScan("PLT-001");
+
+        // When - the first scan's bucket is drained, the rescan's is not
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10_100));
+        clocked.checkRecentScan("PLT-002");
+
+        // Then
+        assertEquals(2, clocked.trackedScanCount());
+    }
 }
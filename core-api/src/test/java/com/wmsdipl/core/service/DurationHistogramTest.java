@@ -0,0 +1,67 @@
+package com.wmsdipl.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationHistogramTest {
+
+    @Test
+    void shouldKeepSmallValuesExact() {
+        for (long seconds = 0; seconds < DurationHistogram.SUB_BUCKETS; seconds++) {
+            assertEquals(seconds, DurationHistogram.highestValueOf(DurationHistogram.binOf(seconds)));
+        }
+    }
+
+    @Test
+    void shouldReportValuesWithinOneSixteenth() {
+        for (long seconds = 16; seconds < 10_000_000; seconds = seconds * 3 / 2 + 1) {
+            long reported = DurationHistogram.highestValueOf(DurationHistogram.binOf(seconds));
+            assertTrue(reported >= seconds, "reported below value for " + seconds);
+            assertTrue(reported - seconds <= seconds / 16, "bin too wide for " + seconds);
+        }
+    }
+
+    @Test
+    void shouldClampNegativeAndHugeValues() {
+        assertEquals(0, DurationHistogram.binOf(-5));
+        assertEquals(DurationHistogram.BIN_COUNT - 1, DurationHistogram.binOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldCalculatePercentiles() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int minute = 1; minute <= 100; minute++) {
+            histogram.recordSeconds(minute * 60L);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertWithin(3000, histogram.valueAtPercentile(50));
+        assertWithin(5400, histogram.valueAtPercentile(90));
+        assertWithin(5940, histogram.valueAtPercentile(99));
+        assertEquals(0, new DurationHistogram().valueAtPercentile(50));
+    }
+
+    @Test
+    void shouldMergeLikeRecordingAllSamples() {
+        DurationHistogram first = new DurationHistogram();
+        DurationHistogram second = new DurationHistogram();
+        DurationHistogram all = new DurationHistogram();
+        for (long seconds = 1; seconds < 5000; seconds += 7) {
+            (seconds % 2 == 0 ? first : second).recordSeconds(seconds);
+            all.recordSeconds(seconds);
+        }
+
+        first.merge(second);
+
+        assertEquals(all.getTotalCount(), first.getTotalCount());
+        for (double percentile : new double[] {1, 50, 90, 99, 100}) {
+            assertEquals(all.valueAtPercentile(percentile), first.valueAtPercentile(percentile));
+        }
+    }
+
+    private void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 16, "expected ~" + expected + " but was " + actual);
+    }
+}
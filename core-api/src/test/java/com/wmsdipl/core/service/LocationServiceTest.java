@@ -5,6 +5,8 @@ import com.wmsdipl.core.domain.LocationStatus;
 import com.wmsdipl.core.domain.Zone;
 import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.service.putaway.LocationSpatialIndex;
+import com.wmsdipl.core.service.workflow.ReceivingLookupCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,6 +32,12 @@ class LocationServiceTest {
     @Mock
     private PalletRepository palletRepository;
 
+    @Mock
+    private LocationSpatialIndex spatialIndex;
+
+    @Mock
+    private ReceivingLookupCache receivingLookupCache;
+
     @InjectMocks
     private LocationService locationService;
 
@@ -280,6 +288,7 @@ class LocationServiceTest {
         assertEquals("LOC-A-01-01-01", result.getCode());
         verify(locationRepository, times(1)).existsByCode("LOC-A-01-01-01");
         verify(locationRepository, times(1)).save(testLocation);
+        verify(spatialIndex, times(1)).upsert(testLocation);
     }
 
     @Test
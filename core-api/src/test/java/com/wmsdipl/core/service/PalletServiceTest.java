@@ -8,6 +8,7 @@ import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletCodePoolRepository;
 import com.wmsdipl.core.repository.PalletMovementRepository;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +42,9 @@ class PalletServiceTest {
     @Mock
     private PalletCodeGenerator codeGenerator;
 
+    @Mock
+    private ExpiryStockIndex expiryStockIndex;
+
     @InjectMocks
     private PalletService palletService;
 
@@ -141,6 +145,7 @@ class PalletServiceTest {
         assertEquals(PalletStatus.PLACED, result.getStatus());
         verify(palletRepository, times(1)).save(any(Pallet.class));
         verify(movementRepository, times(1)).save(any(PalletMovement.class));
+        verify(expiryStockIndex).update(testPallet);
     }
 
     @Test
@@ -15,6 +15,7 @@ import com.wmsdipl.core.repository.TaskRepository;
 import com.wmsdipl.core.service.putaway.LocationSelectionService;
 import com.wmsdipl.core.service.putaway.PutawayContext;
 import com.wmsdipl.core.service.putaway.PutawayContextBuilder;
+import com.wmsdipl.core.service.putaway.PutawayPlanningSession;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -24,13 +25,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -83,16 +90,14 @@ class PutawayServiceTest {
         pallet.setQuantity(new BigDecimal("1.000"));
 
         when(receiptRepository.findById(282L)).thenReturn(Optional.of(receipt));
-        when(palletRepository.findByReceiptAndStatus(receipt, PalletStatus.RECEIVED)).thenReturn(List.of(pallet));
-        when(palletRepository.findByReceiptAndStatus(receipt, PalletStatus.DAMAGED)).thenReturn(List.of());
-        when(palletRepository.findByReceiptAndStatus(receipt, PalletStatus.QUARANTINE)).thenReturn(List.of());
-        when(contextBuilder.buildContext(pallet)).thenReturn(
-            new PutawayContext(receipt, null, null, null, source, null)
-        );
+        when(palletRepository.findByReceiptAndStatusIn(eq(receipt), anyCollection())).thenReturn(List.of(pallet));
+        when(contextBuilder.buildContexts(eq(List.of(pallet)), any(PutawayPlanningSession.class))).thenAnswer(invocation -> {
+            // Context is built after SKU synchronization
+            assertEquals(375L, pallet.getSkuId());
+            return List.of(new PutawayContext(receipt, null, null, null, source, null, invocation.getArgument(1)));
+        });
         when(locationSelectionService.determineLocation(any(Pallet.class), any(PutawayContext.class)))
             .thenReturn(Optional.of(target));
-        when(palletRepository.save(any(Pallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<Task> tasks = putawayService.generatePlacementTasks(282L);
 
@@ -107,11 +112,64 @@ class PutawayServiceTest {
         assertEquals(375L, pallet.getSkuId());
         assertEquals(PalletStatus.IN_TRANSIT, pallet.getStatus());
 
-        ArgumentCaptor<Pallet> palletCaptor = ArgumentCaptor.forClass(Pallet.class);
-        verify(palletRepository, times(2)).save(palletCaptor.capture());
-        List<Pallet> saved = palletCaptor.getAllValues();
+        verify(taskRepository, times(1)).insertAllInBatch(tasks);
+        verify(taskRepository, never()).save(any(Task.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pallet>> palletCaptor = ArgumentCaptor.forClass(List.class);
+        verify(palletRepository, times(1)).saveAll(palletCaptor.capture());
+        List<Pallet> saved = palletCaptor.getValue();
         assertNotNull(saved);
         assertEquals(375L, saved.get(saved.size() - 1).getSkuId());
+        assertEquals(PalletStatus.IN_TRANSIT, saved.get(saved.size() - 1).getStatus());
+    }
+
+    @Test
+    void shouldReserveTargetsSoLaterPalletsSeeEarlierAssignments() throws Exception {
+        Receipt receipt = new Receipt();
+        setId(receipt, 10L);
+
+        Location target = new Location();
+        setId(target, 500L);
+        target.setMaxPallets(2);
+
+        Pallet first = pallet(1L, "PLT-1", receipt);
+        Pallet second = pallet(2L, "PLT-2", receipt);
+
+        when(receiptRepository.findById(10L)).thenReturn(Optional.of(receipt));
+        when(palletRepository.findByReceiptAndStatusIn(eq(receipt), anyCollection())).thenReturn(List.of(first, second));
+        when(contextBuilder.buildContexts(anyList(), any(PutawayPlanningSession.class))).thenAnswer(invocation -> {
+            PutawayPlanningSession session = invocation.getArgument(1);
+            return List.of(
+                new PutawayContext(receipt, null, null, null, null, null, session),
+                new PutawayContext(receipt, null, null, null, null, null, session)
+            );
+        });
+        List<PutawayPlanningSession> sessions = new ArrayList<>();
+        when(locationSelectionService.determineLocation(any(Pallet.class), any(PutawayContext.class)))
+            .thenAnswer(invocation -> {
+                PutawayContext context = invocation.getArgument(1);
+                sessions.add(context.getPlanningSession());
+                return Optional.of(target);
+            });
+
+        List<Task> tasks = putawayService.generatePlacementTasks(10L);
+
+        assertEquals(2, tasks.size());
+        assertEquals(2, sessions.size());
+        assertNotNull(sessions.get(0));
+        assertSame(sessions.get(0), sessions.get(1));
+        verify(taskRepository, times(1)).insertAllInBatch(anyList());
+    }
+
+    private Pallet pallet(Long id, String code, Receipt receipt) throws Exception {
+        Pallet pallet = new Pallet();
+        setId(pallet, id);
+        pallet.setCode(code);
+        pallet.setReceipt(receipt);
+        pallet.setStatus(PalletStatus.RECEIVED);
+        pallet.setQuantity(BigDecimal.ONE);
+        return pallet;
     }
 
     private void setId(Object target, Long id) throws Exception {
@@ -21,6 +21,7 @@ import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.SkuRepository;
 import com.wmsdipl.core.repository.TaskRepository;
 import com.wmsdipl.core.repository.DiscrepancyRepository;
+import com.wmsdipl.core.service.paging.KeysetPager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -69,6 +70,9 @@ class ReceiptServiceTest {
     @Mock
     private ReceiptWorkflowBlockerService receiptWorkflowBlockerService;
 
+    @Mock
+    private KeysetPager keysetPager;
+
     @InjectMocks
     private ReceiptService receiptService;
 
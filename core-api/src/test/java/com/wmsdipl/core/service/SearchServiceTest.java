@@ -0,0 +1,104 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.contracts.dto.SearchResultDto;
+import com.wmsdipl.core.repository.LocationRepository;
+import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.SearchHit;
+import com.wmsdipl.core.repository.SkuRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private PalletRepository palletRepository;
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void shouldMergeHitsByRankThenScore() {
+        // Given
+        when(palletRepository.searchByCode("a-01", 20)).thenReturn(List.of(
+            new SearchHit(SearchHit.Type.PALLET, 1L, "PLT-A-011", "SKU001", 1, 0.6)));
+        when(skuRepository.search("a-01", 20)).thenReturn(List.of(
+            new SearchHit(SearchHit.Type.SKU, 2L, "SKU-A-02", "Widget", 3, 0.4)));
+        when(locationRepository.searchByCode("a-01", 20)).thenReturn(List.of(
+            new SearchHit(SearchHit.Type.LOCATION, 3L, "A-01", "STOR", 0, 1.0),
+            new SearchHit(SearchHit.Type.LOCATION, 4L, "A-010", "STOR", 1, 0.8)));
+
+        // When
+        List<SearchResultDto> result = searchService.search(" a-01 ", null, null);
+
+        // Then
+        assertEquals(List.of("A-01", "A-010", "PLT-A-011", "SKU-A-02"),
+            result.stream().map(SearchResultDto::code).toList());
+        assertEquals("LOCATION", result.get(0).type());
+        assertEquals(0, result.get(0).matchRank());
+    }
+
+    @Test
+    void shouldSearchOnlyRequestedTypes_AndTrimToLimit() {
+        // Given
+        when(skuRepository.search("wid", 1)).thenReturn(List.of(
+            new SearchHit(SearchHit.Type.SKU, 2L, "SKU-02", "Widget", 2, 0.5)));
+
+        // When
+        List<SearchResultDto> result = searchService.search("wid", List.of("sku"), 1);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Widget", result.get(0).label());
+        verify(skuRepository).search("wid", 1);
+        verifyNoInteractions(palletRepository, locationRepository);
+    }
+
+    @Test
+    void shouldCapLimit() {
+        // Given
+        when(palletRepository.searchByCode(anyString(), anyInt())).thenReturn(List.of());
+
+        // When
+        searchService.search("PLT", List.of("PALLET"), 10_000);
+
+        // Then
+        verify(palletRepository).searchByCode("PLT", SearchService.MAX_LIMIT);
+    }
+
+    @Test
+    void shouldRejectShortQuery() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> searchService.search(" a ", null, null));
+        assertEquals("Search query must be at least 2 characters", exception.getMessage());
+        verifyNoInteractions(palletRepository, skuRepository, locationRepository);
+    }
+
+    @Test
+    void shouldRejectUnknownType() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> searchService.search("PLT", List.of("RECEIPT"), null));
+        assertEquals("Unknown search type: RECEIPT", exception.getMessage());
+    }
+}
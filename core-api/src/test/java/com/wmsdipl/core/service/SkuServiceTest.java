@@ -16,6 +16,7 @@ import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.SkuRepository;
 import com.wmsdipl.core.repository.SkuUnitConfigRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.workflow.ReceivingLookupCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -72,6 +73,9 @@ class SkuServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ReceivingLookupCache receivingLookupCache;
+
     @InjectMocks
     private SkuService skuService;
 
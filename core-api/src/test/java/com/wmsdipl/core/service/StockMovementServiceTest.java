@@ -2,6 +2,7 @@ package com.wmsdipl.core.service;
 
 import com.wmsdipl.core.domain.*;
 import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +23,9 @@ class StockMovementServiceTest {
     @Mock
     private PalletMovementRepository palletMovementRepository;
 
+    @Mock
+    private ExpiryStockIndex expiryStockIndex;
+
     @InjectMocks
     private StockMovementService stockMovementService;
 
@@ -3,8 +3,15 @@ package com.wmsdipl.core.service;
 import com.wmsdipl.core.domain.*;
 import com.wmsdipl.core.repository.LocationRepository;
 import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.repository.PalletMovementRepositoryCustom;
 import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.PalletRepositoryCustom;
 import com.wmsdipl.core.repository.SkuRepository;
+import com.wmsdipl.core.repository.StockFilter;
+import com.wmsdipl.core.repository.StockSnapshotRepository;
+import com.wmsdipl.core.repository.StockSummaryDimension;
+import com.wmsdipl.core.service.paging.KeysetPager;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import com.wmsdipl.core.service.StockService.StockResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,14 +27,19 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +57,18 @@ class StockServiceTest {
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private ExpiryStockIndex expiryStockIndex;
+
+    @Mock
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Mock
+    private StockSummaryCache stockSummaryCache;
+
+    @Mock
+    private KeysetPager keysetPager;
+
     @InjectMocks
     private StockService stockService;
 
@@ -114,7 +138,8 @@ class StockServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.pallets.getTotalElements());
-        // Note: findByCode is called inside Specification.toPredicate, not directly verifiable
+        // SKU codes are matched in a subquery of the pallet query, no separate lookup
+        verify(skuRepository, never()).findByCode(any());
     }
 
     @Test
@@ -236,4 +261,124 @@ class StockServiceTest {
         assertTrue(result.skuMap.containsKey(101L));
         verify(skuRepository).findAllById(any());
     }
+
+    @Test
+    void shouldReturnOldestStockSkippingStaleIndexEntries() {
+        // Given
+        testPallet.setExpiryDate(LocalDate.of(2026, 3, 1));
+        Pallet shipped = new Pallet();
+        shipped.setId(2L);
+        shipped.setSkuId(100L);
+        shipped.setStatus(PalletStatus.SHIPPED);
+        shipped.setQuantity(BigDecimal.ZERO);
+        shipped.setExpiryDate(LocalDate.of(2026, 1, 1));
+
+        when(expiryStockIndex.oldestFirst(100L)).thenReturn(List.of(
+                new ExpiryStockIndex.StockEntry(2L, 100L, LocalDate.of(2026, 1, 1), null, 200L),
+                new ExpiryStockIndex.StockEntry(1L, 100L, LocalDate.of(2026, 3, 1), null, 200L)
+        ).iterator());
+        when(palletRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testPallet, shipped));
+        when(skuRepository.findAllById(any())).thenReturn(List.of(testSku));
+
+        // When
+        StockResult result = stockService.getOldestStock(100L, 2);
+
+        // Then
+        assertEquals(List.of(testPallet), result.pallets.getContent());
+        assertTrue(result.skuMap.containsKey(100L));
+    }
+
+    @Test
+    void shouldReconstructStockAsOfDate_FromNearestSnapshot() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2026, 1, 15, 12, 0);
+        Location receivingDock = new Location();
+        receivingDock.setId(300L);
+        receivingDock.setCode("DOCK-01");
+        StockSnapshot snapshot = new StockSnapshot();
+        snapshot.setId(7L);
+        snapshot.setSnapshotAt(LocalDateTime.of(2026, 1, 15, 0, 0));
+        when(stockSnapshotRepository.findTopBySnapshotAtLessThanEqualOrderBySnapshotAtDesc(asOf))
+                .thenReturn(Optional.of(snapshot));
+        when(palletMovementRepository.findStockAsOf(eq(asOf), eq(snapshot), any(), eq(pageable))).thenReturn(new PageImpl<>(
+                List.of(new PalletMovementRepositoryCustom.PalletState(
+                        1L, 300L, new BigDecimal("40.00"), PalletStatus.RECEIVED)),
+                pageable, 1));
+        when(palletRepository.findAllById(List.of(1L))).thenReturn(List.of(testPallet));
+        when(locationRepository.findAllById(Set.of(300L))).thenReturn(List.of(receivingDock));
+        when(skuRepository.findAllById(any())).thenReturn(List.of(testSku));
+
+        // When
+        StockResult result = stockService.getStock(
+                "SKU001", null, null, null, "RECEIVED", asOf, pageable);
+
+        // Then
+        assertEquals(1, result.pallets.getTotalElements());
+        Pallet pallet = result.pallets.getContent().get(0);
+        assertEquals(receivingDock, pallet.getLocation());
+        assertEquals(new BigDecimal("40.00"), pallet.getQuantity());
+        assertEquals(PalletStatus.RECEIVED, pallet.getStatus());
+        verify(palletMovementRepository).findStockAsOf(eq(asOf), eq(snapshot),
+                eq(new StockFilter("SKU001", null, null, null, PalletStatus.RECEIVED)),
+                eq(pageable));
+        verify(palletRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(skuRepository, never()).findByCode(any());
+    }
+
+    @Test
+    void shouldReplayWholeJournal_WhenNoSnapshotBeforeDate() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2020, 1, 1, 0, 0);
+        when(palletMovementRepository.findStockAsOf(eq(asOf), isNull(), any(), eq(pageable)))
+                .thenReturn(Page.empty(pageable));
+
+        // When
+        StockResult result = stockService.getStock(null, null, null, null, null, asOf, pageable);
+
+        // Then
+        assertTrue(result.pallets.isEmpty());
+        assertEquals(0, result.pallets.getTotalElements());
+        verifyNoInteractions(palletRepository, locationRepository);
+    }
+
+    @Test
+    void shouldSummarizeStockBySku_WhenNoGroupingGiven() {
+        // Given
+        PalletRepositoryCustom.StockSummaryRow row = new PalletRepositoryCustom.StockSummaryRow(
+                100L, "SKU001", "Test Product", "PCS", null, null, null, null,
+                new BigDecimal("100.00"), 1, 1);
+        StockFilter filter = new StockFilter("SKU001", null, null, null, null);
+        when(stockSummaryCache.get(eq(filter), eq(EnumSet.of(StockSummaryDimension.SKU)), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<PalletRepositoryCustom.StockSummaryRow>>>getArgument(2).get());
+        when(palletRepository.summarizeStock(filter, EnumSet.of(StockSummaryDimension.SKU))).thenReturn(List.of(row));
+
+        // When
+        List<PalletRepositoryCustom.StockSummaryRow> result =
+                stockService.getStockSummary("SKU001", null, null, null, null, null);
+
+        // Then
+        assertEquals(List.of(row), result);
+    }
+
+    @Test
+    void shouldParseSummaryDimensions_CaseInsensitive() {
+        // Given
+        Set<StockSummaryDimension> expected = EnumSet.of(StockSummaryDimension.ZONE, StockSummaryDimension.LOCATION_TYPE);
+        when(stockSummaryCache.get(any(), eq(expected), any())).thenReturn(List.of());
+
+        // When
+        stockService.getStockSummary(null, null, null, null, null, List.of("zone", " location_type "));
+
+        // Then
+        verify(stockSummaryCache).get(eq(new StockFilter(null, null, null, null, null)), eq(expected), any());
+    }
+
+    @Test
+    void shouldRejectUnknownSummaryDimension() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> stockService.getStockSummary(null, null, null, null, null, List.of("SHELF")));
+        assertTrue(exception.getMessage().contains("SHELF"));
+        verifyNoInteractions(stockSummaryCache, palletRepository);
+    }
 }
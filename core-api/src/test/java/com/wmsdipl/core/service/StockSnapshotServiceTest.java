@@ -0,0 +1,103 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.StockSnapshot;
+import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockSnapshotServiceTest {
+
+    @Mock
+    private StockSnapshotRepository stockSnapshotRepository;
+    @Mock
+    private PalletMovementRepository palletMovementRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private StockSnapshotService stockSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void shouldBuildSnapshotFromPreviousOne() {
+        LocalDateTime snapshotAt = LocalDateTime.of(2026, 2, 2, 0, 0);
+        StockSnapshot previous = snapshot(1L, snapshotAt.minusDays(1));
+        when(stockSnapshotRepository.findBySnapshotAt(snapshotAt)).thenReturn(Optional.empty());
+        when(stockSnapshotRepository.findTopBySnapshotAtLessThanOrderBySnapshotAtDesc(snapshotAt))
+                .thenReturn(Optional.of(previous));
+        when(stockSnapshotRepository.saveAndFlush(any(StockSnapshot.class))).thenAnswer(invocation -> {
+            StockSnapshot saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+        when(stockSnapshotRepository.save(any(StockSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(palletMovementRepository.insertSnapshotLines(any(StockSnapshot.class), any(StockSnapshot.class)))
+                .thenReturn(42);
+
+        StockSnapshot result = stockSnapshotService.takeSnapshot(snapshotAt);
+
+        assertEquals(2L, result.getId());
+        assertEquals(snapshotAt, result.getSnapshotAt());
+        assertEquals(42, result.getPalletCount());
+        verify(palletMovementRepository).insertSnapshotLines(result, previous);
+    }
+
+    @Test
+    void shouldReplayWholeJournal_ForFirstSnapshot() {
+        LocalDateTime snapshotAt = LocalDateTime.of(2026, 2, 2, 0, 0);
+        when(stockSnapshotRepository.findBySnapshotAt(snapshotAt)).thenReturn(Optional.empty());
+        when(stockSnapshotRepository.findTopBySnapshotAtLessThanOrderBySnapshotAtDesc(snapshotAt))
+                .thenReturn(Optional.empty());
+        when(stockSnapshotRepository.saveAndFlush(any(StockSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stockSnapshotRepository.save(any(StockSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        stockSnapshotService.takeSnapshot(snapshotAt);
+
+        verify(palletMovementRepository).insertSnapshotLines(any(StockSnapshot.class), isNull());
+    }
+
+    @Test
+    void shouldReturnExistingSnapshot_WhenAlreadyTaken() {
+        LocalDateTime snapshotAt = LocalDateTime.of(2026, 2, 2, 0, 0);
+        StockSnapshot existing = snapshot(5L, snapshotAt);
+        when(stockSnapshotRepository.findBySnapshotAt(snapshotAt)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, stockSnapshotService.takeSnapshot(snapshotAt));
+        verify(palletMovementRepository, never()).insertSnapshotLines(any(), any());
+        verify(stockSnapshotRepository, never()).saveAndFlush(any());
+    }
+
+    private StockSnapshot snapshot(Long id, LocalDateTime snapshotAt) {
+        StockSnapshot snapshot = new StockSnapshot();
+        snapshot.setId(id);
+        snapshot.setSnapshotAt(snapshotAt);
+        return snapshot;
+    }
+}
@@ -0,0 +1,55 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.repository.PalletRepositoryCustom.StockSummaryRow;
+import com.wmsdipl.core.repository.StockFilter;
+import com.wmsdipl.core.repository.StockSummaryDimension;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockSummaryCacheTest {
+
+    private static final StockFilter FILTER = new StockFilter(null, null, null, null, null);
+    private static final Set<StockSummaryDimension> BY_SKU = EnumSet.of(StockSummaryDimension.SKU);
+
+    @Test
+    void shouldReuseResultForSameFilterAndGrouping() {
+        StockSummaryCache cache = new StockSummaryCache(60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(FILTER, BY_SKU, () -> load(loads));
+        cache.get(new StockFilter(null, null, null, null, null), EnumSet.of(StockSummaryDimension.SKU), () -> load(loads));
+        assertEquals(1, loads.get());
+
+        cache.get(FILTER, EnumSet.of(StockSummaryDimension.SKU, StockSummaryDimension.ZONE), () -> load(loads));
+        cache.get(new StockFilter("SKU001", null, null, null, null), BY_SKU, () -> load(loads));
+        assertEquals(3, loads.get());
+
+        cache.clear();
+        cache.get(FILTER, BY_SKU, () -> load(loads));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldAlwaysLoad_WhenTtlIsZero() {
+        StockSummaryCache cache = new StockSummaryCache(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(FILTER, BY_SKU, () -> load(loads));
+        cache.get(FILTER, BY_SKU, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private List<StockSummaryRow> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of(new StockSummaryRow(1L, "SKU-1", "Item", "PCS", null, null, null, null,
+                BigDecimal.TEN, 1, 1));
+    }
+}
@@ -1,11 +1,13 @@
 package com.wmsdipl.core.service;
 
+import com.wmsdipl.contracts.dto.AutoAssignPreviewItemDto;
 import com.wmsdipl.contracts.dto.AutoAssignRequest;
 import com.wmsdipl.contracts.dto.AutoAssignResultDto;
 import com.wmsdipl.core.domain.Task;
 import com.wmsdipl.core.domain.TaskStatus;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.domain.UserRole;
+import com.wmsdipl.core.repository.AssigneeStatusCount;
 import com.wmsdipl.core.repository.TaskRepository;
 import com.wmsdipl.core.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -26,6 +29,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class TaskAutoAssignServiceTest {
 
+    private static final Set<TaskStatus> ACTIVE_STATUSES = Set.of(TaskStatus.ASSIGNED, TaskStatus.IN_PROGRESS);
+
     @Mock
     private TaskRepository taskRepository;
 
@@ -51,11 +56,9 @@ class TaskAutoAssignServiceTest {
         User op2 = user("operator2");
 
         when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(task1, task2));
-        when(userRepository.findAll()).thenReturn(List.of(op1, op2));
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.ASSIGNED)).thenReturn(List.of(new Task()));
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.IN_PROGRESS)).thenReturn(List.of());
-        when(taskRepository.findByAssigneeAndStatus("operator2", TaskStatus.ASSIGNED)).thenReturn(List.of());
-        when(taskRepository.findByAssigneeAndStatus("operator2", TaskStatus.IN_PROGRESS)).thenReturn(List.of());
+        when(userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR)).thenReturn(List.of(op1, op2));
+        when(taskRepository.countGroupedByAssigneeAndStatus(List.of("operator1", "operator2"), ACTIVE_STATUSES))
+            .thenReturn(List.of(count("operator1", TaskStatus.ASSIGNED, 1)));
 
         AutoAssignResultDto result = taskAutoAssignService.dryRun(new AutoAssignRequest(List.of(1L, 2L), false));
 
@@ -64,6 +67,31 @@ class TaskAutoAssignServiceTest {
         assertEquals("operator2", result.items().get(0).suggestedAssignee());
     }
 
+    @Test
+    void shouldBalanceTasksAcrossOperators_ByLoadThenUsername() {
+        Task task1 = task(1L);
+        Task task2 = task(2L);
+        Task task3 = task(3L);
+        Task task4 = task(4L);
+
+        when(taskRepository.findAllById(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(task4, task3, task2, task1));
+        when(userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR))
+            .thenReturn(List.of(user("operator1"), user("operator2"), user("operator3")));
+        when(taskRepository.countGroupedByAssigneeAndStatus(List.of("operator1", "operator2", "operator3"), ACTIVE_STATUSES))
+            .thenReturn(List.of(
+                count("operator1", TaskStatus.ASSIGNED, 1),
+                count("operator1", TaskStatus.IN_PROGRESS, 1),
+                count("operator3", TaskStatus.IN_PROGRESS, 1)
+            ));
+
+        AutoAssignResultDto result = taskAutoAssignService.dryRun(new AutoAssignRequest(List.of(1L, 2L, 3L, 4L), false));
+
+        assertEquals(List.of("operator2", "operator2", "operator3", "operator1"),
+            result.items().stream().map(AutoAssignPreviewItemDto::suggestedAssignee).toList());
+        assertEquals(List.of(0, 1, 1, 2),
+            result.items().stream().map(AutoAssignPreviewItemDto::suggestedAssigneeLoadBeforeAssign).toList());
+    }
+
     @Test
     void shouldApplyAutoAssign_ForNewTasks() {
         Task task1 = new Task();
@@ -72,9 +100,8 @@ class TaskAutoAssignServiceTest {
 
         User op1 = user("operator1");
         when(taskRepository.findAllById(List.of(10L))).thenReturn(List.of(task1));
-        when(userRepository.findAll()).thenReturn(List.of(op1));
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.ASSIGNED)).thenReturn(List.of());
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.IN_PROGRESS)).thenReturn(List.of());
+        when(userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR)).thenReturn(List.of(op1));
+        when(taskRepository.countGroupedByAssigneeAndStatus(List.of("operator1"), ACTIVE_STATUSES)).thenReturn(List.of());
 
         AutoAssignResultDto result = taskAutoAssignService.apply(new AutoAssignRequest(List.of(10L), false));
 
@@ -91,9 +118,9 @@ class TaskAutoAssignServiceTest {
 
         User op1 = user("operator1");
         when(taskRepository.findAllById(List.of(20L))).thenReturn(List.of(task));
-        when(userRepository.findAll()).thenReturn(List.of(op1));
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.ASSIGNED)).thenReturn(List.of());
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.IN_PROGRESS)).thenReturn(List.of(new Task()));
+        when(userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR)).thenReturn(List.of(op1));
+        when(taskRepository.countGroupedByAssigneeAndStatus(List.of("operator1"), ACTIVE_STATUSES))
+            .thenReturn(List.of(count("operator1", TaskStatus.IN_PROGRESS, 1)));
 
         AutoAssignResultDto result = taskAutoAssignService.dryRun(new AutoAssignRequest(List.of(20L), true));
 
@@ -106,25 +133,49 @@ class TaskAutoAssignServiceTest {
     }
 
     @Test
-    void shouldIgnorePcOperator_WhenSelectingAutoAssignCandidates() {
+    void shouldQueryOnlyActiveOperators_WhenSelectingAutoAssignCandidates() {
         Task task = new Task();
         task.setId(30L);
         task.setStatus(TaskStatus.NEW);
 
         User operator = user("operator1");
-        User pcOperator = user("pcoperator1", UserRole.PC_OPERATOR);
 
         when(taskRepository.findAllById(List.of(30L))).thenReturn(List.of(task));
-        when(userRepository.findAll()).thenReturn(List.of(pcOperator, operator));
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.ASSIGNED)).thenReturn(List.of());
-        when(taskRepository.findByAssigneeAndStatus("operator1", TaskStatus.IN_PROGRESS)).thenReturn(List.of());
+        when(userRepository.findByRoleAndActiveTrueOrderByUsernameAsc(UserRole.OPERATOR)).thenReturn(List.of(operator));
+        when(taskRepository.countGroupedByAssigneeAndStatus(List.of("operator1"), ACTIVE_STATUSES)).thenReturn(List.of());
 
         AutoAssignResultDto result = taskAutoAssignService.dryRun(new AutoAssignRequest(List.of(30L), false));
 
         assertEquals(1, result.assignedCount());
         assertEquals("operator1", result.items().get(0).suggestedAssignee());
-        verify(taskRepository, never()).findByAssigneeAndStatus("pcoperator1", TaskStatus.ASSIGNED);
-        verify(taskRepository, never()).findByAssigneeAndStatus("pcoperator1", TaskStatus.IN_PROGRESS);
+        verify(taskRepository).countGroupedByAssigneeAndStatus(List.of("operator1"), ACTIVE_STATUSES);
+        verify(userRepository, never()).findAll();
+    }
+
+    private Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(TaskStatus.NEW);
+        return task;
+    }
+
+    private AssigneeStatusCount count(String assignee, TaskStatus status, long total) {
+        return new AssigneeStatusCount() {
+            @Override
+            public String getAssignee() {
+                return assignee;
+            }
+
+            @Override
+            public TaskStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
     }
 
     private User user(String username) {
@@ -0,0 +1,129 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.TaskStatus;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.repository.TaskDispatchView;
+import com.wmsdipl.core.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDispatchQueueTest {
+
+    private static final Long ZONE_A = 1L;
+    private static final Long ZONE_B = 2L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskDispatchQueue queue;
+
+    @Test
+    void shouldHandOutHighestPriorityFirst_ThenWalkCellsInOrder() {
+        when(taskRepository.findDispatchCandidates(TaskStatus.NEW)).thenReturn(List.of(
+            view(1L, TaskType.PLACEMENT, 100, ZONE_A, "A-03"),
+            view(2L, TaskType.PLACEMENT, 100, ZONE_A, "A-01"),
+            view(3L, TaskType.PLACEMENT, 200, ZONE_A, "A-05"),
+            view(4L, TaskType.PLACEMENT, 100, ZONE_A, "A-02")
+        ));
+
+        assertEquals(List.of(3L, 2L, 4L, 1L), drain("operator1", Set.of(), Set.of()));
+        verify(taskRepository, times(1)).findDispatchCandidates(TaskStatus.NEW);
+    }
+
+    @Test
+    void shouldContinueWalkFromOperatorsLastCell_AndPreferCurrentZone() {
+        when(taskRepository.findDispatchCandidates(TaskStatus.NEW))
+            .thenReturn(List.of(view(1L, TaskType.PLACEMENT, 100, ZONE_A, "A-01")))
+            .thenReturn(List.of(
+                view(5L, TaskType.PLACEMENT, 100, ZONE_A, "A-00"),
+                view(2L, TaskType.PLACEMENT, 100, ZONE_A, "A-04"),
+                view(3L, TaskType.PLACEMENT, 100, ZONE_B, "B-01"),
+                view(4L, TaskType.PLACEMENT, 100, ZONE_A, "A-06")
+            ));
+        assertEquals(1L, queue.poll("operator1", Set.of(), Set.of()).orElseThrow().taskId());
+        queue.refreshIfOlderThan(0);
+
+        // From A-01 the walk goes on to A-04 and A-06 (staying in zone A over task 3), then wraps to A-00
+        assertEquals(List.of(2L, 4L, 5L, 3L), drain("operator1", Set.of(), Set.of()));
+    }
+
+    @Test
+    void shouldOnlyHandOutTaskTypesAndZonesOfOperatorProfile() {
+        when(taskRepository.findDispatchCandidates(TaskStatus.NEW)).thenReturn(List.of(
+            view(1L, TaskType.SHIPPING, 300, ZONE_A, "A-01"),
+            view(2L, TaskType.PLACEMENT, 100, ZONE_B, "B-01"),
+            view(3L, TaskType.PLACEMENT, 100, ZONE_A, "A-01"),
+            view(4L, TaskType.RECEIVING, 100, null, null)
+        ));
+
+        assertEquals(List.of(3L, 4L), drain("operator1", Set.of(TaskType.PLACEMENT, TaskType.RECEIVING), Set.of(ZONE_A)));
+        assertEquals(List.of(1L, 2L), drain("operator2", Set.of(), Set.of()));
+    }
+
+    @Test
+    void shouldRebuildQueuesOnlyWhenSnapshotIsOldEnough() {
+        when(taskRepository.findDispatchCandidates(TaskStatus.NEW))
+            .thenReturn(List.of(view(1L, TaskType.PLACEMENT, 100, ZONE_A, "A-01")))
+            .thenReturn(List.of(view(2L, TaskType.PLACEMENT, 100, ZONE_A, "A-02")));
+
+        assertEquals(List.of(1L), drain("operator1", Set.of(), Set.of()));
+        assertFalse(queue.refreshIfOlderThan(60_000));
+        assertTrue(queue.refreshIfOlderThan(0));
+        assertEquals(List.of(2L), drain("operator1", Set.of(), Set.of()));
+    }
+
+    private List<Long> drain(String operator, Set<TaskType> taskTypes, Set<Long> zoneIds) {
+        List<Long> ids = new ArrayList<>();
+        Optional<TaskDispatchQueue.QueuedTask> next;
+        while ((next = queue.poll(operator, taskTypes, zoneIds)).isPresent()) {
+            ids.add(next.get().taskId());
+        }
+        return ids;
+    }
+
+    private TaskDispatchView view(Long taskId, TaskType taskType, Integer priority, Long zoneId, String locationCode) {
+        return new TaskDispatchView() {
+            @Override
+            public Long getTaskId() {
+                return taskId;
+            }
+
+            @Override
+            public TaskType getTaskType() {
+                return taskType;
+            }
+
+            @Override
+            public Integer getPriority() {
+                return priority;
+            }
+
+            @Override
+            public Long getZoneId() {
+                return zoneId;
+            }
+
+            @Override
+            public String getLocationCode() {
+                return locationCode;
+            }
+        };
+    }
+}
@@ -18,6 +18,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -40,6 +41,12 @@ class TaskLifecycleServiceTest {
     @Mock
     private DiscrepancyRepository discrepancyRepository;
 
+    @Mock
+    private TaskDurationHistogramService taskDurationHistogramService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskLifecycleService taskLifecycleService;
 
@@ -146,6 +153,9 @@ class TaskLifecycleServiceTest {
         verify(testTask, times(1)).setClosedAt(any());
         verify(discrepancyRepository, never()).save(any(Discrepancy.class));
         verify(taskRepository, times(1)).save(testTask);
+        verify(taskDurationHistogramService, times(1)).record(testTask);
+        verify(eventPublisher, times(1)).publishEvent(any(TaskCompletedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(DiscrepancyCreatedEvent.class));
     }
 
     @Test
@@ -185,6 +195,7 @@ class TaskLifecycleServiceTest {
         
         verify(scanRepository, times(1)).save(scan);
         verify(scan, times(1)).setDiscrepancy(true);
+        verify(eventPublisher, times(1)).publishEvent(any(DiscrepancyCreatedEvent.class));
     }
 
     @Test
@@ -15,6 +15,7 @@ import com.wmsdipl.core.repository.PalletMovementRepository;
 import com.wmsdipl.core.repository.PalletRepository;
 import com.wmsdipl.core.repository.ScanRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.putaway.ExpiryStockIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -52,6 +53,8 @@ class TaskScanUndoServiceTest {
     private LocationRepository locationRepository;
     @Mock
     private AuditLogService auditLogService;
+    @Mock
+    private ExpiryStockIndex expiryStockIndex;
 
     @InjectMocks
     private TaskScanUndoService taskScanUndoService;
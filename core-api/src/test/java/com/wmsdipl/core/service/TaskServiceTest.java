@@ -10,6 +10,9 @@ import com.wmsdipl.core.domain.TaskType;
 import com.wmsdipl.core.repository.DiscrepancyRepository;
 import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.repository.TaskRepository;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetPager;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import com.wmsdipl.core.service.workflow.PlacementWorkflowService;
 import com.wmsdipl.core.service.workflow.ReceivingWorkflowService;
 import com.wmsdipl.core.service.workflow.ShippingWorkflowService;
@@ -19,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -64,6 +69,9 @@ class TaskServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private KeysetPager keysetPager;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -349,56 +357,43 @@ class TaskServiceTest {
     }
 
     @Test
-    void shouldFilterDiscrepancyJournal_ByOperator() throws Exception {
+    @SuppressWarnings("unchecked")
+    void shouldQueryDiscrepancyJournalInDatabase_NewestFirst() {
         Discrepancy discrepancy = new Discrepancy();
         discrepancy.setTaskId(55L);
         discrepancy.setCreatedAt(LocalDateTime.now());
-
-        Task task = new Task();
-        java.lang.reflect.Field idField = Task.class.getDeclaredField("id");
-        idField.setAccessible(true);
-        idField.set(task, 55L);
-        task.setAssignee("operator1");
-
-        when(discrepancyRepository.findAll()).thenReturn(List.of(discrepancy));
-        when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+        when(discrepancyRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of(discrepancy));
 
         List<Discrepancy> result = taskService.findDiscrepancyJournal(
             null,
             null,
             null,
-            null,
-            null,
+            "under_qty",
+            "RCV",
             null,
             "operator1",
             null
         );
 
         assertEquals(1, result.size());
+        verify(discrepancyRepository).findAll(any(Specification.class),
+            eq(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))));
+        verify(discrepancyRepository, never()).findAll();
+        verify(taskRepository, never()).findAllById(any());
     }
 
     @Test
-    void shouldFilterDiscrepancyJournal_ByResolvedBy_WhenTaskAssigneeUnavailable() {
-        Discrepancy discrepancy = new Discrepancy();
-        discrepancy.setTaskId(null);
-        discrepancy.setResolvedBy("operator2");
-        discrepancy.setCreatedAt(LocalDateTime.now());
+    void shouldPageDiscrepancyJournalByCreatedAtByDefault() {
+        KeysetRequest request = new KeysetRequest(null, true, null, null, 200, false);
+        CursorSlice<Discrepancy> slice = new CursorSlice<>(List.of(new Discrepancy()), null, null);
+        when(keysetPager.<Discrepancy>find(eq(Discrepancy.class), any(), any(), eq(request))).thenReturn(slice);
 
-        when(discrepancyRepository.findAll()).thenReturn(List.of(discrepancy));
-
-        List<Discrepancy> result = taskService.findDiscrepancyJournal(
-            null,
-            null,
-            null,
-            null,
-            null,
-            null,
-            "operator2",
-            null
-        );
+        CursorSlice<Discrepancy> result = taskService.findDiscrepancyJournalSlice(
+            10L, LocalDateTime.now().minusDays(30), null, null, null, null, "operator2", false, request);
 
-        assertEquals(1, result.size());
-        verify(taskRepository, never()).findAllById(any());
+        assertSame(slice, result);
+        verify(keysetPager).find(eq(Discrepancy.class), any(),
+            argThat(sort -> sort != null && "createdAt".equals(sort.name())), eq(request));
     }
 
     @Test
@@ -462,4 +457,26 @@ class TaskServiceTest {
             () -> taskService.createReceivingTasks(999L, TaskType.RECEIVING, 1));
         verify(taskRepository, never()).save(any(Task.class));
     }
+
+    @Test
+    void shouldFindFilteredSliceWithRequestedSortKey() {
+        KeysetRequest request = new KeysetRequest("priority", true, null, null, 20, false);
+        CursorSlice<Task> slice = new CursorSlice<>(List.of(new Task()), "next", null);
+        when(keysetPager.<Task>find(eq(Task.class), any(), any(), eq(request))).thenReturn(slice);
+
+        CursorSlice<Task> result = taskService.findFilteredSlice(null, TaskStatus.NEW, null, null, null, request);
+
+        assertSame(slice, result);
+        verify(keysetPager).find(eq(Task.class), any(),
+            argThat(sort -> sort != null && "priority".equals(sort.name())), eq(request));
+    }
+
+    @Test
+    void shouldRejectUnknownKeysetSortKey() {
+        KeysetRequest request = new KeysetRequest("assignee", false, null, null, 20, false);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> taskService.findFilteredSlice(null, null, null, null, null, request));
+        verifyNoInteractions(keysetPager);
+    }
 }
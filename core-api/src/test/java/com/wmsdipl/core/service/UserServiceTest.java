@@ -1,5 +1,6 @@
 package com.wmsdipl.core.service;
 
+import com.wmsdipl.core.config.UserDetailsCache;
 import com.wmsdipl.core.domain.User;
 import com.wmsdipl.core.domain.UserRole;
 import com.wmsdipl.core.repository.UserRepository;
@@ -10,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -29,6 +32,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -191,6 +197,7 @@ class UserServiceTest {
         assertFalse(testUser.getActive());
         assertNotNull(testUser.getUpdatedAt());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userDetailsCache).evict("testuser");
     }
 
     @Test
@@ -207,11 +214,13 @@ class UserServiceTest {
         assertNotNull(testUser.getUpdatedAt());
         verify(passwordEncoder, times(1)).encode("newPassword");
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userDetailsCache).evict("testuser");
     }
 
     @Test
     void shouldDeleteUser_WhenValidId() {
         // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         doNothing().when(userRepository).deleteById(1L);
 
         // When
@@ -219,6 +228,39 @@ class UserServiceTest {
 
         // Then
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userDetailsCache).evict("testuser");
+    }
+
+    @Test
+    void shouldEvictCachedUser_OnlyAfterCommit() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            userService.updatePassword(1L, "newPassword");
+            verify(userDetailsCache, never()).evict(anyString());
+            List<TransactionSynchronization> rolledBack = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            verify(userDetailsCache, never()).evict(anyString());
+
+            TransactionSynchronizationManager.initSynchronization();
+            userService.updatePassword(1L, "newPassword");
+            List<TransactionSynchronization> committed = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            committed.forEach(TransactionSynchronization::afterCommit);
+
+            // Then
+            verify(userDetailsCache).evict("testuser");
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
     }
 
     @Test
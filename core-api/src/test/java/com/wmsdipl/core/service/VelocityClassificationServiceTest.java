@@ -0,0 +1,99 @@
+package com.wmsdipl.core.service;
+
+import com.wmsdipl.core.domain.SkuStorageConfig;
+import com.wmsdipl.core.repository.PalletMovementRepository;
+import com.wmsdipl.core.repository.SkuMovementCount;
+import com.wmsdipl.core.repository.SkuStorageConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VelocityClassificationServiceTest {
+
+    @Mock
+    private PalletMovementRepository palletMovementRepository;
+    @Mock
+    private SkuStorageConfigRepository skuStorageConfigRepository;
+
+    private VelocityClassificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VelocityClassificationService(palletMovementRepository, skuStorageConfigRepository, 90);
+    }
+
+    @Test
+    void shouldSplitSkusByCumulativeMovementShare() {
+        Map<Long, String> classes = VelocityClassificationService.classify(List.of(
+            count(3L, 6),
+            count(1L, 80),
+            count(2L, 10),
+            count(4L, 4)
+        ));
+
+        assertEquals("A", classes.get(1L));
+        assertEquals("B", classes.get(2L));
+        assertEquals("B", classes.get(3L));
+        assertEquals("C", classes.get(4L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteOnlyChangedClassesAndDemoteSkusWithoutMovements() {
+        SkuStorageConfig unchanged = config(1L, "A");
+        SkuStorageConfig promoted = config(2L, "C");
+        SkuStorageConfig stale = config(9L, "A");
+
+        when(palletMovementRepository.countBySkuSince(eq(VelocityClassificationService.VELOCITY_MOVEMENTS), any(LocalDateTime.class)))
+            .thenReturn(List.of(count(1L, 85), count(2L, 10), count(3L, 5)));
+        when(skuStorageConfigRepository.findBySkuIdIn(anyCollection())).thenReturn(List.of(unchanged, promoted));
+        when(skuStorageConfigRepository.findByVelocityClassIn(List.of("A", "B"))).thenReturn(List.of(unchanged, stale));
+
+        int changed = service.reclassify();
+
+        ArgumentCaptor<List<SkuStorageConfig>> saved = ArgumentCaptor.forClass(List.class);
+        verify(skuStorageConfigRepository).saveAll(saved.capture());
+        assertEquals(2, changed);
+        assertEquals(List.of(promoted, stale), saved.getValue());
+        assertEquals("B", promoted.getVelocityClass());
+        assertEquals("C", stale.getVelocityClass());
+        assertTrue(saved.getValue().stream().noneMatch(config -> config.getSkuId().equals(3L)));
+    }
+
+    private SkuStorageConfig config(Long skuId, String velocityClass) {
+        SkuStorageConfig config = new SkuStorageConfig();
+        config.setSkuId(skuId);
+        config.setVelocityClass(velocityClass);
+        return config;
+    }
+
+    private SkuMovementCount count(Long skuId, long total) {
+        return new SkuMovementCount() {
+            @Override
+            public Long getSkuId() {
+                return skuId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
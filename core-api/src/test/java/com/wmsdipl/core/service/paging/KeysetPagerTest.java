@@ -0,0 +1,73 @@
+package com.wmsdipl.core.service.paging;
+
+import com.wmsdipl.core.domain.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPagerTest {
+
+    private static final KeysetSort<Task> BY_CREATED_AT =
+        new KeysetSort<>("createdAt", "createdAt", Task::getCreatedAt, LocalDateTime::parse);
+    private static final KeysetSort<Task> BY_PRIORITY =
+        new KeysetSort<>("priority", "priority", Task::getPriority, Integer::valueOf);
+
+    @Test
+    void shouldRoundTripCursorValues() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 8, 15, 30, 123_000_000);
+
+        String cursor = KeysetPager.encode(BY_CREATED_AT, true, 42L, createdAt);
+        KeysetPager.Position position = KeysetPager.decode(BY_CREATED_AT, true, cursor);
+
+        assertEquals(42L, position.id());
+        assertEquals(createdAt, position.value());
+    }
+
+    @Test
+    void shouldRoundTripNullSortValue() {
+        String cursor = KeysetPager.encode(BY_CREATED_AT, false, 7L, null);
+
+        KeysetPager.Position position = KeysetPager.decode(BY_CREATED_AT, false, cursor);
+
+        assertEquals(7L, position.id());
+        assertNull(position.value());
+    }
+
+    @Test
+    void shouldKeepSeparatorsInsideStringValues() {
+        KeysetSort<Task> byCode = new KeysetSort<>("code", "code", task -> "", value -> value);
+
+        String cursor = KeysetPager.encode(byCode, false, 3L, "PLT|01");
+
+        assertEquals("PLT|01", KeysetPager.decode(byCode, false, cursor).value());
+    }
+
+    @Test
+    void shouldRejectCursorOfAnotherSortOrder() {
+        String cursor = KeysetPager.encode(BY_PRIORITY, false, 1L, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.decode(BY_CREATED_AT, false, cursor));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.decode(BY_PRIORITY, true, cursor));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.decode(BY_PRIORITY, false, "not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.decode(BY_PRIORITY, false, "azEx"));
+    }
+
+    @Test
+    void shouldResolveDefaultAndRejectUnknownSortKeys() {
+        Map<String, KeysetSort<Task>> sorts = Map.of("priority", BY_PRIORITY, "createdAt", BY_CREATED_AT);
+
+        assertSame(BY_PRIORITY, KeysetPager.resolveSort(sorts, null, "priority"));
+        assertSame(BY_CREATED_AT, KeysetPager.resolveSort(sorts, "createdAt", "priority"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.resolveSort(sorts, "assignee", "priority"));
+    }
+}
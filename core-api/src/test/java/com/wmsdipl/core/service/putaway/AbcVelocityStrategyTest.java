@@ -0,0 +1,78 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.domain.Pallet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AbcVelocityStrategyTest {
+
+    @Mock
+    private ClosestAvailableStrategy closest;
+    @Mock
+    private ForwardSlotLocator forwardSlots;
+
+    @InjectMocks
+    private AbcVelocityStrategy strategy;
+
+    @Test
+    void shouldPlaceFastMoverInForwardCell() {
+        Location forwardCell = location("A-01-01");
+        Pallet pallet = new Pallet();
+        PutawayContext context = new PutawayContext(null, null, "A", null, null, LocationType.STORAGE);
+
+        when(forwardSlots.findNearDispatch(context)).thenReturn(Optional.of(forwardCell));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("A-01-01", result.orElseThrow().getCode());
+        verify(closest, never()).findLocation(any(), any());
+    }
+
+    @Test
+    void shouldPlaceSlowMoverLikeClosestStrategy() {
+        Location cell = location("C-09-09");
+        Pallet pallet = new Pallet();
+        PutawayContext context = new PutawayContext(null, null, "C", null, null, LocationType.STORAGE);
+
+        when(closest.findLocation(pallet, context)).thenReturn(Optional.of(cell));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("C-09-09", result.orElseThrow().getCode());
+        verify(forwardSlots, never()).findNearDispatch(any());
+    }
+
+    @Test
+    void shouldFallBackWhenNoForwardCellIsFree() {
+        Location cell = location("B-01-01");
+        Pallet pallet = new Pallet();
+        PutawayContext context = new PutawayContext(null, null, "A", null, null, LocationType.STORAGE);
+
+        when(forwardSlots.findNearDispatch(context)).thenReturn(Optional.empty());
+        when(closest.findLocation(pallet, context)).thenReturn(Optional.of(cell));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("B-01-01", result.orElseThrow().getCode());
+    }
+
+    private Location location(String code) {
+        Location location = new Location();
+        location.setCode(code);
+        return location;
+    }
+}
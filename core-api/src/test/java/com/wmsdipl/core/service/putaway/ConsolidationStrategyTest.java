@@ -0,0 +1,76 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsolidationStrategyTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+    @Mock
+    private LocationOccupancyIndex occupancyIndex;
+    @Mock
+    private ClosestAvailableStrategy fallback;
+
+    @InjectMocks
+    private ConsolidationStrategy strategy;
+
+    @Test
+    void shouldPreferLocationAlreadyHoldingSku() {
+        Pallet pallet = new Pallet();
+        pallet.setSkuId(42L);
+        PutawayContext context = new PutawayContext(null, null, null, null, null, LocationType.STORAGE);
+        Location sameSku = new Location();
+        sameSku.setCode("A-01-01");
+
+        when(locationRepository.findHoldingSku(eq(42L), eq(LocationType.STORAGE), anyCollection()))
+            .thenReturn(List.of(sameSku));
+        when(occupancyIndex.findFirstFit(List.of(sameSku), null)).thenReturn(Optional.of(sameSku));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertTrue(result.isPresent());
+        assertEquals("A-01-01", result.get().getCode());
+        verify(locationRepository, never()).findAll();
+        verify(fallback, never()).findLocation(any(), any());
+    }
+
+    @Test
+    void shouldFallBackWhenNoSameSkuLocationHasCapacity() {
+        Pallet pallet = new Pallet();
+        pallet.setSkuId(42L);
+        PutawayContext context = new PutawayContext(null, null, null, null, null, LocationType.STORAGE);
+        Location closest = new Location();
+        closest.setCode("B-02-01");
+
+        when(locationRepository.findHoldingSku(eq(42L), eq(LocationType.STORAGE), anyCollection()))
+            .thenReturn(List.of());
+        when(occupancyIndex.findFirstFit(List.of(), null)).thenReturn(Optional.empty());
+        when(fallback.findLocation(pallet, context)).thenReturn(Optional.of(closest));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertTrue(result.isPresent());
+        assertEquals("B-02-01", result.get().getCode());
+    }
+}
@@ -0,0 +1,137 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.domain.PalletStatus;
+import com.wmsdipl.core.repository.PalletExpiryView;
+import com.wmsdipl.core.repository.PalletRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiryStockIndexTest {
+
+    @Mock
+    private PalletRepository palletRepository;
+
+    @InjectMocks
+    private ExpiryStockIndex index;
+
+    @Test
+    void shouldReturnSkuStockEarliestExpiryFirst() {
+        when(palletRepository.findExpiryStock(ExpiryStockIndex.STOCK_STATUSES)).thenReturn(List.of(
+            view(1L, 10L, LocalDate.of(2026, 6, 1), 100L),
+            view(2L, 10L, LocalDate.of(2026, 2, 1), 101L),
+            view(3L, 20L, LocalDate.of(2026, 1, 1), 102L),
+            view(4L, 10L, LocalDate.of(2026, 2, 1), 103L)
+        ));
+
+        assertEquals(List.of(2L, 4L, 1L), palletIds(index.oldestFirst(10L)));
+        assertEquals(List.of(3L), palletIds(index.oldestFirst(20L)));
+        assertEquals(List.of(), palletIds(index.oldestFirst(30L)));
+        assertEquals(List.of(2L, 4L), palletIds(index.expiringBetween(10L, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1)).iterator()));
+        verify(palletRepository, times(1)).findExpiryStock(ExpiryStockIndex.STOCK_STATUSES);
+    }
+
+    @Test
+    void shouldReindexPalletOnUpdate() {
+        when(palletRepository.findExpiryStock(ExpiryStockIndex.STOCK_STATUSES)).thenReturn(List.of(
+            view(1L, 10L, LocalDate.of(2026, 6, 1), 100L),
+            view(2L, 10L, LocalDate.of(2026, 2, 1), 101L)
+        ));
+        assertEquals(List.of(2L, 1L), palletIds(index.oldestFirst(10L)));
+
+        Pallet shipped = pallet(2L, 10L, LocalDate.of(2026, 2, 1), null, PalletStatus.SHIPPED);
+        index.update(shipped);
+        Pallet placed = pallet(5L, 10L, LocalDate.of(2026, 1, 15), location(104L), PalletStatus.PLACED);
+        index.update(placed);
+
+        assertEquals(List.of(5L, 1L), palletIds(index.oldestFirst(10L)));
+    }
+
+    @Test
+    void shouldKeepChangesAppliedWhileRefreshLoads() {
+        List<PalletExpiryView> stale = List.of(
+            view(1L, 10L, LocalDate.of(2026, 6, 1), 100L),
+            view(2L, 10L, LocalDate.of(2026, 2, 1), 101L)
+        );
+        when(palletRepository.findExpiryStock(ExpiryStockIndex.STOCK_STATUSES))
+            .thenReturn(stale)
+            .thenAnswer(invocation -> {
+                // Commits landing after the rebuild query read its rows
+                index.update(pallet(2L, 10L, LocalDate.of(2026, 2, 1), null, PalletStatus.SHIPPED));
+                index.update(pallet(5L, 10L, LocalDate.of(2026, 1, 15), location(104L), PalletStatus.PLACED));
+                return stale;
+            });
+        assertEquals(List.of(2L, 1L), palletIds(index.oldestFirst(10L)));
+
+        index.refresh();
+
+        assertEquals(List.of(5L, 1L), palletIds(index.oldestFirst(10L)));
+        verify(palletRepository, times(2)).findExpiryStock(ExpiryStockIndex.STOCK_STATUSES);
+    }
+
+    private List<Long> palletIds(Iterator<ExpiryStockIndex.StockEntry> entries) {
+        List<Long> ids = new ArrayList<>();
+        entries.forEachRemaining(entry -> ids.add(entry.palletId()));
+        return ids;
+    }
+
+    private Pallet pallet(Long id, Long skuId, LocalDate expiry, Location location, PalletStatus status) {
+        Pallet pallet = new Pallet();
+        pallet.setId(id);
+        pallet.setSkuId(skuId);
+        pallet.setExpiryDate(expiry);
+        pallet.setLocation(location);
+        pallet.setStatus(status);
+        return pallet;
+    }
+
+    private Location location(Long id) {
+        Location location = new Location();
+        location.setId(id);
+        return location;
+    }
+
+    private PalletExpiryView view(Long palletId, Long skuId, LocalDate expiry, Long locationId) {
+        return new PalletExpiryView() {
+            @Override
+            public Long getPalletId() {
+                return palletId;
+            }
+
+            @Override
+            public Long getSkuId() {
+                return skuId;
+            }
+
+            @Override
+            public LocalDate getExpiryDate() {
+                return expiry;
+            }
+
+            @Override
+            public String getLotNumber() {
+                return null;
+            }
+
+            @Override
+            public Long getLocationId() {
+                return locationId;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.domain.Pallet;
+import com.wmsdipl.core.domain.Zone;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FifoDirectedStrategyTest {
+
+    @Mock
+    private ClosestAvailableStrategy fallback;
+    @Mock
+    private ForwardSlotLocator forwardSlots;
+    @Mock
+    private ExpiryStockIndex expiryStockIndex;
+    @Mock
+    private LocationRepository locationRepository;
+    @Mock
+    private LocationOccupancyIndex occupancyIndex;
+
+    private FifoDirectedStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new FifoDirectedStrategy(fallback, forwardSlots, expiryStockIndex, locationRepository, occupancyIndex, 30, 7);
+    }
+
+    @Test
+    void shouldPlaceShortDatedStockInForwardCell() {
+        Pallet pallet = pallet(LocalDate.now().plusDays(5));
+        PutawayContext context = new PutawayContext(null, null, null, null, null, LocationType.STORAGE);
+        Location forwardCell = location(1L, "F-01-01");
+
+        when(forwardSlots.findNearDispatch(context)).thenReturn(Optional.of(forwardCell));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("F-01-01", result.orElseThrow().getCode());
+        verify(expiryStockIndex, never()).expiringBetween(any(), any(), any());
+    }
+
+    @Test
+    void shouldGroupLongDatedStockWithSameExpiryBucket() {
+        LocalDate expiry = LocalDate.now().plusDays(180);
+        Pallet pallet = pallet(expiry);
+        PutawayContext context = new PutawayContext(null, null, null, null, null, LocationType.STORAGE);
+        Location sameBucket = location(7L, "S-07-01");
+
+        when(expiryStockIndex.expiringBetween(eq(42L), any(), any())).thenReturn(List.of(
+            new ExpiryStockIndex.StockEntry(100L, 42L, expiry, "LOT-1", 7L)
+        ));
+        when(locationRepository.findAllById(Set.of(7L))).thenReturn(List.of(sameBucket));
+        when(occupancyIndex.findFirstFit(List.of(sameBucket), null)).thenReturn(Optional.of(sameBucket));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("S-07-01", result.orElseThrow().getCode());
+        verify(forwardSlots, never()).findNearDispatch(any());
+        verify(fallback, never()).findLocation(any(), any());
+    }
+
+    @Test
+    void shouldKeepSameBucketGroupingInsidePreferredZone() throws Exception {
+        LocalDate expiry = LocalDate.now().plusDays(180);
+        Pallet pallet = pallet(expiry);
+        Zone cold = zone(1L);
+        PutawayContext context = new PutawayContext(null, cold, null, null, null, LocationType.STORAGE);
+        Location otherZone = location(7L, "S-07-01");
+        otherZone.setZone(zone(2L));
+        Location coldCell = location(3L, "K-03-01");
+        coldCell.setZone(cold);
+
+        when(expiryStockIndex.expiringBetween(eq(42L), any(), any())).thenReturn(List.of(
+            new ExpiryStockIndex.StockEntry(100L, 42L, expiry, "LOT-1", 7L)
+        ));
+        when(locationRepository.findAllById(Set.of(7L))).thenReturn(List.of(otherZone));
+        when(occupancyIndex.findFirstFit(List.of(), null)).thenReturn(Optional.empty());
+        when(fallback.findLocation(pallet, context)).thenReturn(Optional.of(coldCell));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("K-03-01", result.orElseThrow().getCode());
+    }
+
+    @Test
+    void shouldFallBackForPalletWithoutExpiry() {
+        Pallet pallet = pallet(null);
+        PutawayContext context = new PutawayContext(null, null, null, null, null, LocationType.STORAGE);
+        Location closest = location(3L, "C-03-01");
+
+        when(fallback.findLocation(pallet, context)).thenReturn(Optional.of(closest));
+
+        Optional<Location> result = strategy.findLocation(pallet, context);
+
+        assertEquals("C-03-01", result.orElseThrow().getCode());
+    }
+
+    private Pallet pallet(LocalDate expiry) {
+        Pallet pallet = new Pallet();
+        pallet.setSkuId(42L);
+        pallet.setExpiryDate(expiry);
+        return pallet;
+    }
+
+    private Zone zone(Long id) throws Exception {
+        Zone zone = new Zone();
+        Field idField = Zone.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(zone, id);
+        return zone;
+    }
+
+    private Location location(Long id, String code) {
+        Location location = new Location();
+        location.setId(id);
+        location.setCode(code);
+        location.setLocationType(LocationType.STORAGE);
+        location.setStatus(LocationStatus.OCCUPIED);
+        location.setActive(true);
+        return location;
+    }
+}
@@ -0,0 +1,67 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ForwardSlotLocatorTest {
+
+    @Mock
+    private ClosestAvailableStrategy closest;
+    @Mock
+    private LocationRepository locationRepository;
+
+    @InjectMocks
+    private ForwardSlotLocator locator;
+
+    @Test
+    void shouldRankFromDispatchCellClosestToPallet() {
+        Location receivingDock = located("R-01", 0, 0);
+        Location farDock = located("S-FAR", 100, 100);
+        Location nearDock = located("S-NEAR", 10, 0);
+        Location forwardCell = located("A-01-01", 12, 2);
+        PutawayContext context = new PutawayContext(null, null, "A", null, receivingDock, LocationType.STORAGE);
+
+        when(locationRepository.findActiveWithCoordinates(LocationType.SHIPPING)).thenReturn(List.of(farDock, nearDock));
+        when(closest.findNearestFit(LocationType.STORAGE, null, nearDock, null)).thenReturn(Optional.of(forwardCell));
+
+        Optional<Location> result = locator.findNearDispatch(context);
+
+        assertEquals("A-01-01", result.orElseThrow().getCode());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoDispatchCellHasCoordinates() {
+        PutawayContext context = new PutawayContext(null, null, "A", null, null, LocationType.STORAGE);
+
+        when(locationRepository.findActiveWithCoordinates(LocationType.SHIPPING)).thenReturn(List.of());
+
+        assertTrue(locator.findNearDispatch(context).isEmpty());
+        verify(closest, never()).findNearestFit(any(), any(), any(), any());
+    }
+
+    private Location located(String code, int x, int y) {
+        Location location = new Location();
+        location.setCode(code);
+        location.setXCoord(BigDecimal.valueOf(x));
+        location.setYCoord(BigDecimal.valueOf(y));
+        return location;
+    }
+}
@@ -0,0 +1,127 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.repository.LocationCount;
+import com.wmsdipl.core.repository.PalletRepository;
+import com.wmsdipl.core.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationOccupancyIndexTest {
+
+    @Mock
+    private PalletRepository palletRepository;
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private LocationOccupancyIndex occupancyIndex;
+
+    @Test
+    void shouldSumStoredPalletsAndPendingArrivals() throws Exception {
+        Location full = location(1L, 2);
+        Location free = location(2L, 2);
+
+        when(palletRepository.countGroupedByLocationIdIn(List.of(1L, 2L)))
+            .thenReturn(List.of(count(1L, 1L), count(2L, 1L)));
+        when(taskRepository.countGroupedByTargetLocationIdIn(List.of(1L, 2L), LocationOccupancyIndex.PENDING_STATUSES))
+            .thenReturn(List.of(count(1L, 1L)));
+
+        Map<Long, Long> occupied = occupancyIndex.loadOccupiedSlots(List.of(full, free));
+
+        assertEquals(2L, occupied.get(1L));
+        assertEquals(1L, occupied.get(2L));
+        assertFalse(LocationOccupancyIndex.hasFreeSlot(full, occupied));
+        assertTrue(LocationOccupancyIndex.hasFreeSlot(free, occupied));
+    }
+
+    @Test
+    void shouldReturnFirstFitInCandidateOrder() throws Exception {
+        Location full = location(10L, 1);
+        Location free = location(11L, 1);
+        Location alsoFree = location(12L, 1);
+
+        when(palletRepository.countGroupedByLocationIdIn(anyCollection()))
+            .thenReturn(List.of(count(10L, 1L)));
+        when(taskRepository.countGroupedByTargetLocationIdIn(anyCollection(), anyCollection()))
+            .thenReturn(List.of());
+
+        Optional<Location> result = occupancyIndex.findFirstFit(List.of(full, free, alsoFree));
+
+        assertTrue(result.isPresent());
+        assertEquals(11L, result.get().getId());
+    }
+
+    @Test
+    void shouldQueryInBatchesInsteadOfPerLocation() throws Exception {
+        List<Location> candidates = new ArrayList<>();
+        for (long id = 1; id <= LocationOccupancyIndex.BATCH_SIZE + 1; id++) {
+            candidates.add(location(id, 1));
+        }
+
+        when(palletRepository.countGroupedByLocationIdIn(anyCollection())).thenReturn(List.of());
+        when(taskRepository.countGroupedByTargetLocationIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        Map<Long, Long> occupied = occupancyIndex.loadOccupiedSlots(candidates);
+
+        assertTrue(occupied.isEmpty());
+        verify(palletRepository, times(2)).countGroupedByLocationIdIn(anyCollection());
+        verify(taskRepository, times(2)).countGroupedByTargetLocationIdIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void shouldTreatUnlimitedLocationAsFit() throws Exception {
+        Location unlimited = location(5L, null);
+
+        Optional<Location> result = occupancyIndex.findFirstFit(List.of(unlimited));
+
+        assertTrue(result.isPresent());
+        verify(palletRepository, times(0)).countGroupedByLocationIdIn(anyCollection());
+    }
+
+    private Location location(Long id, Integer maxPallets) throws Exception {
+        Location location = new Location();
+        setId(location, id);
+        location.setCode("LOC-" + id);
+        location.setMaxPallets(maxPallets);
+        return location;
+    }
+
+    private LocationCount count(Long locationId, Long total) {
+        return new LocationCount() {
+            @Override
+            public Long getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private void setId(Object target, Long id) throws Exception {
+        Field idField = target.getClass().getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(target, id);
+    }
+}
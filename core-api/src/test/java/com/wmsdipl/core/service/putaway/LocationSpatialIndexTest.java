@@ -0,0 +1,152 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.domain.Zone;
+import com.wmsdipl.core.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationSpatialIndexTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @InjectMocks
+    private LocationSpatialIndex spatialIndex;
+
+    @Test
+    void shouldReturnLocationsOrderedByDistanceToOrigin() throws Exception {
+        Zone zone = zone(1L);
+        Location far = location(1L, zone, LocationType.STORAGE, 80, 80);
+        Location near = location(2L, zone, LocationType.STORAGE, 3, 4);
+        Location middle = location(3L, zone, LocationType.STORAGE, 12, 0);
+        Location noCoordinates = location(4L, zone, LocationType.STORAGE, null, null);
+        Location otherType = location(5L, zone, LocationType.CROSS_DOCK, 1, 1);
+        when(locationRepository.findAll()).thenReturn(List.of(far, near, middle, noCoordinates, otherType));
+
+        Location dock = location(100L, zone, LocationType.RECEIVING, 0, 0);
+
+        assertEquals(List.of(2L, 3L, 1L, 4L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+        assertEquals(List.of(2L, 3L, 1L, 4L), drain(spatialIndex.nearest(LocationType.STORAGE, 1L, dock)));
+        assertEquals(List.of(), drain(spatialIndex.nearest(LocationType.STORAGE, 2L, dock)));
+    }
+
+    @Test
+    void shouldApplyBlockAndUnblockIncrementally() throws Exception {
+        Zone zone = zone(1L);
+        Location near = location(1L, zone, LocationType.STORAGE, 1, 1);
+        Location far = location(2L, zone, LocationType.STORAGE, 50, 50);
+        when(locationRepository.findAll()).thenReturn(List.of(near, far));
+        Location dock = location(100L, zone, LocationType.RECEIVING, 0, 0);
+
+        assertEquals(List.of(1L, 2L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+
+        near.setStatus(LocationStatus.BLOCKED);
+        spatialIndex.upsert(near);
+        assertEquals(List.of(2L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+
+        near.setStatus(LocationStatus.AVAILABLE);
+        spatialIndex.upsert(near);
+        Location created = location(3L, zone, LocationType.STORAGE, 20, 20);
+        spatialIndex.upsert(created);
+        assertEquals(List.of(1L, 3L, 2L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+
+        spatialIndex.remove(3L);
+        assertEquals(List.of(1L, 2L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+    }
+
+    @Test
+    void shouldApplyEditsOnlyAfterCommit() throws Exception {
+        Zone zone = zone(1L);
+        Location near = location(1L, zone, LocationType.STORAGE, 1, 1);
+        when(locationRepository.findAll()).thenReturn(List.of(near));
+        Location dock = location(100L, zone, LocationType.RECEIVING, 0, 0);
+        assertEquals(List.of(1L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            spatialIndex.upsert(location(2L, zone, LocationType.STORAGE, 2, 2));
+            assertEquals(List.of(1L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+            List<TransactionSynchronization> rolledBack = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(List.of(1L), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+
+            TransactionSynchronizationManager.initSynchronization();
+            spatialIndex.remove(1L);
+            List<TransactionSynchronization> committed = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            committed.forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(), drain(spatialIndex.nearest(LocationType.STORAGE, null, dock)));
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Test
+    void shouldFindNearestAcrossGridBucketsFromDistantOrigin() throws Exception {
+        Zone zone = zone(1L);
+        List<Location> grid = new ArrayList<>();
+        long id = 1;
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 20; y++) {
+                grid.add(location(id++, zone, LocationType.STORAGE, x * 3, y * 3));
+            }
+        }
+        when(locationRepository.findAll()).thenReturn(grid);
+        Location dock = location(1000L, zone, LocationType.RECEIVING, 200, 58);
+
+        Iterator<Long> nearest = spatialIndex.nearest(LocationType.STORAGE, null, dock);
+
+        // Closest cell to (200, 58) is x=57, y=57 -> index 19 * 20 + 19 + 1
+        assertEquals(400L, nearest.next());
+    }
+
+    private List<Long> drain(Iterator<Long> iterator) {
+        List<Long> ids = new ArrayList<>();
+        iterator.forEachRemaining(ids::add);
+        return ids;
+    }
+
+    private Zone zone(Long id) throws Exception {
+        Zone zone = new Zone();
+        setId(zone, id);
+        return zone;
+    }
+
+    private Location location(Long id, Zone zone, LocationType type, Integer x, Integer y) throws Exception {
+        Location location = new Location();
+        setId(location, id);
+        location.setCode("LOC-" + id);
+        location.setZone(zone);
+        location.setLocationType(type);
+        location.setXCoord(x != null ? BigDecimal.valueOf(x) : null);
+        location.setYCoord(y != null ? BigDecimal.valueOf(y) : null);
+        return location;
+    }
+
+    private void setId(Object target, Long id) throws Exception {
+        Field idField = target.getClass().getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(target, id);
+    }
+}
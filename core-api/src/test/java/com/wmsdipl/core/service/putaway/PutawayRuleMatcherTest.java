@@ -0,0 +1,106 @@
+package com.wmsdipl.core.service.putaway;
+
+import com.wmsdipl.core.domain.PutawayRule;
+import com.wmsdipl.core.domain.Zone;
+import com.wmsdipl.core.service.PutawayRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PutawayRuleMatcherTest {
+
+    @Mock
+    private PutawayRuleService ruleService;
+    @Mock
+    private StrategyRegistry strategyRegistry;
+    @Mock
+    private PutawayStrategy zoneStrategy;
+    @Mock
+    private PutawayStrategy fastStrategy;
+    @Mock
+    private PutawayStrategy fallbackStrategy;
+
+    private PutawayRuleMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new PutawayRuleMatcher(ruleService, strategyRegistry, 60_000);
+        lenient().when(strategyRegistry.get("ZONE")).thenReturn(Optional.of(zoneStrategy));
+        lenient().when(strategyRegistry.get("FAST")).thenReturn(Optional.of(fastStrategy));
+        lenient().when(strategyRegistry.get("ANY")).thenReturn(Optional.of(fallbackStrategy));
+        lenient().when(strategyRegistry.get("UNKNOWN")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void shouldMatchRulesLikeLinearEvaluationInPriorityOrder() throws Exception {
+        when(ruleService.getActiveRules()).thenReturn(List.of(
+            rule("ZONE", zone(5L), null, "Frozen"),
+            rule("FAST", null, "a", null),
+            rule("UNKNOWN", null, null, null),
+            rule("ANY", null, null, null)
+        ));
+
+        assertArrayEquals(new PutawayStrategy[] {zoneStrategy, fastStrategy, fallbackStrategy},
+            matcher.match(5L, "A", "FROZEN"));
+        assertArrayEquals(new PutawayStrategy[] {zoneStrategy, fallbackStrategy},
+            matcher.match(5L, "C", null));
+        assertArrayEquals(new PutawayStrategy[] {fastStrategy, fallbackStrategy},
+            matcher.match(7L, "A", "FROZEN"));
+        assertArrayEquals(new PutawayStrategy[] {fallbackStrategy},
+            matcher.match(null, "B", "DRY"));
+        assertArrayEquals(new PutawayStrategy[] {zoneStrategy, fallbackStrategy},
+            matcher.match(5L, "B", "frozen"));
+        assertArrayEquals(new PutawayStrategy[] {fallbackStrategy},
+            matcher.match(5L, "B", "DRY"));
+
+        verify(ruleService, times(1)).getActiveRules();
+    }
+
+    @Test
+    void shouldRecompileAfterInvalidate() {
+        when(ruleService.getActiveRules())
+            .thenReturn(List.of(rule("ANY", null, null, null)))
+            .thenReturn(List.of(rule("FAST", null, "A", null)));
+
+        PutawayStrategy[] before = matcher.match(null, "A", null);
+        assertSame(before, matcher.match(null, "A", null));
+
+        matcher.invalidate();
+
+        assertArrayEquals(new PutawayStrategy[] {fastStrategy}, matcher.match(null, "A", null));
+        assertArrayEquals(new PutawayStrategy[0], matcher.match(null, "C", null));
+        verify(ruleService, times(2)).getActiveRules();
+    }
+
+    private PutawayRule rule(String strategyType, Zone zone, String velocityClass, String skuCategory) {
+        PutawayRule rule = new PutawayRule();
+        rule.setStrategyType(strategyType);
+        rule.setZone(zone);
+        rule.setVelocityClass(velocityClass);
+        rule.setSkuCategory(skuCategory);
+        rule.setActive(true);
+        return rule;
+    }
+
+    private Zone zone(Long id) throws Exception {
+        Zone zone = new Zone();
+        Field idField = Zone.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(zone, id);
+        return zone;
+    }
+}
@@ -112,7 +112,7 @@ class PlacementWorkflowServiceTest {
         testScan.setTask(testTask);
         testScan.setPalletCode("PALLET001");
 
-        lenient().when(duplicateScanDetectionService.checkScan(anyString()))
+        lenient().when(duplicateScanDetectionService.checkRecentScan(anyString()))
             .thenReturn(DuplicateScanDetectionService.ScanResult.valid("PALLET001"));
     }
 
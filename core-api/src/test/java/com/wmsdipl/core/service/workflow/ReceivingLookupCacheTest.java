@@ -0,0 +1,93 @@
+package com.wmsdipl.core.service.workflow;
+
+import com.wmsdipl.core.domain.Location;
+import com.wmsdipl.core.domain.LocationStatus;
+import com.wmsdipl.core.domain.LocationType;
+import com.wmsdipl.core.domain.Sku;
+import com.wmsdipl.core.repository.LocationRepository;
+import com.wmsdipl.core.repository.SkuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReceivingLookupCacheTest {
+
+    @Mock
+    private SkuRepository skuRepository;
+    @Mock
+    private LocationRepository locationRepository;
+
+    private ReceivingLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReceivingLookupCache(skuRepository, locationRepository, 60_000);
+    }
+
+    @Test
+    void shouldLoadSkuOnceUntilEvicted() {
+        Sku sku = new Sku();
+        sku.setId(1L);
+        sku.setCode("SKU-001");
+        sku.setUom("PCS");
+        when(skuRepository.findById(1L)).thenReturn(Optional.of(sku));
+
+        assertEquals("SKU-001", cache.findSku(1L).orElseThrow().code());
+        assertEquals("PCS", cache.findSku(1L).orElseThrow().uom());
+        verify(skuRepository, times(1)).findById(1L);
+
+        cache.evictSku(1L);
+        cache.findSku(1L);
+        verify(skuRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotCacheMissingSku() {
+        when(skuRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.findSku(9L).isEmpty());
+        assertTrue(cache.findSku(9L).isEmpty());
+        verify(skuRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    void shouldReuseTransitLocationIdUntilEvicted() {
+        Location receiving = new Location();
+        receiving.setId(5L);
+        Location reference = new Location();
+        reference.setId(5L);
+        when(locationRepository.findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
+            LocationType.RECEIVING, LocationStatus.AVAILABLE)).thenReturn(Optional.of(receiving));
+        when(locationRepository.getReferenceById(5L)).thenReturn(reference);
+
+        assertSame(receiving, cache.getTransitLocation());
+        assertSame(reference, cache.getTransitLocation());
+
+        cache.evictTransitLocation();
+        assertSame(receiving, cache.getTransitLocation());
+        verify(locationRepository, times(2)).findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
+            LocationType.RECEIVING, LocationStatus.AVAILABLE);
+    }
+
+    @Test
+    void shouldRejectScanWhenNoTransitLocationExists() {
+        when(locationRepository.findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
+            LocationType.RECEIVING, LocationStatus.AVAILABLE)).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> cache.getTransitLocation());
+    }
+}
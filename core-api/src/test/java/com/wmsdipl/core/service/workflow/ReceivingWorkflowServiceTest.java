@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -47,8 +48,6 @@ class ReceivingWorkflowServiceTest {
     @Mock
     private PalletRepository palletRepository;
     @Mock
-    private LocationRepository locationRepository;
-    @Mock
     private SkuRepository skuRepository;
     @Mock
     private SkuService skuService;
@@ -60,6 +59,10 @@ class ReceivingWorkflowServiceTest {
     private ReceiptService receiptService;
     @Mock
     private ReceiptWorkflowBlockerService receiptWorkflowBlockerService;
+    @Mock
+    private ReceivingLookupCache lookupCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ReceivingWorkflowService receivingWorkflowService;
@@ -143,7 +146,7 @@ class ReceivingWorkflowServiceTest {
         Scan existing = new Scan();
         existing.setRequestId("req-123");
 
-        when(taskLifecycleService.getTask(1L)).thenReturn(task);
+        when(taskLifecycleService.getTaskWithReceiptAndLine(1L)).thenReturn(task);
         when(scanRepository.findByTaskIdAndRequestId(1L, "req-123")).thenReturn(Optional.of(existing));
 
         RecordScanRequest request = new RecordScanRequest(
@@ -182,7 +185,7 @@ class ReceivingWorkflowServiceTest {
         task.setLine(line);
         testReceipt.setStatus(ReceiptStatus.IN_PROGRESS);
 
-        when(taskLifecycleService.getTask(1L)).thenReturn(task);
+        when(taskLifecycleService.getTaskWithReceiptAndLine(1L)).thenReturn(task);
 
         RecordScanRequest request = new RecordScanRequest(
             null,
@@ -240,14 +243,14 @@ class ReceivingWorkflowServiceTest {
         rejectedScannedSku.setCode("SKU-REJ-001");
         rejectedScannedSku.setStatus(SkuStatus.REJECTED);
 
-        when(taskLifecycleService.getTask(1L)).thenReturn(task);
-        when(duplicateScanDetectionService.checkScan("PLT-REJ-001"))
+        when(taskLifecycleService.getTaskWithReceiptAndLine(1L)).thenReturn(task);
+        when(duplicateScanDetectionService.checkRecentScan("PLT-REJ-001"))
             .thenReturn(DuplicateScanDetectionService.ScanResult.valid("PLT-REJ-001"));
         when(palletRepository.findByCode("PLT-REJ-001")).thenReturn(Optional.of(pallet));
-        when(locationRepository.findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
-            LocationType.RECEIVING, LocationStatus.AVAILABLE
-        )).thenReturn(Optional.of(receivingLocation));
-        when(skuRepository.findById(1L)).thenReturn(Optional.of(expectedSku));
+        when(lookupCache.getTransitLocation()).thenReturn(receivingLocation);
+        when(lookupCache.findSku(1L)).thenReturn(Optional.of(
+            new ReceivingLookupCache.SkuRef(expectedSku.getId(), expectedSku.getCode(), expectedSku.getUom())
+        ));
         when(skuRepository.findByCode("SKU-REJ-001")).thenReturn(Optional.of(rejectedScannedSku));
         when(palletRepository.save(any(Pallet.class))).thenAnswer(inv -> inv.getArgument(0));
         when(scanRepository.save(any(Scan.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -312,13 +315,11 @@ class ReceivingWorkflowServiceTest {
         receivingLocation.setLocationType(LocationType.RECEIVING);
         receivingLocation.setStatus(LocationStatus.AVAILABLE);
 
-        when(taskLifecycleService.getTask(415L)).thenReturn(task);
-        when(duplicateScanDetectionService.checkScan("PLT-00002"))
+        when(taskLifecycleService.getTaskWithReceiptAndLine(415L)).thenReturn(task);
+        when(duplicateScanDetectionService.checkRecentScan("PLT-00002"))
             .thenReturn(DuplicateScanDetectionService.ScanResult.valid("PLT-00002"));
         when(palletRepository.findByCode("PLT-00002")).thenReturn(Optional.of(pallet));
-        when(locationRepository.findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
-            LocationType.RECEIVING, LocationStatus.AVAILABLE
-        )).thenReturn(Optional.of(receivingLocation));
+        when(lookupCache.getTransitLocation()).thenReturn(receivingLocation);
         when(palletRepository.save(any(Pallet.class))).thenAnswer(inv -> inv.getArgument(0));
         when(scanRepository.save(any(Scan.class))).thenAnswer(inv -> inv.getArgument(0));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -386,13 +387,11 @@ class ReceivingWorkflowServiceTest {
         receivingLocation.setLocationType(LocationType.RECEIVING);
         receivingLocation.setStatus(LocationStatus.AVAILABLE);
 
-        when(taskLifecycleService.getTask(437L)).thenReturn(task);
-        when(duplicateScanDetectionService.checkScan("PLT-LOT-001"))
+        when(taskLifecycleService.getTaskWithReceiptAndLine(437L)).thenReturn(task);
+        when(duplicateScanDetectionService.checkRecentScan("PLT-LOT-001"))
             .thenReturn(DuplicateScanDetectionService.ScanResult.valid("PLT-LOT-001"));
         when(palletRepository.findByCode("PLT-LOT-001")).thenReturn(Optional.of(pallet));
-        when(locationRepository.findFirstByLocationTypeAndStatusAndActiveTrueOrderByIdAsc(
-            LocationType.RECEIVING, LocationStatus.AVAILABLE
-        )).thenReturn(Optional.of(receivingLocation));
+        when(lookupCache.getTransitLocation()).thenReturn(receivingLocation);
         when(palletRepository.save(any(Pallet.class))).thenAnswer(inv -> inv.getArgument(0));
         when(scanRepository.save(any(Scan.class))).thenAnswer(inv -> inv.getArgument(0));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -424,4 +423,44 @@ class ReceivingWorkflowServiceTest {
         assertEquals(0, discrepancy.getQtyExpected().compareTo(BigDecimal.ONE));
         assertEquals(0, discrepancy.getQtyActual().compareTo(BigDecimal.ONE));
     }
+
+    @Test
+    void shouldSkipRepeatWindow_WhenRecordingQueuedScan() {
+        testReceipt.setStatus(ReceiptStatus.IN_PROGRESS);
+
+        ReceiptLine line = new ReceiptLine();
+        line.setSkuId(1L);
+        line.setQtyExpected(BigDecimal.TEN);
+
+        Task task = new Task();
+        task.setTaskType(TaskType.RECEIVING);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setReceipt(testReceipt);
+        task.setLine(line);
+        task.setQtyAssigned(BigDecimal.TEN);
+        task.setQtyDone(BigDecimal.ONE);
+
+        Pallet pallet = new Pallet();
+        pallet.setCode("PLT-Q-001");
+        pallet.setSkuId(1L);
+        pallet.setQuantity(BigDecimal.ONE);
+
+        when(taskLifecycleService.getTaskWithReceiptAndLine(1L)).thenReturn(task);
+        when(scanRepository.findByTaskIdAndRequestId(1L, "queued-2")).thenReturn(Optional.empty());
+        when(palletRepository.findByCode("PLT-Q-001")).thenReturn(Optional.of(pallet));
+        when(palletRepository.save(any(Pallet.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(scanRepository.save(any(Scan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        RecordScanRequest request = new RecordScanRequest(
+            "queued-2", "PLT-Q-001", 1, null, null, null, null, null,
+            false, null, null, null, null
+        );
+
+        Scan result = receivingWorkflowService.recordQueuedScan(1L, request);
+
+        assertEquals(0, result.getQty().compareTo(BigDecimal.ONE));
+        assertEquals(0, pallet.getQuantity().compareTo(BigDecimal.valueOf(2)));
+        verifyNoInteractions(duplicateScanDetectionService);
+    }
 }
@@ -0,0 +1,188 @@
+package com.wmsdipl.core.service.workflow;
+
+import com.wmsdipl.contracts.dto.BatchScanItemResult;
+import com.wmsdipl.contracts.dto.BatchScanRequest;
+import com.wmsdipl.contracts.dto.RecordScanRequest;
+import com.wmsdipl.contracts.dto.ScanDto;
+import com.wmsdipl.core.domain.Scan;
+import com.wmsdipl.core.domain.Task;
+import com.wmsdipl.core.domain.TaskType;
+import com.wmsdipl.core.mapper.ScanMapper;
+import com.wmsdipl.core.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+@ExtendWith(MockitoExtension.class)
+class ScanBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private ReceivingWorkflowService receivingWorkflowService;
+    @Mock
+    private PlacementWorkflowService placementWorkflowService;
+    @Mock
+    private ShippingWorkflowService shippingWorkflowService;
+    @Mock
+    private ScanMapper scanMapper;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ScanBatchService scanBatchService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().when(scanMapper.toDto(any(Scan.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+    }
+
+    @Test
+    void shouldRecordScansOfEachTaskInOneTransactionAndKeepRequestOrder() throws Exception {
+        RecordScanRequest first = scan("req-1", "PLT-1");
+        RecordScanRequest other = scan("req-2", "PLT-2");
+        RecordScanRequest second = scan("req-3", "PLT-1");
+        when(taskRepository.findAllById(any())).thenReturn(List.of(
+            task(1L, TaskType.RECEIVING), task(2L, TaskType.PLACEMENT)));
+        when(receivingWorkflowService.recordQueuedScan(1L, first)).thenReturn(recorded("req-1"));
+        when(receivingWorkflowService.recordQueuedScan(1L, second)).thenReturn(recorded("req-3"));
+        when(placementWorkflowService.recordPlacement(2L, other)).thenReturn(recorded("req-2"));
+
+        List<BatchScanItemResult> results = scanBatchService.recordBatch(new BatchScanRequest(List.of(
+            new BatchScanRequest.Item(1L, first),
+            new BatchScanRequest.Item(2L, other),
+            new BatchScanRequest.Item(1L, second)
+        )));
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+            assertTrue(results.get(i).success());
+        }
+        assertEquals("req-2", results.get(1).scan().requestId());
+        assertEquals("req-3", results.get(2).scan().requestId());
+
+        InOrder receivingOrder = inOrder(receivingWorkflowService);
+        receivingOrder.verify(receivingWorkflowService).recordQueuedScan(1L, first);
+        receivingOrder.verify(receivingWorkflowService).recordQueuedScan(1L, second);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void shouldRetryTaskScansOneByOne_WhenOneScanFails() throws Exception {
+        RecordScanRequest good = scan("req-1", "PLT-1");
+        RecordScanRequest bad = scan("req-2", "PLT-404");
+        Scan goodScan = recorded("req-1");
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task(1L, TaskType.RECEIVING)));
+        when(receivingWorkflowService.recordQueuedScan(1L, good)).thenReturn(goodScan);
+        when(receivingWorkflowService.recordQueuedScan(1L, bad))
+            .thenThrow(new ResponseStatusException(NOT_FOUND, "Pallet not found: PLT-404"));
+
+        List<BatchScanItemResult> results = scanBatchService.recordBatch(new BatchScanRequest(List.of(
+            new BatchScanRequest.Item(1L, good),
+            new BatchScanRequest.Item(1L, bad)
+        )));
+
+        assertTrue(results.get(0).success());
+        assertEquals("req-1", results.get(0).scan().requestId());
+        assertFalse(results.get(1).success());
+        assertNull(results.get(1).scan());
+        assertEquals("Pallet not found: PLT-404", results.get(1).error());
+        assertEquals("req-2", results.get(1).requestId());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void shouldRetryOptimisticLockConflicts_LikeSingleScanEndpoint() throws Exception {
+        RecordScanRequest contended = scan("req-1", "PLT-1");
+        RecordScanRequest stuck = scan("req-2", "PLT-2");
+        when(taskRepository.findAllById(any())).thenReturn(List.of(
+            task(1L, TaskType.RECEIVING), task(2L, TaskType.SHIPPING)));
+        when(receivingWorkflowService.recordQueuedScan(1L, contended))
+            .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"))
+            .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"))
+            .thenReturn(recorded("req-1"));
+        when(shippingWorkflowService.recordShipping(2L, stuck))
+            .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        List<BatchScanItemResult> results = scanBatchService.recordBatch(new BatchScanRequest(List.of(
+            new BatchScanRequest.Item(1L, contended),
+            new BatchScanRequest.Item(2L, stuck)
+        )));
+
+        assertTrue(results.get(0).success());
+        assertEquals("req-1", results.get(0).scan().requestId());
+        assertFalse(results.get(1).success());
+        assertEquals("Failed to record scan due to concurrent update. Please retry.", results.get(1).error());
+        // Group transaction, then two attempts of the single-scan retry for the first task
+        verify(receivingWorkflowService, times(3)).recordQueuedScan(1L, contended);
+        verify(shippingWorkflowService, times(4)).recordShipping(2L, stuck);
+    }
+
+    @Test
+    void shouldReportMissingTaskWithoutOpeningTransaction() {
+        RecordScanRequest request = scan("req-1", "PLT-1");
+        when(taskRepository.findAllById(any())).thenReturn(List.of());
+
+        List<BatchScanItemResult> results = scanBatchService.recordBatch(new BatchScanRequest(List.of(
+            new BatchScanRequest.Item(99L, request)
+        )));
+
+        assertFalse(results.get(0).success());
+        assertEquals("Task not found: 99", results.get(0).error());
+        verifyNoInteractions(transactionTemplate, receivingWorkflowService);
+    }
+
+    private RecordScanRequest scan(String requestId, String palletCode) {
+        return new RecordScanRequest(requestId, palletCode, 1, null, null, null, null, null,
+            false, null, null, null, null);
+    }
+
+    private Scan recorded(String requestId) {
+        Scan scan = new Scan();
+        scan.setRequestId(requestId);
+        return scan;
+    }
+
+    private ScanDto dto(Scan scan) {
+        return new ScanDto(null, null, scan.getRequestId(), null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null);
+    }
+
+    private Task task(Long id, TaskType type) throws Exception {
+        Task task = new Task();
+        task.setTaskType(type);
+        Field idField = Task.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(task, id);
+        return task;
+    }
+}
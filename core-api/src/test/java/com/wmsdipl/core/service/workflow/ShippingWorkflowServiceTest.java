@@ -159,7 +159,7 @@ class ShippingWorkflowServiceTest {
 
         when(taskLifecycleService.getTask(5L)).thenReturn(task);
         when(scanRepository.findByTaskIdAndRequestId(5L, "req-1")).thenReturn(Optional.empty());
-        when(duplicateScanDetectionService.checkScan("PLT-100"))
+        when(duplicateScanDetectionService.checkRecentScan("PLT-100"))
             .thenReturn(DuplicateScanDetectionService.ScanResult.valid("PLT-100"));
         when(palletRepository.findByCode("PLT-100")).thenReturn(Optional.of(pallet));
         when(stockMovementService.recordPick(any(Pallet.class), any(Location.class), eq(BigDecimal.valueOf(4)), eq("operator1"), eq(5L), nullable(Long.class)))
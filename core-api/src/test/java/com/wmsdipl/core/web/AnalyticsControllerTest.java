@@ -2,6 +2,8 @@ package com.wmsdipl.core.web;
 
 import com.wmsdipl.contracts.dto.ReceivingAnalyticsDto;
 import com.wmsdipl.contracts.dto.ReceivingHealthDto;
+import com.wmsdipl.contracts.dto.TaskDurationAnalyticsDto;
+import com.wmsdipl.contracts.dto.TaskDurationPercentilesDto;
 import com.wmsdipl.core.service.AnalyticsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -94,4 +97,28 @@ class AnalyticsControllerTest {
             .andExpect(jsonPath("$.stuckReceivingReceipts").value(2))
             .andExpect(jsonPath("$.staleTasks").value(5));
     }
+
+    @Test
+    void shouldReturnTaskDurationPercentiles_WhenDateRangeValid() throws Exception {
+        TaskDurationAnalyticsDto dto = new TaskDurationAnalyticsDto(
+            LocalDate.of(2026, 2, 1),
+            LocalDate.of(2026, 2, 7),
+            List.of(new TaskDurationPercentilesDto("RECEIVING", null, null, null, 40L, 0.5, 1.25, 3.0)),
+            List.of(new TaskDurationPercentilesDto("RECEIVING", "operator1", null, null, 25L, 0.4, 1.0, 2.5)),
+            List.of(new TaskDurationPercentilesDto("PLACEMENT", null, 3L, "A", 10L, 0.2, 0.5, 0.75))
+        );
+        when(analyticsService.calculateTaskDurations(any(), any())).thenReturn(dto);
+
+        mockMvc.perform(get("/api/analytics/task-durations?fromDate=2026-02-01&toDate=2026-02-07"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.overall[0].p90Hours").value(1.25))
+            .andExpect(jsonPath("$.byOperator[0].assignee").value("operator1"))
+            .andExpect(jsonPath("$.byZone[0].zoneCode").value("A"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenTaskDurationRangeInvalid() throws Exception {
+        mockMvc.perform(get("/api/analytics/task-durations?fromDate=2026-02-07&toDate=2026-02-01"))
+            .andExpect(status().isBadRequest());
+    }
 }
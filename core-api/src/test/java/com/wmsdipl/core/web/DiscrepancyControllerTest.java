@@ -8,6 +8,8 @@ import com.wmsdipl.core.repository.UserRepository;
 import com.wmsdipl.core.service.DiscrepancyJournalConfigService;
 import com.wmsdipl.core.service.DiscrepancySkuResolutionService;
 import com.wmsdipl.core.service.TaskService;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,6 +18,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -37,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(DiscrepancyController.class)
 @AutoConfigureMockMvc(addFilters = true)
 @Import(SecurityConfig.class)
+@ActiveProfiles("test")
 class DiscrepancyControllerTest {
 
     @Autowired
@@ -105,6 +109,38 @@ class DiscrepancyControllerTest {
         verify(taskService).findDiscrepancyJournal(any(), any(), any(), any(), any(), any(), any(), any());
     }
 
+    @Test
+    @WithMockUser(roles = {"SUPERVISOR"})
+    void shouldReturnDiscrepancyJournalPage_WithCursor() throws Exception {
+        Discrepancy discrepancy = new Discrepancy();
+        discrepancy.setTaskId(10L);
+
+        DiscrepancyDto dto = new DiscrepancyDto(
+            2L, 100L, "RCP-001", 200L, 1, 10L, 300L, 400L, "operator1", "OVER_QTY",
+            new BigDecimal("10.00"), new BigDecimal("12.00"), null, null, null, null,
+            false, null, null, LocalDateTime.now()
+        );
+
+        when(taskService.findDiscrepancyJournalSlice(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(new CursorSlice<>(List.of(discrepancy), "next-token", null));
+        when(taskService.findTaskAssigneesByDiscrepancies(any())).thenReturn(Map.of(10L, "operator1"));
+        when(taskService.resolveDiscrepancyOperator(eq(discrepancy), any())).thenReturn("operator1");
+        when(discrepancyMapper.toDto(eq(discrepancy), eq("operator1"))).thenReturn(dto);
+        when(discrepancyJournalConfigService.getRetentionDays()).thenReturn(180);
+
+        mockMvc.perform(get("/api/discrepancies/seek")
+                .param("operator", "operator1")
+                .param("cursor", "prev-token")
+                .param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(2))
+            .andExpect(jsonPath("$.nextCursor").value("next-token"))
+            .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(taskService).findDiscrepancyJournalSlice(any(), any(), any(), any(), any(), any(), eq("operator1"), any(),
+            eq(new KeysetRequest(null, true, "prev-token", null, 1, false)));
+    }
+
     @Test
     @WithMockUser(roles = {"SUPERVISOR"})
     void shouldUpdateDiscrepancyComment() throws Exception {
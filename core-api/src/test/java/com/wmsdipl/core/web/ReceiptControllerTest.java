@@ -9,6 +9,7 @@ import com.wmsdipl.contracts.dto.ReceiptSummaryDto;
 import com.wmsdipl.core.domain.Receipt;
 import com.wmsdipl.core.repository.ReceiptRepository;
 import com.wmsdipl.core.service.CsvExportService;
+import com.wmsdipl.core.service.CsvStreamingExportService;
 import com.wmsdipl.core.service.ReceiptAcceptBlockedException;
 import com.wmsdipl.core.service.ReceiptWorkflowBlockedException;
 import com.wmsdipl.core.service.ReceiptService;
@@ -62,6 +63,9 @@ class ReceiptControllerTest {
     @MockBean
     private CsvExportService csvExportService;
 
+    @MockBean
+    private CsvStreamingExportService csvStreamingExportService;
+
     @MockBean
     private ReceiptRepository receiptRepository;
 
@@ -0,0 +1,64 @@
+package com.wmsdipl.core.web;
+
+import com.wmsdipl.contracts.dto.SearchResultDto;
+import com.wmsdipl.core.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * REST API tests for SearchController using MockMvc.
+ */
+@WebMvcTest(SearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchService searchService;
+
+    @Test
+    void shouldReturnRankedResults() throws Exception {
+        // Given
+        when(searchService.search(eq("A-01"), eq(List.of("LOCATION", "PALLET")), isNull())).thenReturn(List.of(
+            new SearchResultDto("LOCATION", 3L, "A-01", "STOR", 0, 1.0),
+            new SearchResultDto("PALLET", 1L, "PLT-A-011", "SKU001", 1, 0.6)));
+
+        // When & Then
+        mockMvc.perform(get("/api/search")
+                .param("q", "A-01")
+                .param("types", "LOCATION", "PALLET"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].type").value("LOCATION"))
+            .andExpect(jsonPath("$[0].matchRank").value(0))
+            .andExpect(jsonPath("$[1].code").value("PLT-A-011"))
+            .andExpect(jsonPath("$[1].label").value("SKU001"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenQueryTooShort() throws Exception {
+        // Given
+        when(searchService.search(eq("a"), any(), any()))
+            .thenThrow(new IllegalArgumentException("Search query must be at least 2 characters"));
+
+        // When & Then
+        mockMvc.perform(get("/api/search").param("q", "a"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -2,10 +2,14 @@ package com.wmsdipl.core.web;
 
 import com.wmsdipl.contracts.dto.StockItemDto;
 import com.wmsdipl.contracts.dto.StockMovementDto;
+import com.wmsdipl.contracts.dto.StockSummaryDto;
 import com.wmsdipl.core.domain.*;
 import com.wmsdipl.core.mapper.StockMapper;
+import com.wmsdipl.core.repository.PalletRepositoryCustom;
 import com.wmsdipl.core.service.StockService;
 import com.wmsdipl.core.service.StockService.StockResult;
+import com.wmsdipl.core.service.paging.CursorSlice;
+import com.wmsdipl.core.service.paging.KeysetRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -302,6 +306,68 @@ class StockControllerTest {
 
     // Helper methods
 
+    @Test
+    void shouldReturnStockSummary_GroupedByRequestedDimensions() throws Exception {
+        // Given
+        PalletRepositoryCustom.StockSummaryRow row = new PalletRepositoryCustom.StockSummaryRow(
+                100L, "SKU-001", "Product One", "PCS", 5L, "ZONE-A", null, null,
+                new BigDecimal("250.00"), 3, 2);
+        StockSummaryDto dto = new StockSummaryDto(100L, "SKU-001", "Product One", "PCS", 5L, "ZONE-A",
+                null, null, new BigDecimal("250.00"), 3, 2);
+
+        when(stockService.getStockSummary(isNull(), isNull(), isNull(), isNull(), eq("PLACED"),
+                eq(List.of("SKU", "ZONE")))).thenReturn(List.of(row));
+        when(stockMapper.toStockSummaryDto(row)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(get("/api/stock/summary")
+                        .param("status", "PLACED")
+                        .param("groupBy", "SKU,ZONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].skuCode").value("SKU-001"))
+                .andExpect(jsonPath("$[0].zoneCode").value("ZONE-A"))
+                .andExpect(jsonPath("$[0].totalQuantity").value(250.00))
+                .andExpect(jsonPath("$[0].palletCount").value(3));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenSummaryDimensionUnknown() throws Exception {
+        // Given
+        when(stockService.getStockSummary(any(), any(), any(), any(), any(), eq(List.of("SHELF"))))
+                .thenThrow(new IllegalArgumentException("Unknown stock summary dimension: SHELF"));
+
+        // When & Then
+        mockMvc.perform(get("/api/stock/summary").param("groupBy", "SHELF"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnCursorPage_WhenSeekingStock() throws Exception {
+        // Given
+        Pallet pallet = createPallet(1L, "PLT-001", 100L);
+        Sku sku = createSku(100L, "SKU-001", "Product One");
+        StockResult stockResult = new StockResult(new CursorSlice<>(List.of(pallet), "abc", null), Map.of(100L, sku));
+        StockItemDto dto = createStockItemDto(1L, "PLT-001", "SKU-001");
+
+        when(stockService.getStockSlice(isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(new KeysetRequest("code", true, "prev", null, 1, false)))).thenReturn(stockResult);
+        when(stockMapper.toStockItemDto(pallet, sku)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(get("/api/stock/seek")
+                        .param("cursor", "prev")
+                        .param("sort", "code")
+                        .param("direction", "desc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].palletCode").value("PLT-001"))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").value(nullValue()));
+    }
+
     private Pallet createPallet(Long id, String code, Long skuId) {
         Pallet pallet = new Pallet();
         try {
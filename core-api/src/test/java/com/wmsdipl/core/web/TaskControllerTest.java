@@ -1,6 +1,8 @@
 package com.wmsdipl.core.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wmsdipl.contracts.dto.BatchScanItemResult;
+import com.wmsdipl.contracts.dto.BatchScanRequest;
 import com.wmsdipl.contracts.dto.RecordScanRequest;
 import com.wmsdipl.contracts.dto.ScanDto;
 import com.wmsdipl.contracts.dto.TaskDto;
@@ -9,9 +11,11 @@ import com.wmsdipl.core.domain.*;
 import com.wmsdipl.core.mapper.ScanMapper;
 import com.wmsdipl.core.mapper.TaskMapper;
 import com.wmsdipl.core.repository.ScanRepository;
+import com.wmsdipl.core.service.TaskDispatchService;
 import com.wmsdipl.core.service.TaskService;
 import com.wmsdipl.core.service.workflow.PlacementWorkflowService;
 import com.wmsdipl.core.service.workflow.ReceivingWorkflowService;
+import com.wmsdipl.core.service.workflow.ScanBatchService;
 import com.wmsdipl.core.service.workflow.ShippingWorkflowService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +31,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -59,6 +64,9 @@ class TaskControllerTest {
     @MockBean
     private ShippingWorkflowService shippingWorkflowService;
 
+    @MockBean
+    private ScanBatchService scanBatchService;
+
     @MockBean
     private ScanRepository scanRepository;
 
@@ -68,6 +76,9 @@ class TaskControllerTest {
     @MockBean
     private TaskMapper taskMapper;
 
+    @MockBean
+    private TaskDispatchService taskDispatchService;
+
     @Test
     void shouldListAllTasks_WhenCalled() throws Exception {
         // Given
@@ -151,6 +162,28 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.taskType").value("RECEIVING"));
     }
 
+    @Test
+    @WithMockUser(username = "operator1", roles = {"OPERATOR"})
+    void shouldReturnNextTask_WhenDispatcherClaimsOne() throws Exception {
+        Task task = createMockTask(7L, TaskType.PLACEMENT);
+        TaskDto dto = createMockTaskDto(7L);
+        when(taskDispatchService.claimNext("operator1")).thenReturn(Optional.of(task));
+        when(taskMapper.toDto(task)).thenReturn(dto);
+
+        mockMvc.perform(post("/api/tasks/next"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    @WithMockUser(username = "operator1", roles = {"OPERATOR"})
+    void shouldReturnNoContent_WhenNoTaskAvailable() throws Exception {
+        when(taskDispatchService.claimNext("operator1")).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/tasks/next"))
+            .andExpect(status().isNoContent());
+    }
+
     @Test
     @WithMockUser(username = "supervisor1", roles = {"SUPERVISOR"})
     void shouldAssignTask_WhenValidRequest() throws Exception {
@@ -351,6 +384,49 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].barcode").value("BARCODE-001"));
     }
 
+    @Test
+    void shouldReturnPerEntryResults_WhenScanBatchSubmitted() throws Exception {
+        when(scanBatchService.recordBatch(any(BatchScanRequest.class))).thenReturn(List.of(
+                new BatchScanItemResult(0, 1L, "req-1", true, null, null),
+                new BatchScanItemResult(1, 2L, "req-2", false, null, "Pallet not found: PALLET-404")
+        ));
+
+        String requestBody = """
+                {
+                    "items": [
+                        {"taskId": 1, "scan": {"requestId": "req-1", "palletCode": "PALLET-001", "qty": 1}},
+                        {"taskId": 2, "scan": {"requestId": "req-2", "palletCode": "PALLET-404", "qty": 1}}
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/tasks/scans/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("Pallet not found: PALLET-404"));
+    }
+
+    @Test
+    void shouldRejectScanBatch_WhenEntryIsInvalid() throws Exception {
+        String requestBody = """
+                {
+                    "items": [
+                        {"taskId": 1, "scan": {"palletCode": "", "qty": 0}}
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/tasks/scans/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(scanBatchService);
+    }
+
     @Test
     void shouldRecordReceivingScan_WhenTaskTypeIsReceiving() throws Exception {
         // Given
@@ -18,6 +18,9 @@ SET default_tablespace = '';
 SET default_table_access_method = heap;
 
 -- Drop all tables if they exist (for clean restore)
+DROP TABLE IF EXISTS analytics_hourly_receipts CASCADE;
+DROP TABLE IF EXISTS analytics_hourly_rollups CASCADE;
+DROP TABLE IF EXISTS analytics_rollup_state CASCADE;
 DROP TABLE IF EXISTS audit_logs CASCADE;
 DROP TABLE IF EXISTS discrepancies CASCADE;
 DROP TABLE IF EXISTS import_config CASCADE;
@@ -36,7 +39,12 @@ DROP TABLE IF EXISTS sku_storage_config CASCADE;
 DROP TABLE IF EXISTS sku_unit_configs CASCADE;
 DROP TABLE IF EXISTS skus CASCADE;
 DROP TABLE IF EXISTS status_history CASCADE;
+DROP TABLE IF EXISTS stock_snapshot_lines CASCADE;
+DROP TABLE IF EXISTS stock_snapshots CASCADE;
+DROP TABLE IF EXISTS task_duration_histograms CASCADE;
 DROP TABLE IF EXISTS tasks CASCADE;
+DROP TABLE IF EXISTS user_task_skills CASCADE;
+DROP TABLE IF EXISTS user_zones CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 DROP TABLE IF EXISTS zones CASCADE;
 
@@ -50,6 +58,9 @@ DROP TYPE IF EXISTS task_type CASCADE;
 DROP TYPE IF EXISTS user_role CASCADE;
 DROP TYPE IF EXISTS movement_type CASCADE;
 
+-- Extensions
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- Create ENUM types
 CREATE TYPE location_status AS ENUM ('AVAILABLE', 'OCCUPIED', 'RESERVED', 'BLOCKED', 'MAINTENANCE');
 CREATE TYPE location_type AS ENUM ('RECEIVING', 'STORAGE', 'PICKING', 'SHIPPING', 'CROSS_DOCK', 'DAMAGED', 'QUARANTINE');
@@ -400,6 +411,92 @@ CREATE TABLE import_log (
     processed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+--
+-- Table: stock_snapshots
+--
+CREATE TABLE stock_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_at TIMESTAMP NOT NULL UNIQUE,
+    pallet_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+--
+-- Table: stock_snapshot_lines
+--
+CREATE TABLE stock_snapshot_lines (
+    snapshot_id BIGINT NOT NULL REFERENCES stock_snapshots(id) ON DELETE CASCADE,
+    pallet_id BIGINT NOT NULL,
+    location_id BIGINT,
+    sku_id BIGINT,
+    quantity NUMERIC(10,2) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    PRIMARY KEY (snapshot_id, pallet_id)
+);
+
+--
+-- Table: analytics_hourly_rollups
+--
+CREATE TABLE analytics_hourly_rollups (
+    bucket_start TIMESTAMP NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    duration_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, metric, dimension)
+);
+
+--
+-- Table: analytics_hourly_receipts
+--
+CREATE TABLE analytics_hourly_receipts (
+    bucket_start TIMESTAMP NOT NULL,
+    receipt_id BIGINT NOT NULL REFERENCES receipts(id) ON DELETE CASCADE,
+    has_discrepancy BOOLEAN NOT NULL DEFAULT false,
+    has_damage_discrepancy BOOLEAN NOT NULL DEFAULT false,
+    has_damaged_pallet BOOLEAN NOT NULL DEFAULT false,
+    PRIMARY KEY (bucket_start, receipt_id)
+);
+
+--
+-- Table: analytics_rollup_state
+--
+CREATE TABLE analytics_rollup_state (
+    name VARCHAR(64) PRIMARY KEY,
+    refreshed_to TIMESTAMP
+);
+
+--
+-- Table: task_duration_histograms
+--
+CREATE TABLE task_duration_histograms (
+    bucket_start TIMESTAMP NOT NULL,
+    task_type VARCHAR(32) NOT NULL,
+    assignee VARCHAR(128) NOT NULL DEFAULT '',
+    zone_id BIGINT NOT NULL DEFAULT 0,
+    bin SMALLINT NOT NULL,
+    sample_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, task_type, assignee, zone_id, bin)
+);
+
+--
+-- Table: user_task_skills
+--
+CREATE TABLE user_task_skills (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    task_type VARCHAR(32) NOT NULL,
+    PRIMARY KEY (user_id, task_type)
+);
+
+--
+-- Table: user_zones
+--
+CREATE TABLE user_zones (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    zone_id BIGINT NOT NULL REFERENCES zones(id) ON DELETE CASCADE,
+    PRIMARY KEY (user_id, zone_id)
+);
+
 --
 -- Table: schema_version (Flyway compatibility - not used)
 --
@@ -424,7 +521,6 @@ CREATE UNIQUE INDEX uq_sku_unit_configs_single_base ON sku_unit_configs(sku_id)
 CREATE INDEX idx_sku_unit_configs_sku ON sku_unit_configs(sku_id);
 CREATE INDEX idx_receipt_lines_receipt ON receipt_lines(receipt_id);
 CREATE INDEX idx_receipt_lines_sku ON receipt_lines(sku_id);
-CREATE INDEX idx_pallets_sku ON pallets(sku_id);
 CREATE INDEX idx_pallets_location ON pallets(location_id);
 CREATE INDEX idx_pallets_receipt ON pallets(receipt_id);
 CREATE INDEX idx_pallets_status ON pallets(status);
@@ -449,6 +545,26 @@ CREATE INDEX idx_tasks_created ON tasks(created_at);
 CREATE INDEX idx_receipts_status_crossdock_updated_at ON receipts(status, cross_dock, updated_at);
 CREATE INDEX idx_tasks_receipt_tasktype_status ON tasks(receipt_id, task_type, status);
 CREATE INDEX idx_pallets_receipt_status_location ON pallets(receipt_id, status, location_id);
+CREATE INDEX idx_tasks_target_location_status ON tasks(target_location_id, status);
+CREATE INDEX idx_pallet_movements_moved_at_type ON pallet_movements(moved_at, movement_type);
+CREATE INDEX idx_pallet_movements_pallet_moved_at ON pallet_movements(pallet_id, moved_at, id);
+CREATE INDEX idx_tasks_priority_id ON tasks(priority, id);
+CREATE INDEX idx_tasks_created_at_id ON tasks(created_at, id);
+CREATE INDEX idx_receipts_created_at_id ON receipts(created_at, id);
+CREATE INDEX idx_pallets_code_trgm ON pallets USING gin (lower(code) gin_trgm_ops);
+CREATE INDEX idx_skus_code_trgm ON skus USING gin (lower(code) gin_trgm_ops);
+CREATE INDEX idx_skus_name_trgm ON skus USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_locations_code_trgm ON locations USING gin (lower(code) gin_trgm_ops);
+CREATE INDEX idx_pallets_updated_at ON pallets(updated_at);
+CREATE INDEX idx_pallets_created_at ON pallets(created_at);
+CREATE INDEX idx_tasks_closed_at ON tasks(closed_at);
+CREATE INDEX idx_receipts_status_updated_at ON receipts(status, updated_at);
+CREATE INDEX idx_tasks_open_created_at ON tasks(created_at) WHERE status IN ('ASSIGNED', 'IN_PROGRESS');
+CREATE INDEX idx_scans_task_scanned_at ON scans(task_id, scanned_at);
+CREATE INDEX idx_discrepancies_created_at_type_resolved ON discrepancies(created_at, type, resolved);
+CREATE INDEX idx_discrepancies_created_at_id ON discrepancies(created_at, id);
+CREATE INDEX idx_pallets_sku_location ON pallets(sku_id, location_id);
+CREATE INDEX idx_discrepancies_upper_type_created_at ON discrepancies(UPPER(type), created_at);
 
 -- Insert default import configuration
 INSERT INTO import_config (config_key, config_value, updated_at) 
@@ -463,6 +579,11 @@ INSERT INTO import_config (config_key, config_value, updated_at)
 VALUES ('discrepancy_retention_days', '180', CURRENT_TIMESTAMP)
 ON CONFLICT (config_key) DO NOTHING;
 
+-- Watermark row of the incremental analytics rollup
+INSERT INTO analytics_rollup_state (name, refreshed_to)
+VALUES ('receiving_analytics', NULL)
+ON CONFLICT (name) DO NOTHING;
+
 -- Insert a dummy record into schema_version to prevent Flyway from running
 INSERT INTO schema_version (installed_rank, version, description, type, script, checksum, installed_by, installed_on, execution_time, success)
 VALUES (1, '999', 'Manual schema - migrations disabled', 'SQL', 'manual_schema.sql', 0, 'manual', CURRENT_TIMESTAMP, 0, true);
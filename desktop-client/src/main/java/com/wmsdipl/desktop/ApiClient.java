@@ -7,7 +7,9 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.wmsdipl.desktop.model.Location;
 import com.wmsdipl.desktop.model.AutoAssignResult;
+import com.wmsdipl.desktop.model.ChangeEvent;
 import com.wmsdipl.desktop.model.Discrepancy;
+import com.wmsdipl.desktop.model.DiscrepancyPage;
 import com.wmsdipl.desktop.model.DiscrepancyRetentionConfig;
 import com.wmsdipl.desktop.model.Pallet;
 import com.wmsdipl.desktop.model.PutawayRule;
@@ -31,19 +33,24 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Base64;
 import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 public class ApiClient {
 
     private final HttpClient httpClient;
     private final ObjectMapper mapper;
     private final String baseUrl;
-    private String basicAuth;
+    // Bearer tokens issued at login; the password itself is not kept
+    private static final long REFRESH_MARGIN_SECONDS = 30;
+    private String accessToken;
+    private Instant accessTokenExpiresAt;
+    private String refreshToken;
     private String currentUsername;
     private User currentUser;
 
@@ -66,7 +73,7 @@ public class ApiClient {
         payload.put("username", username);
         payload.put("password", password);
 
-        HttpRequest request = withAuth(HttpRequest.newBuilder())
+        HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(baseUrl + "/api/auth/login"))
             .header("Content-Type", "application/json")
             .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(payload)))
@@ -75,10 +82,9 @@ public class ApiClient {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
         System.out.println("[DEBUG] ApiClient.login: Response status: " + response.statusCode());
         if (response.statusCode() == 200) {
-            setCredentials(username, password);
+            setTokens(response.body());
             this.currentUsername = username;
-            this.currentUser = mapper.readValue(response.body(), User.class);
-            System.out.println("[DEBUG] ApiClient.login: Login successful, credentials saved. Role: " + currentUser.role());
+            System.out.println("[DEBUG] ApiClient.login: Login successful, tokens saved. Role: " + currentUser.role());
             return currentUser;
         }
         System.out.println("[WARNING] ApiClient.login: Login failed with status " + response.statusCode() + ", body: " + response.body());
@@ -94,7 +100,9 @@ public class ApiClient {
     }
     
     public void logout() {
-        this.basicAuth = null;
+        this.accessToken = null;
+        this.accessTokenExpiresAt = null;
+        this.refreshToken = null;
         this.currentUsername = null;
         this.currentUser = null;
     }
@@ -114,6 +122,158 @@ public class ApiClient {
         throw new IOException(formatErrorMessage(response.statusCode(), heartbeatPath, response.body()));
     }
 
+    /**
+     * Subscribes to the server's change events ({@code GET /api/events}) on a background thread,
+     * reconnecting after errors until the subscription is closed. Listener methods run on that thread.
+     */
+    public ChangeSubscription subscribeChanges(ChangeListener listener) {
+        ChangeSubscription subscription = new ChangeSubscription(listener);
+        Thread thread = new Thread(subscription::run, "change-events");
+        thread.setDaemon(true);
+        thread.start();
+        return subscription;
+    }
+
+    public interface ChangeListener {
+        /**
+         * Stream (re)opened. Changes made while disconnected are not replayed;
+         * {@code missedChanges} tells whether any were committed since the last event received.
+         */
+        void onConnected(boolean missedChanges);
+
+        /** Changes committed in one server transaction. */
+        void onChanges(List<ChangeEvent> changes);
+
+        /** Stream failed; it is reopened after a short delay. */
+        void onDisconnected(Exception error);
+    }
+
+    public final class ChangeSubscription implements AutoCloseable {
+
+        private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+        private final ChangeListener listener;
+        private volatile boolean closed;
+        private volatile Stream<String> currentStream;
+        private volatile Instant lastActivityAt;
+        private String lastEventId;
+
+        private ChangeSubscription(ChangeListener listener) {
+            this.listener = listener;
+        }
+
+        /** True while the stream is open and the server wrote something (an event or heartbeat) within {@code maxIdle}. */
+        public boolean isLive(java.time.Duration maxIdle) {
+            Instant last = lastActivityAt;
+            return currentStream != null && last != null && last.isAfter(Instant.now().minus(maxIdle));
+        }
+
+        /** Drops a stream that stopped delivering heartbeats (e.g. a half-open connection); it is reopened. */
+        public void reconnectIfIdle(java.time.Duration maxIdle) {
+            Stream<String> stream = currentStream;
+            if (stream != null && !isLive(maxIdle)) {
+                stream.close();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            Stream<String> stream = currentStream;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+
+        private void run() {
+            while (!closed) {
+                boolean failed = false;
+                try {
+                    // Returns when the server ends the stream (emitter timeout); reopen right away
+                    readStream();
+                } catch (IOException | RuntimeException ex) {
+                    failed = true;
+                    if (!closed) {
+                        System.out.println("[WARNING] ApiClient: Change event stream failed: " + ex.getMessage());
+                        listener.onDisconnected(ex instanceof IOException io ? io : new IOException(ex));
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    currentStream = null;
+                }
+                if (failed && !closed) {
+                    try {
+                        Thread.sleep(RECONNECT_DELAY_MILLIS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void readStream() throws IOException, InterruptedException {
+            HttpRequest request = withAuth(HttpRequest.newBuilder())
+                .uri(URI.create(baseUrl + "/api/events"))
+                .GET()
+                .header("Accept", "text/event-stream")
+                .build();
+            HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                throw new IOException(formatErrorMessage(response.statusCode(), "/api/events", ""));
+            }
+            try (Stream<String> lines = response.body()) {
+                currentStream = lines;
+                lastActivityAt = Instant.now();
+                String eventName = null;
+                String eventId = null;
+                StringBuilder data = new StringBuilder();
+                java.util.Iterator<String> iterator = lines.iterator();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    lastActivityAt = Instant.now();
+                    if (line.isEmpty()) {
+                        dispatch(eventName, eventId, data.toString());
+                        eventName = null;
+                        eventId = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("event:")) {
+                        eventName = line.substring(6).trim();
+                    } else if (line.startsWith("id:")) {
+                        eventId = line.substring(3).trim();
+                    } else if (line.startsWith("data:")) {
+                        if (data.length() > 0) {
+                            data.append('\n');
+                        }
+                        data.append(line.substring(5).trim());
+                    }
+                    // Comment lines (":heartbeat") only keep the connection alive
+                }
+            } catch (java.io.UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        private void dispatch(String eventName, String eventId, String data) {
+            if ("ready".equals(eventName)) {
+                // The ready event carries the server's latest sequence number (reset by a server restart)
+                boolean missedChanges = lastEventId != null && !lastEventId.equals(eventId);
+                lastEventId = eventId;
+                listener.onConnected(missedChanges);
+            } else if ("changes".equals(eventName) && !data.isEmpty()) {
+                lastEventId = eventId;
+                try {
+                    listener.onChanges(mapper.readValue(data, new TypeReference<List<ChangeEvent>>() {}));
+                } catch (IOException ex) {
+                    System.out.println("[WARNING] ApiClient: Unreadable change event: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
     private String resolveHeartbeatPath() {
         String role = currentUser != null ? currentUser.role() : null;
         if ("OPERATOR".equalsIgnoreCase(role)) {
@@ -122,9 +282,39 @@ public class ApiClient {
         return "/api/receipts?page=0&size=1";
     }
 
-    private void setCredentials(String username, String password) {
-        String token = username + ":" + password;
-        this.basicAuth = Base64.getEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    private void setTokens(String authResponseBody) throws IOException {
+        var root = mapper.readTree(authResponseBody);
+        this.currentUser = mapper.treeToValue(root.get("user"), User.class);
+        this.accessToken = root.path("accessToken").asText(null);
+        this.accessTokenExpiresAt = Instant.now().plusSeconds(root.path("expiresInSeconds").asLong());
+        this.refreshToken = root.path("refreshToken").asText(null);
+    }
+
+    private void refreshTokens() {
+        var payload = mapper.createObjectNode();
+        payload.put("refreshToken", refreshToken);
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/auth/refresh"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(payload)))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                setTokens(response.body());
+                System.out.println("[DEBUG] ApiClient: Access token refreshed");
+                return;
+            }
+            System.out.println("[WARNING] ApiClient: Token refresh failed with status " + response.statusCode());
+            if (response.statusCode() == 401) {
+                // Session is over (expired, password changed or user disabled): log in again
+                this.refreshToken = null;
+            }
+        } catch (IOException ex) {
+            System.out.println("[WARNING] ApiClient: Token refresh failed: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public List<Receipt> listReceipts() throws IOException, InterruptedException {
@@ -313,7 +503,7 @@ public class ApiClient {
         return postForObject("/api/shipping/waves/" + encode(outboundRef) + "/complete", null, ShippingWaveActionResult.class);
     }
 
-    public List<Discrepancy> listDiscrepancies(
+    public DiscrepancyPage listDiscrepanciesPage(
         Long receiptId,
         String type,
         String docNo,
@@ -321,7 +511,9 @@ public class ApiClient {
         String operator,
         Boolean resolved,
         LocalDate fromDate,
-        LocalDate toDate
+        LocalDate toDate,
+        String cursor,
+        int size
     ) throws IOException, InterruptedException {
         List<String> params = new ArrayList<>();
         if (receiptId != null) {
@@ -348,8 +540,21 @@ public class ApiClient {
         if (toDate != null) {
             params.add("toDate=" + toDate);
         }
-        String query = params.isEmpty() ? "" : "?" + String.join("&", params);
-        return getForList("/api/discrepancies" + query, new TypeReference<>() {});
+        if (cursor != null && !cursor.isBlank()) {
+            params.add("cursor=" + encode(cursor));
+        }
+        params.add("size=" + size);
+        String path = "/api/discrepancies/seek?" + String.join("&", params);
+        HttpRequest request = withAuth(HttpRequest.newBuilder())
+            .uri(URI.create(baseUrl + path))
+            .GET()
+            .header("Accept", "application/json")
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            return mapper.readValue(response.body(), DiscrepancyPage.class);
+        }
+        throw new IOException(formatErrorMessage(response.statusCode(), path, response.body()));
     }
 
     public Discrepancy updateDiscrepancyComment(Long discrepancyId, String comment) throws IOException, InterruptedException {
@@ -592,6 +797,27 @@ public class ApiClient {
         return postForObject("/api/tasks/" + taskId + "/assign", payload, Task.class);
     }
 
+    /**
+     * Asks the dispatcher for the current user's next task (held or newly claimed).
+     *
+     * @return task, or null if none is available
+     */
+    public Task nextTask() throws IOException, InterruptedException {
+        HttpRequest request = withAuth(HttpRequest.newBuilder())
+            .uri(URI.create(baseUrl + "/api/tasks/next"))
+            .header("Accept", "application/json")
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 204) {
+            return null;
+        }
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            return mapper.readValue(response.body(), Task.class);
+        }
+        throw new IOException(formatErrorMessage(response.statusCode(), "/api/tasks/next", response.body()));
+    }
+
     public Task startTask(Long taskId) throws IOException, InterruptedException {
         return postForObject("/api/tasks/" + taskId + "/start", null, Task.class);
     }
@@ -1341,10 +1567,14 @@ public class ApiClient {
         throw new IOException("Export analytics failed: status=" + response.statusCode());
     }
 
-    private HttpRequest.Builder withAuth(HttpRequest.Builder builder) {
-        if (basicAuth != null && !basicAuth.isBlank()) {
-            builder.header("Authorization", "Basic " + basicAuth);
-            System.out.println("[DEBUG] ApiClient: Adding Authorization header (basicAuth set)");
+    private synchronized HttpRequest.Builder withAuth(HttpRequest.Builder builder) {
+        if (refreshToken != null && accessTokenExpiresAt != null
+                && Instant.now().isAfter(accessTokenExpiresAt.minusSeconds(REFRESH_MARGIN_SECONDS))) {
+            refreshTokens();
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            builder.header("Authorization", "Bearer " + accessToken);
+            System.out.println("[DEBUG] ApiClient: Adding Authorization header (access token set)");
         } else {
             System.out.println("[WARNING] ApiClient: No credentials available for authentication!");
         }
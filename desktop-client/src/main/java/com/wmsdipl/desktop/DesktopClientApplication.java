@@ -3,7 +3,9 @@ package com.wmsdipl.desktop;
 import com.wmsdipl.desktop.ImportServiceClient;
 import com.wmsdipl.desktop.model.AutoAssignPreviewItem;
 import com.wmsdipl.desktop.model.AutoAssignResult;
+import com.wmsdipl.desktop.model.ChangeEvent;
 import com.wmsdipl.desktop.model.Discrepancy;
+import com.wmsdipl.desktop.model.DiscrepancyPage;
 import com.wmsdipl.desktop.model.DiscrepancyRetentionConfig;
 import com.wmsdipl.desktop.model.Location;
 import com.wmsdipl.desktop.model.Pallet;
@@ -88,6 +90,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -95,6 +98,7 @@ import java.util.stream.Collectors;
 
 public class DesktopClientApplication extends Application {
     private static final String AUTO_SIZE_TABLE_KEY = "auto.size.columns.enabled";
+    private static final int DISCREPANCY_JOURNAL_PAGE_SIZE = 200;
     private static final Pattern SHORTAGE_COMMENT_PATTERN = Pattern.compile(
         "^Shortage confirmed by operator during task completion\\.\\s*Expected:\\s*([^,]+),\\s*Received:\\s*(.+)$"
     );
@@ -115,6 +119,12 @@ public class DesktopClientApplication extends Application {
     private boolean syncOnline = true;
     private Timeline topStatusTimeline;
     private Timeline syncHealthTimeline;
+    // Server push: views reload when a relevant change is committed instead of polling
+    private static final java.time.Duration CHANGE_STREAM_MAX_IDLE = java.time.Duration.ofSeconds(45);
+    private ApiClient.ChangeSubscription changeSubscription;
+    private Predicate<ChangeEvent> viewChangeFilter;
+    private Runnable viewReload;
+    private final PauseTransition viewReloadDebounce = new PauseTransition(Duration.millis(500));
     private final DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HH:mm:ss");
     private final DateTimeFormatter dateTimeFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -238,9 +248,61 @@ public class DesktopClientApplication extends Application {
         syncHealthTimeline.play();
         runSyncHeartbeat();
 
+        startChangeSubscription();
         refreshTopIndicators();
     }
 
+    private void startChangeSubscription() {
+        if (changeSubscription != null) {
+            changeSubscription.close();
+        }
+        viewReloadDebounce.setOnFinished(e -> {
+            if (viewReload != null) {
+                viewReload.run();
+            }
+        });
+        changeSubscription = apiClient.subscribeChanges(new ApiClient.ChangeListener() {
+            @Override
+            public void onConnected(boolean missedChanges) {
+                Platform.runLater(() -> {
+                    markSyncSuccess();
+                    // Nothing is replayed after a reconnect: reload the open view once if it fell behind
+                    if (missedChanges && viewReload != null) {
+                        viewReloadDebounce.playFromStart();
+                    }
+                });
+            }
+
+            @Override
+            public void onChanges(List<ChangeEvent> changes) {
+                Platform.runLater(() -> {
+                    markSyncSuccess();
+                    if (viewChangeFilter != null && viewReload != null && changes.stream().anyMatch(viewChangeFilter)) {
+                        viewReloadDebounce.playFromStart();
+                    }
+                });
+            }
+
+            @Override
+            public void onDisconnected(Exception error) {
+                Platform.runLater(() -> updateSyncFromAsyncError(error));
+            }
+        });
+    }
+
+    /**
+     * Reloads the open view when a pushed change matches the filter. Bursts are coalesced into one reload.
+     * Cleared by {@link #setContent}, so panes register after setting their content.
+     */
+    private void watchChanges(Predicate<ChangeEvent> filter, Runnable reload) {
+        viewChangeFilter = filter;
+        viewReload = reload;
+    }
+
+    private static Predicate<ChangeEvent> changesOf(String entity) {
+        return change -> entity.equals(change.entity());
+    }
+
     private void refreshTopIndicators() {
         if (topShiftValueLabel != null) {
             if (shiftStartAt == null) {
@@ -277,6 +339,14 @@ public class DesktopClientApplication extends Application {
     }
 
     private void runSyncHeartbeat() {
+        if (changeSubscription != null) {
+            if (changeSubscription.isLive(CHANGE_STREAM_MAX_IDLE)) {
+                // Server heartbeats on the change stream already prove connectivity
+                markSyncSuccess();
+                return;
+            }
+            changeSubscription.reconnectIfIdle(CHANGE_STREAM_MAX_IDLE);
+        }
         CompletableFuture.runAsync(() -> {
             try {
                 apiClient.pingSync();
@@ -642,6 +712,7 @@ public class DesktopClientApplication extends Application {
         VBox.setVgrow(receiptsRoot, Priority.ALWAYS);
 
         setContent(receiptsRoot);
+        watchChanges(changesOf("RECEIPT"), refreshBtn::fire);
         loadReceipts(table, "");
     }
 
@@ -1783,6 +1854,7 @@ public class DesktopClientApplication extends Application {
         layout.setPadding(new Insets(24));
         layout.getStyleClass().add("page-root");
         setContent(layout);
+        watchChanges(changesOf("PALLET"), refresh::fire);
     }
 
     private void showStockPane() {
@@ -2191,6 +2263,15 @@ public class DesktopClientApplication extends Application {
         layout.setPadding(new Insets(24));
         layout.getStyleClass().add("page-root");
         setContent(layout);
+        watchChanges(change -> "TASK".equals(change.entity()) && matchesReceiptFilter(change, receiptFilter.getText()),
+            refresh::fire);
+    }
+
+    private static boolean matchesReceiptFilter(ChangeEvent change, String receiptFilter) {
+        if (receiptFilter == null || receiptFilter.isBlank()) {
+            return true;
+        }
+        return change.receiptId() == null || receiptFilter.trim().equals(String.valueOf(change.receiptId()));
     }
 
     private void showAutoAssignDialog(TableView<com.wmsdipl.desktop.model.Task> taskTable) {
@@ -2366,6 +2447,9 @@ public class DesktopClientApplication extends Application {
         remapSkuBtn.getStyleClass().add("refresh-btn");
         remapSkuBtn.setDisable(true);
         remapSkuBtn.setTooltip(new Tooltip(I18n.get("discrepancy.journal.remap.tooltip")));
+        Button loadMoreBtn = new Button(I18n.get("discrepancy.journal.btn.load_more"));
+        loadMoreBtn.getStyleClass().add("refresh-btn");
+        loadMoreBtn.setDisable(true);
         Button closeBtn = new Button(I18n.get("common.close"));
         closeBtn.getStyleClass().add("refresh-btn");
         closeBtn.setOnAction(e -> dialog.close());
@@ -2398,6 +2482,47 @@ public class DesktopClientApplication extends Application {
             updateRemapState.run();
         });
 
+        // Further pages reuse the filters of the first one, so the cursor stays valid;
+        // a refresh bumps the generation and late pages of the previous query are dropped
+        @SuppressWarnings("unchecked")
+        final Function<String, DiscrepancyPage>[] pageFetcher = new Function[1];
+        final String[] nextCursor = {null};
+        final int[] generation = {0};
+
+        Consumer<Boolean> fetchPage = append -> {
+            Function<String, DiscrepancyPage> fetcher = pageFetcher[0];
+            String cursor = append ? nextCursor[0] : null;
+            int requestGeneration = generation[0];
+            loadMoreBtn.setDisable(true);
+            statusLabel.setText(I18n.get("common.loading"));
+            CompletableFuture.supplyAsync(() -> fetcher.apply(cursor)).whenComplete((page, error) -> Platform.runLater(() -> {
+                if (requestGeneration != generation[0]) {
+                    return;
+                }
+                if (error != null) {
+                    statusLabel.setText(I18n.format("common.error", error.getCause() != null ? error.getCause().getMessage() : error.getMessage()));
+                    if (!append) {
+                        table.setItems(FXCollections.observableArrayList());
+                    }
+                    loadMoreBtn.setDisable(nextCursor[0] == null);
+                    updateRemapState.run();
+                    return;
+                }
+                if (append) {
+                    table.getItems().addAll(page.content());
+                } else {
+                    table.setItems(FXCollections.observableArrayList(page.content()));
+                }
+                nextCursor[0] = page.hasNext() ? page.nextCursor() : null;
+                loadMoreBtn.setDisable(nextCursor[0] == null);
+                statusLabel.setText(I18n.format(
+                    nextCursor[0] != null ? "discrepancy.journal.status.loaded_more" : "discrepancy.journal.status.loaded",
+                    table.getItems().size()
+                ));
+                updateRemapState.run();
+            }));
+        };
+
         Runnable loadJournal = () -> {
             Long skuId = null;
             if (skuField.getText() != null && !skuField.getText().isBlank()) {
@@ -2416,36 +2541,36 @@ public class DesktopClientApplication extends Application {
             }
             Long finalSkuId = skuId;
             Boolean finalResolved = resolved;
-            statusLabel.setText(I18n.get("common.loading"));
-            CompletableFuture.supplyAsync(() -> {
+            String type = typeCombo.getValue();
+            String docNo = docNoField.getText();
+            String operator = operatorField.getText();
+            LocalDate from = fromDate.getValue();
+            LocalDate to = toDate.getValue();
+            pageFetcher[0] = cursor -> {
                 try {
-                    return apiClient.listDiscrepancies(
+                    return apiClient.listDiscrepanciesPage(
                         null,
-                        typeCombo.getValue(),
-                        docNoField.getText(),
+                        type,
+                        docNo,
                         finalSkuId,
-                        operatorField.getText(),
+                        operator,
                         finalResolved,
-                        fromDate.getValue(),
-                        toDate.getValue()
+                        from,
+                        to,
+                        cursor,
+                        DISCREPANCY_JOURNAL_PAGE_SIZE
                     );
                 } catch (Exception ex) {
                     throw new RuntimeException(ex);
                 }
-            }).whenComplete((items, error) -> Platform.runLater(() -> {
-                if (error != null) {
-                    statusLabel.setText(I18n.format("common.error", error.getCause() != null ? error.getCause().getMessage() : error.getMessage()));
-                    table.setItems(FXCollections.observableArrayList());
-                    updateRemapState.run();
-                    return;
-                }
-                table.setItems(FXCollections.observableArrayList(items));
-                statusLabel.setText(I18n.format("discrepancy.journal.status.loaded", items.size()));
-                updateRemapState.run();
-            }));
+            };
+            generation[0]++;
+            nextCursor[0] = null;
+            fetchPage.accept(false);
         };
 
         refreshBtn.setOnAction(e -> loadJournal.run());
+        loadMoreBtn.setOnAction(e -> fetchPage.accept(true));
         editCommentBtn.setOnAction(e -> {
             Discrepancy selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) {
@@ -2496,7 +2621,7 @@ public class DesktopClientApplication extends Application {
         });
 
         HBox filterRow = new HBox(10, docNoField, operatorField, skuField, typeCombo, resolvedCombo, fromDate, toDate, refreshBtn);
-        HBox actionRow = new HBox(10, editCommentBtn, remapSkuBtn, closeBtn);
+        HBox actionRow = new HBox(10, loadMoreBtn, editCommentBtn, remapSkuBtn, closeBtn);
         VBox root = new VBox(12, filterRow, statusLabel, table, actionRow, remapHintLabel);
         root.setPadding(new Insets(16));
         root.getStyleClass().add("dialog-surface");
@@ -3259,7 +3384,32 @@ public class DesktopClientApplication extends Application {
         });
         taskIdFilterField.textProperty().addListener((obs, oldValue, newValue) -> terminalTaskIdDebounce.playFromStart());
 
-        HBox controls = new HBox(10, taskIdFilterField, refreshBtn, onlyUnfinishedCheck);
+        // Pull dispatch: the server picks and claims the task, so operators do not collide on "All tasks"
+        Button nextTaskBtn = new Button(I18n.get("terminal.next_task"));
+        nextTaskBtn.getStyleClass().add("refresh-btn");
+        nextTaskBtn.setPrefHeight(48);
+        nextTaskBtn.setOnAction(e -> {
+            nextTaskBtn.setDisable(true);
+            CompletableFuture.supplyAsync(() -> {
+                try {
+                    return apiClient.nextTask();
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }).whenComplete((task, error) -> Platform.runLater(() -> {
+                nextTaskBtn.setDisable(false);
+                if (error != null) {
+                    showError(I18n.format("common.error", error.getMessage()));
+                } else if (task == null) {
+                    showInfo(I18n.get("terminal.next_task.none"));
+                } else {
+                    loadMyTasks.run();
+                    openTaskExecutionDialog(task);
+                }
+            }));
+        });
+
+        HBox controls = new HBox(10, nextTaskBtn, taskIdFilterField, refreshBtn, onlyUnfinishedCheck);
         controls.setAlignment(Pos.CENTER_LEFT);
 
         VBox layout = new VBox(12, header, controls, filterTabs);
@@ -3268,6 +3418,7 @@ public class DesktopClientApplication extends Application {
         VBox.setVgrow(filterTabs, Priority.ALWAYS);
 
         setContent(layout);
+        watchChanges(changesOf("TASK"), refreshBtn::fire);
         loadMyTasks.run();
     }
 
@@ -4020,6 +4171,8 @@ public class DesktopClientApplication extends Application {
     }
 
     private void setContent(VBox node) {
+        viewReloadDebounce.stop();
+        watchChanges(null, null);
         contentHolder.getChildren().setAll(node);
     }
 
@@ -5580,6 +5733,10 @@ public class DesktopClientApplication extends Application {
             return;
         }
         
+        if (changeSubscription != null) {
+            changeSubscription.close();
+            changeSubscription = null;
+        }
         apiClient.logout();
         
         // Get the current stage
@@ -6435,6 +6592,9 @@ public class DesktopClientApplication extends Application {
         if (topStatusTimeline != null) {
             topStatusTimeline.stop();
         }
+        if (changeSubscription != null) {
+            changeSubscription.close();
+        }
     }
 
     private void applyStyles(Scene scene) {
@@ -0,0 +1,7 @@
+package com.wmsdipl.desktop.model;
+
+public record ChangeEvent(String entity,
+                          Long id,
+                          String action,
+                          Long receiptId) {
+}
@@ -0,0 +1,10 @@
+package com.wmsdipl.desktop.model;
+
+import java.util.List;
+
+public record DiscrepancyPage(
+    List<Discrepancy> content,
+    String nextCursor,
+    boolean hasNext
+) {
+}
@@ -0,0 +1,16 @@
+package com.wmsdipl.contracts.dto;
+
+/**
+ * Login / refresh result.
+ * Send {@code accessToken} as {@code Authorization: Bearer <token>}; when it expires,
+ * exchange {@code refreshToken} at {@code /api/auth/refresh} for a new pair.
+ */
+public record AuthResponse(
+    UserDto user,
+    String tokenType,
+    String accessToken,
+    long expiresInSeconds,
+    String refreshToken,
+    long refreshExpiresInSeconds
+) {
+}
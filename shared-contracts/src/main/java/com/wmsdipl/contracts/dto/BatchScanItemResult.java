@@ -0,0 +1,21 @@
+package com.wmsdipl.contracts.dto;
+
+/**
+ * Outcome of one entry of a {@link BatchScanRequest}, at the same position as the entry.
+ *
+ * @param index position of the entry in the request
+ * @param taskId task the scan was submitted for
+ * @param requestId client request ID of the scan, if any
+ * @param success whether the scan was recorded (or replayed)
+ * @param scan recorded scan, null on failure
+ * @param error error message, null on success
+ */
+public record BatchScanItemResult(
+    int index,
+    Long taskId,
+    String requestId,
+    boolean success,
+    ScanDto scan,
+    String error
+) {
+}
@@ -0,0 +1,28 @@
+package com.wmsdipl.contracts.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Ordered list of scans queued by a terminal, possibly for several tasks.
+ * Scans of one task are applied in the given order.
+ */
+public record BatchScanRequest(
+    @NotEmpty(message = "Scan list cannot be empty")
+    @Size(max = 500, message = "At most 500 scans per batch")
+    List<@NotNull @Valid Item> items
+) {
+    public record Item(
+        @NotNull(message = "Task ID is required")
+        Long taskId,
+
+        @NotNull(message = "Scan is required")
+        @Valid
+        RecordScanRequest scan
+    ) {
+    }
+}
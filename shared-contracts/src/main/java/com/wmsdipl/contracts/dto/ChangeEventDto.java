@@ -0,0 +1,14 @@
+package com.wmsdipl.contracts.dto;
+
+/**
+ * One committed change pushed on {@code GET /api/events}.
+ * Entity is TASK, RECEIPT, PALLET or DISCREPANCY; action is CREATED, UPDATED or DELETED.
+ * Receipt ID is set for entities that belong to a receipt, so receipt-scoped views can ignore other receipts.
+ */
+public record ChangeEventDto(
+    String entity,
+    Long id,
+    String action,
+    Long receiptId
+) {
+}
@@ -0,0 +1,21 @@
+package com.wmsdipl.contracts.dto;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) page.
+ * Pass {@code nextCursor} back as {@code cursor} to fetch the following page;
+ * it is null on the last page.
+ *
+ * @param <T> Type of page items
+ */
+public record CursorPageDto<T>(
+    List<T> content,
+    String nextCursor,
+    boolean hasNext,
+    int size,
+    
+    // Only filled when the client asked for the total (includeTotal=true)
+    Long totalElements
+) {
+}
@@ -0,0 +1,12 @@
+package com.wmsdipl.contracts.dto;
+
+import java.util.List;
+
+/**
+ * Task types and zones an operator is dispatched by "next task"; an empty list means any.
+ */
+public record DispatchProfileDto(
+    List<String> taskTypes,
+    List<Long> zoneIds
+) {
+}
@@ -0,0 +1,3 @@
+package com.wmsdipl.contracts.dto;
+
+public record RefreshTokenRequest(String refreshToken) { }
@@ -0,0 +1,16 @@
+package com.wmsdipl.contracts.dto;
+
+/**
+ * One ranked hit of the pallet/SKU/location search.
+ * {@code matchRank}: 0 exact code, 1 code prefix, 2 substring, 3 fuzzy (trigram similarity);
+ * {@code score} is the similarity in [0, 1] that orders hits of the same rank.
+ */
+public record SearchResultDto(
+    String type,
+    Long id,
+    String code,
+    String label,
+    int matchRank,
+    double score
+) {
+}
@@ -4,7 +4,8 @@ import java.math.BigDecimal;
 
 /**
  * Stock summary DTO.
- * Represents aggregated inventory information grouped by SKU.
+ * Represents aggregated inventory information for one group of the requested dimensions
+ * (SKU, zone, location type, status); fields of dimensions not grouped by are null.
  */
 public record StockSummaryDto(
     Long skuId,
@@ -12,11 +13,19 @@ public record StockSummaryDto(
     String skuName,
     String uom,
     
+    // Zone and location type (null unless grouped by them)
+    Long zoneId,
+    String zoneCode,
+    String locationType,
+    
+    // Pallet status (null unless grouped by status)
+    String status,
+    
     // Aggregated quantities
     BigDecimal totalQuantity,
     Integer palletCount,
     
-    // Location count (how many different locations have this SKU)
+    // Location count (how many different locations hold the group's stock)
     Integer locationCount
 ) {
 }
@@ -0,0 +1,13 @@
+package com.wmsdipl.contracts.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TaskDurationAnalyticsDto(
+    LocalDate fromDate,
+    LocalDate toDate,
+    List<TaskDurationPercentilesDto> overall,
+    List<TaskDurationPercentilesDto> byOperator,
+    List<TaskDurationPercentilesDto> byZone
+) {
+}
@@ -0,0 +1,17 @@
+package com.wmsdipl.contracts.dto;
+
+/**
+ * Task duration percentiles (start to close) for one task type, optionally narrowed to an operator or a zone.
+ * Percentiles come from log-linear histograms and are accurate to about 6%.
+ */
+public record TaskDurationPercentilesDto(
+    String taskType,
+    String assignee,
+    Long zoneId,
+    String zoneCode,
+    Long count,
+    Double p50Hours,
+    Double p90Hours,
+    Double p99Hours
+) {
+}
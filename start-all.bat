@@ -53,6 +53,9 @@ if %errorlevel% neq 0 (
 echo shared-contracts built successfully
 echo.
 
+REM Without a shared token signing key, fall back to the dev profile (random key, re-login after restart)
+if not defined WMS_AUTH_TOKEN_SECRET set SPRING_PROFILES_ACTIVE=dev
+
 REM Start Core API in new window
 echo [4/6] Starting Core API...
 start "Core API (Port 8080)" cmd /k "cd /d E:\WMSDIPL && set JAVA_OPTS=-Xmx512m -XX:MaxMetaspaceSize=256m && gradlew.bat :core-api:bootRun -x :shared-contracts:jar"
@@ -8,6 +8,9 @@ echo Starting Core API with minimal memory settings...
 echo JAVA_HOME: %JAVA_HOME%
 echo.
 
+REM Without a shared token signing key, fall back to the dev profile (random key, re-login after restart)
+if not defined WMS_AUTH_TOKEN_SECRET set SPRING_PROFILES_ACTIVE=dev
+
 call gradlew.bat :shared-contracts:jar --no-daemon
 if %errorlevel% neq 0 (
   echo Failed to build shared-contracts.